@@ -2,8 +2,10 @@ package com.yiyostore.yiyostore_administracion_negocio;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class YiyostoreAdministracionNegocioApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,174 @@
+package com.yiyostore.yiyostore_administracion_negocio.config;
+
+import com.yiyostore.yiyostore_administracion_negocio.exception.PresupuestoSentenciasExcedidoException;
+import com.yiyostore.yiyostore_administracion_negocio.utils.RegistroSentencias;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Filtro que cuenta las sentencias SQL de cada solicitud HTTP con
+ * {@link RegistroSentencias} y detecta dos problemas: que la solicitud exceda
+ * su presupuesto de sentencias, el general o el de
+ * {@link PresupuestoSentencias}, y que repita muchas veces el mismo texto de
+ * sentencia, lo que suele indicar una consulta N+1.
+ *
+ * Todas las solicitudes se publican en la métrica
+ * {@code yiyostore.sentencias.por.solicitud}, y las que tienen algún problema
+ * en {@code yiyostore.sentencias.excedidas}. Una muestra de estas últimas se
+ * registra en el log con las formas de sentencia más repetidas, que solo se
+ * calculan para las solicitudes que se registran o, en modo estricto, fallan. En modo
+ * estricto, pensado para las pruebas de los endpoints, la solicitud falla con
+ * {@link PresupuestoSentenciasExcedidoException}. Para que el error llegue al
+ * cliente en lugar de una respuesta exitosa a medias, en ese modo el cuerpo
+ * de la respuesta se guarda en memoria y solo se envía si la solicitud no
+ * tiene problemas; las respuestas asíncronas, como las exportaciones, se
+ * envían completas al terminar.
+ */
+@Component
+public class FiltroSentencias extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FiltroSentencias.class);
+
+    /**
+     * Cantidad de formas de sentencia que se incluyen en el log.
+     */
+    private static final int FORMAS_EN_LOG = 5;
+
+    private final int presupuesto;
+    private final int repeticiones;
+    private final double muestreo;
+    private final boolean estricto;
+    private final DistributionSummary sentenciasPorSolicitud;
+    private final Counter excesoPresupuesto;
+    private final Counter excesoRepeticiones;
+
+    /**
+     * Constructor que inyecta la configuración y el registro de métricas.
+     *
+     * @param presupuesto Cantidad máxima de sentencias de una solicitud cuyo
+     * endpoint no tiene {@link PresupuestoSentencias}.
+     * @param repeticiones Cantidad de veces que una solicitud puede ejecutar
+     * el mismo texto de sentencia antes de considerarse una consulta N+1.
+     * @param muestreo Fracción, entre 0 y 1, de las solicitudes con problemas
+     * que se registran en el log.
+     * @param estricto true para que las solicitudes con problemas fallen.
+     * @param meterRegistry Registro de métricas.
+     */
+    public FiltroSentencias(@Value("${yiyostore.sentencias.presupuesto:25}") int presupuesto,
+            @Value("${yiyostore.sentencias.repeticiones:10}") int repeticiones,
+            @Value("${yiyostore.sentencias.muestreo:0.1}") double muestreo,
+            @Value("${yiyostore.sentencias.estricto:false}") boolean estricto,
+            MeterRegistry meterRegistry) {
+        this.presupuesto = presupuesto;
+        this.repeticiones = repeticiones;
+        this.muestreo = muestreo;
+        this.estricto = estricto;
+        this.sentenciasPorSolicitud = DistributionSummary.builder("yiyostore.sentencias.por.solicitud")
+                .description("Sentencias SQL ejecutadas por solicitud HTTP")
+                .register(meterRegistry);
+        this.excesoPresupuesto = Counter.builder("yiyostore.sentencias.excedidas")
+                .description("Solicitudes HTTP con problemas en sus sentencias SQL")
+                .tag("motivo", "presupuesto")
+                .register(meterRegistry);
+        this.excesoRepeticiones = Counter.builder("yiyostore.sentencias.excedidas")
+                .description("Solicitudes HTTP con problemas en sus sentencias SQL")
+                .tag("motivo", "repeticiones")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpServletResponse respuesta = response;
+        if (estricto && !isAsyncDispatch(request)) {
+            respuesta = new ContentCachingResponseWrapper(response);
+        }
+
+        if (isAsyncDispatch(request)) {
+            chain.doFilter(request, respuesta);
+        } else {
+            try (RegistroSentencias.Medicion medicion = RegistroSentencias.iniciar()) {
+                chain.doFilter(request, respuesta);
+                evaluar(request, medicion);
+            }
+        }
+
+        if (estricto && !isAsyncStarted(request)) {
+            ContentCachingResponseWrapper copia = WebUtils.getNativeResponse(respuesta,
+                    ContentCachingResponseWrapper.class);
+            if (copia != null) {
+                copia.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * En modo estricto el filtro también atiende el despacho asíncrono, para
+     * enviar el cuerpo guardado cuando termina la respuesta.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return !estricto;
+    }
+
+    /**
+     * Publica las sentencias de la solicitud y, si excede el presupuesto o
+     * repite un texto de sentencia, la registra o la hace fallar.
+     */
+    private void evaluar(HttpServletRequest request, RegistroSentencias.Medicion medicion) {
+        int total = medicion.total();
+        sentenciasPorSolicitud.record(total);
+
+        int limite = medicion.presupuesto() != null ? medicion.presupuesto() : presupuesto;
+        boolean excedida = total > limite;
+        boolean repetida = medicion.repeticionesMaximas() >= repeticiones;
+        if (excedida) {
+            excesoPresupuesto.increment();
+        }
+        if (repetida) {
+            excesoRepeticiones.increment();
+        }
+        if (!excedida && !repetida) {
+            return;
+        }
+
+        if (estricto) {
+            throw new PresupuestoSentenciasExcedidoException(describir(request, total, limite,
+                    medicion.repetidas(1)));
+        }
+        if (muestreo > 0 && ThreadLocalRandom.current().nextDouble() < muestreo) {
+            LOG.warn(describir(request, total, limite, medicion.repetidas(1)));
+        }
+    }
+
+    /**
+     * Describe una solicitud con problemas: su método, ruta, cantidad de
+     * sentencias y las formas más ejecutadas.
+     */
+    private String describir(HttpServletRequest request, int total, int limite,
+            List<Map.Entry<String, Integer>> formas) {
+        StringBuilder descripcion = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(request.getRequestURI())
+                .append(" ejecutó ").append(total).append(" sentencias SQL (presupuesto ").append(limite)
+                .append(", repeticiones permitidas ").append(repeticiones - 1).append("):");
+        formas.stream().limit(FORMAS_EN_LOG).forEach(forma -> descripcion
+                .append("\n  ").append(forma.getValue()).append(" x ").append(forma.getKey()));
+        return descripcion.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.yiyostore.yiyostore_administracion_negocio.config;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.DataSourceAcotado;
+import com.yiyostore.yiyostore_administracion_negocio.utils.DataSourceContado;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del modo de hilos virtuales, que se activa con la propiedad
+ * {@code spring.threads.virtual.enabled=true}. En ese modo Spring Boot
+ * atiende las solicitudes de Tomcat y ejecuta las tareas programadas en
+ * hilos virtuales, y el despachador de notificaciones usa también uno.
+ *
+ * Como Tomcat deja de limitar las solicitudes simultáneas, el DataSource se
+ * envuelve en un {@link DataSourceAcotado} con tantos permisos como
+ * conexiones tiene el pool de Hikari
+ * ({@code spring.datasource.hikari.maximum-pool-size}, 10 por defecto) y el
+ * mismo tiempo de espera, para que los hilos que no caben esperen en el
+ * semáforo. Con otro pool se usan {@code yiyostore.conexiones.maximo} y
+ * {@code yiyostore.conexiones.espera-ms}. Las conexiones en uso y los hilos
+ * en espera se publican en las métricas {@code yiyostore.conexiones.en.uso}
+ * y {@code yiyostore.conexiones.en.espera}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class HilosVirtualesConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceAcotadoPostProcessor(
+            @Value("${yiyostore.conexiones.maximo:10}") int maximo,
+            @Value("${yiyostore.conexiones.espera-ms:30000}") long esperaMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                // Si ya se envolvió para contar sentencias, se acota el
+                // DataSource que envuelve, para que el conteo siga afuera.
+                if (bean instanceof DataSourceContado contado) {
+                    contado.setTargetDataSource(acotar(contado.getTargetDataSource(), maximo, esperaMs));
+                    return contado;
+                }
+                return bean instanceof DataSource dataSource ? acotar(dataSource, maximo, esperaMs) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder conexionesMeterBinder(DataSource dataSource) {
+        return registry -> {
+            DataSourceAcotado acotado = desenvolver(dataSource);
+            if (acotado != null) {
+                Gauge.builder("yiyostore.conexiones.en.uso", acotado, DataSourceAcotado::getEnUso)
+                        .description("Conexiones abiertas con permiso del DataSource")
+                        .register(registry);
+                Gauge.builder("yiyostore.conexiones.en.espera", acotado, DataSourceAcotado::getEnEspera)
+                        .description("Hilos que esperan un permiso para abrir una conexión")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static DataSource acotar(DataSource dataSource, int maximo, long esperaMs) {
+        if (dataSource instanceof DataSourceAcotado) {
+            return dataSource;
+        }
+        if (dataSource instanceof HikariDataSource hikari) {
+            // Hikari aplica el tamaño por defecto al iniciar el pool;
+            // antes, si no se configuró, vale -1.
+            int tamanoPool = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : maximo;
+            return new DataSourceAcotado(hikari, tamanoPool, hikari.getConnectionTimeout());
+        }
+        return new DataSourceAcotado(dataSource, maximo, esperaMs);
+    }
+
+    private static DataSourceAcotado desenvolver(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(DataSourceAcotado.class) ? dataSource.unwrap(DataSourceAcotado.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
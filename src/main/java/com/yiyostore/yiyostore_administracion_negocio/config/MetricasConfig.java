@@ -0,0 +1,17 @@
+package com.yiyostore.yiyostore_administracion_negocio.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Configuración de las métricas de la aplicación. Carga desde
+ * {@code metricas.properties} los valores por defecto: expone los endpoints
+ * de actuator {@code metrics} y {@code prometheus}, y publica histogramas y
+ * percentiles (p50, p95 y p99) de todas las métricas cuyo nombre empieza con
+ * {@code yiyostore}. Como los archivos de {@link PropertySource} tienen la
+ * menor prioridad, cualquier propiedad de la aplicación los reemplaza.
+ */
+@Configuration
+@PropertySource("classpath:metricas.properties")
+public class MetricasConfig {
+}
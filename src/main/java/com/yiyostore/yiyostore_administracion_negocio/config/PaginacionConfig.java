@@ -0,0 +1,35 @@
+package com.yiyostore.yiyostore_administracion_negocio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.data.web.config.PageableHandlerMethodArgumentResolverCustomizer;
+
+import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
+
+/**
+ * Configuración de la paginación en los endpoints REST. Las páginas se
+ * serializan con una estructura JSON estable (contenido y metadatos de la
+ * página) en lugar de exponer la implementación interna de Spring Data. El
+ * tamaño de página que puede pedir un cliente está acotado.
+ */
+@Configuration
+@EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
+public class PaginacionConfig {
+
+    /**
+     * Tamaño máximo de página que se acepta en cualquier endpoint paginado.
+     */
+    private static final int TAMANO_MAXIMO_PAGINA = 200;
+
+    /**
+     * Limita el tamaño de página de todos los endpoints paginados. Un tamaño
+     * mayor se reduce a {@value #TAMANO_MAXIMO_PAGINA}.
+     *
+     * @return El personalizador del resolutor de parámetros de paginación.
+     */
+    @Bean
+    public PageableHandlerMethodArgumentResolverCustomizer limitarTamanoPagina() {
+        return resolver -> resolver.setMaxPageSize(TAMANO_MAXIMO_PAGINA);
+    }
+}
@@ -0,0 +1,28 @@
+package com.yiyostore.yiyostore_administracion_negocio.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indica la cantidad máxima de sentencias SQL que puede ejecutar un endpoint,
+ * en lugar del presupuesto general {@code yiyostore.sentencias.presupuesto}.
+ * Se puede usar en un método o en un controlador; la del método tiene
+ * prioridad.
+ *
+ * @see FiltroSentencias
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface PresupuestoSentencias {
+
+    /**
+     * Cantidad máxima de sentencias por solicitud.
+     *
+     * @return El presupuesto.
+     */
+    int value();
+}
@@ -0,0 +1,66 @@
+package com.yiyostore.yiyostore_administracion_negocio.config;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.DataSourceContado;
+import com.yiyostore.yiyostore_administracion_negocio.utils.RegistroSentencias;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración del conteo de sentencias SQL por solicitud. Envuelve el
+ * DataSource en un {@link DataSourceContado} para contar cada sentencia, sea
+ * de Hibernate o de {@code JdbcTemplate}, y registra un interceptor que aplica a la medición de la solicitud el presupuesto de
+ * {@link PresupuestoSentencias} del endpoint, si lo tiene. La medición la
+ * inicia y evalúa {@link FiltroSentencias}.
+ */
+@Configuration
+public class SentenciasConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceContadoPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DataSourceContado) {
+                    return bean;
+                }
+                return new DataSourceContado(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer presupuestoSentenciasConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                            Object handler) {
+                        RegistroSentencias.Medicion medicion = RegistroSentencias.actual();
+                        if (medicion != null && handler instanceof HandlerMethod metodo) {
+                            PresupuestoSentencias presupuesto = metodo.getMethodAnnotation(PresupuestoSentencias.class);
+                            if (presupuesto == null) {
+                                presupuesto = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(),
+                                        PresupuestoSentencias.class);
+                            }
+                            if (presupuesto != null) {
+                                medicion.setPresupuesto(presupuesto.value());
+                            }
+                        }
+                        return true;
+                    }
+                });
+            }
+        };
+    }
+}
@@ -1,12 +1,18 @@
 package com.yiyostore.yiyostore_administracion_negocio.controller;
 
+import com.yiyostore.yiyostore_administracion_negocio.config.PresupuestoSentencias;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenAsociacionColoniasDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Ciudad;
 import com.yiyostore.yiyostore_administracion_negocio.service.CiudadService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
-import java.util.Optional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,28 +38,68 @@ public class CiudadController {
     }
 
     /**
-     * Endpoint para obtener todas las ciudades.
+     * Endpoint para obtener todas las ciudades con la cantidad de colonias de
+     * cada una. Las colonias se consultan en {@code /{id}/colonias}.
      *
-     * @return Una lista de todas las ciudades.
+     * @return Una lista de todas las ciudades, ordenadas por nombre.
      */
     @GetMapping
-    public List<Ciudad> getAllCiudades() {
+    public List<CiudadResumenDTO> getAllCiudades() {
         return ciudadService.getAllCiudades();
     }
 
     /**
-     * Endpoint para obtener una ciudad por su ID.
+     * Endpoint para obtener una ciudad por su ID, con la cantidad de colonias
+     * que tiene.
      *
      * @param id El ID de la ciudad.
      * @return La ciudad correspondiente al ID, o un 404 si no se encuentra.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Ciudad> getCiudadById(@PathVariable Long id) {
-        Optional<Ciudad> ciudad = ciudadService.getCiudadById(id);
-        return ciudad.map(ResponseEntity::ok)
+    public ResponseEntity<CiudadResumenDTO> getCiudadById(@PathVariable Long id) {
+        return ciudadService.getResumenCiudadById(id)
+                .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Endpoint para obtener una página de las colonias de una ciudad. Por
+     * defecto se ordenan por nombre.
+     *
+     * @param id El ID de la ciudad.
+     * @param pageable Paginación y orden de la consulta.
+     * @return La página de colonias, o un 404 si la ciudad no existe.
+     */
+    @PresupuestoSentencias(5)
+    @GetMapping("/{id}/colonias")
+    public ResponseEntity<Page<ColoniaDTO>> getColoniasDeCiudad(@PathVariable Long id,
+            @PageableDefault(size = 50, sort = "nombre") Pageable pageable) {
+        return ciudadService.getColoniasDeCiudad(id, pageable)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint para asociar varias colonias existentes a una ciudad en una
+     * sola operación, sin cargar las colonias que ya tiene.
+     *
+     * @param id El ID de la ciudad.
+     * @param coloniaIds IDs de las colonias a asociar.
+     * @return El resumen de la asociación, un 404 si la ciudad no existe o un
+     * 400 si algún ID de colonia es nulo.
+     */
+    @PostMapping("/{id}/colonias/asociar")
+    public ResponseEntity<ResumenAsociacionColoniasDTO> asociarColonias(@PathVariable Long id,
+            @RequestBody List<Long> coloniaIds) {
+        try {
+            return ciudadService.asociarColonias(id, coloniaIds)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Endpoint para crear una nueva ciudad.
      *
@@ -66,7 +112,9 @@ public class CiudadController {
     }
 
     /**
-     * Endpoint para actualizar una ciudad existente.
+     * Endpoint para actualizar una ciudad existente. Solo se actualiza el
+     * nombre; las colonias de la ciudad se conservan, ya que no forman parte
+     * de su JSON.
      *
      * @param id El ID de la ciudad a actualizar.
      * @param ciudad Los nuevos datos de la ciudad.
@@ -74,12 +122,15 @@ public class CiudadController {
      */
     @PutMapping("/{id}")
     public ResponseEntity<Ciudad> updateCiudad(@PathVariable Long id, @RequestBody Ciudad ciudad) {
-        if (!ciudadService.getCiudadById(id).isPresent()) {
-            return ResponseEntity.notFound().build();
-        }
-        ciudad.setId(id);
-        Ciudad updatedCiudad = ciudadService.saveCiudad(ciudad);
-        return ResponseEntity.ok(updatedCiudad);
+        return ciudadService.getCiudadById(id)
+                .map(existente -> {
+                    existente.setNombre(ciudad.getNombre());
+                    if (ciudad.getEstado() != null) {
+                        existente.setEstado(ciudad.getEstado());
+                    }
+                    return ResponseEntity.ok(ciudadService.saveCiudad(existente));
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
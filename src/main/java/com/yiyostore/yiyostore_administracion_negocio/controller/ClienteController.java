@@ -1,10 +1,33 @@
 package com.yiyostore.yiyostore_administracion_negocio.controller;
 
+import com.yiyostore.yiyostore_administracion_negocio.config.PresupuestoSentencias;
+import com.yiyostore.yiyostore_administracion_negocio.exception.NumeroTelefonoInvalidoException;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ConteoSegmentoDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.HistorialPedidoDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.NombreClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.PuntuacionClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenFusionClientesDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenSegmentacionDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Cliente;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
 import com.yiyostore.yiyostore_administracion_negocio.service.ClienteService;
+import com.yiyostore.yiyostore_administracion_negocio.service.FusionClientesService;
+import com.yiyostore.yiyostore_administracion_negocio.service.ImportacionClientesService;
+import com.yiyostore.yiyostore_administracion_negocio.service.ResumenClienteService;
+import com.yiyostore.yiyostore_administracion_negocio.service.SegmentacionRfmService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,6 +49,18 @@ public class ClienteController {
     @Autowired
     private ClienteService clienteService;
 
+    @Autowired
+    private ImportacionClientesService importacionClientesService;
+
+    @Autowired
+    private ResumenClienteService resumenClienteService;
+
+    @Autowired
+    private SegmentacionRfmService segmentacionRfmService;
+
+    @Autowired
+    private FusionClientesService fusionClientesService;
+
     /**
      * Obtiene la lista de todos los clientes.
      *
@@ -36,6 +71,75 @@ public class ClienteController {
         return clienteService.findAll();
     }
 
+    /**
+     * Obtiene una página de clientes con los totales de sus pedidos, sin
+     * cargar los pedidos. Por defecto se ordenan por nombre.
+     *
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de clientes con sus totales.
+     */
+    @GetMapping("/resumenes")
+    public Page<ResumenClienteDTO> getResumenesClientes(@PageableDefault(size = 50, sort = "nombre") Pageable pageable) {
+        return resumenClienteService.obtenerResumenes(pageable);
+    }
+
+    /**
+     * Recalcula desde los pedidos los totales de todos los clientes.
+     *
+     * @return Respuesta con la cantidad de clientes con pedidos.
+     */
+    @PostMapping("/resumenes/recalcular")
+    public ResponseEntity<Integer> recalcularResumenes() {
+        return ResponseEntity.ok(resumenClienteService.recalcularTodos());
+    }
+
+    /**
+     * Fusiona los clientes duplicados: de cada grupo con el mismo número de
+     * teléfono normalizado y un nombre compatible conserva el más antiguo,
+     * reasigna a él los pedidos de los demás y elimina los demás.
+     *
+     * @return Respuesta con el resumen de la fusión.
+     */
+    @PostMapping("/duplicados/fusionar")
+    public ResponseEntity<ResumenFusionClientesDTO> fusionarDuplicados() {
+        return ResponseEntity.ok(fusionClientesService.fusionarDuplicados());
+    }
+
+    /**
+     * Obtiene la cantidad de clientes de cada segmento RFM.
+     *
+     * @return Lista con la cantidad de clientes por segmento.
+     */
+    @GetMapping("/segmentos")
+    public List<ConteoSegmentoDTO> getConteoSegmentos() {
+        return segmentacionRfmService.contarPorSegmento();
+    }
+
+    /**
+     * Obtiene una página de los clientes de un segmento RFM con sus
+     * puntuaciones. Por defecto se ordenan por ID de cliente.
+     *
+     * @param segmento Segmento de los clientes.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de clientes del segmento.
+     */
+    @GetMapping("/segmentos/{segmento}")
+    public Page<PuntuacionClienteDTO> getClientesDeSegmento(@PathVariable SegmentoRfm segmento,
+            @PageableDefault(size = 50, sort = "clienteId") Pageable pageable) {
+        return segmentacionRfmService.obtenerClientes(segmento, pageable);
+    }
+
+    /**
+     * Recalcula las puntuaciones RFM de los clientes que cambiaron desde la
+     * ejecución anterior, sin esperar a la ejecución periódica.
+     *
+     * @return Respuesta con el resultado de la segmentación.
+     */
+    @PostMapping("/segmentos/actualizar")
+    public ResponseEntity<ResumenSegmentacionDTO> actualizarSegmentos() {
+        return ResponseEntity.ok(segmentacionRfmService.actualizar());
+    }
+
     /**
      * Obtiene un cliente por su ID.
      *
@@ -49,6 +153,73 @@ public class ClienteController {
         return cliente.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Obtiene un cliente con los totales de sus pedidos: cantidad, monto total
+     * y fechas del primer y último pedido.
+     *
+     * @param id ID del cliente.
+     * @return Respuesta con el cliente y sus totales o un estado 404 si no se
+     * encuentra.
+     */
+    @GetMapping("/{id}/resumen")
+    public ResponseEntity<ResumenClienteDTO> getResumenCliente(@PathVariable Long id) {
+        return resumenClienteService.obtenerResumen(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Obtiene una página del historial de pedidos de un cliente, con el total
+     * de cada pedido. Por defecto se ordenan del más reciente al más antiguo.
+     *
+     * @param id ID del cliente.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Respuesta con la página de pedidos o un estado 404 si el cliente
+     * no existe.
+     */
+    @PresupuestoSentencias(5)
+    @GetMapping("/{id}/pedidos")
+    public ResponseEntity<Page<HistorialPedidoDTO>> getHistorialPedidos(@PathVariable Long id,
+            @PageableDefault(size = 20, sort = "fecha", direction = Sort.Direction.DESC) Pageable pageable) {
+        return resumenClienteService.obtenerHistorial(id, pageable)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Busca los clientes con un número de teléfono, en cualquier formato
+     * válido, por ejemplo {@code "871 414 0550"} o {@code "+52 871-414-0550"}.
+     * Varios clientes pueden compartir un número, como los de una misma casa.
+     *
+     * @param numero Número de teléfono de los clientes.
+     * @return Respuesta con los clientes y su dirección, del más antiguo al más
+     * reciente, un estado 404 si ningún cliente tiene ese número o un estado
+     * 400 si el número no es válido.
+     */
+    @GetMapping("/telefono/{numero}")
+    public ResponseEntity<List<ClienteDTO>> getClientesByTelefono(@PathVariable String numero) {
+        try {
+            List<ClienteDTO> clientes = clienteService.findByNumeroTelefono(numero);
+            return clientes.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(clientes);
+        } catch (NumeroTelefonoInvalidoException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Busca clientes por nombre, ignorando mayúsculas y acentos y tolerando
+     * errores de escritura. Los resultados se ordenan por relevancia.
+     *
+     * @param nombre Término de búsqueda.
+     * @param pageable Página solicitada.
+     * @return Respuesta con la página de clientes encontrados.
+     */
+    @GetMapping("/search/{nombre}")
+    public ResponseEntity<Slice<NombreClienteDTO>> searchClientes(@PathVariable String nombre,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(clienteService.buscarPorNombre(nombre, pageable));
+    }
+
     /**
      * Crea un nuevo cliente.
      *
@@ -86,4 +257,36 @@ public class ClienteController {
         boolean deleted = clienteService.delete(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
+
+    /**
+     * Importa clientes desde un archivo CSV enviado como cuerpo de la
+     * solicitud. El archivo se procesa por bloques, por lo que su tamaño no
+     * está limitado por la memoria del servidor.
+     *
+     * @param cuerpo Contenido del archivo CSV codificado en UTF-8.
+     * @return Un {@link ResponseEntity} con el resultado de la importación, o
+     * un estado 400 si el encabezado no es válido.
+     * @throws IOException si ocurre un error al leer el cuerpo de la solicitud.
+     */
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacionDTO> importarClientesCsv(InputStream cuerpo) throws IOException {
+        try {
+            return ResponseEntity.ok(importacionClientesService.importarCsv(cuerpo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Importa clientes desde un archivo NDJSON, con un objeto JSON por línea,
+     * enviado como cuerpo de la solicitud.
+     *
+     * @param cuerpo Contenido del archivo codificado en UTF-8.
+     * @return Un {@link ResponseEntity} con el resultado de la importación.
+     * @throws IOException si ocurre un error al leer el cuerpo de la solicitud.
+     */
+    @PostMapping(value = "/importar", consumes = "application/x-ndjson")
+    public ResponseEntity<ResultadoImportacionDTO> importarClientesNdjson(InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(importacionClientesService.importarNdjson(cuerpo));
+    }
 }
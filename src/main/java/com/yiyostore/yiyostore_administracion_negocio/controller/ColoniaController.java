@@ -1,11 +1,21 @@
 package com.yiyostore.yiyostore_administracion_negocio.controller;
 
+import com.yiyostore.yiyostore_administracion_negocio.config.PresupuestoSentencias;
 import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenCargaSepomexDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenInstantaneaCatalogoDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Colonia;
+import com.yiyostore.yiyostore_administracion_negocio.service.CatalogoSepomexService;
 import com.yiyostore.yiyostore_administracion_negocio.service.ColoniaService;
+import com.yiyostore.yiyostore_administracion_negocio.service.InstantaneaCatalogoService;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas.Coincidencia;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,6 +25,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -27,14 +38,22 @@ public class ColoniaController {
     @Autowired
     private ColoniaService coloniaService;
 
+    @Autowired
+    private CatalogoSepomexService catalogoSepomexService;
+
+    @Autowired
+    private InstantaneaCatalogoService instantaneaCatalogoService;
+
     /**
-     * Obtiene la lista de todas las colonias.
+     * Obtiene una página de colonias, con el nombre de su ciudad. Por defecto
+     * se ordenan por nombre.
      *
-     * @return Lista de colonias.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de colonias.
      */
     @GetMapping
-    public List<Colonia> getAllColonias() {
-        return coloniaService.findAll();
+    public Page<ColoniaDTO> getAllColonias(@PageableDefault(size = 50, sort = "nombre") Pageable pageable) {
+        return coloniaService.findAll(pageable);
     }
 
     /**
@@ -95,10 +114,88 @@ public class ColoniaController {
         }
     }
 
+    /**
+     * Obtiene las colonias de un código postal, ordenadas por nombre.
+     *
+     * @param cp Código postal.
+     * @return Respuesta con la lista de colonias (vacía si el código postal no
+     * tiene colonias) o un estado 400 si el código postal no es válido.
+     */
+    @GetMapping("/cp/{cp}")
+    public ResponseEntity<List<ColoniaDTO>> getColoniasByCodigoPostal(@PathVariable int cp) {
+        try {
+            return ResponseEntity.ok(coloniaService.findByCodigoPostal(cp));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Busca colonias para autocompletar por nombre, ignorando mayúsculas y
+     * acentos. Los resultados se ordenan por relevancia.
+     *
+     * @param nombre Término de búsqueda.
+     * @param limite Cantidad máxima de resultados.
+     * @return Respuesta con la lista de colonias encontradas.
+     */
+    @PresupuestoSentencias(5)
     @GetMapping("/search/{nombre}")
-    public ResponseEntity<List<ColoniaDTO>> searchColonias(@PathVariable String nombre) {
-        List<ColoniaDTO> colonias = coloniaService.searchColonias(nombre);
+    public ResponseEntity<List<ColoniaDTO>> searchColonias(@PathVariable String nombre,
+            @RequestParam(defaultValue = "10") int limite) {
+        List<ColoniaDTO> colonias = coloniaService.searchColonias(nombre, limite);
         return ResponseEntity.ok(colonias);
     }
 
+    /**
+     * Busca colonias cuyo nombre se parece al término, tolerando errores de
+     * escritura, acentos y mayúsculas.
+     *
+     * @param nombre Término de búsqueda.
+     * @param limite Cantidad máxima de resultados.
+     * @return Respuesta con las colonias encontradas y su similitud, de mayor
+     * a menor similitud.
+     */
+    @GetMapping("/similares/{nombre}")
+    public ResponseEntity<List<Coincidencia<ColoniaDTO>>> buscarColoniasSimilares(@PathVariable String nombre,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(coloniaService.buscarSimilares(nombre, limite));
+    }
+
+    /**
+     * Carga el catálogo de códigos postales de SEPOMEX desde el archivo
+     * configurado en {@code yiyostore.sepomex.archivo}. Solo se aplican las
+     * diferencias contra las ciudades y colonias existentes, por lo que la
+     * carga se puede repetir con cada nueva versión del catálogo.
+     *
+     * @param eliminarObsoletas Si es true, se eliminan las colonias de los
+     * municipios del catálogo que ya no aparecen en él y que ninguna
+     * dirección usa.
+     * @return Respuesta con el resumen de la carga o un estado 400 si el
+     * archivo no existe o no tiene el formato del catálogo.
+     * @throws IOException si ocurre un error al leer el archivo.
+     */
+    @PostMapping("/sepomex/cargar")
+    public ResponseEntity<ResumenCargaSepomexDTO> cargarCatalogoSepomex(
+            @RequestParam(defaultValue = "false") boolean eliminarObsoletas) throws IOException {
+        try {
+            return ResponseEntity.ok(catalogoSepomexService.cargar(eliminarObsoletas));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Genera de nuevo la instantánea binaria del catálogo geográfico desde la
+     * base de datos, con la versión actual del catálogo.
+     *
+     * @return Respuesta con la versión y el tamaño de la instantánea, o un
+     * estado 500 si el archivo no se pudo escribir.
+     */
+    @PostMapping("/instantanea/exportar")
+    public ResponseEntity<ResumenInstantaneaCatalogoDTO> exportarInstantanea() {
+        instantaneaCatalogoService.exportar();
+        return instantaneaCatalogoService.obtenerResumen()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.internalServerError().build());
+    }
 }
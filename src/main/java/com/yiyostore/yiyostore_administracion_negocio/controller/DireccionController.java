@@ -1,7 +1,11 @@
 package com.yiyostore.yiyostore_administracion_negocio.controller;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CalleDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenFusionDireccionesDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Direccion;
 import com.yiyostore.yiyostore_administracion_negocio.service.DireccionService;
+import com.yiyostore.yiyostore_administracion_negocio.service.FusionDireccionesService;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas.Coincidencia;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 
@@ -13,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -26,6 +31,9 @@ public class DireccionController {
     @Autowired
     private DireccionService direccionService;
 
+    @Autowired
+    private FusionDireccionesService fusionDireccionesService;
+
     /**
      * Obtiene la lista de todas las direcciones.
      *
@@ -50,14 +58,22 @@ public class DireccionController {
     }
 
     /**
-     * Crea una nueva dirección.
+     * Crea una nueva dirección. Si ya existe una dirección equivalente (misma
+     * calle, números y colonia, aunque estén escritos de otra forma), se
+     * devuelve la existente, completada con las entre calles y la referencia
+     * que no tenía.
      *
      * @param direccion Datos de la dirección a crear.
-     * @return La dirección creada.
+     * @return La dirección creada o la existente equivalente, o un estado 400
+     * si los datos no son válidos.
      */
     @PostMapping
-    public Direccion createDireccion(@RequestBody Direccion direccion) {
-        return direccionService.crearDireccion(direccion);
+    public ResponseEntity<Direccion> createDireccion(@RequestBody Direccion direccion) {
+        try {
+            return ResponseEntity.ok(direccionService.crearDireccion(direccion));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -65,12 +81,18 @@ public class DireccionController {
      *
      * @param id ID de la dirección a actualizar.
      * @param direccion Nuevos datos de la dirección.
-     * @return Respuesta con la dirección actualizada o un estado 404 si no se
-     * encuentra.
+     * @return Respuesta con la dirección actualizada, un estado 404 si no se
+     * encuentra o un estado 400 si con los nuevos datos equivale a otra
+     * dirección registrada.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Direccion> updateDireccion(@PathVariable Long id, @RequestBody Direccion direccion) {
-        Direccion updatedDireccion = direccionService.actualizarDireccion(id, direccion);
+        Direccion updatedDireccion;
+        try {
+            updatedDireccion = direccionService.actualizarDireccion(id, direccion);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         return updatedDireccion != null ? ResponseEntity.ok(updatedDireccion) : ResponseEntity.notFound().build();
     }
 
@@ -86,4 +108,31 @@ public class DireccionController {
         boolean deleted = direccionService.eliminarDireccion(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
+
+    /**
+     * Busca calles registradas cuyo nombre se parece al término, tolerando
+     * errores de escritura. Cada calle se devuelve con su colonia.
+     *
+     * @param nombre Término de búsqueda.
+     * @param limite Cantidad máxima de resultados.
+     * @return Respuesta con las calles encontradas y su similitud, de mayor a
+     * menor similitud.
+     */
+    @GetMapping("/calles/similares/{nombre}")
+    public ResponseEntity<List<Coincidencia<CalleDTO>>> buscarCallesSimilares(@PathVariable String nombre,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(direccionService.buscarCallesSimilares(nombre, limite));
+    }
+
+    /**
+     * Fusiona las direcciones duplicadas: de cada grupo con la misma clave
+     * canónica conserva la más antigua, reasigna a ella los clientes de las
+     * demás y elimina las demás.
+     *
+     * @return Respuesta con el resumen de la fusión.
+     */
+    @PostMapping("/duplicados/fusionar")
+    public ResponseEntity<ResumenFusionDireccionesDTO> fusionarDuplicados() {
+        return ResponseEntity.ok(fusionDireccionesService.fusionarDuplicados());
+    }
 }
@@ -1,10 +1,19 @@
 package com.yiyostore.yiyostore_administracion_negocio.controller;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.LoteProducto;
+import com.yiyostore.yiyostore_administracion_negocio.service.CatalogoCsvService;
 import com.yiyostore.yiyostore_administracion_negocio.service.LoteProductoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +23,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controlador REST para manejar las operaciones relacionadas con los lotes de
@@ -26,6 +36,9 @@ public class LoteProductoController {
     @Autowired
     private LoteProductoService loteProductoService;
 
+    @Autowired
+    private CatalogoCsvService catalogoCsvService;
+
     /**
      * Obtiene la lista de todos los lotes de productos.
      *
@@ -33,7 +46,6 @@ public class LoteProductoController {
      */
     @GetMapping
     public List<LoteProducto> getAllLotes() {
-        System.out.println("xdxdxd");
         return loteProductoService.obtenerTodosLosLotes();
     }
 
@@ -87,4 +99,39 @@ public class LoteProductoController {
         boolean deleted = loteProductoService.eliminarLote(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
+
+    /**
+     * Importa lotes de productos desde un archivo CSV enviado como cuerpo de la
+     * solicitud. El archivo se procesa en streaming, por lo que su tamaño no
+     * está limitado por la memoria del servidor.
+     *
+     * @param cuerpo Contenido del archivo CSV codificado en UTF-8.
+     * @return Respuesta con el resultado de la importación, o un estado 400 si
+     * el encabezado no es válido.
+     * @throws IOException si ocurre un error al leer el cuerpo de la solicitud.
+     */
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacionDTO> importarLotes(InputStream cuerpo) throws IOException {
+        try {
+            return ResponseEntity.ok(catalogoCsvService.importarLotes(cuerpo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Exporta todos los lotes de productos en formato CSV. Las filas se
+     * escriben en la respuesta a medida que se leen de la base de datos.
+     *
+     * @return Respuesta con el archivo CSV.
+     */
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarLotes() {
+        StreamingResponseBody cuerpo = salida -> catalogoCsvService.exportarLotes(
+                new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8)));
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lotes_productos.csv\"")
+                .body(cuerpo);
+    }
 }
@@ -1,5 +1,7 @@
 package com.yiyostore.yiyostore_administracion_negocio.controller;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.EstadoPedido;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.GrupoEntregaDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.dto.PedidoDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Pedido;
 import com.yiyostore.yiyostore_administracion_negocio.service.PedidoService;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -59,6 +62,21 @@ public class PedidoController {
         return ResponseEntity.ok(pedidos);
     }
 
+    /**
+     * Obtiene los pedidos por entregar agrupados por colonia, código postal y
+     * ciudad, con la cantidad de pedidos, de clientes y el total de cada
+     * grupo, para armar las rutas de entrega.
+     *
+     * @param estados Estados de los pedidos a incluir. Por defecto, pendientes
+     * y en proceso.
+     * @return Lista de grupos ordenados por ciudad, código postal y colonia.
+     */
+    @GetMapping("/entregas")
+    public ResponseEntity<List<GrupoEntregaDTO>> obtenerGruposEntrega(
+            @RequestParam(required = false) List<EstadoPedido> estados) {
+        return ResponseEntity.ok(pedidoService.obtenerGruposEntrega(estados));
+    }
+
     /**
      * Obtiene un pedido por su ID.
      *
@@ -1,10 +1,33 @@
 package com.yiyostore.yiyostore_administracion_negocio.controller;
 
+import com.yiyostore.yiyostore_administracion_negocio.config.PresupuestoSentencias;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.AjustePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenAjustePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.SeriePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.LoteProducto;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.Estado;
+import com.yiyostore.yiyostore_administracion_negocio.service.CatalogoCsvService;
+import com.yiyostore.yiyostore_administracion_negocio.service.LoteProductoService;
 import com.yiyostore.yiyostore_administracion_negocio.service.ProductoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,7 +36,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controlador REST para gestionar las operaciones relacionadas con los
@@ -25,15 +50,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class ProductoController {
 
     private final ProductoService productoService;
+    private final CatalogoCsvService catalogoCsvService;
+    private final LoteProductoService loteProductoService;
 
     /**
-     * Constructor que inyecta el servicio de productos.
+     * Constructor que inyecta los servicios de productos.
      *
      * @param productoService Servicio para la gestión de productos.
+     * @param catalogoCsvService Servicio para importar y exportar productos en
+     * formato CSV.
+     * @param loteProductoService Servicio para la consulta de los lotes de
+     * cada producto.
      */
     @Autowired
-    public ProductoController(ProductoService productoService) {
+    public ProductoController(ProductoService productoService, CatalogoCsvService catalogoCsvService,
+            LoteProductoService loteProductoService) {
         this.productoService = productoService;
+        this.catalogoCsvService = catalogoCsvService;
+        this.loteProductoService = loteProductoService;
     }
 
     /**
@@ -60,6 +94,67 @@ public class ProductoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Obtiene una página de los lotes de un producto, con filtros opcionales
+     * por estado, rango de fechas de adquisición y existencia de stock. Por
+     * defecto se ordenan por fecha de adquisición ascendente.
+     *
+     * @param id Identificador único del producto.
+     * @param estado Estado de los lotes a incluir.
+     * @param desde Fecha de adquisición mínima (AAAA-MM-DD).
+     * @param hasta Fecha de adquisición máxima (AAAA-MM-DD).
+     * @param conStock Si es true, solo se incluyen lotes con cantidad mayor a
+     * cero.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Un {@link ResponseEntity} con la página de lotes o un estado 404
+     * si el producto no existe.
+     */
+    @PresupuestoSentencias(5)
+    @GetMapping("/{id}/lotes")
+    public ResponseEntity<Page<LoteProducto>> obtenerLotesDeProducto(
+            @PathVariable Long id,
+            @RequestParam(required = false) Estado estado,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "false") boolean conStock,
+            @PageableDefault(size = 20, sort = "fecha", direction = Sort.Direction.ASC) Pageable pageable) {
+        return loteProductoService.obtenerLotesDeProducto(id, estado, desde, hasta, conStock, pageable)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Obtiene la serie de precios de un producto para graficarla. Los cambios
+     * de precio del rango se agrupan en a lo más {@code puntos} intervalos de
+     * igual duración. Por defecto se consulta el último año.
+     *
+     * @param id Identificador único del producto.
+     * @param desde Inicio del rango (AAAA-MM-DDTHH:MM:SS). Por defecto, un año
+     * antes de {@code hasta}.
+     * @param hasta Fin del rango (AAAA-MM-DDTHH:MM:SS). Por defecto, la fecha
+     * actual.
+     * @param puntos Cantidad máxima de puntos de la serie.
+     * @return Un {@link ResponseEntity} con la serie, un estado 404 si el
+     * producto no existe, o un estado 400 si el rango o la cantidad de puntos
+     * no son válidos.
+     */
+    @GetMapping("/{id}/historial-precios")
+    public ResponseEntity<SeriePreciosDTO> obtenerSeriePrecios(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "100") int puntos) {
+        LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now();
+        LocalDateTime inicio = desde != null ? desde : fin.minusYears(1);
+        try {
+            return productoService.obtenerSeriePrecios(id, inicio, fin, puntos)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Crea un nuevo producto en el sistema.
      *
@@ -99,4 +194,56 @@ public class ProductoController {
                 ? ResponseEntity.noContent().build()
                 : ResponseEntity.notFound().build();
     }
+
+    /**
+     * Ajusta el precio de varios productos a la vez, seleccionados por una
+     * lista de IDs o por filtros.
+     *
+     * @param ajuste Datos del ajuste y de la selección de productos.
+     * @return Un {@link ResponseEntity} con el resumen del ajuste, o un estado
+     * 400 si el ajuste no es válido.
+     */
+    @PostMapping("/ajuste-precios")
+    public ResponseEntity<ResumenAjustePreciosDTO> ajustarPrecios(@RequestBody AjustePreciosDTO ajuste) {
+        try {
+            return ResponseEntity.ok(productoService.ajustarPrecios(ajuste));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Importa productos desde un archivo CSV enviado como cuerpo de la
+     * solicitud. El archivo se procesa en streaming, por lo que su tamaño no
+     * está limitado por la memoria del servidor.
+     *
+     * @param cuerpo Contenido del archivo CSV codificado en UTF-8.
+     * @return Un {@link ResponseEntity} con el resultado de la importación, o
+     * un estado 400 si el encabezado no es válido.
+     * @throws IOException si ocurre un error al leer el cuerpo de la solicitud.
+     */
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacionDTO> importarProductos(InputStream cuerpo) throws IOException {
+        try {
+            return ResponseEntity.ok(catalogoCsvService.importarProductos(cuerpo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Exporta todos los productos en formato CSV. Las filas se escriben en la
+     * respuesta a medida que se leen de la base de datos.
+     *
+     * @return Un {@link ResponseEntity} con el archivo CSV.
+     */
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarProductos() {
+        StreamingResponseBody cuerpo = salida -> catalogoCsvService.exportarProductos(
+                new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8)));
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"productos.csv\"")
+                .body(cuerpo);
+    }
 }
@@ -0,0 +1,43 @@
+package com.yiyostore.yiyostore_administracion_negocio.exception;
+
+/**
+ * Excepción que se lanza cuando el proveedor de mensajería no acepta una
+ * notificación. Indica si el error es temporal, como un límite de solicitudes
+ * o una falla de red, y vale la pena volver a intentar el envío.
+ */
+public class EnvioNotificacionException extends RuntimeException {
+
+    private final boolean reintentable;
+
+    /**
+     * Constructor con un mensaje específico.
+     *
+     * @param mensaje El mensaje de error.
+     * @param reintentable true si el envío se puede volver a intentar.
+     */
+    public EnvioNotificacionException(String mensaje, boolean reintentable) {
+        super(mensaje);
+        this.reintentable = reintentable;
+    }
+
+    /**
+     * Constructor con un mensaje y una causa específicos.
+     *
+     * @param mensaje El mensaje de error.
+     * @param reintentable true si el envío se puede volver a intentar.
+     * @param causa La causa de la excepción.
+     */
+    public EnvioNotificacionException(String mensaje, boolean reintentable, Throwable causa) {
+        super(mensaje, causa);
+        this.reintentable = reintentable;
+    }
+
+    /**
+     * Indica si el envío se puede volver a intentar.
+     *
+     * @return true si el error es temporal.
+     */
+    public boolean isReintentable() {
+        return reintentable;
+    }
+}
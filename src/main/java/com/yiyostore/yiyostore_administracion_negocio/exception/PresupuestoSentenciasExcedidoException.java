@@ -0,0 +1,20 @@
+package com.yiyostore.yiyostore_administracion_negocio.exception;
+
+/**
+ * Excepción que se lanza, en modo estricto, cuando una solicitud ejecuta más
+ * sentencias SQL que su presupuesto o repite muchas veces la misma forma de
+ * sentencia, lo que suele indicar una consulta N+1. El modo estricto está
+ * pensado para las pruebas de los endpoints, para que fallen en lugar de solo
+ * registrar el exceso.
+ */
+public class PresupuestoSentenciasExcedidoException extends RuntimeException {
+
+    /**
+     * Constructor con un mensaje específico.
+     *
+     * @param mensaje El mensaje de error.
+     */
+    public PresupuestoSentenciasExcedidoException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,30 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoAjustePrecio;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO que describe un ajuste masivo de precios. Los productos afectados se
+ * seleccionan por una lista de IDs o, si la lista está vacía, por los filtros
+ * indicados. Los filtros nulos no se aplican.
+ *
+ * @param tipo Forma de aplicar el ajuste, según el enum
+ * {@link TipoAjustePrecio}.
+ * @param valor Porcentaje o monto del ajuste, según el tipo.
+ * @param ids IDs de los productos a ajustar.
+ * @param nombre Texto que debe contener el nombre del producto.
+ * @param proveedor Texto que debe contener el link de compra de alguno de los
+ * lotes del producto.
+ * @param fechaAdicionDesde Fecha de adición mínima del producto.
+ * @param fechaAdicionHasta Fecha de adición máxima del producto.
+ */
+public record AjustePreciosDTO(
+        TipoAjustePrecio tipo,
+        double valor,
+        List<Long> ids,
+        String nombre,
+        String proveedor,
+        LocalDate fechaAdicionDesde,
+        LocalDate fechaAdicionHasta
+) {}
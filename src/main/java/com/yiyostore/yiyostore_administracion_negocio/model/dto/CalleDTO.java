@@ -0,0 +1,19 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * Record para transferir el nombre de una calle registrada en alguna
+ * dirección, junto con la colonia en la que está.
+ *
+ * @param id ID de la primera dirección registrada con esta calle y colonia.
+ * @param nombreCalle Nombre de la calle.
+ * @param coloniaId ID de la colonia.
+ * @param nombreColonia Nombre de la colonia.
+ * @param codigoPostal Código postal de la colonia.
+ */
+public record CalleDTO(
+    Long id,
+    String nombreCalle,
+    Long coloniaId,
+    String nombreColonia,
+    int codigoPostal
+) {}
@@ -0,0 +1,13 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * Record para transferir los datos de una Ciudad con la cantidad de colonias
+ * que tiene, sin incluir las colonias. El estado distingue a los municipios
+ * que tienen el mismo nombre en estados distintos; es null si no se registró.
+ */
+public record CiudadResumenDTO(
+    Long id,
+    String nombre,
+    String estado,
+    long cantidadColonias
+) {}
@@ -0,0 +1,30 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * Record para transferir los datos de contacto de un Cliente junto con su
+ * dirección, sin incluir sus pedidos. Los campos de la dirección son nulos si
+ * el cliente no tiene una.
+ *
+ * @param id ID del cliente.
+ * @param nombre Nombre del cliente.
+ * @param numeroTelefono Número de teléfono normalizado del cliente.
+ * @param notas Notas sobre el cliente.
+ * @param direccionId ID de la dirección del cliente.
+ * @param nombreCalle Nombre de la calle.
+ * @param numeroExterior Número exterior.
+ * @param numeroInterior Número interior.
+ * @param nombreColonia Nombre de la colonia.
+ * @param codigoPostal Código postal de la colonia.
+ */
+public record ClienteDTO(
+    Long id,
+    String nombre,
+    String numeroTelefono,
+    String notas,
+    Long direccionId,
+    String nombreCalle,
+    String numeroExterior,
+    String numeroInterior,
+    String nombreColonia,
+    Integer codigoPostal
+) {}
@@ -0,0 +1,14 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
+
+/**
+ * DTO que representa la cantidad de clientes de un segmento RFM.
+ *
+ * @param segmento Segmento.
+ * @param cantidad Cantidad de clientes del segmento.
+ */
+public record ConteoSegmentoDTO(
+        SegmentoRfm segmento,
+        long cantidad
+) {}
@@ -0,0 +1,11 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * DTO que describe un error encontrado al importar una fila de un archivo.
+ *
+ * @param fila Número de la línea del archivo en que empieza la fila, contando
+ * el encabezado como la línea 1. Un campo entre comillas con saltos de línea
+ * ocupa varias líneas.
+ * @param mensaje Descripción del error.
+ */
+public record ErrorFilaDTO(long fila, String mensaje) {}
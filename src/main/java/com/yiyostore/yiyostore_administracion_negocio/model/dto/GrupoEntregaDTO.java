@@ -0,0 +1,26 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * DTO con los pedidos por entregar de una colonia, para armar las rutas de
+ * entrega. Los pedidos de clientes sin dirección forman un grupo con los datos
+ * de colonia y ciudad nulos.
+ *
+ * @param coloniaId ID de la colonia.
+ * @param nombreColonia Nombre de la colonia.
+ * @param codigoPostal Código postal de la colonia.
+ * @param ciudadId ID de la ciudad.
+ * @param nombreCiudad Nombre de la ciudad.
+ * @param cantidadPedidos Cantidad de pedidos del grupo.
+ * @param cantidadClientes Cantidad de clientes distintos del grupo.
+ * @param total Suma de los totales de los pedidos del grupo.
+ */
+public record GrupoEntregaDTO(
+        Long coloniaId,
+        String nombreColonia,
+        Integer codigoPostal,
+        Long ciudadId,
+        String nombreCiudad,
+        long cantidadPedidos,
+        long cantidadClientes,
+        double total
+) {}
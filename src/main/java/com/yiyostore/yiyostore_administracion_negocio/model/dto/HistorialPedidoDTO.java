@@ -0,0 +1,28 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.EstadoPedido;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.LugarCompra;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.MetodoPago;
+import java.time.LocalDate;
+
+/**
+ * DTO que representa un pedido en el historial de un cliente, con sus totales
+ * en lugar de sus detalles.
+ *
+ * @param id ID del pedido.
+ * @param fecha Fecha del pedido.
+ * @param estado Estado del pedido.
+ * @param metodoPago Método de pago del pedido.
+ * @param lugarCompra Lugar donde se realizó la compra.
+ * @param cantidadArticulos Suma de las cantidades de sus detalles.
+ * @param total Importe total del pedido.
+ */
+public record HistorialPedidoDTO(
+        Long id,
+        LocalDate fecha,
+        EstadoPedido estado,
+        MetodoPago metodoPago,
+        LugarCompra lugarCompra,
+        long cantidadArticulos,
+        double total
+) {}
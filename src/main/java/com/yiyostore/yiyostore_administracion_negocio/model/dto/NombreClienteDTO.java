@@ -0,0 +1,15 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * Record para transferir el nombre y el número de teléfono de un Cliente, como
+ * resultado de la búsqueda de clientes por nombre.
+ *
+ * @param id ID del cliente.
+ * @param nombre Nombre del cliente.
+ * @param numeroTelefono Número de teléfono normalizado del cliente.
+ */
+public record NombreClienteDTO(
+    Long id,
+    String nombre,
+    String numeroTelefono
+) {}
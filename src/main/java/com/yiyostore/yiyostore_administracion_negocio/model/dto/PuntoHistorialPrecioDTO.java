@@ -0,0 +1,21 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con un punto de una serie de precios reducida. Cada punto agrupa los
+ * cambios de precio registrados dentro de un intervalo de tiempo.
+ *
+ * @param desde Inicio del intervalo.
+ * @param precioMinimo Precio más bajo registrado en el intervalo.
+ * @param precioMaximo Precio más alto registrado en el intervalo.
+ * @param precioPromedio Promedio de los precios registrados en el intervalo.
+ * @param cambios Cantidad de cambios de precio registrados en el intervalo.
+ */
+public record PuntoHistorialPrecioDTO(
+        LocalDateTime desde,
+        double precioMinimo,
+        double precioMaximo,
+        double precioPromedio,
+        long cambios
+) {}
@@ -0,0 +1,27 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
+import java.time.LocalDate;
+
+/**
+ * DTO que representa un cliente con sus puntuaciones RFM y su segmento.
+ *
+ * @param id ID del cliente.
+ * @param nombre Nombre del cliente.
+ * @param numeroTelefono Número de teléfono normalizado del cliente.
+ * @param recencia Puntuación de recencia, de 1 a 5.
+ * @param frecuencia Puntuación de frecuencia, de 1 a 5.
+ * @param monto Puntuación de monto, de 1 a 5.
+ * @param segmento Segmento del cliente.
+ * @param fechaCalculo Fecha con la que se calculó la recencia.
+ */
+public record PuntuacionClienteDTO(
+        Long id,
+        String nombre,
+        String numeroTelefono,
+        byte recencia,
+        byte frecuencia,
+        byte monto,
+        SegmentoRfm segmento,
+        LocalDate fechaCalculo
+) {}
@@ -0,0 +1,20 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una importación masiva desde un archivo.
+ *
+ * @param filasProcesadas Cantidad de filas de datos leídas, sin contar el
+ * encabezado.
+ * @param filasImportadas Cantidad de filas guardadas en la base de datos.
+ * @param filasConError Cantidad de filas rechazadas.
+ * @param errores Detalle de los errores encontrados. Para acotar el tamaño de
+ * la respuesta solo se incluyen los primeros errores.
+ */
+public record ResultadoImportacionDTO(
+        long filasProcesadas,
+        long filasImportadas,
+        long filasConError,
+        List<ErrorFilaDTO> errores
+) {}
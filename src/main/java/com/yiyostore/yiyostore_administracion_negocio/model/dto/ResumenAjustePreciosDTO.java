@@ -0,0 +1,27 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import java.util.List;
+
+/**
+ * DTO con el resumen de un ajuste masivo de precios.
+ *
+ * @param productosSeleccionados Cantidad de productos existentes que
+ * coincidieron con la selección.
+ * @param productosActualizados Cantidad de productos cuyo precio se modificó.
+ * @param productosOmitidos Cantidad de productos que no se modificaron porque
+ * su precio resultante sería negativo.
+ * @param idsNoEncontrados IDs solicitados que no corresponden a ningún
+ * producto.
+ * @param precioTotalAnterior Precio de venta total del inventario antes del
+ * ajuste.
+ * @param precioTotalNuevo Precio de venta total del inventario después del
+ * ajuste.
+ */
+public record ResumenAjustePreciosDTO(
+        int productosSeleccionados,
+        int productosActualizados,
+        int productosOmitidos,
+        List<Long> idsNoEncontrados,
+        double precioTotalAnterior,
+        double precioTotalNuevo
+) {}
@@ -0,0 +1,13 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * DTO con el resumen de una asociación masiva de colonias a una ciudad.
+ *
+ * @param coloniasSolicitadas Cantidad de IDs de colonia distintos recibidos.
+ * @param coloniasAsociadas Cantidad de colonias que quedaron asociadas a la
+ * ciudad; los IDs que no corresponden a una colonia existente se ignoran.
+ */
+public record ResumenAsociacionColoniasDTO(
+        int coloniasSolicitadas,
+        int coloniasAsociadas
+) {}
@@ -0,0 +1,25 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * DTO con el resumen de una carga del catálogo de códigos postales de SEPOMEX.
+ *
+ * @param filasLeidas Cantidad de filas de datos leídas del archivo.
+ * @param ciudadesAgregadas Cantidad de ciudades nuevas.
+ * @param coloniasAgregadas Cantidad de colonias nuevas.
+ * @param coloniasActualizadas Cantidad de colonias cuyo tipo cambió.
+ * @param coloniasEliminadas Cantidad de colonias que ya no están en el
+ * catálogo y se eliminaron.
+ * @param coloniasConservadas Cantidad de colonias que ya no están en el
+ * catálogo pero se conservaron, porque alguna dirección las usa o porque no
+ * se pidió eliminarlas.
+ * @param coloniasSinCambios Cantidad de colonias que no cambiaron.
+ */
+public record ResumenCargaSepomexDTO(
+        long filasLeidas,
+        int ciudadesAgregadas,
+        int coloniasAgregadas,
+        int coloniasActualizadas,
+        int coloniasEliminadas,
+        int coloniasConservadas,
+        int coloniasSinCambios
+) {}
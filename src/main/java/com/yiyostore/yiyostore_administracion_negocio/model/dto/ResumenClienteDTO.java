@@ -0,0 +1,29 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO que representa un cliente con los totales de sus pedidos, para mostrarlo
+ * sin cargar sus pedidos.
+ *
+ * @param id ID del cliente.
+ * @param nombre Nombre del cliente.
+ * @param numeroTelefono Número de teléfono normalizado del cliente.
+ * @param nombreColonia Nombre de la colonia de su dirección, o null si no
+ * tiene dirección.
+ * @param cantidadPedidos Cantidad de pedidos del cliente, sin contar los
+ * cancelados ni los devueltos.
+ * @param totalCompras Monto total de esos pedidos.
+ * @param fechaPrimerPedido Fecha de su primer pedido, o null si no tiene.
+ * @param fechaUltimoPedido Fecha de su último pedido, o null si no tiene.
+ */
+public record ResumenClienteDTO(
+        Long id,
+        String nombre,
+        String numeroTelefono,
+        String nombreColonia,
+        long cantidadPedidos,
+        double totalCompras,
+        LocalDate fechaPrimerPedido,
+        LocalDate fechaUltimoPedido
+) {}
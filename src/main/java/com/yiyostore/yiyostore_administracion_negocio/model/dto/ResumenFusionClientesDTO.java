@@ -0,0 +1,27 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * DTO con el resumen de una fusión de clientes duplicados.
+ *
+ * @param clientesRevisados Cantidad de clientes con número de teléfono
+ * revisados.
+ * @param particiones Cantidad de particiones en que se revisaron los
+ * clientes.
+ * @param gruposDuplicados Cantidad de grupos con más de un cliente.
+ * @param clientesEliminados Cantidad de clientes duplicados eliminados.
+ * @param pedidosReasignados Cantidad de pedidos que se reasignaron al cliente
+ * conservado.
+ * @param telefonosNormalizados Cantidad de clientes conservados cuyo número de
+ * teléfono se guardó normalizado.
+ * @param direccionesEliminadas Cantidad de direcciones de los duplicados que
+ * se eliminaron porque ningún cliente las usa.
+ */
+public record ResumenFusionClientesDTO(
+        int clientesRevisados,
+        int particiones,
+        int gruposDuplicados,
+        int clientesEliminados,
+        int pedidosReasignados,
+        int telefonosNormalizados,
+        int direccionesEliminadas
+) {}
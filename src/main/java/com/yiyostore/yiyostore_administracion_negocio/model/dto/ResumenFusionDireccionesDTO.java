@@ -0,0 +1,24 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * DTO con el resumen de una fusión de direcciones duplicadas.
+ *
+ * @param direccionesRevisadas Cantidad de direcciones revisadas.
+ * @param clavesActualizadas Cantidad de direcciones cuya clave canónica se
+ * calculó o cambió.
+ * @param gruposDuplicados Cantidad de claves canónicas con más de una
+ * dirección.
+ * @param direccionesEliminadas Cantidad de direcciones duplicadas eliminadas.
+ * @param clientesReasignados Cantidad de clientes que se reasignaron a la
+ * dirección conservada.
+ * @param direccionesSinClientesEliminadas Cantidad de direcciones eliminadas
+ * porque ningún cliente las usa.
+ */
+public record ResumenFusionDireccionesDTO(
+        int direccionesRevisadas,
+        int clavesActualizadas,
+        int gruposDuplicados,
+        int direccionesEliminadas,
+        int clientesReasignados,
+        int direccionesSinClientesEliminadas
+) {}
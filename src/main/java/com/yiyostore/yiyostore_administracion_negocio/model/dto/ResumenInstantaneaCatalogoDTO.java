@@ -0,0 +1,11 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+/**
+ * Record para transferir los datos de la instantánea vigente del catálogo
+ * geográfico.
+ */
+public record ResumenInstantaneaCatalogoDTO(
+    long version,
+    int ciudades,
+    int colonias
+) {}
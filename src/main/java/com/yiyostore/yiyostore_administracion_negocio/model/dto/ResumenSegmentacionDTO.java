@@ -0,0 +1,20 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO que representa el resultado de una ejecución de la segmentación RFM de
+ * clientes.
+ *
+ * @param clientesPuntuados Cantidad de clientes cuyas puntuaciones se
+ * recalcularon.
+ * @param completa true si se recalcularon todos los clientes, porque era la
+ * primera ejecución.
+ * @param marca Momento de inicio de la ejecución, que es la marca desde la que
+ * la siguiente ejecución busca cambios.
+ */
+public record ResumenSegmentacionDTO(
+        int clientesPuntuados,
+        boolean completa,
+        LocalDateTime marca
+) {}
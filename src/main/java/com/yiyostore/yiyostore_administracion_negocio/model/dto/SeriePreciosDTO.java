@@ -0,0 +1,26 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO con la serie de precios de un producto en un rango de fechas, reducida a
+ * un número máximo de puntos para graficarla.
+ *
+ * @param productoId ID del producto.
+ * @param desde Inicio del rango consultado.
+ * @param hasta Fin del rango consultado.
+ * @param segundosPorPunto Duración del intervalo que agrupa cada punto.
+ * @param precioInicial Precio vigente al inicio del rango, o null si el
+ * producto no tenía precio registrado antes de esa fecha.
+ * @param puntos Puntos de la serie, ordenados por fecha. Los intervalos sin
+ * cambios de precio se omiten.
+ */
+public record SeriePreciosDTO(
+        Long productoId,
+        LocalDateTime desde,
+        LocalDateTime hasta,
+        long segundosPorPunto,
+        Double precioInicial,
+        List<PuntoHistorialPrecioDTO> puntos
+) {}
@@ -1,6 +1,7 @@
 package com.yiyostore.yiyostore_administracion_negocio.model.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,8 +12,11 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Representa una Ciudad.
@@ -36,9 +40,20 @@ public class Ciudad {
     private String nombre;
 
     /**
-     * Lista de colonias asociadas a la ciudad.
+     * Nombre del estado al que pertenece la ciudad. Distingue a los municipios
+     * del catálogo de SEPOMEX que tienen el mismo nombre en estados distintos;
+     * puede ser null en las ciudades registradas a mano.
+     */
+    @Column(name = "estado", length = 50)
+    private String estado;
+
+    /**
+     * Lista de colonias asociadas a la ciudad. Las colonias se aceptan al
+     * crear una ciudad pero no se incluyen en su JSON; se consultan paginadas
+     * en {@code /api/ciudades/{id}/colonias}.
      */
     @JsonManagedReference
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @OneToMany(mappedBy = "ciudad", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Colonia> colonias = new ArrayList<>();
 
@@ -94,12 +109,40 @@ public class Ciudad {
     }
 
     /**
-     * Obtiene la lista de colonias asociadas a la ciudad.
+     * Obtiene el nombre del estado de la ciudad.
+     *
+     * @return El nombre del estado, o null si no se registró.
+     */
+    public String getEstado() {
+        return estado;
+    }
+
+    /**
+     * Establece el nombre del estado de la ciudad.
      *
-     * @return Lista de colonias.
+     * @param estado El nombre del estado.
+     */
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    /**
+     * Obtiene las colonias que pertenecen a la ciudad. La lista interna puede
+     * conservar colonias que se cambiaron a otra ciudad, o repetir las que
+     * volvieron a esta; se omiten aquí sin modificar la lista, porque quitar
+     * una colonia de ella haría que Hibernate la eliminara como huérfana.
+     *
+     * @return Lista de colonias, de solo lectura.
      */
     public List<Colonia> getColonias() {
-        return colonias;
+        Set<Colonia> vistas = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Colonia> propias = new ArrayList<>(colonias.size());
+        for (Colonia colonia : colonias) {
+            if (colonia.getCiudad() == this && vistas.add(colonia)) {
+                propias.add(colonia);
+            }
+        }
+        return Collections.unmodifiableList(propias);
     }
 
     /**
@@ -112,7 +155,33 @@ public class Ciudad {
     }
 
     /**
-     * Agrega una colonia a la lista de colonias de la ciudad.
+     * Agrega una colonia a la lista sin revisar las demás. Solo la llama
+     * {@link Colonia#setCiudad(Ciudad)} cuando la colonia cambia a esta
+     * ciudad.
+     *
+     * @param colonia La colonia que ahora pertenece a la ciudad.
+     */
+    void vincularColonia(Colonia colonia) {
+        colonias.add(colonia);
+    }
+
+    /**
+     * Quita de la lista una colonia que se desvinculó de toda ciudad, para
+     * que Hibernate la elimine como huérfana. Solo la llama
+     * {@link Colonia#setCiudad(Ciudad)} cuando la ciudad de la colonia pasa a
+     * ser null; las colonias que cambian a otra ciudad se quedan en la lista
+     * y {@link #getColonias()} las omite.
+     *
+     * @param colonia La colonia desvinculada.
+     */
+    void desvincularColonia(Colonia colonia) {
+        colonias.removeIf(existente -> existente == colonia);
+    }
+
+    /**
+     * Agrega una colonia a la lista de colonias de la ciudad. La pertenencia se
+     * verifica en tiempo constante con la ciudad de la colonia, que es el lado
+     * dueño de la relación, por lo que agregar n colonias cuesta O(n).
      *
      * @param colonia La colonia a agregar.
      */
@@ -120,22 +189,19 @@ public class Ciudad {
         if (colonia == null) {
             throw new IllegalArgumentException("La colonia no puede ser nula");
         }
-        if (!this.colonias.contains(colonia)) {
-            colonias.add(colonia);
-            if (colonia.getCiudad() != this) {
-                colonia.setCiudad(this);
-            }
-        }
+        colonia.setCiudad(this);
     }
 
     /**
-     * Elimina una colonia de la lista de colonias de la ciudad.
+     * Elimina una colonia de la lista de colonias de la ciudad, si pertenece a
+     * ella.
      *
      * @param colonia La colonia a eliminar.
      */
     public void eliminarColonia(Colonia colonia) {
-        colonias.remove(colonia);
-        colonia.setCiudad(null);
+        if (colonia.getCiudad() == this) {
+            colonia.setCiudad(null);
+        }
     }
 
     /**
@@ -1,6 +1,6 @@
 package com.yiyostore.yiyostore_administracion_negocio.model.entity;
 
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.yiyostore.yiyostore_administracion_negocio.exception.NumeroTelefonoInvalidoException;
 import com.yiyostore.yiyostore_administracion_negocio.utils.TelefonoUtils;
 import jakarta.persistence.CascadeType;
@@ -10,9 +10,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 
 import java.util.ArrayList;
@@ -26,7 +27,9 @@ import java.util.Objects;
  * múltiples pedidos asociados.
  */
 @Entity
-@Table(name = "clientes")
+@Table(name = "clientes", indexes = {
+    @Index(name = "idx_clientes_numero_telefono", columnList = "numero_telefono")
+})
 public class Cliente {
 
     /**
@@ -46,18 +49,22 @@ public class Cliente {
     private String nombre;
 
     /**
-     * Dirección residencial del cliente. Relación uno a uno con la entidad
-     * {@link Direccion}. Este campo es opcional y puede ser nulo si el cliente
-     * no proporciona una dirección.
+     * Dirección residencial del cliente. Varios clientes pueden compartir la
+     * misma {@link Direccion}, ya que las direcciones repetidas se resuelven a
+     * una sola fila por su clave canónica. Este campo es opcional y puede ser
+     * nulo si el cliente no proporciona una dirección.
      */
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinColumn(name = "direccion_id", nullable = true)
     private Direccion direccion;
 
     /**
      * Número de teléfono del cliente para llamadas y/o WhatsApp. Este campo es
      * opcional y puede ser nulo si el cliente no proporciona un número de
-     * teléfono. Se limita a 20 caracteres y se valida antes de asignarlo.
+     * teléfono. Se limita a 20 caracteres y se valida y normaliza antes de
+     * asignarlo. Varios clientes pueden compartir un número, como los de una
+     * misma casa. En una base creada con el índice único
+     * {@code uk_clientes_numero_telefono}, éste se debe eliminar a mano.
      */
     @Column(name = "numero_telefono", length = 20, nullable = true)
     private String numeroTelefono;
@@ -71,10 +78,11 @@ public class Cliente {
 
     /**
      * Relación uno a muchos con la entidad {@link Pedido}. Un cliente puede
-     * tener múltiples pedidos.
+     * tener múltiples pedidos. No se incluye al serializar el cliente; sus
+     * totales y su historial de pedidos se consultan por separado.
      */
     @OneToMany(mappedBy = "cliente", fetch = FetchType.LAZY)
-    @JsonManagedReference
+    @JsonIgnore
     private List<Pedido> pedidos = new ArrayList<>();
 
     /**
@@ -7,19 +7,21 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
-import java.util.Objects;
 
 /**
  * Representa una Colonia con su información básica.
  */
 @Entity
-@Table(name = "colonias")
+@Table(name = "colonias", indexes = {
+    @Index(name = "idx_colonias_codigo_postal", columnList = "codigo_postal")
+})
 public class Colonia {
 
     /**
@@ -75,14 +77,15 @@ public class Colonia {
      *
      * @param codigoPostal El código postal de la colonia.
      * @param nombre El nombre de la colonia.
-     * @param ciudad La ciudad a la que pertenece la colonia.
+     * @param ciudad La ciudad a la que pertenece la colonia; la colonia se
+     * agrega a su lista de colonias.
      * @param tipoAsentamiento El tipo de asentamiento de la colonia.
      * @param tipo El tipo de la colonia (Rural o Urbano).
      */
     public Colonia(int codigoPostal, String nombre, Ciudad ciudad, TipoAsentamiento tipoAsentamiento, Tipo tipo) {
         this.codigoPostal = codigoPostal;
         this.nombre = nombre;
-        this.ciudad = ciudad;
+        setCiudad(ciudad);
         this.tipoAsentamiento = tipoAsentamiento;
         this.tipo = tipo;
     }
@@ -151,17 +154,26 @@ public class Colonia {
     }
 
     /**
-     * Establece la ciudad a la que pertenece la colonia.
+     * Establece la ciudad a la que pertenece la colonia y la agrega a la lista
+     * de colonias de la nueva ciudad. Como una colonia está en la lista de su
+     * ciudad si y solo si esa es su ciudad, basta comparar la ciudad actual
+     * para saber si ya pertenece a la lista, sin recorrerla. Si la colonia
+     * cambia a otra ciudad, la lista de la anterior no se recorre; si se
+     * desvincula de toda ciudad, se quita de la lista de la anterior para que
+     * se elimine como huérfana.
      *
      * @param ciudad La ciudad a establecer.
      */
     public void setCiudad(Ciudad ciudad) {
-        if (this.ciudad != null && this.ciudad != ciudad) {
-            this.ciudad.getColonias().remove(this);
+        if (this.ciudad == ciudad) {
+            return;
         }
+        Ciudad anterior = this.ciudad;
         this.ciudad = ciudad;
-        if (ciudad != null && !ciudad.getColonias().contains(this)) {
-            ciudad.getColonias().add(this);
+        if (ciudad != null) {
+            ciudad.vincularColonia(this);
+        } else {
+            anterior.desvincularColonia(this);
         }
     }
 
@@ -212,11 +224,27 @@ public class Colonia {
                 id, codigoPostal, nombre, ciudad.getNombre(), tipoAsentamiento.getDisplayName(), tipo.getDisplayName());
     }
 
+    /**
+     * Calcula el código hash de la colonia. Es el mismo para todas las
+     * colonias, de modo que no cambia cuando una colonia nueva se guarda y
+     * recibe su ID mientras está en un conjunto.
+     *
+     * @return El código hash de la clase.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(id, codigoPostal, nombre, ciudad, tipoAsentamiento, tipo);
+        return Colonia.class.hashCode();
     }
 
+    /**
+     * Compara esta colonia con otro objeto. Dos colonias son iguales si tienen
+     * el mismo identificador; una colonia sin guardar solo es igual a sí
+     * misma.
+     *
+     * @param obj El objeto a comparar.
+     * @return true si los objetos son iguales (misma id), false en caso
+     * contrario.
+     */
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -227,6 +255,6 @@ public class Colonia {
         }
 
         final Colonia otra = (Colonia) obj;
-        return id.equals(otra.id);
+        return id != null && id.equals(otra.id);
     }
 }
@@ -1,6 +1,8 @@
 package com.yiyostore.yiyostore_administracion_negocio.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.yiyostore.yiyostore_administracion_negocio.utils.DireccionUtils;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -8,7 +10,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import java.util.Objects;
 
@@ -18,7 +23,9 @@ import java.util.Objects;
  * calles cercanas y detalles adicionales.
  */
 @Entity
-@Table(name = "direcciones")
+@Table(name = "direcciones", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_direcciones_clave_canonica", columnNames = "clave_canonica")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Direccion {
 
@@ -80,6 +87,19 @@ public class Direccion {
     @Column(name = "referencia", length = 255, nullable = true)
     private String referencia;
 
+    /**
+     * Clave canónica de la dirección, calculada con
+     * {@link DireccionUtils#claveCanonica} a partir de la calle, los números y
+     * la colonia al guardarla. Dos direcciones con la misma clave son la misma
+     * dirección escrita de distinta forma, por lo que la clave es única. En
+     * una base con direcciones duplicadas, éstas se deben fusionar con
+     * {@code POST /api/direcciones/duplicados/fusionar} antes de crear el
+     * índice único.
+     */
+    @JsonIgnore
+    @Column(name = "clave_canonica", length = 64, nullable = true)
+    private String claveCanonica;
+
     /**
      * Constructor por defecto necesario para JPA.
      */
@@ -266,6 +286,26 @@ public class Direccion {
         this.referencia = referencia;
     }
 
+    /**
+     * Obtiene la clave canónica de la dirección.
+     *
+     * @return La clave canónica, o null si la dirección no se ha guardado.
+     */
+    public String getClaveCanonica() {
+        return claveCanonica;
+    }
+
+    /**
+     * Calcula la clave canónica de la dirección antes de insertarla o
+     * actualizarla.
+     */
+    @PrePersist
+    @PreUpdate
+    public void calcularClaveCanonica() {
+        claveCanonica = DireccionUtils.claveCanonica(nombreCalle, numeroExterior, numeroInterior,
+                colonia != null ? colonia.getId() : null);
+    }
+
     /**
      * Devuelve una representación en forma de cadena de la dirección.
      *
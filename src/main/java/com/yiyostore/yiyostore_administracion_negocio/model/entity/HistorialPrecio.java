@@ -0,0 +1,161 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidad que representa un cambio en el precio de venta de un producto. Los
+ * registros solo se agregan, nunca se modifican, de modo que forman la serie
+ * de tiempo de precios del producto.
+ *
+ * El índice compuesto (producto_id, fecha, precio) contiene todas las
+ * columnas que leen las consultas del historial (junto con la llave primaria,
+ * que InnoDB agrega a cada índice secundario), por lo que los rangos por
+ * producto y fecha se resuelven sin acceder a la tabla.
+ */
+@Entity
+@Table(name = "historial_precios", indexes = {
+    @Index(name = "idx_historial_precios_producto_fecha", columnList = "producto_id, fecha, precio")
+})
+public class HistorialPrecio {
+
+    /**
+     * Identificador único del registro, auto-generado por la base de datos.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * El producto cuyo precio cambió.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "producto_id", nullable = false)
+    @JsonIgnore
+    private Producto producto;
+
+    /**
+     * Fecha y hora a partir de la cual rige el precio.
+     */
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+
+    /**
+     * Precio de venta del producto a partir de la fecha del registro.
+     */
+    @Column(name = "precio", nullable = false)
+    private double precio;
+
+    /**
+     * Constructor vacío requerido por JPA.
+     */
+    public HistorialPrecio() {
+    }
+
+    /**
+     * Constructor para inicializar un registro del historial.
+     *
+     * @param producto El producto cuyo precio cambió.
+     * @param fecha Fecha y hora a partir de la cual rige el precio.
+     * @param precio Nuevo precio de venta del producto.
+     * @throws IllegalArgumentException si el producto o la fecha son nulos.
+     */
+    public HistorialPrecio(Producto producto, LocalDateTime fecha, double precio) {
+        if (producto == null) {
+            throw new IllegalArgumentException("El producto no puede ser nulo");
+        }
+        if (fecha == null) {
+            throw new IllegalArgumentException("La fecha no puede ser nula");
+        }
+        this.producto = producto;
+        this.fecha = fecha;
+        this.precio = precio;
+    }
+
+    /**
+     * Obtiene el identificador único del registro.
+     *
+     * @return ID del registro.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Obtiene el producto cuyo precio cambió.
+     *
+     * @return Producto del registro.
+     */
+    public Producto getProducto() {
+        return producto;
+    }
+
+    /**
+     * Obtiene la fecha y hora a partir de la cual rige el precio.
+     *
+     * @return Fecha del registro.
+     */
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    /**
+     * Obtiene el precio de venta registrado.
+     *
+     * @return Precio del registro.
+     */
+    public double getPrecio() {
+        return precio;
+    }
+
+    /**
+     * Calcula el hashcode del objeto basado en el ID del registro.
+     *
+     * @return Hashcode del registro.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    /**
+     * Compara este objeto con otro para determinar si son iguales.
+     *
+     * @param obj Objeto con el cual comparar.
+     * @return true si los objetos son iguales (misma id), false en caso
+     * contrario.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        HistorialPrecio that = (HistorialPrecio) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    /**
+     * Representación en cadena del objeto HistorialPrecio.
+     *
+     * @return Cadena que representa el objeto.
+     */
+    @Override
+    public String toString() {
+        return "HistorialPrecio{id=" + id + ", fecha=" + fecha + ", precio=" + precio + '}';
+    }
+}
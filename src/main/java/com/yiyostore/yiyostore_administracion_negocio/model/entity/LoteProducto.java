@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,9 @@ import java.util.Objects;
  * comentario o información relevante sobre el estado del lote.
  */
 @Entity
-@Table(name = "lotes_productos")
+@Table(name = "lotes_productos", indexes = {
+    @Index(name = "idx_lotes_producto_estado_fecha", columnList = "producto_id, estado, fecha")
+})
 public class LoteProducto {
 
     /**
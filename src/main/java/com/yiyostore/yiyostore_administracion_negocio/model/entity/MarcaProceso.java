@@ -0,0 +1,87 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Representa la marca de agua de un proceso incremental: el momento de su
+ * última ejecución. En la siguiente ejecución, el proceso solo procesa los
+ * datos que cambiaron desde esa marca.
+ */
+@Entity
+@Table(name = "marcas_procesos")
+public class MarcaProceso {
+
+    /**
+     * Nombre del proceso.
+     */
+    @Id
+    @Column(name = "nombre", nullable = false, length = 30)
+    private String nombre;
+
+    /**
+     * Momento en que inició la última ejecución del proceso.
+     */
+    @Column(name = "ultima_ejecucion", nullable = false)
+    private LocalDateTime ultimaEjecucion;
+
+    /**
+     * Constructor vacío requerido por JPA.
+     */
+    public MarcaProceso() {
+    }
+
+    /**
+     * Constructor para inicializar la marca de un proceso.
+     *
+     * @param nombre Nombre del proceso.
+     * @param ultimaEjecucion Momento en que inició su última ejecución.
+     */
+    public MarcaProceso(String nombre, LocalDateTime ultimaEjecucion) {
+        this.nombre = nombre;
+        this.ultimaEjecucion = ultimaEjecucion;
+    }
+
+    /**
+     * Obtiene el nombre del proceso.
+     *
+     * @return El nombre del proceso.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene el momento en que inició la última ejecución del proceso.
+     *
+     * @return El momento de la última ejecución.
+     */
+    public LocalDateTime getUltimaEjecucion() {
+        return ultimaEjecucion;
+    }
+
+    /**
+     * Establece el momento en que inició la última ejecución del proceso.
+     *
+     * @param ultimaEjecucion El momento de la última ejecución.
+     */
+    public void setUltimaEjecucion(LocalDateTime ultimaEjecucion) {
+        this.ultimaEjecucion = ultimaEjecucion;
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena de esta marca.
+     *
+     * @return Una cadena que representa la marca del proceso.
+     */
+    @Override
+    public String toString() {
+        return "MarcaProceso{"
+                + "nombre='" + nombre + '\''
+                + ", ultimaEjecucion=" + ultimaEjecucion
+                + '}';
+    }
+}
@@ -0,0 +1,285 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.entity;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.CanalNotificacion;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.EstadoNotificacion;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoNotificacion;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Notificación a un cliente en la bandeja de salida. Se guarda en la misma
+ * transacción que el cambio al pedido que la origina, de modo que solo existe
+ * si el cambio se confirmó, y un proceso en segundo plano la envía después.
+ *
+ * El índice por estado y próximo intento permite obtener las notificaciones
+ * listas para enviarse sin recorrer las ya enviadas.
+ */
+@Entity
+@Table(name = "notificaciones", indexes = {
+    @Index(name = "idx_notificaciones_pendientes", columnList = "estado, proximo_intento")
+})
+public class Notificacion {
+
+    /**
+     * Identificador único de la notificación, auto-generado por la base de
+     * datos.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * Evento que originó la notificación.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 20)
+    private TipoNotificacion tipo;
+
+    /**
+     * Medio por el que se envía la notificación.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "canal", nullable = false, length = 10)
+    private CanalNotificacion canal;
+
+    /**
+     * Número de teléfono normalizado del destinatario.
+     */
+    @Column(name = "destinatario", nullable = false, length = 20)
+    private String destinatario;
+
+    /**
+     * Texto del mensaje.
+     */
+    @Column(name = "mensaje", nullable = false, length = 1000)
+    private String mensaje;
+
+    /**
+     * ID del pedido que originó la notificación.
+     */
+    @Column(name = "pedido_id")
+    private Long pedidoId;
+
+    /**
+     * Estado de la notificación.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 10)
+    private EstadoNotificacion estado;
+
+    /**
+     * Cantidad de intentos de envío realizados.
+     */
+    @Column(name = "intentos", nullable = false)
+    private int intentos;
+
+    /**
+     * Momento a partir del cual se puede intentar el envío. Mientras se envía,
+     * se adelanta para que otro proceso no tome la misma notificación.
+     */
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    /**
+     * Momento en que se registró la notificación.
+     */
+    @Column(name = "creada", nullable = false)
+    private LocalDateTime creada;
+
+    /**
+     * Momento en que el proveedor aceptó la notificación.
+     */
+    @Column(name = "enviada")
+    private LocalDateTime enviada;
+
+    /**
+     * Mensaje del último error de envío.
+     */
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    /**
+     * Constructor vacío requerido por JPA.
+     */
+    public Notificacion() {
+    }
+
+    /**
+     * Constructor para registrar una notificación pendiente de envío.
+     *
+     * @param tipo Evento que originó la notificación.
+     * @param canal Medio por el que se envía.
+     * @param destinatario Número de teléfono normalizado del destinatario.
+     * @param mensaje Texto del mensaje.
+     * @param pedidoId ID del pedido que originó la notificación.
+     * @param creada Momento del registro; también es el primer momento en que
+     * se puede enviar.
+     */
+    public Notificacion(TipoNotificacion tipo, CanalNotificacion canal, String destinatario, String mensaje,
+            Long pedidoId, LocalDateTime creada) {
+        this.tipo = tipo;
+        this.canal = canal;
+        this.destinatario = destinatario;
+        this.mensaje = mensaje;
+        this.pedidoId = pedidoId;
+        this.estado = EstadoNotificacion.PENDIENTE;
+        this.proximoIntento = creada;
+        this.creada = creada;
+    }
+
+    /**
+     * Registra un intento de envío: incrementa los intentos y aparta la
+     * notificación hasta el momento indicado. Si el proceso se detiene antes
+     * de registrar el resultado, la notificación se vuelve a enviar después de
+     * ese momento.
+     *
+     * @param apartadaHasta Momento hasta el que otro proceso no la toma.
+     */
+    public void reclamar(LocalDateTime apartadaHasta) {
+        this.intentos++;
+        this.proximoIntento = apartadaHasta;
+    }
+
+    /**
+     * Obtiene el identificador único de la notificación.
+     *
+     * @return El ID de la notificación.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Establece el identificador único de la notificación.
+     *
+     * @param id El nuevo ID de la notificación.
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Obtiene el evento que originó la notificación.
+     *
+     * @return El tipo de notificación.
+     */
+    public TipoNotificacion getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Obtiene el medio por el que se envía la notificación.
+     *
+     * @return El canal.
+     */
+    public CanalNotificacion getCanal() {
+        return canal;
+    }
+
+    /**
+     * Obtiene el número de teléfono del destinatario.
+     *
+     * @return El número normalizado.
+     */
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    /**
+     * Obtiene el texto del mensaje.
+     *
+     * @return El mensaje.
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * Obtiene el ID del pedido que originó la notificación.
+     *
+     * @return El ID del pedido.
+     */
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    /**
+     * Obtiene el estado de la notificación.
+     *
+     * @return El estado.
+     */
+    public EstadoNotificacion getEstado() {
+        return estado;
+    }
+
+    /**
+     * Obtiene la cantidad de intentos de envío realizados.
+     *
+     * @return Los intentos.
+     */
+    public int getIntentos() {
+        return intentos;
+    }
+
+    /**
+     * Obtiene el momento a partir del cual se puede intentar el envío.
+     *
+     * @return El próximo intento.
+     */
+    public LocalDateTime getProximoIntento() {
+        return proximoIntento;
+    }
+
+    /**
+     * Obtiene el momento en que se registró la notificación.
+     *
+     * @return El momento del registro.
+     */
+    public LocalDateTime getCreada() {
+        return creada;
+    }
+
+    /**
+     * Obtiene el momento en que el proveedor aceptó la notificación.
+     *
+     * @return El momento del envío, o null si no se ha enviado.
+     */
+    public LocalDateTime getEnviada() {
+        return enviada;
+    }
+
+    /**
+     * Obtiene el mensaje del último error de envío.
+     *
+     * @return El último error, o null si no ha fallado.
+     */
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena de esta notificación.
+     *
+     * @return Una cadena que representa la notificación.
+     */
+    @Override
+    public String toString() {
+        return "Notificacion{"
+                + "id=" + id
+                + ", tipo=" + tipo
+                + ", canal=" + canal
+                + ", pedidoId=" + pedidoId
+                + ", estado=" + estado
+                + ", intentos=" + intentos
+                + '}';
+    }
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -28,7 +29,10 @@ import java.util.Objects;
  * lote específico.
  */
 @Entity
-@Table(name = "pedidos")
+@Table(name = "pedidos", indexes = {
+    @Index(name = "idx_pedidos_estado", columnList = "estado, cliente_id"),
+    @Index(name = "idx_pedidos_cliente_fecha", columnList = "cliente_id, fecha")
+})
 public class Pedido {
 
     /**
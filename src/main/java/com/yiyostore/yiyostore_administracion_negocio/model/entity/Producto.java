@@ -1,6 +1,7 @@
 package com.yiyostore.yiyostore_administracion_negocio.model.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -50,10 +51,13 @@ public class Producto {
 
     /**
      * Lista de lotes asociados al producto. Cada lote está relacionado con un
-     * producto a través de la relación bidireccional.
+     * producto a través de la relación bidireccional. Los lotes se aceptan al
+     * crear un producto pero no se incluyen en su JSON; se consultan paginados
+     * en {@code /api/productos/{id}/lotes}.
      */
     @OneToMany(mappedBy = "producto", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private List<LoteProducto> lotes = new ArrayList<>();
 
     /**
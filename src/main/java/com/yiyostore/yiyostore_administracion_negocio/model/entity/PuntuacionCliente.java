@@ -0,0 +1,123 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.entity;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Puntuaciones RFM (recencia, frecuencia y monto) y segmento de un cliente,
+ * calculadas desde su {@link ResumenCliente}. Solo tienen puntuación los
+ * clientes con resumen. Las puntuaciones se guardan en un byte cada una, y el
+ * índice por segmento permite listar los clientes de un segmento sin recorrer
+ * la tabla.
+ */
+@Entity
+@Table(name = "puntuaciones_clientes", indexes = {
+    @Index(name = "idx_puntuaciones_clientes_segmento", columnList = "segmento, cliente_id")
+})
+public class PuntuacionCliente {
+
+    /**
+     * ID del cliente al que pertenecen las puntuaciones.
+     */
+    @Id
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    /**
+     * Puntuación de recencia, de 1 a 5.
+     */
+    @Column(name = "recencia", nullable = false)
+    private byte recencia;
+
+    /**
+     * Puntuación de frecuencia, de 1 a 5.
+     */
+    @Column(name = "frecuencia", nullable = false)
+    private byte frecuencia;
+
+    /**
+     * Puntuación de monto, de 1 a 5.
+     */
+    @Column(name = "monto", nullable = false)
+    private byte monto;
+
+    /**
+     * Segmento que corresponde a las puntuaciones.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "segmento", nullable = false, length = 12)
+    private SegmentoRfm segmento;
+
+    /**
+     * Fecha con la que se calculó la recencia.
+     */
+    @Column(name = "fecha_calculo", nullable = false)
+    private LocalDate fechaCalculo;
+
+    /**
+     * Constructor vacío requerido por JPA.
+     */
+    public PuntuacionCliente() {
+    }
+
+    /**
+     * Obtiene el ID del cliente al que pertenecen las puntuaciones.
+     *
+     * @return El ID del cliente.
+     */
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    /**
+     * Obtiene la puntuación de recencia.
+     *
+     * @return La puntuación, de 1 a 5.
+     */
+    public byte getRecencia() {
+        return recencia;
+    }
+
+    /**
+     * Obtiene la puntuación de frecuencia.
+     *
+     * @return La puntuación, de 1 a 5.
+     */
+    public byte getFrecuencia() {
+        return frecuencia;
+    }
+
+    /**
+     * Obtiene la puntuación de monto.
+     *
+     * @return La puntuación, de 1 a 5.
+     */
+    public byte getMonto() {
+        return monto;
+    }
+
+    /**
+     * Obtiene el segmento del cliente.
+     *
+     * @return El segmento.
+     */
+    public SegmentoRfm getSegmento() {
+        return segmento;
+    }
+
+    /**
+     * Obtiene la fecha con la que se calculó la recencia.
+     *
+     * @return La fecha del cálculo.
+     */
+    public LocalDate getFechaCalculo() {
+        return fechaCalculo;
+    }
+}
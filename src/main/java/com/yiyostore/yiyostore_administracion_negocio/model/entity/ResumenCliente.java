@@ -0,0 +1,125 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Totales de los pedidos de un cliente: cantidad de pedidos, monto total
+ * comprado y fechas del primer y último pedido. Se guardan aparte del cliente
+ * para mostrarlos sin cargar sus pedidos, y se recalculan cada vez que se
+ * crea, modifica o elimina uno de ellos. Los pedidos cancelados y devueltos
+ * no se cuentan, y un cliente sin pedidos contados no tiene resumen.
+ *
+ * Los índices por fecha de cálculo y por fecha del último pedido permiten
+ * encontrar los resúmenes que cambiaron o cuya antigüedad cruzó un límite
+ * desde una fecha, como lo hace la segmentación RFM.
+ */
+@Entity
+@Table(name = "resumenes_clientes", indexes = {
+    @Index(name = "idx_resumenes_clientes_actualizado", columnList = "actualizado"),
+    @Index(name = "idx_resumenes_clientes_ultimo_pedido", columnList = "fecha_ultimo_pedido")
+})
+public class ResumenCliente {
+
+    /**
+     * ID del cliente al que pertenece el resumen.
+     */
+    @Id
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    /**
+     * Cantidad de pedidos del cliente.
+     */
+    @Column(name = "cantidad_pedidos", nullable = false)
+    private long cantidadPedidos;
+
+    /**
+     * Suma del importe de los detalles de todos los pedidos del cliente.
+     */
+    @Column(name = "total_compras", nullable = false)
+    private double totalCompras;
+
+    /**
+     * Fecha del primer pedido del cliente.
+     */
+    @Column(name = "fecha_primer_pedido", nullable = false)
+    private LocalDate fechaPrimerPedido;
+
+    /**
+     * Fecha del último pedido del cliente.
+     */
+    @Column(name = "fecha_ultimo_pedido", nullable = false)
+    private LocalDate fechaUltimoPedido;
+
+    /**
+     * Momento en que se calculó el resumen.
+     */
+    @Column(name = "actualizado", nullable = false)
+    private LocalDateTime actualizado;
+
+    /**
+     * Constructor vacío requerido por JPA.
+     */
+    public ResumenCliente() {
+    }
+
+    /**
+     * Obtiene el ID del cliente al que pertenece el resumen.
+     *
+     * @return El ID del cliente.
+     */
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    /**
+     * Obtiene la cantidad de pedidos del cliente.
+     *
+     * @return La cantidad de pedidos.
+     */
+    public long getCantidadPedidos() {
+        return cantidadPedidos;
+    }
+
+    /**
+     * Obtiene el monto total comprado por el cliente.
+     *
+     * @return El monto total.
+     */
+    public double getTotalCompras() {
+        return totalCompras;
+    }
+
+    /**
+     * Obtiene la fecha del primer pedido del cliente.
+     *
+     * @return La fecha del primer pedido.
+     */
+    public LocalDate getFechaPrimerPedido() {
+        return fechaPrimerPedido;
+    }
+
+    /**
+     * Obtiene la fecha del último pedido del cliente.
+     *
+     * @return La fecha del último pedido.
+     */
+    public LocalDate getFechaUltimoPedido() {
+        return fechaUltimoPedido;
+    }
+
+    /**
+     * Obtiene el momento en que se calculó el resumen.
+     *
+     * @return El momento del cálculo.
+     */
+    public LocalDateTime getActualizado() {
+        return actualizado;
+    }
+}
@@ -0,0 +1,77 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Representa la versión de un catálogo de datos de referencia. La versión se
+ * incrementa con cada cambio al catálogo, y permite saber si una copia local
+ * del catálogo, como la instantánea del catálogo geográfico, sigue vigente.
+ */
+@Entity
+@Table(name = "versiones_catalogo")
+public class VersionCatalogo {
+
+    /**
+     * Nombre del catálogo.
+     */
+    @Id
+    @Column(name = "nombre", nullable = false, length = 30)
+    private String nombre;
+
+    /**
+     * Versión actual del catálogo.
+     */
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Constructor vacío requerido por JPA.
+     */
+    public VersionCatalogo() {
+    }
+
+    /**
+     * Constructor para inicializar la versión de un catálogo.
+     *
+     * @param nombre Nombre del catálogo.
+     * @param version Versión del catálogo.
+     */
+    public VersionCatalogo(String nombre, long version) {
+        this.nombre = nombre;
+        this.version = version;
+    }
+
+    /**
+     * Obtiene el nombre del catálogo.
+     *
+     * @return El nombre del catálogo.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene la versión actual del catálogo.
+     *
+     * @return La versión del catálogo.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena de esta versión.
+     *
+     * @return Una cadena que representa la versión del catálogo.
+     */
+    @Override
+    public String toString() {
+        return "VersionCatalogo{"
+                + "nombre='" + nombre + '\''
+                + ", version=" + version
+                + '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.enums;
+
+/**
+ * Enum que representa el medio por el que se envía una notificación a un
+ * cliente.
+ */
+public enum CanalNotificacion {
+    /**
+     * Mensaje de WhatsApp.
+     */
+    WHATSAPP,
+    /**
+     * Mensaje de texto (SMS).
+     */
+    SMS
+}
@@ -0,0 +1,19 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.enums;
+
+/**
+ * Enum que representa el estado de una notificación en la bandeja de salida.
+ */
+public enum EstadoNotificacion {
+    /**
+     * La notificación está esperando su envío o un nuevo intento.
+     */
+    PENDIENTE,
+    /**
+     * El proveedor de mensajería aceptó la notificación.
+     */
+    ENVIADA,
+    /**
+     * La notificación no se pudo enviar y no se volverá a intentar.
+     */
+    FALLIDA
+}
@@ -0,0 +1,36 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.enums;
+
+/**
+ * Enum que representa el segmento de mercadotecnia de un cliente, obtenido de
+ * sus puntuaciones de recencia, frecuencia y monto (RFM).
+ */
+public enum SegmentoRfm {
+    /**
+     * Compró recientemente, con frecuencia y por montos altos.
+     */
+    CAMPEONES,
+    /**
+     * Compra con frecuencia y su última compra es reciente o intermedia.
+     */
+    LEALES,
+    /**
+     * Hizo su primera y única compra recientemente.
+     */
+    NUEVOS,
+    /**
+     * Compró recientemente, pero pocas veces.
+     */
+    POTENCIALES,
+    /**
+     * Compraba con frecuencia, pero hace tiempo que no compra.
+     */
+    EN_RIESGO,
+    /**
+     * Compró pocas veces y hace tiempo que no compra.
+     */
+    HIBERNANDO,
+    /**
+     * Compró pocas veces y hace más de un año.
+     */
+    PERDIDOS
+}
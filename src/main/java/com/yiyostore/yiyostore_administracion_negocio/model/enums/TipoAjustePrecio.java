@@ -0,0 +1,17 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.enums;
+
+/**
+ * Enum que representa la forma en que se aplica un ajuste masivo de precios a
+ * los productos.
+ */
+public enum TipoAjustePrecio {
+    /**
+     * El valor del ajuste es un porcentaje sobre el precio actual. Por ejemplo,
+     * 8 incrementa el precio un 8% y -10 lo reduce un 10%.
+     */
+    PORCENTAJE,
+    /**
+     * El valor del ajuste es un monto absoluto que se suma al precio actual.
+     */
+    MONTO
+}
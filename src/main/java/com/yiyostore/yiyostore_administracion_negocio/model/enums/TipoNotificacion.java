@@ -0,0 +1,15 @@
+package com.yiyostore.yiyostore_administracion_negocio.model.enums;
+
+/**
+ * Enum que representa el evento de un pedido que originó una notificación.
+ */
+public enum TipoNotificacion {
+    /**
+     * Se registró un pedido nuevo.
+     */
+    PEDIDO_CREADO,
+    /**
+     * Cambió el estado de un pedido.
+     */
+    PEDIDO_ESTADO
+}
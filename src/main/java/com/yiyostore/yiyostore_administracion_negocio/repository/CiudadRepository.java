@@ -1,7 +1,12 @@
 package com.yiyostore.yiyostore_administracion_negocio.repository;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Ciudad;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +14,27 @@ import org.springframework.stereotype.Repository;
  * permite la implementación de consultas personalizadas.
  */
 @Repository
-public interface CiudadRepository extends JpaRepository<Ciudad, Long> {}
+public interface CiudadRepository extends JpaRepository<Ciudad, Long> {
+
+    /**
+     * Obtiene todas las ciudades con la cantidad de colonias de cada una, en
+     * una sola consulta agregada y sin cargar las colonias.
+     *
+     * @return Lista de ciudades ordenadas por nombre y estado.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO("
+            + "c.id, c.nombre, c.estado, COUNT(co.id)) FROM Ciudad c LEFT JOIN c.colonias co"
+            + " GROUP BY c.id, c.nombre, c.estado ORDER BY c.nombre, c.estado, c.id")
+    List<CiudadResumenDTO> findAllResumen();
+
+    /**
+     * Obtiene una ciudad con la cantidad de colonias que tiene.
+     *
+     * @param id ID de la ciudad.
+     * @return La ciudad, o vacío si no existe.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO("
+            + "c.id, c.nombre, c.estado, COUNT(co.id)) FROM Ciudad c LEFT JOIN c.colonias co"
+            + " WHERE c.id = :id GROUP BY c.id, c.nombre, c.estado")
+    Optional<CiudadResumenDTO> findResumenById(@Param("id") Long id);
+}
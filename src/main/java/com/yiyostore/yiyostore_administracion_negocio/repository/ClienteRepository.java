@@ -1,7 +1,17 @@
 package com.yiyostore.yiyostore_administracion_negocio.repository;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.NombreClienteDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Cliente;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +20,88 @@ import org.springframework.stereotype.Repository;
  * soporte de paginación y clasificación.
  */
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {}
+public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+
+    /**
+     * Obtiene los clientes con un número de teléfono como {@link ClienteDTO},
+     * con una búsqueda en el índice del número de teléfono. Varios clientes
+     * pueden compartir un número, como los de una misma casa.
+     *
+     * @param numeroTelefono Número de teléfono normalizado.
+     * @return Los clientes con ese número, del más antiguo al más reciente.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ClienteDTO("
+            + "c.id, c.nombre, c.numeroTelefono, c.notas, d.id, d.nombreCalle, d.numeroExterior, d.numeroInterior,"
+            + " co.nombre, co.codigoPostal) FROM Cliente c LEFT JOIN c.direccion d LEFT JOIN d.colonia co"
+            + " WHERE c.numeroTelefono = :numeroTelefono ORDER BY c.id")
+    List<ClienteDTO> findDTOsByNumeroTelefono(@Param("numeroTelefono") String numeroTelefono);
+
+    /**
+     * Obtiene un cliente con los datos de su dirección, sin cargar las
+     * entidades. Se usa para conocer el número de teléfono y la dirección que
+     * tenía el cliente antes de modificarlo.
+     *
+     * @param id ID del cliente.
+     * @return El cliente, o vacío si no existe.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ClienteDTO("
+            + "c.id, c.nombre, c.numeroTelefono, c.notas, d.id, d.nombreCalle, d.numeroExterior, d.numeroInterior,"
+            + " co.nombre, co.codigoPostal) FROM Cliente c LEFT JOIN c.direccion d LEFT JOIN d.colonia co"
+            + " WHERE c.id = :id")
+    Optional<ClienteDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Bloquea las filas de los clientes indicados hasta el final de la
+     * transacción, en orden de ID para que dos transacciones no se bloqueen
+     * entre sí.
+     *
+     * @param ids IDs de los clientes.
+     * @return Los IDs de los clientes que existen.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Cliente c WHERE c.id IN :ids ORDER BY c.id")
+    List<Long> bloquearPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene los números de teléfono de los clientes que usan una dirección.
+     *
+     * @param direccionId ID de la dirección.
+     * @return Lista de números de teléfono normalizados.
+     */
+    @Query("SELECT c.numeroTelefono FROM Cliente c WHERE c.direccion.id = :direccionId")
+    List<String> findNumerosTelefonoByDireccionId(@Param("direccionId") Long direccionId);
+
+    /**
+     * Obtiene, de entre los números de teléfono indicados, los que ya tiene
+     * algún cliente.
+     *
+     * @param numerosTelefono Números de teléfono normalizados.
+     * @return Lista de números existentes.
+     */
+    @Query("SELECT c.numeroTelefono FROM Cliente c WHERE c.numeroTelefono IN :numerosTelefono")
+    List<String> findNumerosTelefonoExistentes(@Param("numerosTelefono") Collection<String> numerosTelefono);
+
+    /**
+     * Obtiene el nombre y número de teléfono de todos los clientes con
+     * nombre, para cargar el índice de búsqueda por nombre.
+     *
+     * @return Lista de clientes con nombre.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.NombreClienteDTO("
+            + "c.id, c.nombre, c.numeroTelefono) FROM Cliente c WHERE c.nombre IS NOT NULL")
+    List<NombreClienteDTO> findAllNombres();
+
+    /**
+     * Busca clientes cuyo nombre contiene el término, sin distinguir
+     * mayúsculas. Se usa mientras el índice de búsqueda por nombre no está
+     * cargado.
+     *
+     * @param nombre Término de búsqueda.
+     * @param limite Cantidad máxima de resultados.
+     * @return Lista de clientes encontrados, ordenados por nombre.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.NombreClienteDTO("
+            + "c.id, c.nombre, c.numeroTelefono) FROM Cliente c"
+            + " WHERE LOWER(c.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) ORDER BY c.nombre, c.id")
+    List<NombreClienteDTO> findNombresByNombreContaining(@Param("nombre") String nombre, Limit limite);
+}
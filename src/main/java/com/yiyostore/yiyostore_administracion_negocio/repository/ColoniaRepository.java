@@ -1,8 +1,18 @@
 package com.yiyostore.yiyostore_administracion_negocio.repository;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Ciudad;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Colonia;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,6 +22,107 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ColoniaRepository extends JpaRepository<Colonia, Long> {
-    
-    List<Colonia> findByNombreContainingIgnoreCase(String nombre);
+
+    /**
+     * Obtiene una página de colonias como {@link ColoniaDTO}, con el nombre de
+     * su ciudad obtenido en la misma consulta. El orden de la página puede
+     * usar las propiedades de la entidad Colonia.
+     *
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de colonias.
+     */
+    @Query(value = "SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO("
+            + "c.id, c.nombre, c.codigoPostal, ci.nombre) FROM Colonia c JOIN c.ciudad ci",
+            countQuery = "SELECT COUNT(c) FROM Colonia c")
+    Page<ColoniaDTO> findAllDTO(Pageable pageable);
+
+    /**
+     * Obtiene una página de las colonias de una ciudad como
+     * {@link ColoniaDTO}. El orden de la página puede usar las propiedades de
+     * la entidad Colonia.
+     *
+     * @param ciudadId ID de la ciudad.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de colonias de la ciudad.
+     */
+    @Query(value = "SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO("
+            + "c.id, c.nombre, c.codigoPostal, ci.nombre) FROM Colonia c JOIN c.ciudad ci WHERE ci.id = :ciudadId",
+            countQuery = "SELECT COUNT(c) FROM Colonia c WHERE c.ciudad.id = :ciudadId")
+    Page<ColoniaDTO> findDTOByCiudadId(@Param("ciudadId") Long ciudadId, Pageable pageable);
+
+    /**
+     * Obtiene todas las colonias de una ciudad como {@link ColoniaDTO}.
+     *
+     * @param ciudadId ID de la ciudad.
+     * @return Lista de colonias de la ciudad.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO("
+            + "c.id, c.nombre, c.codigoPostal, ci.nombre) FROM Colonia c JOIN c.ciudad ci WHERE ci.id = :ciudadId")
+    List<ColoniaDTO> findAllDTOByCiudadId(@Param("ciudadId") Long ciudadId);
+
+    /**
+     * Busca colonias cuyo nombre contiene el término, ignorando mayúsculas,
+     * como {@link ColoniaDTO} y con una cantidad máxima de resultados.
+     *
+     * @param nombre Término de búsqueda.
+     * @param limite Cantidad máxima de resultados.
+     * @return Lista de colonias encontradas, ordenadas por nombre.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO("
+            + "c.id, c.nombre, c.codigoPostal, ci.nombre) FROM Colonia c JOIN c.ciudad ci"
+            + " WHERE LOWER(c.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) ORDER BY c.nombre, c.id")
+    List<ColoniaDTO> findDTOByNombreContaining(@Param("nombre") String nombre, Limit limite);
+
+    /**
+     * Obtiene una colonia como {@link ColoniaDTO}.
+     *
+     * @param id ID de la colonia.
+     * @return La colonia, o vacío si no existe.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO("
+            + "c.id, c.nombre, c.codigoPostal, ci.nombre) FROM Colonia c JOIN c.ciudad ci WHERE c.id = :id")
+    Optional<ColoniaDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Obtiene las colonias de un código postal, ordenadas por nombre. Usa el
+     * índice sobre la columna codigo_postal.
+     *
+     * @param codigoPostal El código postal.
+     * @return Lista de colonias del código postal.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO("
+            + "c.id, c.nombre, c.codigoPostal, ci.nombre) FROM Colonia c JOIN c.ciudad ci"
+            + " WHERE c.codigoPostal = :codigoPostal ORDER BY c.nombre, c.id")
+    List<ColoniaDTO> findDTOByCodigoPostal(@Param("codigoPostal") int codigoPostal);
+
+    /**
+     * Obtiene el código postal de una colonia.
+     *
+     * @param id ID de la colonia.
+     * @return El código postal, o vacío si la colonia no existe.
+     */
+    @Query("SELECT c.codigoPostal FROM Colonia c WHERE c.id = :id")
+    Optional<Integer> findCodigoPostalById(@Param("id") Long id);
+
+    /**
+     * Asocia colonias a una ciudad con una sola sentencia UPDATE, sin cargar
+     * las colonias ni la lista de colonias de la ciudad.
+     *
+     * @param ciudad Ciudad a la que se asocian las colonias.
+     * @param ids IDs de las colonias.
+     * @return Cantidad de colonias actualizadas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Colonia c SET c.ciudad = :ciudad WHERE c.id IN :ids")
+    int asociarACiudad(@Param("ciudad") Ciudad ciudad, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene, de entre los IDs indicados, los que corresponden a colonias
+     * existentes.
+     *
+     * @param ids IDs a verificar.
+     * @return Lista de IDs existentes.
+     */
+    @Query("SELECT c.id FROM Colonia c WHERE c.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
 }
@@ -1,8 +1,16 @@
 package com.yiyostore.yiyostore_administracion_negocio.repository;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CalleDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Direccion;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repositorio para acceder y manipular datos de la entidad Direccion en la base
@@ -10,4 +18,64 @@ import org.springframework.stereotype.Repository;
  * soporte de paginación y clasificación.
  */
 @Repository
-public interface DireccionRepository extends JpaRepository<Direccion, Long> {}
+public interface DireccionRepository extends JpaRepository<Direccion, Long> {
+
+    /**
+     * Obtiene las calles distintas registradas en las direcciones, una por
+     * cada combinación de nombre de calle y colonia.
+     *
+     * @return Lista de calles.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.CalleDTO("
+            + "MIN(d.id), d.nombreCalle, c.id, c.nombre, c.codigoPostal) FROM Direccion d JOIN d.colonia c"
+            + " WHERE d.nombreCalle IS NOT NULL GROUP BY d.nombreCalle, c.id, c.nombre, c.codigoPostal")
+    List<CalleDTO> findAllCalles();
+
+    /**
+     * Obtiene las calles registradas en una colonia, una por cada nombre de
+     * calle distinto, con el ID de la dirección más antigua que la usa.
+     *
+     * @param coloniaId ID de la colonia.
+     * @return Las calles de la colonia.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.CalleDTO("
+            + "MIN(d.id), d.nombreCalle, c.id, c.nombre, c.codigoPostal) FROM Direccion d JOIN d.colonia c"
+            + " WHERE c.id = :coloniaId AND d.nombreCalle IS NOT NULL"
+            + " GROUP BY d.nombreCalle, c.id, c.nombre, c.codigoPostal")
+    List<CalleDTO> findCallesByColoniaId(@Param("coloniaId") Long coloniaId);
+
+    /**
+     * Busca la dirección más antigua con una clave canónica. Usa el índice
+     * sobre la columna clave_canonica.
+     *
+     * @param claveCanonica La clave canónica.
+     * @return La dirección, o vacío si no hay ninguna con esa clave.
+     */
+    Optional<Direccion> findFirstByClaveCanonicaOrderByIdAsc(String claveCanonica);
+
+    /**
+     * Obtiene, para cada clave canónica indicada que ya existe, el ID de la
+     * dirección más antigua con esa clave.
+     *
+     * @param claves Claves canónicas a buscar.
+     * @return Pares de clave canónica e ID de dirección.
+     */
+    @Query("SELECT d.claveCanonica, MIN(d.id) FROM Direccion d WHERE d.claveCanonica IN :claves"
+            + " GROUP BY d.claveCanonica")
+    List<Object[]> findIdsPorClaveCanonica(@Param("claves") Collection<String> claves);
+
+    /**
+     * Elimina una dirección si ningún cliente la usa. La verificación y la
+     * eliminación se hacen en la misma sentencia, por lo que un cliente que se
+     * asocia a la dirección al mismo tiempo no la pierde.
+     *
+     * @param id ID de la dirección.
+     * @return 1 si la dirección se eliminó, 0 si no existe o algún cliente la
+     * usa.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Direccion d WHERE d.id = :id"
+            + " AND NOT EXISTS (SELECT 1 FROM Cliente c WHERE c.direccion.id = d.id)")
+    int eliminarSiNoTieneClientes(@Param("id") Long id);
+}
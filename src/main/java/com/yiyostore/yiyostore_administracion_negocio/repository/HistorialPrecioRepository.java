@@ -0,0 +1,89 @@
+package com.yiyostore.yiyostore_administracion_negocio.repository;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.HistorialPrecio;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para acceder al historial de precios de los productos. Todas las
+ * consultas filtran por producto y rango de fechas, de modo que se resuelven
+ * con el índice (producto_id, fecha, precio).
+ */
+@Repository
+public interface HistorialPrecioRepository extends JpaRepository<HistorialPrecio, Long> {
+
+    /**
+     * Obtiene el precio vigente de un producto antes de una fecha.
+     *
+     * @param productoId ID del producto.
+     * @param fecha Fecha límite, exclusiva.
+     * @param limite Límite de resultados; normalmente {@code Limit.of(1)}.
+     * @return Lista con el último precio registrado antes de la fecha, o vacía
+     * si no hay registros.
+     */
+    @Query("SELECT h.precio FROM HistorialPrecio h"
+            + " WHERE h.producto.id = :productoId AND h.fecha < :fecha ORDER BY h.fecha DESC")
+    List<Double> buscarPrecioVigente(@Param("productoId") Long productoId, @Param("fecha") LocalDateTime fecha,
+            Limit limite);
+
+    /**
+     * Agrupa los cambios de precio de un producto en intervalos de igual
+     * duración y calcula el precio mínimo, máximo y promedio, y la cantidad de
+     * cambios, de cada intervalo. La agregación se hace en la base de datos,
+     * por lo que solo se transfiere un renglón por intervalo.
+     *
+     * @param productoId ID del producto.
+     * @param desde Inicio del rango, inclusivo.
+     * @param hasta Fin del rango, exclusivo.
+     * @param segundosPorIntervalo Duración de cada intervalo en segundos.
+     * @return Renglones con el número de intervalo, el precio mínimo, máximo y
+     * promedio, y la cantidad de cambios, ordenados por intervalo.
+     */
+    @Query("SELECT FLOOR(((h.fecha - :desde) BY SECOND) / :segundosPorIntervalo),"
+            + " MIN(h.precio), MAX(h.precio), AVG(h.precio), COUNT(h)"
+            + " FROM HistorialPrecio h"
+            + " WHERE h.producto.id = :productoId AND h.fecha >= :desde AND h.fecha < :hasta"
+            + " GROUP BY 1"
+            + " ORDER BY 1")
+    List<Object[]> agruparPorIntervalo(@Param("productoId") Long productoId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+            @Param("segundosPorIntervalo") long segundosPorIntervalo);
+
+    /**
+     * Registra en el historial el precio que tendrán los productos indicados
+     * después de un ajuste masivo, con una sola sentencia INSERT ... SELECT.
+     * Debe ejecutarse antes del UPDATE del ajuste y con las mismas condiciones
+     * que {@link ProductoRepository#ajustarPrecios}; los productos cuyo precio
+     * no cambia no se registran.
+     *
+     * @param ids IDs de los productos a ajustar.
+     * @param factor Factor por el que se multiplica el precio actual.
+     * @param monto Monto que se suma al precio multiplicado.
+     * @param fecha Fecha del ajuste.
+     * @return Cantidad de registros agregados.
+     */
+    @Modifying
+    @Query("INSERT INTO HistorialPrecio (producto, fecha, precio)"
+            + " SELECT p, :fecha, ROUND(p.precio * :factor + :monto, 2) FROM Producto p"
+            + " WHERE p.id IN :ids AND p.precio * :factor + :monto >= 0"
+            + " AND ROUND(p.precio * :factor + :monto, 2) <> p.precio")
+    int registrarAjuste(@Param("ids") Collection<Long> ids, @Param("factor") double factor,
+            @Param("monto") double monto, @Param("fecha") LocalDateTime fecha);
+
+    /**
+     * Elimina el historial de precios de un producto.
+     *
+     * @param productoId ID del producto.
+     * @return Cantidad de registros eliminados.
+     */
+    @Modifying
+    @Query("DELETE FROM HistorialPrecio h WHERE h.producto.id = :productoId")
+    int eliminarPorProducto(@Param("productoId") Long productoId);
+}
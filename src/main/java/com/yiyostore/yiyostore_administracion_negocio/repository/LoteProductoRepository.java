@@ -3,9 +3,13 @@ package com.yiyostore.yiyostore_administracion_negocio.repository;
 import com.yiyostore.yiyostore_administracion_negocio.model.enums.Estado;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.LoteProducto;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -20,4 +24,27 @@ public interface LoteProductoRepository extends JpaRepository<LoteProducto, Long
 
     @Query("SELECT SUM(l.costo * l.cantidad) FROM LoteProducto l")
     double calcularCostoTotalInventario();
-}
\ No newline at end of file
+
+    /**
+     * Obtiene una página de los lotes de un producto que cumplen con los
+     * filtros indicados. Los filtros nulos no se aplican. La consulta se
+     * resuelve con el índice compuesto (producto_id, estado, fecha).
+     *
+     * @param productoId ID del producto.
+     * @param estado Estado de los lotes.
+     * @param desde Fecha de adquisición mínima.
+     * @param hasta Fecha de adquisición máxima.
+     * @param soloConStock Si es true, solo se incluyen lotes con cantidad mayor
+     * a cero.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de lotes.
+     */
+    @Query("SELECT l FROM LoteProducto l WHERE l.producto.id = :productoId"
+            + " AND (:estado IS NULL OR l.estado = :estado)"
+            + " AND (:desde IS NULL OR l.fecha >= :desde)"
+            + " AND (:hasta IS NULL OR l.fecha <= :hasta)"
+            + " AND (:soloConStock = FALSE OR l.cantidad > 0)")
+    Page<LoteProducto> buscarPorProducto(@Param("productoId") Long productoId, @Param("estado") Estado estado,
+            @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+            @Param("soloConStock") boolean soloConStock, Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.yiyostore.yiyostore_administracion_negocio.repository;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.MarcaProceso;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para la entidad MarcaProceso.
+ */
+@Repository
+public interface MarcaProcesoRepository extends JpaRepository<MarcaProceso, String> {
+}
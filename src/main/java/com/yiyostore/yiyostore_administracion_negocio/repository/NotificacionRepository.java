@@ -0,0 +1,77 @@
+package com.yiyostore.yiyostore_administracion_negocio.repository;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Notificacion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para la bandeja de salida de notificaciones.
+ */
+@Repository
+public interface NotificacionRepository extends JpaRepository<Notificacion, Long> {
+
+    /**
+     * Obtiene y bloquea las notificaciones pendientes cuyo momento de envío ya
+     * llegó, en orden de antigüedad. Las que otra transacción tiene bloqueadas
+     * se omiten (SKIP LOCKED), de modo que varias instancias pueden despachar
+     * la bandeja sin tomar las mismas notificaciones.
+     *
+     * @param ahora Momento actual.
+     * @param limite Cantidad máxima de notificaciones.
+     * @return Lista de notificaciones listas para enviarse.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM Notificacion n WHERE n.estado = com.yiyostore.yiyostore_administracion_negocio"
+            + ".model.enums.EstadoNotificacion.PENDIENTE AND n.proximoIntento <= :ahora"
+            + " ORDER BY n.proximoIntento, n.id")
+    List<Notificacion> findParaEnviar(@Param("ahora") LocalDateTime ahora, Limit limite);
+
+    /**
+     * Marca como enviadas varias notificaciones con una sola sentencia.
+     *
+     * @param ids IDs de las notificaciones.
+     * @param ahora Momento del envío.
+     * @return Cantidad de notificaciones actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.estado = com.yiyostore.yiyostore_administracion_negocio"
+            + ".model.enums.EstadoNotificacion.ENVIADA, n.enviada = :ahora WHERE n.id IN :ids")
+    int marcarEnviadas(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Programa un nuevo intento de envío de una notificación.
+     *
+     * @param id ID de la notificación.
+     * @param proximoIntento Momento a partir del cual se vuelve a intentar.
+     * @param error Mensaje del error del intento fallido.
+     * @return Cantidad de notificaciones actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.proximoIntento = :proximoIntento, n.ultimoError = :error WHERE n.id = :id")
+    int reprogramar(@Param("id") Long id, @Param("proximoIntento") LocalDateTime proximoIntento,
+            @Param("error") String error);
+
+    /**
+     * Marca una notificación como fallida; ya no se vuelve a intentar.
+     *
+     * @param id ID de la notificación.
+     * @param error Mensaje del error del último intento.
+     * @return Cantidad de notificaciones actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.estado = com.yiyostore.yiyostore_administracion_negocio"
+            + ".model.enums.EstadoNotificacion.FALLIDA, n.ultimoError = :error WHERE n.id = :id")
+    int marcarFallida(@Param("id") Long id, @Param("error") String error);
+}
@@ -1,7 +1,16 @@
 package com.yiyostore.yiyostore_administracion_negocio.repository;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.EstadoPedido;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.GrupoEntregaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.HistorialPedidoDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Pedido;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +19,42 @@ import org.springframework.stereotype.Repository;
  * soporte de paginación y clasificación.
  */
 @Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {}
+public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+
+    /**
+     * Agrupa por colonia los pedidos con alguno de los estados indicados, con
+     * la cantidad de pedidos, de clientes y el total de cada grupo, en una
+     * sola consulta. El filtro por estado usa el índice sobre la columna
+     * estado.
+     *
+     * @param estados Estados de los pedidos a incluir.
+     * @return Grupos ordenados por ciudad, código postal y colonia.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.GrupoEntregaDTO("
+            + "co.id, co.nombre, co.codigoPostal, ci.id, ci.nombre, COUNT(DISTINCT p.id), COUNT(DISTINCT cl.id),"
+            + " COALESCE(SUM(d.cantidad * d.precioUnitario), 0.0))"
+            + " FROM Pedido p JOIN p.cliente cl LEFT JOIN cl.direccion di LEFT JOIN di.colonia co"
+            + " LEFT JOIN co.ciudad ci LEFT JOIN p.detalles d"
+            + " WHERE p.estado IN :estados"
+            + " GROUP BY co.id, co.nombre, co.codigoPostal, ci.id, ci.nombre"
+            + " ORDER BY ci.nombre, co.codigoPostal, co.nombre")
+    List<GrupoEntregaDTO> agruparParaEntrega(@Param("estados") Collection<EstadoPedido> estados);
+
+    /**
+     * Obtiene una página de los pedidos de un cliente como
+     * {@link HistorialPedidoDTO}, con sus totales calculados en la misma
+     * consulta. El filtro usa el índice sobre el cliente y la fecha, y el
+     * orden de la página puede usar las propiedades de la entidad Pedido.
+     *
+     * @param clienteId ID del cliente.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de pedidos del cliente.
+     */
+    @Query(value = "SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.HistorialPedidoDTO("
+            + "p.id, p.fecha, p.estado, p.metodoPago, p.lugarCompra, COALESCE(SUM(d.cantidad), 0),"
+            + " COALESCE(SUM(d.cantidad * d.precioUnitario), 0.0))"
+            + " FROM Pedido p LEFT JOIN p.detalles d WHERE p.cliente.id = :clienteId"
+            + " GROUP BY p.id, p.fecha, p.estado, p.metodoPago, p.lugarCompra",
+            countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.cliente.id = :clienteId")
+    Page<HistorialPedidoDTO> findHistorialByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
+}
@@ -1,9 +1,13 @@
 package com.yiyostore.yiyostore_administracion_negocio.repository;
 
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -14,9 +18,55 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ProductoRepository extends JpaRepository<Producto, Long> {
 
-    @Query("SELECT SUM(p.precio * l.cantidad) FROM LoteProducto l JOIN l.producto p WHERE l.cantidad > 0")
+    @Query("SELECT COALESCE(SUM(p.precio * l.cantidad), 0) FROM LoteProducto l JOIN l.producto p WHERE l.cantidad > 0")
     double calcularPrecioVentaTotalInventario();
 
     @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.lotes l WHERE l.cantidad > 0 OR l IS NULL")
     List<Producto> findAllWithLotesHavingQuantityGreaterThanZeroOrNoLotes();
+
+    /**
+     * Obtiene los IDs de los productos que cumplen con los filtros indicados.
+     * Los filtros nulos no se aplican.
+     *
+     * @param nombre Texto que debe contener el nombre del producto.
+     * @param proveedor Texto que debe contener el link de compra de alguno de
+     * los lotes del producto.
+     * @param desde Fecha de adición mínima.
+     * @param hasta Fecha de adición máxima.
+     * @return Lista de IDs de los productos que cumplen con los filtros.
+     */
+    @Query("SELECT p.id FROM Producto p"
+            + " WHERE (:nombre IS NULL OR LOWER(p.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')))"
+            + " AND (:proveedor IS NULL OR EXISTS (SELECT l.id FROM LoteProducto l WHERE l.producto = p"
+            + " AND LOWER(l.linkDeCompra) LIKE LOWER(CONCAT('%', :proveedor, '%'))))"
+            + " AND (:desde IS NULL OR p.fechaAdicion >= :desde)"
+            + " AND (:hasta IS NULL OR p.fechaAdicion <= :hasta)")
+    List<Long> buscarIdsPorFiltro(@Param("nombre") String nombre, @Param("proveedor") String proveedor,
+            @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /**
+     * Ajusta el precio de varios productos en una sola sentencia UPDATE. El
+     * nuevo precio se calcula como {@code precio * factor + monto} redondeado a
+     * dos decimales. Los productos cuyo precio resultante sería negativo no se
+     * modifican.
+     *
+     * @param ids IDs de los productos a ajustar.
+     * @param factor Factor por el que se multiplica el precio actual.
+     * @param monto Monto que se suma al precio multiplicado.
+     * @return Cantidad de productos actualizados.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Producto p SET p.precio = ROUND(p.precio * :factor + :monto, 2)"
+            + " WHERE p.id IN :ids AND p.precio * :factor + :monto >= 0")
+    int ajustarPrecios(@Param("ids") Collection<Long> ids, @Param("factor") double factor, @Param("monto") double monto);
+
+    /**
+     * Obtiene, de entre los IDs indicados, los que corresponden a productos
+     * existentes.
+     *
+     * @param ids IDs a verificar.
+     * @return Lista de IDs existentes.
+     */
+    @Query("SELECT p.id FROM Producto p WHERE p.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
 }
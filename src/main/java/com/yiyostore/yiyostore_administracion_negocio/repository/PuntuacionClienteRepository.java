@@ -0,0 +1,80 @@
+package com.yiyostore.yiyostore_administracion_negocio.repository;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ConteoSegmentoDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.PuntuacionClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.PuntuacionCliente;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para acceder a las puntuaciones RFM y segmentos de los clientes.
+ */
+@Repository
+public interface PuntuacionClienteRepository extends JpaRepository<PuntuacionCliente, Long> {
+
+    /**
+     * Elimina las puntuaciones de los clientes indicados.
+     *
+     * @param clienteIds IDs de los clientes.
+     * @return Cantidad de puntuaciones eliminadas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM PuntuacionCliente p WHERE p.clienteId IN :clienteIds")
+    int eliminarPorClientes(@Param("clienteIds") Collection<Long> clienteIds);
+
+    /**
+     * Elimina las puntuaciones de los clientes indicados que ya no tienen
+     * resumen de pedidos.
+     *
+     * @param clienteIds IDs de los clientes.
+     * @return Cantidad de puntuaciones eliminadas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM PuntuacionCliente p WHERE p.clienteId IN :clienteIds"
+            + " AND NOT EXISTS (SELECT 1 FROM ResumenCliente r WHERE r.clienteId = p.clienteId)")
+    int eliminarSinResumen(@Param("clienteIds") Collection<Long> clienteIds);
+
+    /**
+     * Elimina las puntuaciones de todos los clientes que no tienen resumen de
+     * pedidos.
+     *
+     * @return Cantidad de puntuaciones eliminadas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PuntuacionCliente p"
+            + " WHERE NOT EXISTS (SELECT 1 FROM ResumenCliente r WHERE r.clienteId = p.clienteId)")
+    int eliminarTodasSinResumen();
+
+    /**
+     * Cuenta los clientes de cada segmento.
+     *
+     * @return La cantidad de clientes por segmento, solo de los segmentos con
+     * clientes.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ConteoSegmentoDTO("
+            + "p.segmento, COUNT(p)) FROM PuntuacionCliente p GROUP BY p.segmento ORDER BY p.segmento")
+    List<ConteoSegmentoDTO> contarPorSegmento();
+
+    /**
+     * Obtiene una página de los clientes de un segmento con sus puntuaciones,
+     * usando el índice por segmento. El orden de la página puede usar las
+     * propiedades de la entidad PuntuacionCliente.
+     *
+     * @param segmento Segmento de los clientes.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de clientes del segmento.
+     */
+    @Query(value = "SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.PuntuacionClienteDTO("
+            + "c.id, c.nombre, c.numeroTelefono, p.recencia, p.frecuencia, p.monto, p.segmento, p.fechaCalculo)"
+            + " FROM PuntuacionCliente p JOIN Cliente c ON c.id = p.clienteId WHERE p.segmento = :segmento",
+            countQuery = "SELECT COUNT(p) FROM PuntuacionCliente p WHERE p.segmento = :segmento")
+    Page<PuntuacionClienteDTO> findDTOBySegmento(@Param("segmento") SegmentoRfm segmento, Pageable pageable);
+}
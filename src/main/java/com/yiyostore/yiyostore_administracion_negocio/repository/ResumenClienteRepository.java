@@ -0,0 +1,171 @@
+package com.yiyostore.yiyostore_administracion_negocio.repository;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.EstadoPedido;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.ResumenCliente;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para acceder y recalcular los resúmenes de pedidos de los
+ * clientes.
+ */
+@Repository
+public interface ResumenClienteRepository extends JpaRepository<ResumenCliente, Long> {
+
+    /**
+     * Elimina el resumen de los clientes indicados que ya no tienen pedidos
+     * que se cuenten.
+     *
+     * @param clienteIds IDs de los clientes.
+     * @param excluidos Estados de los pedidos que no se cuentan.
+     * @return Cantidad de resúmenes eliminados.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ResumenCliente r WHERE r.clienteId IN :clienteIds AND NOT EXISTS ("
+            + "SELECT p.id FROM Pedido p WHERE p.cliente.id = r.clienteId AND p.estado NOT IN :excluidos)")
+    int eliminarSinPedidos(@Param("clienteIds") Collection<Long> clienteIds,
+            @Param("excluidos") Collection<EstadoPedido> excluidos);
+
+    /**
+     * Vuelve a calcular, a partir de sus pedidos, los resúmenes que ya
+     * existen de los clientes indicados. Debe ejecutarse después de
+     * {@link #eliminarSinPedidos}, para que todos los resúmenes que quedan
+     * tengan pedidos contados.
+     *
+     * @param clienteIds IDs de los clientes.
+     * @param excluidos Estados de los pedidos que no se cuentan.
+     * @param ahora Momento del cálculo.
+     * @return Cantidad de resúmenes actualizados.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ResumenCliente r SET"
+            + " r.cantidadPedidos = (SELECT COUNT(p) FROM Pedido p"
+            + " WHERE p.cliente.id = r.clienteId AND p.estado NOT IN :excluidos),"
+            + " r.totalCompras = (SELECT COALESCE(SUM(d.cantidad * d.precioUnitario), 0.0) FROM Pedido p"
+            + " JOIN p.detalles d WHERE p.cliente.id = r.clienteId AND p.estado NOT IN :excluidos),"
+            + " r.fechaPrimerPedido = (SELECT MIN(p.fecha) FROM Pedido p"
+            + " WHERE p.cliente.id = r.clienteId AND p.estado NOT IN :excluidos),"
+            + " r.fechaUltimoPedido = (SELECT MAX(p.fecha) FROM Pedido p"
+            + " WHERE p.cliente.id = r.clienteId AND p.estado NOT IN :excluidos),"
+            + " r.actualizado = :ahora WHERE r.clienteId IN :clienteIds")
+    int actualizarPorClientes(@Param("clienteIds") Collection<Long> clienteIds,
+            @Param("excluidos") Collection<EstadoPedido> excluidos, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Calcula, con una sola sentencia INSERT ... SELECT, el resumen de los
+     * clientes indicados que tienen pedidos contados y todavía no tienen
+     * resumen.
+     *
+     * @param clienteIds IDs de los clientes.
+     * @param excluidos Estados de los pedidos que no se cuentan.
+     * @param ahora Momento del cálculo.
+     * @return Cantidad de resúmenes agregados.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ResumenCliente (clienteId, cantidadPedidos, totalCompras, fechaPrimerPedido,"
+            + " fechaUltimoPedido, actualizado)"
+            + " SELECT p.cliente.id, COUNT(DISTINCT p.id), COALESCE(SUM(d.cantidad * d.precioUnitario), 0.0),"
+            + " MIN(p.fecha), MAX(p.fecha), :ahora FROM Pedido p LEFT JOIN p.detalles d"
+            + " WHERE p.cliente.id IN :clienteIds AND p.estado NOT IN :excluidos"
+            + " AND NOT EXISTS (SELECT r.clienteId FROM ResumenCliente r WHERE r.clienteId = p.cliente.id)"
+            + " GROUP BY p.cliente.id")
+    int agregarPorClientes(@Param("clienteIds") Collection<Long> clienteIds,
+            @Param("excluidos") Collection<EstadoPedido> excluidos, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Elimina los resúmenes de todos los clientes.
+     *
+     * @return Cantidad de resúmenes eliminados.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ResumenCliente r")
+    int eliminarTodos();
+
+    /**
+     * Calcula el resumen de todos los clientes con pedidos, con una sola
+     * sentencia INSERT ... SELECT. Debe ejecutarse después de
+     * {@link #eliminarTodos()}.
+     *
+     * @param excluidos Estados de los pedidos que no se cuentan.
+     * @param ahora Momento del cálculo.
+     * @return Cantidad de resúmenes agregados.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("INSERT INTO ResumenCliente (clienteId, cantidadPedidos, totalCompras, fechaPrimerPedido,"
+            + " fechaUltimoPedido, actualizado)"
+            + " SELECT p.cliente.id, COUNT(DISTINCT p.id), COALESCE(SUM(d.cantidad * d.precioUnitario), 0.0),"
+            + " MIN(p.fecha), MAX(p.fecha), :ahora FROM Pedido p LEFT JOIN p.detalles d"
+            + " WHERE p.estado NOT IN :excluidos GROUP BY p.cliente.id")
+    int calcularTodos(@Param("excluidos") Collection<EstadoPedido> excluidos, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Obtiene un cliente con los totales de sus pedidos, en una sola consulta.
+     *
+     * @param clienteId ID del cliente.
+     * @return El cliente, o vacío si no existe.
+     */
+    @Query("SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenClienteDTO("
+            + "c.id, c.nombre, c.numeroTelefono, co.nombre, COALESCE(r.cantidadPedidos, 0),"
+            + " COALESCE(r.totalCompras, 0.0), r.fechaPrimerPedido, r.fechaUltimoPedido)"
+            + " FROM Cliente c LEFT JOIN c.direccion d LEFT JOIN d.colonia co"
+            + " LEFT JOIN ResumenCliente r ON r.clienteId = c.id WHERE c.id = :clienteId")
+    Optional<ResumenClienteDTO> findDTOByClienteId(@Param("clienteId") Long clienteId);
+
+    /**
+     * Obtiene una página de clientes con los totales de sus pedidos. El orden
+     * de la página puede usar las propiedades de la entidad Cliente.
+     *
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de clientes.
+     */
+    @Query(value = "SELECT new com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenClienteDTO("
+            + "c.id, c.nombre, c.numeroTelefono, co.nombre, COALESCE(r.cantidadPedidos, 0),"
+            + " COALESCE(r.totalCompras, 0.0), r.fechaPrimerPedido, r.fechaUltimoPedido)"
+            + " FROM Cliente c LEFT JOIN c.direccion d LEFT JOIN d.colonia co"
+            + " LEFT JOIN ResumenCliente r ON r.clienteId = c.id",
+            countQuery = "SELECT COUNT(c) FROM Cliente c")
+    Page<ResumenClienteDTO> findAllDTO(Pageable pageable);
+
+    /**
+     * Obtiene, en orden de cliente, los resúmenes calculados desde un
+     * momento, usando el índice por fecha de cálculo. Se recorre por páginas
+     * indicando el último cliente de la página anterior.
+     *
+     * @param desde Momento desde el que se buscan los cambios.
+     * @param despuesDe ID del último cliente ya procesado.
+     * @param limite Cantidad máxima de resúmenes.
+     * @return Lista de resúmenes.
+     */
+    @Query("SELECT r FROM ResumenCliente r WHERE r.actualizado >= :desde AND r.clienteId > :despuesDe"
+            + " ORDER BY r.clienteId")
+    List<ResumenCliente> findActualizadosDesde(@Param("desde") LocalDateTime desde,
+            @Param("despuesDe") Long despuesDe, Limit limite);
+
+    /**
+     * Obtiene, en orden de cliente, los resúmenes cuyo último pedido está en
+     * un rango de fechas, usando el índice por fecha del último pedido. Se
+     * recorre por páginas indicando el último cliente de la página anterior.
+     *
+     * @param desde Fecha mínima del último pedido, inclusiva.
+     * @param hasta Fecha máxima del último pedido, exclusiva.
+     * @param despuesDe ID del último cliente ya procesado.
+     * @param limite Cantidad máxima de resúmenes.
+     * @return Lista de resúmenes.
+     */
+    @Query("SELECT r FROM ResumenCliente r WHERE r.fechaUltimoPedido >= :desde AND r.fechaUltimoPedido < :hasta"
+            + " AND r.clienteId > :despuesDe ORDER BY r.clienteId")
+    List<ResumenCliente> findPorFechaUltimoPedido(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+            @Param("despuesDe") Long despuesDe, Limit limite);
+}
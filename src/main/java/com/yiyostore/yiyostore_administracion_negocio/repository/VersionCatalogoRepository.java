@@ -0,0 +1,13 @@
+package com.yiyostore.yiyostore_administracion_negocio.repository;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.VersionCatalogo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para la entidad VersionCatalogo.
+ */
+@Repository
+public interface VersionCatalogoRepository extends JpaRepository<VersionCatalogo, String> {
+
+}
@@ -0,0 +1,63 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ErrorFilaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula los contadores y los errores por fila de una importación masiva. La
+ * lista de errores se acota para que la memoria usada no dependa del tamaño del
+ * archivo.
+ */
+class AcumuladorImportacion {
+
+    /**
+     * Cantidad máxima de errores que se conservan con detalle.
+     */
+    private static final int MAXIMO_ERRORES_REPORTADOS = 1000;
+
+    private long filasProcesadas;
+    private long filasImportadas;
+    private long filasConError;
+    private final List<ErrorFilaDTO> errores = new ArrayList<>();
+
+    /**
+     * Registra que se leyó una fila de datos.
+     */
+    void filaProcesada() {
+        filasProcesadas++;
+    }
+
+    /**
+     * Registra filas guardadas en la base de datos.
+     *
+     * @param cantidad Cantidad de filas guardadas.
+     */
+    void filasImportadas(int cantidad) {
+        filasImportadas += cantidad;
+    }
+
+    /**
+     * Registra una fila rechazada.
+     *
+     * @param fila Número de la fila en el archivo.
+     * @param mensaje Descripción del error.
+     */
+    void error(long fila, String mensaje) {
+        filasConError++;
+        if (errores.size() < MAXIMO_ERRORES_REPORTADOS) {
+            errores.add(new ErrorFilaDTO(fila, mensaje));
+        }
+    }
+
+    /**
+     * Construye el resultado de la importación.
+     *
+     * @return Un {@link ResultadoImportacionDTO} con los contadores y errores
+     * acumulados.
+     */
+    ResultadoImportacionDTO resultado() {
+        return new ResultadoImportacionDTO(filasProcesadas, filasImportadas, filasConError, List.copyOf(errores));
+    }
+}
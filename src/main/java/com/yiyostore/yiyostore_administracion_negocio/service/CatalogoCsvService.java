@@ -0,0 +1,529 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.LoteProducto;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.Estado;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.CsvUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio para importar y exportar productos y lotes de productos en formato
+ * CSV. La importación lee el archivo registro por registro y guarda las filas
+ * válidas con inserciones JDBC por lotes, registrando el precio inicial de
+ * cada producto en el historial de precios; la exportación escribe las filas
+ * a medida que se leen de la base de datos.
+ */
+@Service
+public class CatalogoCsvService {
+
+    /**
+     * Cantidad de filas que se insertan en cada lote JDBC.
+     */
+    private static final int TAMANO_LOTE = 1000;
+
+    private static final String SQL_INSERTAR_PRODUCTO
+            = "INSERT INTO productos (nombre, descripcion, precio, fecha_adicion) VALUES (?, ?, ?, ?)";
+    private static final String SQL_INSERTAR_HISTORIAL_PRECIO
+            = "INSERT INTO historial_precios (producto_id, fecha, precio) VALUES (?, ?, ?)";
+    private static final String SQL_INSERTAR_LOTE
+            = "INSERT INTO lotes_productos (producto_id, costo, cantidad, link_de_compra, notas, estado, fecha)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_EXPORTAR_PRODUCTOS
+            = "SELECT id, nombre, descripcion, precio, fecha_adicion FROM productos ORDER BY id";
+    private static final String SQL_EXPORTAR_LOTES
+            = "SELECT id, producto_id, costo, cantidad, link_de_compra, notas, estado, fecha FROM lotes_productos ORDER BY id";
+
+    private static final List<String> COLUMNAS_OBLIGATORIAS_PRODUCTO = List.of("nombre", "precio");
+    private static final List<String> COLUMNAS_OBLIGATORIAS_LOTE = List.of("producto_id", "costo", "cantidad", "fecha");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductoRepository productoRepository;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param jdbcTemplate Plantilla JDBC para las inserciones por lotes y las
+     * consultas de exportación.
+     * @param transactionManager Administrador de transacciones; cada lote de
+     * inserciones se guarda en su propia transacción.
+     * @param productoRepository Repositorio para la entidad Producto.
+     */
+    @Autowired
+    public CatalogoCsvService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ProductoRepository productoRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productoRepository = productoRepository;
+    }
+
+    /**
+     * Importa productos desde un CSV con las columnas {@code nombre},
+     * {@code precio} y, opcionalmente, {@code descripcion} y
+     * {@code fecha_adicion}. Las filas inválidas se reportan y no detienen la
+     * importación.
+     *
+     * @param entrada Contenido del archivo CSV codificado en UTF-8.
+     * @return Un {@link ResultadoImportacionDTO} con el resultado.
+     * @throws IOException si ocurre un error al leer el archivo.
+     * @throws IllegalArgumentException si el encabezado no contiene las
+     * columnas obligatorias.
+     */
+    public ResultadoImportacionDTO importarProductos(InputStream entrada) throws IOException {
+        AcumuladorImportacion acumulador = new AcumuladorImportacion();
+        try (LineNumberReader lector = abrirLector(entrada)) {
+            Map<String, Integer> columnas = leerEncabezado(lector, COLUMNAS_OBLIGATORIAS_PRODUCTO);
+            List<FilaPendiente> pendientes = new ArrayList<>(TAMANO_LOTE);
+            List<String> registro;
+
+            for (long fila = lector.getLineNumber() + 1; (registro = CsvUtils.leerRegistro(lector)) != null;
+                    fila = lector.getLineNumber() + 1) {
+                if (esRegistroVacio(registro)) {
+                    continue;
+                }
+                acumulador.filaProcesada();
+                try {
+                    pendientes.add(new FilaPendiente(fila, convertirProducto(registro, columnas)));
+                } catch (IllegalArgumentException e) {
+                    acumulador.error(fila, e.getMessage());
+                }
+                if (pendientes.size() == TAMANO_LOTE) {
+                    insertarLote(pendientes, acumulador, this::insertarProductos);
+                    pendientes.clear();
+                }
+            }
+            insertarLote(pendientes, acumulador, this::insertarProductos);
+        }
+        return acumulador.resultado();
+    }
+
+    /**
+     * Importa lotes de productos desde un CSV con las columnas
+     * {@code producto_id}, {@code costo}, {@code cantidad}, {@code fecha} y,
+     * opcionalmente, {@code estado}, {@code link_de_compra} y {@code notas}.
+     * Las filas inválidas o que hacen referencia a productos inexistentes se
+     * reportan y no detienen la importación.
+     *
+     * @param entrada Contenido del archivo CSV codificado en UTF-8.
+     * @return Un {@link ResultadoImportacionDTO} con el resultado.
+     * @throws IOException si ocurre un error al leer el archivo.
+     * @throws IllegalArgumentException si el encabezado no contiene las
+     * columnas obligatorias.
+     */
+    public ResultadoImportacionDTO importarLotes(InputStream entrada) throws IOException {
+        AcumuladorImportacion acumulador = new AcumuladorImportacion();
+        try (LineNumberReader lector = abrirLector(entrada)) {
+            Map<String, Integer> columnas = leerEncabezado(lector, COLUMNAS_OBLIGATORIAS_LOTE);
+            List<FilaPendiente> pendientes = new ArrayList<>(TAMANO_LOTE);
+            List<String> registro;
+
+            for (long fila = lector.getLineNumber() + 1; (registro = CsvUtils.leerRegistro(lector)) != null;
+                    fila = lector.getLineNumber() + 1) {
+                if (esRegistroVacio(registro)) {
+                    continue;
+                }
+                acumulador.filaProcesada();
+                try {
+                    pendientes.add(new FilaPendiente(fila, convertirLote(registro, columnas)));
+                } catch (IllegalArgumentException e) {
+                    acumulador.error(fila, e.getMessage());
+                }
+                if (pendientes.size() == TAMANO_LOTE) {
+                    insertarLotesDeProductos(pendientes, acumulador);
+                    pendientes.clear();
+                }
+            }
+            insertarLotesDeProductos(pendientes, acumulador);
+        }
+        return acumulador.resultado();
+    }
+
+    /**
+     * Exporta todos los productos en formato CSV, leyendo las filas de la base
+     * de datos en modo streaming.
+     *
+     * @param escritor Escritor de destino.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void exportarProductos(Writer escritor) throws IOException {
+        CsvUtils.escribirRegistro(escritor, "id", "nombre", "descripcion", "precio", "fecha_adicion");
+        exportar(SQL_EXPORTAR_PRODUCTOS, rs -> CsvUtils.escribirRegistro(escritor,
+                rs.getLong("id"),
+                rs.getString("nombre"),
+                rs.getString("descripcion"),
+                rs.getDouble("precio"),
+                rs.getObject("fecha_adicion", LocalDate.class)));
+        escritor.flush();
+    }
+
+    /**
+     * Exporta todos los lotes de productos en formato CSV, leyendo las filas de
+     * la base de datos en modo streaming.
+     *
+     * @param escritor Escritor de destino.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void exportarLotes(Writer escritor) throws IOException {
+        CsvUtils.escribirRegistro(escritor, "id", "producto_id", "costo", "cantidad", "link_de_compra", "notas", "estado", "fecha");
+        exportar(SQL_EXPORTAR_LOTES, rs -> CsvUtils.escribirRegistro(escritor,
+                rs.getLong("id"),
+                rs.getLong("producto_id"),
+                rs.getDouble("costo"),
+                rs.getInt("cantidad"),
+                rs.getString("link_de_compra"),
+                rs.getString("notas"),
+                rs.getString("estado"),
+                rs.getObject("fecha", LocalDate.class)));
+        escritor.flush();
+    }
+
+    /**
+     * Convierte un registro del CSV en los valores de inserción de un producto.
+     * La validación se delega en el constructor de {@link Producto}.
+     *
+     * @param registro Campos del registro.
+     * @param columnas Posición de cada columna según el encabezado.
+     * @return Valores en el orden de {@link #SQL_INSERTAR_PRODUCTO}.
+     * @throws IllegalArgumentException si la fila no es válida.
+     */
+    private Object[] convertirProducto(List<String> registro, Map<String, Integer> columnas) {
+        String nombre = campoObligatorio(registro, columnas, "nombre");
+        validarLongitud(nombre, 255, "nombre");
+        double precio = convertirDouble(campoObligatorio(registro, columnas, "precio"), "precio");
+        LocalDate fechaAdicion = convertirFecha(campo(registro, columnas, "fecha_adicion"), "fecha_adicion");
+
+        Producto producto = new Producto(nombre, campo(registro, columnas, "descripcion"), precio, fechaAdicion);
+        return new Object[]{producto.getNombre(), producto.getDescripcion(), producto.getPrecio(), producto.getFechaAdicion()};
+    }
+
+    /**
+     * Convierte un registro del CSV en los valores de inserción de un lote. La
+     * validación se delega en el constructor de {@link LoteProducto}.
+     *
+     * @param registro Campos del registro.
+     * @param columnas Posición de cada columna según el encabezado.
+     * @return Valores en el orden de {@link #SQL_INSERTAR_LOTE}.
+     * @throws IllegalArgumentException si la fila no es válida.
+     */
+    private Object[] convertirLote(List<String> registro, Map<String, Integer> columnas) {
+        long productoId = convertirLong(campoObligatorio(registro, columnas, "producto_id"), "producto_id");
+        double costo = convertirDouble(campoObligatorio(registro, columnas, "costo"), "costo");
+        int cantidad = convertirEntero(campoObligatorio(registro, columnas, "cantidad"), "cantidad");
+        LocalDate fecha = convertirFecha(campoObligatorio(registro, columnas, "fecha"), "fecha");
+        String linkDeCompra = campo(registro, columnas, "link_de_compra");
+        String notas = campo(registro, columnas, "notas");
+        validarLongitud(linkDeCompra, 255, "link_de_compra");
+        validarLongitud(notas, 255, "notas");
+
+        String estadoTexto = campo(registro, columnas, "estado");
+        Estado estado = null;
+        if (estadoTexto != null) {
+            try {
+                estado = Estado.valueOf(estadoTexto.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Estado desconocido: " + estadoTexto);
+            }
+        }
+
+        LoteProducto lote = new LoteProducto(costo, cantidad, linkDeCompra, notas, estado, fecha);
+        return new Object[]{productoId, lote.getCosto(), lote.getCantidad(), lote.getLinkDeCompra(),
+            lote.getNotas(), lote.getEstado().name(), lote.getFecha()};
+    }
+
+    /**
+     * Inserta un lote de filas de lotes de productos, descartando antes las
+     * que hacen referencia a productos inexistentes.
+     *
+     * @param filas Filas pendientes de guardar.
+     * @param acumulador Acumulador del resultado de la importación.
+     */
+    private void insertarLotesDeProductos(List<FilaPendiente> filas, AcumuladorImportacion acumulador) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        Set<Long> idsSolicitados = new HashSet<>();
+        filas.forEach(fila -> idsSolicitados.add((Long) fila.valores()[0]));
+        Set<Long> idsExistentes = new HashSet<>(productoRepository.findIdsExistentes(idsSolicitados));
+
+        List<FilaPendiente> validas = new ArrayList<>(filas.size());
+        for (FilaPendiente fila : filas) {
+            Long productoId = (Long) fila.valores()[0];
+            if (idsExistentes.contains(productoId)) {
+                validas.add(fila);
+            } else {
+                acumulador.error(fila.fila(), "No existe el producto con ID " + productoId);
+            }
+        }
+        insertarLote(validas, acumulador, valores -> jdbcTemplate.batchUpdate(SQL_INSERTAR_LOTE, valores));
+    }
+
+    /**
+     * Inserta un lote de productos con una sola ejecución JDBC por lotes y
+     * registra el precio inicial de cada uno en el historial de precios, con
+     * los IDs generados por la base de datos.
+     *
+     * @param valores Valores de cada producto, en el orden de
+     * {@link #SQL_INSERTAR_PRODUCTO}.
+     */
+    private void insertarProductos(List<Object[]> valores) {
+        KeyHolder llaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                conexion -> conexion.prepareStatement(SQL_INSERTAR_PRODUCTO, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement sentencia, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(valores.get(i)).setValues(sentencia);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return valores.size();
+                    }
+                }, llaves);
+
+        LocalDateTime fecha = LocalDateTime.now();
+        List<Map<String, Object>> listaLlaves = llaves.getKeyList();
+        List<Object[]> historial = new ArrayList<>(listaLlaves.size());
+        for (int i = 0; i < listaLlaves.size(); i++) {
+            Object id = listaLlaves.get(i).values().iterator().next();
+            historial.add(new Object[]{id, fecha, valores.get(i)[2]});
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERTAR_HISTORIAL_PRECIO, historial);
+    }
+
+    /**
+     * Inserta un lote de filas dentro de su propia transacción. Si el lote
+     * falla, las filas se vuelven a insertar cada una en su propia
+     * transacción y solo las que fallan se reportan con el error de la base
+     * de datos.
+     *
+     * @param filas Filas pendientes de guardar.
+     * @param acumulador Acumulador del resultado de la importación.
+     * @param insercion Operación que inserta los valores de las filas con
+     * ejecuciones JDBC por lotes.
+     */
+    private void insertarLote(List<FilaPendiente> filas, AcumuladorImportacion acumulador,
+            Consumer<List<Object[]>> insercion) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        List<Object[]> valores = new ArrayList<>(filas.size());
+        filas.forEach(fila -> valores.add(fila.valores()));
+        try {
+            transactionTemplate.executeWithoutResult(estado -> insercion.accept(valores));
+            acumulador.filasImportadas(filas.size());
+        } catch (DataAccessException e) {
+            if (filas.size() == 1) {
+                reportarError(filas.get(0), acumulador, e);
+                return;
+            }
+            for (FilaPendiente fila : filas) {
+                List<Object[]> valoresFila = Collections.singletonList(fila.valores());
+                try {
+                    transactionTemplate.executeWithoutResult(estado -> insercion.accept(valoresFila));
+                    acumulador.filasImportadas(1);
+                } catch (DataAccessException errorFila) {
+                    reportarError(fila, acumulador, errorFila);
+                }
+            }
+        }
+    }
+
+    private void reportarError(FilaPendiente fila, AcumuladorImportacion acumulador, DataAccessException e) {
+        acumulador.error(fila.fila(), "No se pudo guardar la fila: " + e.getMostSpecificCause().getMessage());
+    }
+
+    /**
+     * Ejecuta una consulta de exportación leyendo las filas en modo streaming,
+     * de modo que el conjunto de resultados no se carga completo en memoria.
+     * MySQL Connector/J solo transmite las filas con un tamaño de lectura de
+     * {@link Integer#MIN_VALUE}; los demás controladores, como el de H2,
+     * rechazan tamaños negativos y leen por bloques de
+     * {@value #TAMANO_LOTE} filas.
+     *
+     * @param sql Consulta a ejecutar.
+     * @param escritorFila Función que escribe cada fila.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    private void exportar(String sql, EscritorFila escritorFila) throws IOException {
+        PreparedStatementCreator consulta = conexion -> {
+            PreparedStatement sentencia = conexion.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            boolean mysql = "MySQL".equalsIgnoreCase(conexion.getMetaData().getDatabaseProductName());
+            sentencia.setFetchSize(mysql ? Integer.MIN_VALUE : TAMANO_LOTE);
+            return sentencia;
+        };
+        try {
+            jdbcTemplate.query(consulta, (RowCallbackHandler) rs -> {
+                try {
+                    escritorFila.escribir(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Abre un lector con buffer sobre la entrada, descartando la marca de orden
+     * de bytes (BOM) que agregan algunas hojas de cálculo. El lector cuenta
+     * las líneas físicas leídas, para reportar los errores con la línea en
+     * que empieza cada registro aunque tenga campos de varias líneas.
+     *
+     * @param entrada Contenido del archivo.
+     * @return Lector posicionado al inicio del encabezado.
+     * @throws IOException si ocurre un error al leer.
+     */
+    private LineNumberReader abrirLector(InputStream entrada) throws IOException {
+        LineNumberReader lector = new LineNumberReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        lector.mark(1);
+        if (lector.read() != '\uFEFF') {
+            lector.reset();
+        }
+        return lector;
+    }
+
+    /**
+     * Lee el encabezado del CSV y obtiene la posición de cada columna.
+     *
+     * @param lector Lector posicionado al inicio del archivo.
+     * @param obligatorias Columnas que deben estar presentes.
+     * @return Mapa del nombre de cada columna a su posición.
+     * @throws IOException si ocurre un error al leer.
+     * @throws IllegalArgumentException si el archivo está vacío o falta alguna
+     * columna obligatoria.
+     */
+    private Map<String, Integer> leerEncabezado(LineNumberReader lector, List<String> obligatorias) throws IOException {
+        List<String> encabezado = CsvUtils.leerRegistro(lector);
+        if (encabezado == null) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < encabezado.size(); i++) {
+            columnas.put(encabezado.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String columna : obligatorias) {
+            if (!columnas.containsKey(columna)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria: " + columna);
+            }
+        }
+        return columnas;
+    }
+
+    private boolean esRegistroVacio(List<String> registro) {
+        return registro.size() == 1 && registro.get(0).isBlank();
+    }
+
+    private String campo(List<String> registro, Map<String, Integer> columnas, String columna) {
+        Integer posicion = columnas.get(columna);
+        if (posicion == null || posicion >= registro.size()) {
+            return null;
+        }
+        String valor = registro.get(posicion).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private String campoObligatorio(List<String> registro, Map<String, Integer> columnas, String columna) {
+        String valor = campo(registro, columnas, columna);
+        if (valor == null) {
+            throw new IllegalArgumentException("El campo " + columna + " es obligatorio");
+        }
+        return valor;
+    }
+
+    private double convertirDouble(String valor, String columna) {
+        try {
+            return Double.parseDouble(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido en " + columna + ": " + valor);
+        }
+    }
+
+    private long convertirLong(String valor, String columna) {
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor entero inválido en " + columna + ": " + valor);
+        }
+    }
+
+    private int convertirEntero(String valor, String columna) {
+        try {
+            return Math.toIntExact(convertirLong(valor, columna));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor fuera de rango en " + columna + ": " + valor);
+        }
+    }
+
+    private LocalDate convertirFecha(String valor, String columna) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida en " + columna + " (se espera AAAA-MM-DD): " + valor);
+        }
+    }
+
+    private void validarLongitud(String valor, int maximo, String columna) {
+        if (valor != null && valor.length() > maximo) {
+            throw new IllegalArgumentException("El campo " + columna + " excede " + maximo + " caracteres");
+        }
+    }
+
+    /**
+     * Fila válida pendiente de guardar junto con la línea del archivo en que
+     * empieza.
+     *
+     * @param fila Número de la línea en que empieza la fila.
+     * @param valores Valores de la sentencia INSERT.
+     */
+    private record FilaPendiente(long fila, Object[] valores) {}
+
+    /**
+     * Escribe una fila del conjunto de resultados en el CSV de salida.
+     */
+    @FunctionalInterface
+    private interface EscritorFila {
+
+        void escribir(ResultSet rs) throws IOException, SQLException;
+    }
+}
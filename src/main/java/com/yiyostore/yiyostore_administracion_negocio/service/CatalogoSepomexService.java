@@ -0,0 +1,309 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenCargaSepomexDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.Tipo;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoAsentamiento;
+import com.yiyostore.yiyostore_administracion_negocio.utils.LectorSepomex;
+import com.yiyostore.yiyostore_administracion_negocio.utils.LectorSepomex.RegistroSepomex;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TextoUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio para cargar el catálogo nacional de códigos postales de SEPOMEX en
+ * las tablas de ciudades y colonias.
+ *
+ * Cada municipio del catálogo se guarda como una Ciudad, identificada por su
+ * nombre y el de su estado, y cada asentamiento como una Colonia. La carga
+ * compara el archivo contra lo que ya está en la base de datos y aplica solo
+ * las diferencias: inserta las ciudades y colonias nuevas y actualiza el tipo
+ * (urbano o rural) de las que cambiaron. Las colonias que ya no están en el
+ * catálogo solo se eliminan si se pide, y solo si pertenecen a un municipio
+ * del archivo y ninguna dirección las usa; así se conservan las colonias de
+ * ciudades registradas a mano o sin estado. Todas las escrituras se hacen con
+ * sentencias JDBC por lotes.
+ */
+@Service
+public class CatalogoSepomexService {
+
+    /**
+     * Cantidad de sentencias que se envían en cada lote JDBC.
+     */
+    private static final int TAMANO_LOTE = 1000;
+
+    /**
+     * Longitud máxima de las columnas de nombre de ciudad y de colonia.
+     */
+    private static final int LARGO_NOMBRE_CIUDAD = 50;
+    private static final int LARGO_ESTADO = 50;
+    private static final int LARGO_NOMBRE_COLONIA = 100;
+
+    private static final String SQL_INSERTAR_CIUDAD = "INSERT INTO ciudades (nombre, estado) VALUES (?, ?)";
+    private static final String SQL_ASIGNAR_ESTADO_CIUDAD = "UPDATE ciudades SET estado = ? WHERE id = ?";
+    private static final String SQL_INSERTAR_COLONIA
+            = "INSERT INTO colonias (codigo_postal, nombre, ciudad_id, tipo_asentamiento, tipo) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_ACTUALIZAR_TIPO_COLONIA = "UPDATE colonias SET tipo = ? WHERE id = ?";
+    private static final String SQL_ELIMINAR_COLONIA_SIN_DIRECCIONES = "DELETE FROM colonias WHERE id = ?"
+            + " AND NOT EXISTS (SELECT 1 FROM direcciones d WHERE d.colonia_id = colonias.id)";
+
+    private static final Map<String, TipoAsentamiento> TIPOS_ASENTAMIENTO = new HashMap<>();
+
+    static {
+        for (TipoAsentamiento tipo : TipoAsentamiento.values()) {
+            TIPOS_ASENTAMIENTO.put(TextoUtils.normalizar(tipo.getDisplayName()), tipo);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ColoniaService coloniaService;
+    private final String archivoPorDefecto;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param jdbcTemplate Plantilla JDBC para las consultas y escrituras por
+     * lotes.
+     * @param transactionManager Administrador de transacciones; cada lote se
+     * guarda en su propia transacción.
+     * @param coloniaService Servicio de colonias, cuyos índices se vuelven a
+     * cargar al terminar.
+     * @param archivoPorDefecto Ruta del archivo del catálogo, configurada con
+     * la propiedad {@code yiyostore.sepomex.archivo}.
+     */
+    @Autowired
+    public CatalogoSepomexService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ColoniaService coloniaService,
+            @Value("${yiyostore.sepomex.archivo:CPdescarga.txt}") String archivoPorDefecto) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.coloniaService = coloniaService;
+        this.archivoPorDefecto = archivoPorDefecto;
+    }
+
+    /**
+     * Carga el catálogo desde el archivo configurado en
+     * {@code yiyostore.sepomex.archivo}.
+     *
+     * @param eliminarObsoletas true para eliminar las colonias que ya no
+     * están en el catálogo.
+     * @return Un {@link ResumenCargaSepomexDTO} con el resultado.
+     * @throws IOException si el archivo no se puede leer.
+     * @throws IllegalArgumentException si el archivo no existe o no tiene el
+     * formato del catálogo.
+     */
+    public ResumenCargaSepomexDTO cargar(boolean eliminarObsoletas) throws IOException {
+        return cargar(Path.of(archivoPorDefecto), eliminarObsoletas);
+    }
+
+    /**
+     * Carga el catálogo desde un archivo y aplica las diferencias contra la
+     * base de datos. Al terminar, vuelve a cargar los índices en memoria de
+     * colonias. Solo se ejecuta una carga a la vez.
+     *
+     * Una colonia es obsoleta si pertenece a un municipio del archivo pero el
+     * archivo ya no la incluye. Las obsoletas se eliminan solo si se pide y
+     * ninguna dirección las usa; las demás se reportan como conservadas.
+     *
+     * @param archivo Ruta del archivo del catálogo.
+     * @param eliminarObsoletas true para eliminar las colonias obsoletas.
+     * @return Un {@link ResumenCargaSepomexDTO} con el resultado.
+     * @throws IOException si el archivo no se puede leer.
+     * @throws IllegalArgumentException si el archivo no existe o no tiene el
+     * formato del catálogo.
+     */
+    public synchronized ResumenCargaSepomexDTO cargar(Path archivo, boolean eliminarObsoletas) throws IOException {
+        if (!Files.isRegularFile(archivo)) {
+            throw new IllegalArgumentException("No existe el archivo del catálogo: " + archivo);
+        }
+        List<RegistroSepomex> registros = new ArrayList<>();
+        long filasLeidas = LectorSepomex.leer(archivo, registros::add);
+
+        int ciudadesAgregadas = agregarCiudadesNuevas(registros);
+        Map<ClaveCiudad, Long> ciudades = obtenerCiudades();
+        Map<String, ColoniaExistente> existentes = obtenerColonias();
+
+        List<Object[]> inserciones = new ArrayList<>();
+        List<Object[]> actualizaciones = new ArrayList<>();
+        Set<String> vistas = new HashSet<>();
+        Set<Long> ciudadesDelArchivo = new HashSet<>();
+        int sinCambios = 0;
+        for (RegistroSepomex registro : registros) {
+            Long ciudadId = ciudades.get(claveCiudad(registro));
+            ciudadesDelArchivo.add(ciudadId);
+            String nombre = recortar(registro.asentamiento(), LARGO_NOMBRE_COLONIA);
+            TipoAsentamiento tipoAsentamiento = convertirTipoAsentamiento(registro.tipoAsentamiento());
+            Tipo tipo = convertirTipo(registro.zona());
+            String clave = clave(registro.codigoPostal(), ciudadId, nombre, tipoAsentamiento.name());
+            if (!vistas.add(clave)) {
+                continue;
+            }
+            ColoniaExistente existente = existentes.get(clave);
+            if (existente == null) {
+                inserciones.add(new Object[]{registro.codigoPostal(), nombre, ciudadId, tipoAsentamiento.name(), tipo.name()});
+            } else if (!existente.tipo().equals(tipo.name())) {
+                actualizaciones.add(new Object[]{tipo.name(), existente.id()});
+            } else {
+                sinCambios++;
+            }
+        }
+
+        List<Object[]> obsoletas = new ArrayList<>();
+        existentes.forEach((clave, existente) -> {
+            if (!vistas.contains(clave) && ciudadesDelArchivo.contains(existente.ciudadId())) {
+                obsoletas.add(new Object[]{existente.id()});
+            }
+        });
+
+        ejecutarPorLotes(SQL_INSERTAR_COLONIA, inserciones);
+        ejecutarPorLotes(SQL_ACTUALIZAR_TIPO_COLONIA, actualizaciones);
+        int eliminadas = eliminarObsoletas ? ejecutarPorLotes(SQL_ELIMINAR_COLONIA_SIN_DIRECCIONES, obsoletas) : 0;
+
+        coloniaService.cargarIndice();
+        return new ResumenCargaSepomexDTO(filasLeidas, ciudadesAgregadas, inserciones.size(), actualizaciones.size(),
+                eliminadas, obsoletas.size() - eliminadas, sinCambios);
+    }
+
+    /**
+     * Inserta las ciudades del catálogo que todavía no existen. Una ciudad
+     * guardada sin estado se reutiliza y se le asigna el estado del catálogo
+     * cuando su nombre corresponde a un solo municipio del archivo; si el
+     * nombre se repite en varios estados, se crea una ciudad por estado.
+     *
+     * @return Cantidad de ciudades insertadas.
+     */
+    private int agregarCiudadesNuevas(List<RegistroSepomex> registros) {
+        Map<ClaveCiudad, Long> existentes = obtenerCiudades();
+        Set<ClaveCiudad> nuevas = new LinkedHashSet<>();
+        Map<String, Integer> estadosPorNombre = new HashMap<>();
+        for (RegistroSepomex registro : registros) {
+            ClaveCiudad clave = claveCiudad(registro);
+            if (!existentes.containsKey(clave) && nuevas.add(clave)) {
+                estadosPorNombre.merge(clave.nombre(), 1, Integer::sum);
+            }
+        }
+
+        List<Object[]> asignaciones = new ArrayList<>();
+        List<Object[]> valores = new ArrayList<>(nuevas.size());
+        for (ClaveCiudad clave : nuevas) {
+            Long sinEstado = existentes.get(new ClaveCiudad(clave.nombre(), null));
+            if (sinEstado != null && clave.estado() != null && estadosPorNombre.get(clave.nombre()) == 1) {
+                asignaciones.add(new Object[]{clave.estado(), sinEstado});
+            } else {
+                valores.add(new Object[]{clave.nombre(), clave.estado()});
+            }
+        }
+        ejecutarPorLotes(SQL_ASIGNAR_ESTADO_CIUDAD, asignaciones);
+        ejecutarPorLotes(SQL_INSERTAR_CIUDAD, valores);
+        return valores.size();
+    }
+
+    /**
+     * Obtiene el ID de cada ciudad por su nombre y estado. Si hay ciudades
+     * repetidas, se usa la del ID menor.
+     */
+    private Map<ClaveCiudad, Long> obtenerCiudades() {
+        Map<ClaveCiudad, Long> ciudades = new HashMap<>();
+        jdbcTemplate.query("SELECT id, nombre, estado FROM ciudades ORDER BY id",
+                resultado -> {
+                    ciudades.putIfAbsent(new ClaveCiudad(resultado.getString(2), resultado.getString(3)),
+                            resultado.getLong(1));
+                });
+        return ciudades;
+    }
+
+    /**
+     * Obtiene las colonias existentes por su clave de comparación.
+     */
+    private Map<String, ColoniaExistente> obtenerColonias() {
+        Map<String, ColoniaExistente> colonias = new HashMap<>();
+        jdbcTemplate.query("SELECT id, codigo_postal, nombre, ciudad_id, tipo_asentamiento, tipo FROM colonias",
+                resultado -> {
+                    String clave = clave(resultado.getInt(2), resultado.getLong(4), resultado.getString(3),
+                            resultado.getString(5));
+                    colonias.putIfAbsent(clave, new ColoniaExistente(resultado.getLong(1), resultado.getLong(4),
+                            resultado.getString(6)));
+                });
+        return colonias;
+    }
+
+    /**
+     * Ejecuta una sentencia por lotes de {@value #TAMANO_LOTE}, cada uno en su
+     * propia transacción.
+     *
+     * @return Cantidad total de filas afectadas.
+     */
+    private int ejecutarPorLotes(String sql, List<Object[]> valores) {
+        int afectadas = 0;
+        for (int inicio = 0; inicio < valores.size(); inicio += TAMANO_LOTE) {
+            List<Object[]> lote = valores.subList(inicio, Math.min(inicio + TAMANO_LOTE, valores.size()));
+            int[] resultados = transactionTemplate.execute(estado -> jdbcTemplate.batchUpdate(sql, lote));
+            for (int resultado : resultados) {
+                afectadas += Math.max(resultado, 0);
+            }
+        }
+        return afectadas;
+    }
+
+    private static ClaveCiudad claveCiudad(RegistroSepomex registro) {
+        String estado = registro.estado() != null && !registro.estado().isEmpty()
+                ? recortar(registro.estado(), LARGO_ESTADO) : null;
+        return new ClaveCiudad(recortar(registro.municipio(), LARGO_NOMBRE_CIUDAD), estado);
+    }
+
+    private static String clave(int codigoPostal, Long ciudadId, String nombre, String tipoAsentamiento) {
+        return codigoPostal + "|" + ciudadId + "|" + tipoAsentamiento + "|" + nombre;
+    }
+
+    private static String recortar(String valor, int largo) {
+        return valor.length() > largo ? valor.substring(0, largo) : valor;
+    }
+
+    /**
+     * Convierte el tipo de asentamiento del catálogo. Los tipos que no tienen
+     * equivalente, como "Condominio" o "Aeropuerto", se guardan como
+     * {@link TipoAsentamiento#OTRO}.
+     */
+    private static TipoAsentamiento convertirTipoAsentamiento(String valor) {
+        return TIPOS_ASENTAMIENTO.getOrDefault(TextoUtils.normalizar(valor), TipoAsentamiento.OTRO);
+    }
+
+    /**
+     * Convierte la zona del catálogo. Las zonas semiurbanas se consideran
+     * urbanas.
+     */
+    private static Tipo convertirTipo(String zona) {
+        return "rural".equals(TextoUtils.normalizar(zona)) ? Tipo.RURAL : Tipo.URBANO;
+    }
+
+    /**
+     * Colonia existente en la base de datos.
+     *
+     * @param id ID de la colonia.
+     * @param ciudadId ID de su ciudad.
+     * @param tipo Tipo (urbano o rural) guardado.
+     */
+    private record ColoniaExistente(long id, long ciudadId, String tipo) {}
+
+    /**
+     * Identifica una ciudad del catálogo.
+     *
+     * @param nombre Nombre del municipio.
+     * @param estado Nombre del estado, o null si no se conoce.
+     */
+    private record ClaveCiudad(String nombre, String estado) {}
+}
@@ -1,8 +1,14 @@
 package com.yiyostore.yiyostore_administracion_negocio.service;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenAsociacionColoniasDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Ciudad;
 import com.yiyostore.yiyostore_administracion_negocio.repository.CiudadRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.InstantaneaCatalogo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,19 +21,59 @@ import java.util.Optional;
 public class CiudadService {
 
     private final CiudadRepository ciudadRepository;
+    private final ColoniaService coloniaService;
+    private final InstantaneaCatalogoService instantaneaCatalogoService;
 
     @Autowired
-    public CiudadService(CiudadRepository ciudadRepository) {
+    public CiudadService(CiudadRepository ciudadRepository, ColoniaService coloniaService,
+            InstantaneaCatalogoService instantaneaCatalogoService) {
         this.ciudadRepository = ciudadRepository;
+        this.coloniaService = coloniaService;
+        this.instantaneaCatalogoService = instantaneaCatalogoService;
     }
 
     /**
-     * Obtiene todas las ciudades.
+     * Obtiene todas las ciudades con la cantidad de colonias de cada una, sin
+     * cargar las colonias. Mientras la instantánea del catálogo geográfico
+     * está vigente, se obtienen de ella sin consultar la base de datos.
      *
-     * @return Una lista de todas las ciudades.
+     * @return Una lista de todas las ciudades, ordenadas por nombre.
      */
-    public List<Ciudad> getAllCiudades() {
-        return ciudadRepository.findAll();
+    public List<CiudadResumenDTO> getAllCiudades() {
+        return instantaneaCatalogoService.obtenerVigente()
+                .map(InstantaneaCatalogo::ciudades)
+                .orElseGet(ciudadRepository::findAllResumen);
+    }
+
+    /**
+     * Obtiene una ciudad con la cantidad de colonias que tiene, sin cargar las
+     * colonias. Mientras la instantánea del catálogo geográfico está vigente,
+     * se obtiene de ella.
+     *
+     * @param id El ID de la ciudad.
+     * @return Una instancia opcional del resumen de la ciudad.
+     */
+    public Optional<CiudadResumenDTO> getResumenCiudadById(Long id) {
+        Optional<InstantaneaCatalogo> instantanea = instantaneaCatalogoService.obtenerVigente();
+        if (instantanea.isPresent()) {
+            return instantanea.get().buscarCiudad(id);
+        }
+        return ciudadRepository.findResumenById(id);
+    }
+
+    /**
+     * Obtiene una página de las colonias de una ciudad.
+     *
+     * @param id El ID de la ciudad.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Un Optional con la página de colonias, o vacío si la ciudad no
+     * existe.
+     */
+    public Optional<Page<ColoniaDTO>> getColoniasDeCiudad(Long id, Pageable pageable) {
+        if (!ciudadRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(coloniaService.findByCiudadId(id, pageable));
     }
 
     /**
@@ -41,21 +87,49 @@ public class CiudadService {
     }
 
     /**
-     * Guarda una nueva ciudad o actualiza una existente.
+     * Asocia varias colonias existentes a una ciudad, quitándolas de la ciudad
+     * a la que pertenecían. No carga la lista de colonias de la ciudad.
+     *
+     * @param id El ID de la ciudad.
+     * @param coloniaIds IDs de las colonias a asociar.
+     * @return Un Optional con el resumen de la asociación, o vacío si la ciudad
+     * no existe.
+     * @throws IllegalArgumentException si algún ID de colonia es nulo.
+     */
+    public Optional<ResumenAsociacionColoniasDTO> asociarColonias(Long id, List<Long> coloniaIds) {
+        if (!ciudadRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(coloniaService.asociarACiudad(ciudadRepository.getReferenceById(id), coloniaIds));
+    }
+
+    /**
+     * Guarda una nueva ciudad o actualiza una existente. Como el guardado se
+     * propaga a las colonias de la ciudad y su nombre forma parte de cada
+     * colonia indexada, se reindexan las colonias que la ciudad tenía antes y
+     * las que tiene después del guardado.
      *
      * @param ciudad La ciudad a guardar.
      * @return La ciudad guardada.
      */
     public Ciudad saveCiudad(Ciudad ciudad) {
-        return ciudadRepository.save(ciudad);
+        List<ColoniaDTO> anteriores = ciudad.getId() != null
+                ? coloniaService.findAllByCiudadId(ciudad.getId())
+                : List.of();
+        Ciudad guardada = ciudadRepository.save(ciudad);
+        coloniaService.actualizarIndiceCiudad(anteriores, guardada.getId());
+        return guardada;
     }
 
     /**
-     * Elimina una ciudad por su ID.
+     * Elimina una ciudad por su ID, junto con sus colonias, y quita sus
+     * colonias de los índices.
      *
      * @param id El ID de la ciudad a eliminar.
      */
     public void deleteCiudad(Long id) {
+        List<ColoniaDTO> anteriores = coloniaService.findAllByCiudadId(id);
         ciudadRepository.deleteById(id);
+        coloniaService.actualizarIndiceCiudad(anteriores, null);
     }
 }
@@ -1,22 +1,107 @@
 package com.yiyostore.yiyostore_administracion_negocio.service;
 
+import com.yiyostore.yiyostore_administracion_negocio.exception.NumeroTelefonoInvalidoException;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.NombreClienteDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Cliente;
 import com.yiyostore.yiyostore_administracion_negocio.repository.ClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.CacheAcotada;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndicePrefijos;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TelefonoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio para manejar la lógica de negocio relacionada con los clientes.
+ * Las búsquedas por número de teléfono se atienden desde una caché acotada,
+ * que se actualiza con cada escritura de clientes en esta instancia y con
+ * cada {@link DireccionesModificadasEvento}; los cambios hechos en otras
+ * instancias se reflejan al vencer las entradas.
+ *
+ * La búsqueda por nombre se atiende desde un índice de prefijos y uno de
+ * trigramas en memoria, que también se actualizan con cada escritura de
+ * clientes y se vuelven a cargar después de una importación masiva.
  */
 @Service
 public class ClienteService {
 
+    /**
+     * Cantidad máxima de resultados que se pueden recorrer en la búsqueda por
+     * nombre, sumando todas sus páginas.
+     */
+    private static final int MAXIMO_RESULTADOS_BUSQUEDA = 200;
+
+    /**
+     * Similitud mínima de los resultados aproximados de la búsqueda por
+     * nombre.
+     */
+    private static final double SIMILITUD_MINIMA = 0.3;
+
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private DireccionService direccionService;
+
+    private final CacheAcotada<String, List<ClienteDTO>> cachePorTelefono;
+
+    private final IndicePrefijos<NombreClienteDTO> indicePrefijos
+            = new IndicePrefijos<>(NombreClienteDTO::id, NombreClienteDTO::nombre);
+    private final IndiceTrigramas<NombreClienteDTO> indiceTrigramas
+            = new IndiceTrigramas<>(NombreClienteDTO::id, NombreClienteDTO::nombre);
+    private volatile boolean indiceNombresCargado;
+    private final long presupuestoBusquedaNanos;
+
+    /**
+     * Constructor que configura la caché de búsquedas por número de teléfono.
+     *
+     * @param capacidadCache Cantidad máxima de clientes en la caché,
+     * configurada con {@code yiyostore.clientes.cache-telefono.capacidad}.
+     * @param vigenciaCacheSegundos Segundos que un cliente permanece en la
+     * caché, configurados con
+     * {@code yiyostore.clientes.cache-telefono.vigencia-segundos}.
+     * @param presupuestoBusquedaMs Tiempo máximo en milisegundos de la parte
+     * aproximada de la búsqueda por nombre, configurado con la propiedad
+     * {@code yiyostore.busqueda.similares.presupuesto-ms}.
+     */
+    public ClienteService(@Value("${yiyostore.clientes.cache-telefono.capacidad:10000}") int capacidadCache,
+            @Value("${yiyostore.clientes.cache-telefono.vigencia-segundos:300}") long vigenciaCacheSegundos,
+            @Value("${yiyostore.busqueda.similares.presupuesto-ms:25}") long presupuestoBusquedaMs) {
+        this.cachePorTelefono = new CacheAcotada<>(capacidadCache, Duration.ofSeconds(vigenciaCacheSegundos));
+        this.presupuestoBusquedaNanos = TimeUnit.MILLISECONDS.toNanos(presupuestoBusquedaMs);
+    }
+
+    /**
+     * Carga los índices de búsqueda por nombre desde la base de datos. Se
+     * ejecuta al iniciar la aplicación y después de los cambios que afectan a
+     * muchos clientes, como una importación masiva. Mientras no terminan de
+     * cargarse por primera vez, las búsquedas se atienden desde la base de
+     * datos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarIndiceNombres() {
+        List<NombreClienteDTO> clientes = clienteRepository.findAllNombres();
+        indicePrefijos.cargar(clientes);
+        indiceTrigramas.cargar(clientes);
+        indiceNombresCargado = true;
+    }
+
     /**
      * Obtiene todos los clientes de la base de datos.
      *
@@ -38,13 +123,109 @@ public class ClienteService {
     }
 
     /**
-     * Guarda un nuevo cliente en la base de datos.
+     * Busca los clientes con un número de teléfono, en cualquier formato que
+     * acepte {@link TelefonoUtils#normalizar(String)}. Varios clientes pueden
+     * compartir un número, como los de una misma casa. Si el número no está en
+     * la caché, se busca con una sola consulta en el índice del número de
+     * teléfono.
+     *
+     * @param numeroTelefono Número de teléfono de los clientes.
+     * @return Los clientes con ese número y su dirección, del más antiguo al
+     * más reciente, o una lista vacía si ningún cliente lo tiene.
+     * @throws NumeroTelefonoInvalidoException si el número de teléfono no es
+     * válido.
+     */
+    public List<ClienteDTO> findByNumeroTelefono(String numeroTelefono) {
+        String normalizado = TelefonoUtils.normalizar(numeroTelefono);
+        List<ClienteDTO> enCache = cachePorTelefono.obtener(normalizado);
+        if (enCache != null) {
+            return enCache;
+        }
+        List<ClienteDTO> clientes = List.copyOf(clienteRepository.findDTOsByNumeroTelefono(normalizado));
+        if (!clientes.isEmpty()) {
+            cachePorTelefono.guardar(normalizado, clientes);
+        }
+        return clientes;
+    }
+
+    /**
+     * Busca clientes por nombre, ignorando mayúsculas, acentos y signos de
+     * puntuación. Primero se devuelven los clientes cuyo nombre, o alguna de
+     * sus palabras, empieza con el término, ordenados como en
+     * {@link IndicePrefijos}: coincidencia exacta, luego nombres que empiezan
+     * con el término y al final los que tienen una palabra que empieza con él.
+     * Después siguen, de mayor a menor similitud, los nombres que se parecen
+     * al término aunque tengan errores de escritura o las palabras en otro
+     * orden, como {@code "garsia ana"} para {@code "Ana García"}.
+     *
+     * Solo se recorren los primeros {@value #MAXIMO_RESULTADOS_BUSQUEDA}
+     * resultados. Mientras el índice no está cargado, se consulta la base de
+     * datos y solo se devuelven los nombres que contienen el término.
+     *
+     * @param nombre El término de búsqueda.
+     * @param pageable Página solicitada; el orden se ignora.
+     * @return La página de clientes encontrados, ordenados por relevancia.
+     */
+    public Slice<NombreClienteDTO> buscarPorNombre(String nombre, Pageable pageable) {
+        long inicio = pageable.getOffset();
+        // Se pide un resultado más que los de la página para saber si hay otra.
+        int requeridos = (int) Math.min(inicio + pageable.getPageSize() + 1, MAXIMO_RESULTADOS_BUSQUEDA);
+        if (inicio >= requeridos) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        List<NombreClienteDTO> encontrados;
+        if (indiceNombresCargado) {
+            encontrados = new ArrayList<>(indicePrefijos.buscar(nombre, requeridos));
+            if (encontrados.size() < requeridos) {
+                Set<Long> incluidos = new HashSet<>();
+                encontrados.forEach(cliente -> incluidos.add(cliente.id()));
+                for (IndiceTrigramas.Coincidencia<NombreClienteDTO> coincidencia : indiceTrigramas.buscar(nombre,
+                        requeridos, SIMILITUD_MINIMA, presupuestoBusquedaNanos)) {
+                    if (encontrados.size() == requeridos) {
+                        break;
+                    }
+                    if (incluidos.add(coincidencia.elemento().id())) {
+                        encontrados.add(coincidencia.elemento());
+                    }
+                }
+            }
+        } else {
+            encontrados = clienteRepository.findNombresByNombreContaining(nombre, Limit.of(requeridos));
+        }
+
+        int fin = (int) Math.min(encontrados.size(), inicio + pageable.getPageSize());
+        List<NombreClienteDTO> pagina = inicio < fin ? encontrados.subList((int) inicio, fin) : List.of();
+        return new SliceImpl<>(pagina, pageable, encontrados.size() > fin);
+    }
+
+    /**
+     * Guarda un nuevo cliente en la base de datos. Si su dirección es nueva y
+     * ya existe una equivalente, el cliente se asocia a la existente. Si el
+     * cliente ya existía y cambió de dirección, su dirección anterior se
+     * elimina cuando ningún otro cliente la usa.
      *
      * @param cliente El cliente a guardar.
      * @return El cliente guardado.
      */
     public Cliente save(Cliente cliente) {
-        return clienteRepository.save(cliente);
+        Optional<ClienteDTO> anterior = cliente.getId() != null
+                ? clienteRepository.findDTOById(cliente.getId())
+                : Optional.empty();
+        if (cliente.getDireccion() != null && cliente.getDireccion().getId() == null) {
+            // Se guarda por separado para que un duplicado creado al mismo tiempo se resuelva a la existente.
+            cliente.setDireccion(direccionService.crearDireccion(cliente.getDireccion()));
+        }
+        Cliente guardado = clienteRepository.save(cliente);
+        Long direccionAnterior = anterior.map(ClienteDTO::direccionId).orElse(null);
+        if (direccionAnterior != null && (guardado.getDireccion() == null
+                || !direccionAnterior.equals(guardado.getDireccion().getId()))) {
+            direccionService.eliminarSiNoSeUsa(direccionAnterior);
+        }
+        anterior.ifPresent(this::quitarDeCache);
+        quitarDeCache(guardado.getNumeroTelefono());
+        indexarNombre(guardado);
+        return guardado;
     }
 
     /**
@@ -58,24 +239,81 @@ public class ClienteService {
     public Optional<Cliente> update(Long id, Cliente cliente) {
         if (clienteRepository.existsById(id)) {
             cliente.setId(id);
-            return Optional.of(clienteRepository.save(cliente));
+            return Optional.of(save(cliente));
         } else {
             return Optional.empty();
         }
     }
 
     /**
-     * Elimina un cliente por su ID.
+     * Elimina un cliente por su ID, junto con su dirección si ningún otro
+     * cliente la usa.
      *
      * @param id ID del cliente a eliminar.
      * @return true si el cliente fue eliminado, false si no se encontró.
      */
     public boolean delete(Long id) {
         if (clienteRepository.existsById(id)) {
+            Optional<ClienteDTO> anterior = clienteRepository.findDTOById(id);
             clienteRepository.deleteById(id);
+            anterior.ifPresent(cliente -> {
+                direccionService.eliminarSiNoSeUsa(cliente.direccionId());
+                quitarDeCache(cliente);
+            });
+            indicePrefijos.quitar(id);
+            indiceTrigramas.quitar(id);
             return true;
         } else {
             return false;
         }
     }
+
+    /**
+     * Vacía la caché de búsquedas por número de teléfono. Se usa después de
+     * cambios que afectan a muchos clientes, como la fusión de direcciones.
+     */
+    public void limpiarCache() {
+        cachePorTelefono.limpiar();
+    }
+
+    /**
+     * Quita de la caché los clientes que usan una dirección modificada, o
+     * toda la caché si el cambio puede afectar a cualquier dirección, como la
+     * edición de una colonia.
+     *
+     * @param evento El evento de la dirección modificada.
+     */
+    @EventListener
+    public void alModificarDirecciones(DireccionesModificadasEvento evento) {
+        if (evento.esGeneral()) {
+            limpiarCache();
+        } else {
+            clienteRepository.findNumerosTelefonoByDireccionId(evento.direccionId()).forEach(this::quitarDeCache);
+        }
+    }
+
+    private void quitarDeCache(ClienteDTO cliente) {
+        quitarDeCache(cliente.numeroTelefono());
+    }
+
+    private void quitarDeCache(String numeroTelefono) {
+        if (numeroTelefono != null) {
+            cachePorTelefono.quitar(numeroTelefono);
+        }
+    }
+
+    /**
+     * Actualiza un cliente guardado en los índices de búsqueda por nombre.
+     * Los clientes sin nombre no se indexan.
+     */
+    private void indexarNombre(Cliente cliente) {
+        if (cliente.getNombre() == null || cliente.getNombre().isBlank()) {
+            indicePrefijos.quitar(cliente.getId());
+            indiceTrigramas.quitar(cliente.getId());
+            return;
+        }
+        NombreClienteDTO dto = new NombreClienteDTO(cliente.getId(), cliente.getNombre(), cliente.getNumeroTelefono());
+        indicePrefijos.agregar(dto);
+        indiceTrigramas.agregar(dto);
+    }
 }
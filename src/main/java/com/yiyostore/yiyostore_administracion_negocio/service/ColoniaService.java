@@ -1,31 +1,134 @@
 package com.yiyostore.yiyostore_administracion_negocio.service;
 
 import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenAsociacionColoniasDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Ciudad;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Colonia;
 import com.yiyostore.yiyostore_administracion_negocio.repository.ColoniaRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndicePrefijos;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas.Coincidencia;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio para manejar la lógica de negocio relacionada con las Colonias.
+ * Mantiene actualizados con cada escritura el {@link IndiceCodigoPostal}, el
+ * índice de nombres que atiende la búsqueda para autocompletar y el índice de
+ * trigramas que atiende la búsqueda tolerante a errores de escritura.
  */
 @Service
 public class ColoniaService {
 
+    /**
+     * Código postal más alto posible.
+     */
+    private static final int MAXIMO_CODIGO_POSTAL = 99999;
+
+    /**
+     * Cantidad máxima de resultados de la búsqueda por nombre.
+     */
+    private static final int MAXIMO_RESULTADOS_BUSQUEDA = 50;
+
+    /**
+     * Cantidad máxima de IDs que se envían en cada sentencia UPDATE de una
+     * asociación masiva de colonias.
+     */
+    private static final int TAMANO_BLOQUE_ASOCIACION = 1000;
+
+    /**
+     * Similitud mínima de los resultados de la búsqueda de colonias similares.
+     */
+    private static final double SIMILITUD_MINIMA = 0.3;
+
     @Autowired
     private ColoniaRepository coloniaRepository;
 
+    @Autowired
+    private IndiceCodigoPostal indiceCodigoPostal;
+
+    @Autowired
+    private InstantaneaCatalogoService instantaneaCatalogoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    private final IndicePrefijos<ColoniaDTO> indiceNombres = new IndicePrefijos<>(ColoniaDTO::id, ColoniaDTO::nombre);
+    private volatile boolean indiceNombresCargado;
+
+    private final IndiceTrigramas<ColoniaDTO> indiceTrigramas = new IndiceTrigramas<>(ColoniaDTO::id, ColoniaDTO::nombre);
+
+    /**
+     * Tiempo máximo en milisegundos de una búsqueda de colonias similares.
+     */
+    @Value("${yiyostore.busqueda.similares.presupuesto-ms:25}")
+    private long presupuestoBusquedaMs;
+
+    /**
+     * Carga los índices de colonias por código postal y por nombre al iniciar
+     * la aplicación, desde la instantánea del catálogo geográfico si sigue
+     * vigente. Mientras no terminan de cargarse, las consultas se atienden
+     * desde la base de datos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarIndiceAlIniciar() {
+        cargarIndice(instantaneaCatalogoService.cargarColonias());
+    }
+
+    /**
+     * Registra un cambio al catálogo geográfico y vuelve a cargar los índices
+     * de colonias desde la base de datos, generando una nueva instantánea del
+     * catálogo. Se usa después de los cambios que afectan a muchas colonias.
+     * También publica un {@link DireccionesModificadasEvento} general.
+     */
+    public void cargarIndice() {
+        instantaneaCatalogoService.registrarCambio();
+        eventos.publishEvent(DireccionesModificadasEvento.todas());
+        cargarIndice(instantaneaCatalogoService.exportar());
+    }
+
+    private void cargarIndice(List<ColoniaDTO> colonias) {
+        indiceCodigoPostal.cargar(colonias);
+        indiceNombres.cargar(colonias);
+        indiceTrigramas.cargar(colonias);
+        indiceNombresCargado = true;
+    }
+
+    /**
+     * Obtiene una página de las colonias almacenadas, sin cargar las entidades.
+     *
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de colonias.
+     */
+    public Page<ColoniaDTO> findAll(Pageable pageable) {
+        return coloniaRepository.findAllDTO(pageable);
+    }
+
     /**
-     * Obtiene todas las colonias almacenadas.
+     * Obtiene una página de las colonias de una ciudad, sin cargar las
+     * entidades.
      *
-     * @return Lista de todas las colonias.
+     * @param ciudadId ID de la ciudad.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de colonias de la ciudad.
      */
-    public List<Colonia> findAll() {
-        return coloniaRepository.findAll();
+    public Page<ColoniaDTO> findByCiudadId(Long ciudadId, Pageable pageable) {
+        return coloniaRepository.findDTOByCiudadId(ciudadId, pageable);
     }
 
     /**
@@ -40,22 +143,130 @@ public class ColoniaService {
     }
 
     /**
-     * Guarda una nueva colonia o actualiza una existente.
+     * Guarda una nueva colonia o actualiza una existente, actualiza los
+     * índices y registra el cambio al catálogo geográfico. Si la colonia ya
+     * existía, publica un {@link DireccionesModificadasEvento} general, porque
+     * su nombre y código postal se muestran con las direcciones de los
+     * clientes.
      *
      * @param colonia La colonia a guardar.
      * @return La colonia guardada.
      */
     public Colonia save(Colonia colonia) {
-        return coloniaRepository.save(colonia);
+        Optional<Integer> codigoPostalAnterior = colonia.getId() != null
+                ? coloniaRepository.findCodigoPostalById(colonia.getId())
+                : Optional.empty();
+        Colonia guardada = coloniaRepository.save(colonia);
+        instantaneaCatalogoService.registrarCambio();
+        if (codigoPostalAnterior.isPresent()) {
+            eventos.publishEvent(DireccionesModificadasEvento.todas());
+        }
+        codigoPostalAnterior.ifPresent(cp -> indiceCodigoPostal.quitar(guardada.getId(), cp));
+        coloniaRepository.findDTOById(guardada.getId()).ifPresent(dto -> {
+            indiceCodigoPostal.agregar(dto);
+            indiceNombres.agregar(dto);
+            indiceTrigramas.agregar(dto);
+        });
+        return guardada;
     }
 
     /**
-     * Elimina una colonia por su ID.
+     * Elimina una colonia por su ID, la quita de los índices y registra el
+     * cambio al catálogo geográfico.
      *
      * @param id Identificador de la colonia a eliminar.
      */
     public void deleteById(Long id) {
+        Optional<Integer> codigoPostal = coloniaRepository.findCodigoPostalById(id);
         coloniaRepository.deleteById(id);
+        instantaneaCatalogoService.registrarCambio();
+        codigoPostal.ifPresent(cp -> indiceCodigoPostal.quitar(id, cp));
+        indiceNombres.quitar(id);
+        indiceTrigramas.quitar(id);
+    }
+
+    /**
+     * Obtiene todas las colonias de una ciudad, sin cargar las entidades.
+     *
+     * @param ciudadId ID de la ciudad.
+     * @return Lista de colonias de la ciudad.
+     */
+    public List<ColoniaDTO> findAllByCiudadId(Long ciudadId) {
+        return coloniaRepository.findAllDTOByCiudadId(ciudadId);
+    }
+
+    /**
+     * Actualiza los índices después de guardar o eliminar una ciudad, sin
+     * volver a cargarlos completos: quita las colonias que tenía la ciudad
+     * antes del cambio y agrega las que tiene ahora, con el nombre actual de
+     * la ciudad. También registra el cambio al catálogo geográfico.
+     *
+     * @param anteriores Colonias de la ciudad antes del cambio.
+     * @param ciudadId ID de la ciudad, o null si se eliminó.
+     */
+    public void actualizarIndiceCiudad(List<ColoniaDTO> anteriores, Long ciudadId) {
+        instantaneaCatalogoService.registrarCambio();
+        for (ColoniaDTO colonia : anteriores) {
+            indiceCodigoPostal.quitar(colonia.id(), colonia.codigoPostal());
+            indiceTrigramas.quitar(colonia.id());
+        }
+        indiceNombres.quitarTodos(anteriores.stream().map(ColoniaDTO::id).toList());
+        if (ciudadId != null) {
+            List<ColoniaDTO> actuales = coloniaRepository.findAllDTOByCiudadId(ciudadId);
+            for (ColoniaDTO colonia : actuales) {
+                indiceCodigoPostal.agregar(colonia);
+                indiceTrigramas.agregar(colonia);
+            }
+            indiceNombres.agregarTodos(actuales);
+        }
+    }
+
+    /**
+     * Asocia varias colonias a una ciudad con sentencias UPDATE por bloques,
+     * sin cargar las colonias ni la lista de colonias de la ciudad, y vuelve a
+     * cargar los índices de colonias. El costo es lineal en la cantidad de
+     * IDs.
+     *
+     * @param ciudad La ciudad; puede ser una referencia sin inicializar.
+     * @param ids IDs de las colonias a asociar. Los repetidos se ignoran.
+     * @return Un {@link ResumenAsociacionColoniasDTO} con el resultado.
+     * @throws IllegalArgumentException si algún ID es nulo.
+     */
+    @Transactional
+    public ResumenAsociacionColoniasDTO asociarACiudad(Ciudad ciudad, List<Long> ids) {
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Los IDs de colonia no pueden ser nulos");
+        }
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        int asociadas = 0;
+        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANO_BLOQUE_ASOCIACION) {
+            List<Long> bloque = distintos.subList(inicio, Math.min(inicio + TAMANO_BLOQUE_ASOCIACION, distintos.size()));
+            asociadas += coloniaRepository.asociarACiudad(ciudad, bloque);
+        }
+        if (asociadas > 0) {
+            cargarIndice();
+        }
+        return new ResumenAsociacionColoniasDTO(distintos.size(), asociadas);
+    }
+
+    /**
+     * Busca las colonias de un código postal, ordenadas por nombre. La
+     * consulta se atiende desde el índice en memoria; si todavía no está
+     * cargado, se consulta la base de datos.
+     *
+     * @param codigoPostal El código postal.
+     * @return Lista de colonias del código postal.
+     * @throws IllegalArgumentException si el código postal está fuera del
+     * rango válido.
+     */
+    public List<ColoniaDTO> findByCodigoPostal(int codigoPostal) {
+        if (codigoPostal < 0 || codigoPostal > MAXIMO_CODIGO_POSTAL) {
+            throw new IllegalArgumentException("Código postal inválido: " + codigoPostal);
+        }
+        if (indiceCodigoPostal.estaCargado()) {
+            return indiceCodigoPostal.buscar(codigoPostal);
+        }
+        return coloniaRepository.findDTOByCodigoPostal(codigoPostal);
     }
 
     /**
@@ -71,20 +282,42 @@ public class ColoniaService {
     }
     
     /**
-     * Busca colonias cuyo nombre contenga el término de búsqueda.
+     * Busca colonias para autocompletar. Devuelve las colonias cuyo nombre, o
+     * alguna de sus palabras, empieza con el término, ignorando mayúsculas y
+     * acentos: primero la coincidencia exacta, luego los nombres que empiezan
+     * con el término y al final los que tienen una palabra que empieza con él.
+     * Mientras el índice no está cargado, se consulta la base de datos.
      *
      * @param nombre El término de búsqueda.
+     * @param limite Cantidad máxima de resultados; se acota a
+     * {@value #MAXIMO_RESULTADOS_BUSQUEDA}.
      * @return Una lista de colonias que coinciden con el término de búsqueda.
      */
-    public List<ColoniaDTO > searchColonias(String nombre) {
-        List<Colonia> colonias = coloniaRepository.findByNombreContainingIgnoreCase(nombre);
-        return colonias.stream()
-                .map(colonia -> new ColoniaDTO(
-                        colonia.getId(),
-                        colonia.getNombre(),
-                        colonia.getCodigoPostal(),
-                        colonia.getCiudad().getNombre()
-                ))
-                .collect(Collectors.toList());
+    public List<ColoniaDTO> searchColonias(String nombre, int limite) {
+        int limiteAcotado = Math.min(limite, MAXIMO_RESULTADOS_BUSQUEDA);
+        if (indiceNombresCargado) {
+            return indiceNombres.buscar(nombre, limiteAcotado);
+        }
+        if (limiteAcotado <= 0) {
+            return List.of();
+        }
+        return coloniaRepository.findDTOByNombreContaining(nombre, Limit.of(limiteAcotado));
+    }
+
+    /**
+     * Busca colonias cuyo nombre se parece al término, tolerando errores de
+     * escritura, acentos y mayúsculas, por ejemplo {@code "cuahutemoc"} para
+     * {@code "Cuauhtémoc"}. La búsqueda se corta al agotar su presupuesto de
+     * tiempo y devuelve los mejores resultados encontrados hasta ese momento.
+     * Mientras el índice no está cargado, no devuelve resultados.
+     *
+     * @param nombre El término de búsqueda.
+     * @param limite Cantidad máxima de resultados; se acota a
+     * {@value #MAXIMO_RESULTADOS_BUSQUEDA}.
+     * @return Las colonias encontradas, de mayor a menor similitud.
+     */
+    public List<Coincidencia<ColoniaDTO>> buscarSimilares(String nombre, int limite) {
+        return indiceTrigramas.buscar(nombre, Math.min(limite, MAXIMO_RESULTADOS_BUSQUEDA), SIMILITUD_MINIMA,
+                TimeUnit.MILLISECONDS.toNanos(presupuestoBusquedaMs));
     }
-}
\ No newline at end of file
+}
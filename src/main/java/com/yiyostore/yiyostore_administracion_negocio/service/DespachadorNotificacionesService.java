@@ -0,0 +1,268 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.exception.EnvioNotificacionException;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Notificacion;
+import com.yiyostore.yiyostore_administracion_negocio.repository.NotificacionRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.LimitadorTasa;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio que envía en segundo plano las notificaciones pendientes de la
+ * bandeja de salida ({@link Notificacion}) con el {@link EmisorNotificaciones}
+ * configurado.
+ *
+ * Cada ciclo aparta un lote de notificaciones en una transacción corta,
+ * saltando las filas bloqueadas por otra instancia, y las envía fuera de la
+ * transacción respetando la tasa máxima del proveedor. Los envíos exitosos se
+ * marcan juntos al final del lote; los fallidos se reprograman con espera
+ * exponencial, o se marcan como fallidos si el error es permanente o se
+ * agotaron los intentos. Si el proceso se detiene a mitad de un lote, sus
+ * notificaciones se vuelven a enviar cuando vence el apartado, por lo que un
+ * mensaje puede llegar más de una vez pero no se pierde.
+ *
+ * Usa su propio hilo para no ocupar el de las tareas programadas, virtual si
+ * está activo el modo de hilos virtuales
+ * ({@code spring.threads.virtual.enabled}), y solo se inicia si hay un emisor
+ * configurado. Los ciclos que fallan, por ejemplo porque la base de datos no
+ * responde, se cuentan en la métrica
+ * {@code yiyostore.notificaciones.ciclos.fallidos} y se registran en el log a
+ * lo más una vez por minuto.
+ */
+@Service
+public class DespachadorNotificacionesService {
+
+    /**
+     * Longitud máxima del error que se guarda en la notificación.
+     */
+    private static final int LONGITUD_ERROR = 500;
+
+    /**
+     * Tiempo mínimo entre dos registros en el log de ciclos fallidos.
+     */
+    private static final long INTERVALO_LOG_FALLOS_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(DespachadorNotificacionesService.class);
+
+    private final NotificacionRepository notificacionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EmisorNotificaciones emisor;
+    private final LimitadorTasa limitador;
+    private final int tamanoLote;
+    private final int maxIntentos;
+    private final Duration esperaBase;
+    private final Duration esperaMaxima;
+    private final Duration apartado;
+    private final long intervaloMs;
+    private final boolean hilosVirtuales;
+    private final Counter ciclosFallidos;
+    private ScheduledExecutorService ejecutor;
+
+    // Solo los usa el hilo del envío periódico.
+    private long ultimoLogFallo = System.nanoTime() - INTERVALO_LOG_FALLOS_NANOS;
+    private int fallosSinLog;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param notificacionRepository Repositorio de la bandeja de salida.
+     * @param transactionManager Administrador de transacciones.
+     * @param emisor Emisor de las notificaciones, si hay uno configurado.
+     * @param tamanoLote Cantidad de notificaciones que se apartan por ciclo.
+     * @param mensajesPorSegundo Tasa máxima de envío al proveedor.
+     * @param maxIntentos Intentos antes de marcar una notificación como
+     * fallida.
+     * @param esperaBase Espera antes del primer reintento; se duplica en cada
+     * intento.
+     * @param esperaMaxima Espera máxima entre reintentos.
+     * @param apartado Tiempo durante el que una notificación en envío no se
+     * vuelve a tomar.
+     * @param intervaloMs Milisegundos entre ciclos cuando no hay pendientes.
+     * @param hilosVirtuales true para enviar desde un hilo virtual.
+     * @param meterRegistry Registro de métricas.
+     */
+    @Autowired
+    public DespachadorNotificacionesService(NotificacionRepository notificacionRepository,
+            PlatformTransactionManager transactionManager, Optional<EmisorNotificaciones> emisor,
+            @Value("${yiyostore.notificaciones.lote:50}") int tamanoLote,
+            @Value("${yiyostore.notificaciones.mensajes-por-segundo:1}") double mensajesPorSegundo,
+            @Value("${yiyostore.notificaciones.max-intentos:5}") int maxIntentos,
+            @Value("${yiyostore.notificaciones.espera-base:30s}") Duration esperaBase,
+            @Value("${yiyostore.notificaciones.espera-maxima:1h}") Duration esperaMaxima,
+            @Value("${yiyostore.notificaciones.apartado:2m}") Duration apartado,
+            @Value("${yiyostore.notificaciones.intervalo-ms:5000}") long intervaloMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales,
+            MeterRegistry meterRegistry) {
+        this.notificacionRepository = notificacionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emisor = emisor.orElse(null);
+        this.limitador = new LimitadorTasa(mensajesPorSegundo);
+        this.tamanoLote = tamanoLote;
+        this.maxIntentos = maxIntentos;
+        this.esperaBase = esperaBase;
+        this.esperaMaxima = esperaMaxima;
+        this.apartado = apartado;
+        this.intervaloMs = intervaloMs;
+        this.hilosVirtuales = hilosVirtuales;
+        this.ciclosFallidos = Counter.builder("yiyostore.notificaciones.ciclos.fallidos")
+                .description("Ciclos de envío de notificaciones que terminaron con un error")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inicia el envío periódico al arrancar la aplicación, si hay un emisor
+     * configurado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (emisor == null || ejecutor != null) {
+            return;
+        }
+        ThreadFactory fabrica = hilosVirtuales
+                ? Thread.ofVirtual().name("despachador-notificaciones").factory()
+                : Thread.ofPlatform().name("despachador-notificaciones").daemon(true).factory();
+        ejecutor = Executors.newSingleThreadScheduledExecutor(fabrica);
+        ejecutor.scheduleWithFixedDelay(this::despacharSinPropagar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene el envío periódico. Las notificaciones del lote en curso se
+     * vuelven a enviar cuando vence su apartado.
+     */
+    @PreDestroy
+    public synchronized void detener() {
+        if (ejecutor != null) {
+            ejecutor.shutdownNow();
+            ejecutor = null;
+        }
+    }
+
+    /**
+     * Envía las notificaciones pendientes, un lote a la vez, hasta que no
+     * quede un lote completo.
+     *
+     * @return Cantidad de notificaciones enviadas.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera
+     * la tasa de envío.
+     */
+    public int despachar() throws InterruptedException {
+        if (emisor == null) {
+            return 0;
+        }
+        int enviadas = 0;
+        List<Notificacion> lote;
+        do {
+            LocalDateTime ahora = LocalDateTime.now();
+            lote = transactionTemplate.execute(estado -> {
+                List<Notificacion> apartadas = notificacionRepository.findParaEnviar(ahora, Limit.of(tamanoLote));
+                apartadas.forEach(notificacion -> notificacion.reclamar(ahora.plus(apartado)));
+                return apartadas;
+            });
+            enviadas += enviar(lote);
+        } while (lote.size() == tamanoLote);
+        return enviadas;
+    }
+
+    private void despacharSinPropagar() {
+        try {
+            despachar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Se reintenta en el siguiente ciclo; las notificaciones apartadas
+            // se retoman al vencer el apartado.
+            ciclosFallidos.increment();
+            registrarCicloFallido(e);
+        }
+    }
+
+    /**
+     * Registra en el log un ciclo fallido, a lo más una vez por minuto, con
+     * la cantidad de fallos que se omitieron desde el registro anterior.
+     */
+    private void registrarCicloFallido(RuntimeException e) {
+        long ahora = System.nanoTime();
+        if (ahora - ultimoLogFallo < INTERVALO_LOG_FALLOS_NANOS) {
+            fallosSinLog++;
+            return;
+        }
+        LOG.error("Falló el envío de notificaciones; se reintenta en {} ms ({} fallos anteriores sin registrar)",
+                intervaloMs, fallosSinLog, e);
+        ultimoLogFallo = ahora;
+        fallosSinLog = 0;
+    }
+
+    /**
+     * Envía un lote apartado y guarda el resultado de cada notificación.
+     *
+     * @return Cantidad de notificaciones enviadas.
+     */
+    private int enviar(List<Notificacion> lote) throws InterruptedException {
+        List<Long> enviadas = new ArrayList<>(lote.size());
+        try {
+            for (Notificacion notificacion : lote) {
+                limitador.adquirir();
+                try {
+                    emisor.enviar(notificacion.getCanal(), notificacion.getDestinatario(), notificacion.getMensaje());
+                    enviadas.add(notificacion.getId());
+                } catch (EnvioNotificacionException e) {
+                    registrarFallo(notificacion, e.getMessage(), e.isReintentable());
+                } catch (RuntimeException e) {
+                    registrarFallo(notificacion, e.toString(), true);
+                }
+            }
+        } finally {
+            if (!enviadas.isEmpty()) {
+                LocalDateTime ahora = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(estado
+                        -> notificacionRepository.marcarEnviadas(enviadas, ahora));
+            }
+        }
+        return enviadas.size();
+    }
+
+    private void registrarFallo(Notificacion notificacion, String error, boolean reintentable) {
+        String mensaje = error == null || error.length() <= LONGITUD_ERROR ? error : error.substring(0, LONGITUD_ERROR);
+        transactionTemplate.executeWithoutResult(estado -> {
+            if (!reintentable || notificacion.getIntentos() >= maxIntentos) {
+                notificacionRepository.marcarFallida(notificacion.getId(), mensaje);
+            } else {
+                notificacionRepository.reprogramar(notificacion.getId(),
+                        LocalDateTime.now().plus(espera(notificacion.getIntentos())), mensaje);
+            }
+        });
+    }
+
+    /**
+     * Calcula la espera antes del siguiente intento: la espera base duplicada
+     * por cada intento previo, sin pasar de la espera máxima.
+     *
+     * @param intentos Intentos ya realizados, al menos uno.
+     * @return La espera.
+     */
+    private Duration espera(int intentos) {
+        int duplicaciones = Math.min(intentos - 1, 30);
+        Duration espera = esperaBase.multipliedBy(1L << duplicaciones);
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+}
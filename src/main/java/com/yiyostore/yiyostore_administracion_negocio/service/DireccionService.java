@@ -1,24 +1,155 @@
 package com.yiyostore.yiyostore_administracion_negocio.service;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CalleDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Direccion;
 import com.yiyostore.yiyostore_administracion_negocio.repository.DireccionRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas.Coincidencia;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TextoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
- * Servicio que proporciona operaciones CRUD para la entidad Direccion.
+ * Servicio que proporciona operaciones CRUD para la entidad Direccion. Mantiene
+ * un índice de trigramas con las calles registradas para buscarlas aunque
+ * estén mal escritas.
  */
 @Service
 public class DireccionService {
 
+    /**
+     * Similitud mínima de los resultados de la búsqueda de calles similares.
+     */
+    private static final double SIMILITUD_MINIMA = 0.3;
+
+    /**
+     * Cantidad máxima de resultados de la búsqueda de calles similares.
+     */
+    private static final int MAXIMO_RESULTADOS_BUSQUEDA = 50;
+
+    /**
+     * Largo máximo de la referencia, igual al de su columna.
+     */
+    private static final int LARGO_REFERENCIA = 255;
+
+    /**
+     * Separador entre la referencia existente y una nueva que se le agrega.
+     */
+    private static final String SEPARADOR_REFERENCIAS = "; ";
+
     private final DireccionRepository direccionRepository;
+    private final ApplicationEventPublisher eventos;
+    private final long presupuestoBusquedaNanos;
+
+    private final IndiceTrigramas<CalleDTO> indiceCalles = new IndiceTrigramas<>(CalleDTO::id, CalleDTO::nombreCalle);
+    /**
+     * Calles indexadas de cada colonia, por su nombre normalizado.
+     */
+    private final Map<Long, Map<String, CalleDTO>> callesPorColonia = new HashMap<>();
 
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param direccionRepository Repositorio de direcciones.
+     * @param eventos Publicador de los eventos de direcciones modificadas.
+     * @param presupuestoBusquedaMs Tiempo máximo en milisegundos de una
+     * búsqueda de calles similares, configurado con la propiedad
+     * {@code yiyostore.busqueda.similares.presupuesto-ms}.
+     */
     @Autowired
-    public DireccionService(DireccionRepository direccionRepository) {
+    public DireccionService(DireccionRepository direccionRepository, ApplicationEventPublisher eventos,
+            @Value("${yiyostore.busqueda.similares.presupuesto-ms:25}") long presupuestoBusquedaMs) {
         this.direccionRepository = direccionRepository;
+        this.eventos = eventos;
+        this.presupuestoBusquedaNanos = TimeUnit.MILLISECONDS.toNanos(presupuestoBusquedaMs);
+    }
+
+    /**
+     * Carga el índice de calles al iniciar la aplicación. También se usa para
+     * volver a cargarlo después de cambios masivos, como la fusión de
+     * direcciones duplicadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargarIndiceCalles() {
+        callesPorColonia.clear();
+        for (CalleDTO calle : direccionRepository.findAllCalles()) {
+            callesPorColonia.computeIfAbsent(calle.coloniaId(), id -> new HashMap<>())
+                    .merge(TextoUtils.normalizar(calle.nombreCalle()), calle, DireccionService::masAntigua);
+        }
+        indiceCalles.cargar(callesPorColonia.values().stream().flatMap(calles -> calles.values().stream()).toList());
+    }
+
+    /**
+     * Busca calles registradas cuyo nombre se parece al término, tolerando
+     * errores de escritura, acentos y mayúsculas. Cada calle se devuelve una
+     * vez por colonia. La búsqueda se corta al agotar su presupuesto de tiempo
+     * y devuelve los mejores resultados encontrados hasta ese momento.
+     *
+     * @param nombre El término de búsqueda.
+     * @param limite Cantidad máxima de resultados; se acota a
+     * {@value #MAXIMO_RESULTADOS_BUSQUEDA}.
+     * @return Las calles encontradas, de mayor a menor similitud.
+     */
+    public List<Coincidencia<CalleDTO>> buscarCallesSimilares(String nombre, int limite) {
+        return indiceCalles.buscar(nombre, Math.min(limite, MAXIMO_RESULTADOS_BUSQUEDA), SIMILITUD_MINIMA,
+                presupuestoBusquedaNanos);
+    }
+
+    /**
+     * Vuelve a indexar las calles de una colonia a partir de sus direcciones
+     * actuales: agrega las calles nuevas, quita las que ya no usa ninguna
+     * dirección y reemplaza las que cambiaron de dirección más antigua. Se
+     * llama con la colonia de una dirección antes y después de guardarla o
+     * eliminarla.
+     *
+     * @param coloniaId ID de la colonia; si es null no se hace nada.
+     */
+    private synchronized void reindexarColonia(Long coloniaId) {
+        if (coloniaId == null) {
+            return;
+        }
+        Map<String, CalleDTO> actuales = new HashMap<>();
+        for (CalleDTO calle : direccionRepository.findCallesByColoniaId(coloniaId)) {
+            actuales.merge(TextoUtils.normalizar(calle.nombreCalle()), calle, DireccionService::masAntigua);
+        }
+        Map<String, CalleDTO> anteriores = callesPorColonia.getOrDefault(coloniaId, Map.of());
+        anteriores.forEach((nombre, calle) -> {
+            CalleDTO actual = actuales.get(nombre);
+            if (actual == null || !actual.id().equals(calle.id())) {
+                indiceCalles.quitar(calle.id());
+            }
+        });
+        actuales.forEach((nombre, calle) -> {
+            if (!calle.equals(anteriores.get(nombre))) {
+                indiceCalles.agregar(calle);
+            }
+        });
+        if (actuales.isEmpty()) {
+            callesPorColonia.remove(coloniaId);
+        } else {
+            callesPorColonia.put(coloniaId, actuales);
+        }
+    }
+
+    private static CalleDTO masAntigua(CalleDTO a, CalleDTO b) {
+        return a.id() <= b.id() ? a : b;
+    }
+
+    private static Long coloniaId(Direccion direccion) {
+        return direccion.getColonia() != null ? direccion.getColonia().getId() : null;
     }
 
     /**
@@ -42,42 +173,173 @@ public class DireccionService {
     }
 
     /**
-     * Crea una nueva dirección.
+     * Crea una nueva dirección. Si ya existe una dirección con la misma clave
+     * canónica (misma calle, números y colonia, aunque estén escritos de otra
+     * forma), se devuelve la existente en lugar de crear un duplicado. Si otra
+     * solicitud registra la misma dirección entre la búsqueda y el guardado,
+     * el índice único de la clave rechaza el duplicado y se devuelve la que
+     * guardó la otra solicitud.
      *
      * @param direccion La dirección a crear.
-     * @return La dirección creada.
+     * @return La dirección creada, o la existente equivalente.
      */
     public Direccion crearDireccion(Direccion direccion) {
-        return direccionRepository.save(direccion);
+        Direccion resuelta = resolver(direccion);
+        if (resuelta != direccion) {
+            return resuelta;
+        }
+        Direccion creada;
+        try {
+            creada = direccionRepository.save(direccion);
+        } catch (DataIntegrityViolationException e) {
+            Optional<Direccion> existente = direccionRepository.findFirstByClaveCanonicaOrderByIdAsc(
+                    direccion.getClaveCanonica());
+            if (existente.isEmpty()) {
+                throw e;
+            }
+            return combinar(existente.get(), direccion);
+        }
+        reindexarColonia(coloniaId(creada));
+        return creada;
+    }
+
+    /**
+     * Resuelve una dirección sin guardar a la dirección existente con su misma
+     * clave canónica, con una búsqueda en el índice de claves. Los datos que
+     * no forman parte de la clave (entre calles y referencia) se combinan con
+     * {@link #combinar}.
+     *
+     * @param direccion La dirección a resolver; puede ser nula.
+     * @return La dirección existente equivalente, o la misma dirección si ya
+     * tiene ID o no hay una equivalente.
+     */
+    public Direccion resolver(Direccion direccion) {
+        if (direccion == null || direccion.getId() != null) {
+            return direccion;
+        }
+        direccion.calcularClaveCanonica();
+        Optional<Direccion> existente = direccionRepository.findFirstByClaveCanonicaOrderByIdAsc(
+                direccion.getClaveCanonica());
+        return existente.isPresent() ? combinar(existente.get(), direccion) : direccion;
+    }
+
+    /**
+     * Combina los datos libres de una dirección nueva con los de la existente
+     * equivalente. Las entre calles que la existente no tiene se toman de la
+     * nueva; si ya tiene otras, se conservan las suyas. Una referencia
+     * distinta se agrega al final de la existente mientras quepa en la
+     * columna. Los valores se comparan sin distinguir mayúsculas, acentos ni
+     * signos de puntuación.
+     *
+     * @return La dirección existente, guardada si cambió algún dato.
+     */
+    private Direccion combinar(Direccion existente, Direccion nueva) {
+        boolean completada = completar(existente.getEntreCalle1(), nueva.getEntreCalle1(),
+                existente::setEntreCalle1);
+        completada |= completar(existente.getEntreCalle2(), nueva.getEntreCalle2(), existente::setEntreCalle2);
+        if (!completar(existente.getReferencia(), nueva.getReferencia(), existente::setReferencia)
+                && !estaVacio(nueva.getReferencia())
+                && !TextoUtils.normalizar(existente.getReferencia()).contains(
+                        TextoUtils.normalizar(nueva.getReferencia()))) {
+            String combinada = existente.getReferencia() + SEPARADOR_REFERENCIAS + nueva.getReferencia().strip();
+            if (combinada.length() <= LARGO_REFERENCIA) {
+                existente.setReferencia(combinada);
+                completada = true;
+            }
+        }
+        return completada ? direccionRepository.save(existente) : existente;
+    }
+
+    /**
+     * Toma el valor nuevo si la dirección existente no tiene uno.
+     *
+     * @return true si se tomó el valor nuevo.
+     */
+    private static boolean completar(String existente, String nuevo, Consumer<String> asignar) {
+        if (estaVacio(existente) && !estaVacio(nuevo)) {
+            asignar.accept(nuevo);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean estaVacio(String valor) {
+        return valor == null || valor.isBlank();
     }
 
     /**
-     * Actualiza una dirección existente.
+     * Actualiza una dirección existente. Las calles de su colonia anterior y de
+     * la nueva se vuelven a indexar, y se publica un
+     * {@link DireccionesModificadasEvento} para los clientes que la usan.
      *
      * @param id ID de la dirección a actualizar.
      * @param direccion Detalles actualizados de la dirección.
      * @return La dirección actualizada.
+     * @throws IllegalArgumentException si con los nuevos datos la dirección
+     * equivale a otra ya registrada.
      */
     public Direccion actualizarDireccion(Long id, Direccion direccion) {
-        if (direccionRepository.existsById(id)) {
-            direccion.setId(id);
-            return direccionRepository.save(direccion);
-        } else {
+        Optional<Direccion> anterior = direccionRepository.findById(id);
+        if (anterior.isEmpty()) {
             return null;
         }
+        Long coloniaAnterior = coloniaId(anterior.get());
+        direccion.setId(id);
+        direccion.calcularClaveCanonica();
+        Optional<Direccion> equivalente = direccionRepository.findFirstByClaveCanonicaOrderByIdAsc(
+                direccion.getClaveCanonica());
+        if (equivalente.isPresent() && !equivalente.get().getId().equals(id)) {
+            throw new IllegalArgumentException("La dirección ya está registrada con el ID "
+                    + equivalente.get().getId());
+        }
+        Direccion actualizada;
+        try {
+            actualizada = direccionRepository.save(direccion);
+        } catch (DataIntegrityViolationException e) {
+            // Otra solicitud registró la misma dirección entre la revisión y el guardado.
+            throw new IllegalArgumentException("La dirección ya está registrada", e);
+        }
+        eventos.publishEvent(new DireccionesModificadasEvento(id));
+        reindexarColonia(coloniaAnterior);
+        if (!Objects.equals(coloniaAnterior, coloniaId(actualizada))) {
+            reindexarColonia(coloniaId(actualizada));
+        }
+        return actualizada;
+    }
+
+    /**
+     * Elimina una dirección si ningún cliente la usa, como la dirección
+     * anterior de un cliente que se eliminó o cambió de dirección.
+     *
+     * @param id ID de la dirección; si es null no se hace nada.
+     * @return true si la dirección se eliminó.
+     */
+    public boolean eliminarSiNoSeUsa(Long id) {
+        if (id == null) {
+            return false;
+        }
+        Optional<Direccion> direccion = direccionRepository.findById(id);
+        if (direccion.isEmpty() || direccionRepository.eliminarSiNoTieneClientes(id) == 0) {
+            return false;
+        }
+        reindexarColonia(coloniaId(direccion.get()));
+        return true;
     }
 
     /**
-     * Elimina una dirección por su ID.
+     * Elimina una dirección por su ID y quita su calle del índice si ninguna
+     * otra dirección de la colonia la usa.
      *
      * @param id ID de la dirección a eliminar.
      * @return true si la dirección fue eliminada, false si no se encontró.
      */
     public boolean eliminarDireccion(Long id) {
-        if (direccionRepository.existsById(id)) {
-            direccionRepository.deleteById(id);
-            return true;
+        Optional<Direccion> direccion = direccionRepository.findById(id);
+        if (direccion.isEmpty()) {
+            return false;
         }
-        return false;
+        direccionRepository.deleteById(id);
+        reindexarColonia(coloniaId(direccion.get()));
+        return true;
     }
 }
@@ -0,0 +1,30 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+/**
+ * Evento que se publica cuando cambian los datos de una dirección o de una
+ * colonia, para que los servicios que guardan copias de esos datos, como la
+ * caché de clientes por número de teléfono, las descarten.
+ *
+ * @param direccionId ID de la dirección modificada, o null si el cambio puede
+ * afectar a muchas direcciones, como la edición de una colonia.
+ */
+public record DireccionesModificadasEvento(Long direccionId) {
+
+    /**
+     * Crea un evento para un cambio que puede afectar a cualquier dirección.
+     *
+     * @return El evento.
+     */
+    public static DireccionesModificadasEvento todas() {
+        return new DireccionesModificadasEvento(null);
+    }
+
+    /**
+     * Indica si el cambio puede afectar a cualquier dirección.
+     *
+     * @return true si el evento no se refiere a una sola dirección.
+     */
+    public boolean esGeneral() {
+        return direccionId == null;
+    }
+}
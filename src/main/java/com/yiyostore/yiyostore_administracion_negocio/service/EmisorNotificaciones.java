@@ -0,0 +1,25 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.exception.EnvioNotificacionException;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.CanalNotificacion;
+
+/**
+ * Envía una notificación a través de un proveedor de mensajería. El
+ * {@link DespachadorNotificacionesService} usa la implementación registrada
+ * como bean; si no hay ninguna, las notificaciones se acumulan en la bandeja
+ * de salida hasta que se configure una.
+ */
+public interface EmisorNotificaciones {
+
+    /**
+     * Envía un mensaje. Debe regresar solo cuando el proveedor aceptó el
+     * mensaje.
+     *
+     * @param canal Medio por el que se envía.
+     * @param destinatario Número de teléfono normalizado del destinatario.
+     * @param mensaje Texto del mensaje.
+     * @throws EnvioNotificacionException si el proveedor no acepta el mensaje.
+     * Cualquier otra excepción se trata como un error temporal.
+     */
+    void enviar(CanalNotificacion canal, String destinatario, String mensaje);
+}
@@ -0,0 +1,57 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.twilio.exception.ApiException;
+import com.twilio.exception.TwilioException;
+import com.twilio.http.TwilioRestClient;
+import com.twilio.rest.api.v2010.account.Message;
+import com.yiyostore.yiyostore_administracion_negocio.exception.EnvioNotificacionException;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.CanalNotificacion;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TwilioUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emisor de notificaciones por WhatsApp y SMS con la API de Twilio. Solo se
+ * registra si está configurada la propiedad
+ * {@code yiyostore.twilio.account-sid}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "yiyostore.twilio", name = "account-sid")
+public class EmisorTwilio implements EmisorNotificaciones {
+
+    private final TwilioRestClient cliente;
+    private final String remitenteSms;
+    private final String remitenteWhatsapp;
+
+    /**
+     * Constructor que configura el cliente de Twilio.
+     *
+     * @param accountSid SID de la cuenta de Twilio.
+     * @param authToken Token de autenticación de la cuenta.
+     * @param remitenteSms Número que envía los SMS, en formato E.164.
+     * @param remitenteWhatsapp Número que envía los mensajes de WhatsApp, en
+     * formato E.164; si no se configura, se usa el de SMS.
+     */
+    public EmisorTwilio(@Value("${yiyostore.twilio.account-sid}") String accountSid,
+            @Value("${yiyostore.twilio.auth-token}") String authToken,
+            @Value("${yiyostore.twilio.numero-sms}") String remitenteSms,
+            @Value("${yiyostore.twilio.numero-whatsapp:${yiyostore.twilio.numero-sms}}") String remitenteWhatsapp) {
+        this.cliente = new TwilioRestClient.Builder(accountSid, authToken).build();
+        this.remitenteSms = remitenteSms;
+        this.remitenteWhatsapp = remitenteWhatsapp;
+    }
+
+    @Override
+    public void enviar(CanalNotificacion canal, String destinatario, String mensaje) {
+        String remitente = canal == CanalNotificacion.WHATSAPP ? remitenteWhatsapp : remitenteSms;
+        try {
+            Message.creator(TwilioUtil.direccion(canal, destinatario), TwilioUtil.direccion(canal, remitente), mensaje)
+                    .create(cliente);
+        } catch (ApiException e) {
+            throw new EnvioNotificacionException(e.getMessage(), TwilioUtil.esReintentable(e.getStatusCode()), e);
+        } catch (TwilioException e) {
+            throw new EnvioNotificacionException(e.getMessage(), true, e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenFusionClientesDTO;
+import com.yiyostore.yiyostore_administracion_negocio.utils.AgrupadorClientes;
+import com.yiyostore.yiyostore_administracion_negocio.utils.AgrupadorClientes.Fusion;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TelefonoUtils;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio para fusionar los clientes duplicados: los que tienen el mismo
+ * número de teléfono normalizado, aunque esté guardado con otro formato, y un
+ * nombre compatible según {@link AgrupadorClientes}.
+ *
+ * De cada grupo de duplicados se conserva el cliente más antiguo, que completa
+ * su nombre, dirección y notas con los de los demás; los pedidos de los demás
+ * se reasignan a él, los demás se eliminan y sus direcciones se eliminan
+ * también si ningún otro cliente las usa. Todas las escrituras se hacen con
+ * sentencias JDBC por lotes.
+ *
+ * Para acotar la memoria, los clientes se reparten en particiones por el hash
+ * de su número normalizado, de modo que todos los de un mismo número quedan en
+ * la misma partición, y cada partición se agrupa en un recorrido por bloques
+ * de la tabla de clientes. La cantidad de particiones se calcula para que cada
+ * una tenga alrededor de {@value #CLIENTES_POR_PARTICION} clientes.
+ */
+@Service
+public class FusionClientesService {
+
+    /**
+     * Cantidad aproximada de clientes que se agrupan en memoria a la vez.
+     */
+    static final int CLIENTES_POR_PARTICION = 50_000;
+
+    /**
+     * Cantidad de clientes que se leen por consulta.
+     */
+    private static final int TAMANO_BLOQUE_LECTURA = 5000;
+
+    /**
+     * Cantidad de grupos que se fusionan en cada transacción.
+     */
+    private static final int TAMANO_LOTE = 1000;
+
+    private static final String SQL_LEER_CLIENTES = "SELECT id, numero_telefono, nombre, direccion_id, notas"
+            + " FROM clientes WHERE numero_telefono IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String SQL_REASIGNAR_PEDIDOS = "UPDATE pedidos SET cliente_id = ? WHERE cliente_id = ?";
+    private static final String SQL_ELIMINAR_CLIENTE = "DELETE FROM clientes WHERE id = ?";
+    private static final String SQL_ACTUALIZAR_CLIENTE = "UPDATE clientes SET nombre = ?, direccion_id = ?, notas = ?,"
+            + " numero_telefono = ? WHERE id = ?";
+    private static final String SQL_ELIMINAR_DIRECCION_SIN_CLIENTES = "DELETE FROM direcciones WHERE id = ?"
+            + " AND NOT EXISTS (SELECT 1 FROM clientes c WHERE c.direccion_id = direcciones.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClienteService clienteService;
+    private final DireccionService direccionService;
+    private final ResumenClienteService resumenClienteService;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param jdbcTemplate Plantilla JDBC para las consultas y escrituras por
+     * lotes.
+     * @param transactionManager Administrador de transacciones; cada lote se
+     * guarda en su propia transacción.
+     * @param clienteService Servicio de clientes, cuya caché e índice de
+     * nombres se actualizan al terminar.
+     * @param direccionService Servicio de direcciones, cuyo índice de calles
+     * se vuelve a cargar si se eliminó alguna dirección.
+     * @param resumenClienteService Servicio que recalcula el resumen de
+     * pedidos de los clientes fusionados.
+     */
+    @Autowired
+    public FusionClientesService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ClienteService clienteService, DireccionService direccionService,
+            ResumenClienteService resumenClienteService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clienteService = clienteService;
+        this.direccionService = direccionService;
+        this.resumenClienteService = resumenClienteService;
+    }
+
+    /**
+     * Fusiona los clientes duplicados, una partición a la vez, en una
+     * transacción por lote de grupos. Los clientes con un número inválido se
+     * ignoran. Al terminar, si algún cliente cambió, vacía la caché de
+     * clientes y vuelve a cargar el índice de nombres, y si se eliminó alguna
+     * dirección, vuelve a cargar el índice de calles.
+     *
+     * @return Un {@link ResumenFusionClientesDTO} con el resultado.
+     */
+    public synchronized ResumenFusionClientesDTO fusionarDuplicados() {
+        Integer conTelefono = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM clientes WHERE numero_telefono IS NOT NULL", Integer.class);
+        int particiones = Math.max(1, (conTelefono + CLIENTES_POR_PARTICION - 1) / CLIENTES_POR_PARTICION);
+
+        int revisados = 0;
+        int[] totales = new int[5];
+        for (int particion = 0; particion < particiones; particion++) {
+            AgrupadorClientes agrupador = agrupar(particion, particiones);
+            revisados += agrupador.tamano();
+            List<Fusion> fusiones = agrupador.fusiones();
+            for (int inicio = 0; inicio < fusiones.size(); inicio += TAMANO_LOTE) {
+                int[] resultado = aplicar(fusiones.subList(inicio, Math.min(inicio + TAMANO_LOTE, fusiones.size())));
+                for (int i = 0; i < totales.length; i++) {
+                    totales[i] += resultado[i];
+                }
+            }
+        }
+
+        if (totales[1] > 0 || totales[3] > 0) {
+            clienteService.limpiarCache();
+            clienteService.cargarIndiceNombres();
+        }
+        if (totales[4] > 0) {
+            direccionService.cargarIndiceCalles();
+        }
+        return new ResumenFusionClientesDTO(revisados, particiones, totales[0], totales[1], totales[2], totales[3],
+                totales[4]);
+    }
+
+    /**
+     * Recorre por bloques los clientes con número de teléfono y agrupa los de
+     * una partición.
+     */
+    private AgrupadorClientes agrupar(int particion, int particiones) {
+        AgrupadorClientes agrupador = new AgrupadorClientes();
+        long despuesDe = 0;
+        List<Object[]> bloque;
+        do {
+            bloque = jdbcTemplate.query(SQL_LEER_CLIENTES, (resultado, fila) -> new Object[]{
+                resultado.getLong(1), resultado.getString(2), resultado.getString(3),
+                resultado.getObject(4, Long.class), resultado.getString(5)
+            }, despuesDe, TAMANO_BLOQUE_LECTURA);
+            List<String> guardados = new ArrayList<>(bloque.size());
+            bloque.forEach(cliente -> guardados.add((String) cliente[1]));
+            List<String> normalizados = TelefonoUtils.normalizarLote(guardados);
+
+            for (int i = 0; i < bloque.size(); i++) {
+                String normalizado = normalizados.get(i);
+                if (normalizado != null && Math.floorMod(normalizado.hashCode(), particiones) == particion) {
+                    Object[] cliente = bloque.get(i);
+                    agrupador.agregar((Long) cliente[0], normalizado, (String) cliente[1], (String) cliente[2],
+                            (Long) cliente[3], (String) cliente[4]);
+                }
+            }
+            if (!bloque.isEmpty()) {
+                despuesDe = (Long) bloque.get(bloque.size() - 1)[0];
+            }
+        } while (bloque.size() == TAMANO_BLOQUE_LECTURA);
+        return agrupador;
+    }
+
+    /**
+     * Aplica un lote de fusiones en una transacción: reasigna los pedidos de
+     * los duplicados, elimina los duplicados, actualiza los clientes
+     * conservados, elimina las direcciones descartadas que ya no usa ningún
+     * cliente y recalcula el resumen de los clientes conservados.
+     *
+     * @return Grupos con duplicados, clientes eliminados, pedidos reasignados,
+     * teléfonos normalizados y direcciones eliminadas.
+     */
+    private int[] aplicar(List<Fusion> lote) {
+        List<Object[]> reasignaciones = new ArrayList<>();
+        List<Object[]> eliminaciones = new ArrayList<>();
+        List<Object[]> actualizaciones = new ArrayList<>(lote.size());
+        List<Object[]> direcciones = new ArrayList<>();
+        List<Long> afectados = new ArrayList<>();
+        int grupos = 0;
+        int normalizados = 0;
+        for (Fusion fusion : lote) {
+            for (Long duplicado : fusion.duplicados()) {
+                reasignaciones.add(new Object[]{fusion.sobrevivienteId(), duplicado});
+                eliminaciones.add(new Object[]{duplicado});
+                afectados.add(duplicado);
+            }
+            fusion.direccionesDescartadas().forEach(direccion -> direcciones.add(new Object[]{direccion}));
+            actualizaciones.add(new Object[]{fusion.nombre(), fusion.direccionId(), fusion.notas(),
+                fusion.numeroTelefono(), fusion.sobrevivienteId()});
+            if (!fusion.duplicados().isEmpty()) {
+                grupos++;
+                afectados.add(fusion.sobrevivienteId());
+            }
+            if (fusion.telefonoNormalizado()) {
+                normalizados++;
+            }
+        }
+
+        int[][] resultados = transactionTemplate.execute(estado -> {
+            int[] reasignados = jdbcTemplate.batchUpdate(SQL_REASIGNAR_PEDIDOS, reasignaciones);
+            jdbcTemplate.batchUpdate(SQL_ELIMINAR_CLIENTE, eliminaciones);
+            jdbcTemplate.batchUpdate(SQL_ACTUALIZAR_CLIENTE, actualizaciones);
+            int[] direccionesEliminadas = direcciones.isEmpty()
+                    ? new int[0]
+                    : jdbcTemplate.batchUpdate(SQL_ELIMINAR_DIRECCION_SIN_CLIENTES, direcciones);
+            resumenClienteService.recalcular(afectados);
+            return new int[][]{reasignados, direccionesEliminadas};
+        });
+        return new int[]{grupos, eliminaciones.size(), sumar(resultados[0]), normalizados, sumar(resultados[1])};
+    }
+
+    private static int sumar(int[] resultados) {
+        int total = 0;
+        for (int resultado : resultados) {
+            total += Math.max(resultado, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,208 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenFusionDireccionesDTO;
+import com.yiyostore.yiyostore_administracion_negocio.utils.DireccionUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio para fusionar las direcciones duplicadas, es decir, las que tienen
+ * la misma clave canónica (misma calle, números y colonia escritos de distinta
+ * forma).
+ *
+ * De cada grupo de duplicados se conserva la dirección más antigua: los
+ * clientes que apuntan a las demás se reasignan a ella y las demás se
+ * eliminan. Al final se eliminan también las direcciones que ningún cliente
+ * usa, como las que quedaron de clientes eliminados antes de que su dirección
+ * se eliminara junto con ellos. Todas las escrituras se hacen con sentencias
+ * JDBC por lotes.
+ */
+@Service
+public class FusionDireccionesService {
+
+    /**
+     * Cantidad de sentencias que se envían en cada lote JDBC.
+     */
+    private static final int TAMANO_LOTE = 1000;
+
+    private static final String SQL_ACTUALIZAR_CLAVE = "UPDATE direcciones SET clave_canonica = ? WHERE id = ?";
+    private static final String SQL_LIBERAR_CLAVE = "UPDATE direcciones SET clave_canonica = NULL WHERE id = ?";
+    private static final String SQL_REASIGNAR_CLIENTES_DE = "UPDATE clientes SET direccion_id = ? WHERE direccion_id = ?";
+    private static final String SQL_ELIMINAR_DIRECCION = "DELETE FROM direcciones WHERE id = ?";
+    private static final String SQL_REASIGNAR_CLIENTES = "UPDATE clientes SET direccion_id = ? WHERE direccion_id IN"
+            + " (SELECT d.id FROM direcciones d WHERE d.clave_canonica = ? AND d.id <> ?)";
+    private static final String SQL_ELIMINAR_DUPLICADOS = "DELETE FROM direcciones WHERE clave_canonica = ? AND id <> ?";
+    private static final String SQL_ELIMINAR_SIN_CLIENTES = "DELETE FROM direcciones"
+            + " WHERE NOT EXISTS (SELECT 1 FROM clientes c WHERE c.direccion_id = direcciones.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DireccionService direccionService;
+    private final ClienteService clienteService;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param jdbcTemplate Plantilla JDBC para las consultas y escrituras por
+     * lotes.
+     * @param transactionManager Administrador de transacciones; cada lote se
+     * guarda en su propia transacción.
+     * @param direccionService Servicio de direcciones, cuyo índice de calles
+     * se vuelve a cargar al terminar.
+     * @param clienteService Servicio de clientes, cuya caché se vacía al
+     * terminar porque los clientes reasignados cambian de dirección.
+     */
+    @Autowired
+    public FusionDireccionesService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            DireccionService direccionService, ClienteService clienteService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.direccionService = direccionService;
+        this.clienteService = clienteService;
+    }
+
+    /**
+     * Fusiona las direcciones duplicadas. Primero recalcula la clave canónica
+     * de todas las direcciones, para cubrir las guardadas antes de que
+     * existiera la clave o con una normalización anterior. Como la clave es
+     * única, las claves que cambian se liberan primero, y las direcciones que
+     * pasan a tener la clave de otra se fusionan con la más antigua antes de
+     * guardarla. Después fusiona los grupos de duplicados que aún queden, de
+     * bases creadas sin el índice único, en una transacción por lote de
+     * grupos, y elimina las direcciones que ningún cliente usa. Al terminar,
+     * vuelve a cargar el índice de calles y, si algún cliente cambió de
+     * dirección, vacía la caché de clientes.
+     *
+     * @return Un {@link ResumenFusionDireccionesDTO} con el resultado.
+     */
+    public synchronized ResumenFusionDireccionesDTO fusionarDuplicados() {
+        Map<String, List<Long>> recalculadas = new LinkedHashMap<>();
+        List<Object[]> liberadas = new ArrayList<>();
+        int[] revisadas = {0};
+        jdbcTemplate.query("SELECT id, nombre_calle, numero_exterior, numero_interior, colonia_id, clave_canonica"
+                + " FROM direcciones", resultado -> {
+                    revisadas[0]++;
+                    String clave = DireccionUtils.claveCanonica(resultado.getString(2), resultado.getString(3),
+                            resultado.getString(4), resultado.getLong(5));
+                    if (!clave.equals(resultado.getString(6))) {
+                        recalculadas.computeIfAbsent(clave, c -> new ArrayList<>()).add(resultado.getLong(1));
+                        liberadas.add(new Object[]{resultado.getLong(1)});
+                    }
+                });
+        ejecutarPorLotes(SQL_LIBERAR_CLAVE, liberadas);
+
+        // De cada clave recalculada se conserva la dirección más antigua, sea una de las recalculadas o la que
+        // ya tenía la clave.
+        Map<String, Long> actuales = buscarPorClave(recalculadas.keySet());
+        List<Object[]> fusiones = new ArrayList<>();
+        List<Object[]> asignaciones = new ArrayList<>();
+        int gruposRecalculados = 0;
+        for (Map.Entry<String, List<Long>> entrada : recalculadas.entrySet()) {
+            Long actual = actuales.get(entrada.getKey());
+            List<Long> grupo = new ArrayList<>(entrada.getValue());
+            if (actual != null) {
+                grupo.add(actual);
+            }
+            long sobreviviente = Collections.min(grupo);
+            if (grupo.size() > 1) {
+                gruposRecalculados++;
+            }
+            for (Long id : grupo) {
+                if (id != sobreviviente) {
+                    fusiones.add(new Object[]{sobreviviente, id});
+                }
+            }
+            if (actual == null || actual != sobreviviente) {
+                asignaciones.add(new Object[]{entrada.getKey(), sobreviviente});
+            }
+        }
+        int clientesReasignados = 0;
+        int direccionesEliminadas = 0;
+        for (int inicio = 0; inicio < fusiones.size(); inicio += TAMANO_LOTE) {
+            List<Object[]> lote = fusiones.subList(inicio, Math.min(inicio + TAMANO_LOTE, fusiones.size()));
+            List<Object[]> duplicadas = lote.stream().map(fusion -> new Object[]{fusion[1]}).toList();
+            int[][] resultados = transactionTemplate.execute(estado -> new int[][]{
+                jdbcTemplate.batchUpdate(SQL_REASIGNAR_CLIENTES_DE, lote),
+                jdbcTemplate.batchUpdate(SQL_ELIMINAR_DIRECCION, duplicadas)
+            });
+            clientesReasignados += sumar(resultados[0]);
+            direccionesEliminadas += sumar(resultados[1]);
+        }
+        ejecutarPorLotes(SQL_ACTUALIZAR_CLAVE, asignaciones);
+
+        List<Object[]> grupos = jdbcTemplate.query("SELECT clave_canonica, MIN(id) FROM direcciones"
+                + " WHERE clave_canonica IS NOT NULL GROUP BY clave_canonica HAVING COUNT(*) > 1",
+                (resultado, fila) -> new Object[]{resultado.getString(1), resultado.getLong(2)});
+
+        for (int inicio = 0; inicio < grupos.size(); inicio += TAMANO_LOTE) {
+            List<Object[]> lote = grupos.subList(inicio, Math.min(inicio + TAMANO_LOTE, grupos.size()));
+            List<Object[]> reasignaciones = new ArrayList<>(lote.size());
+            for (Object[] grupo : lote) {
+                reasignaciones.add(new Object[]{grupo[1], grupo[0], grupo[1]});
+            }
+            int[][] resultados = transactionTemplate.execute(estado -> new int[][]{
+                jdbcTemplate.batchUpdate(SQL_REASIGNAR_CLIENTES, reasignaciones),
+                jdbcTemplate.batchUpdate(SQL_ELIMINAR_DUPLICADOS, lote)
+            });
+            clientesReasignados += sumar(resultados[0]);
+            direccionesEliminadas += sumar(resultados[1]);
+        }
+
+        Integer sinClientes = transactionTemplate.execute(estado -> jdbcTemplate.update(SQL_ELIMINAR_SIN_CLIENTES));
+
+        direccionService.cargarIndiceCalles();
+        if (clientesReasignados > 0) {
+            clienteService.limpiarCache();
+        }
+        return new ResumenFusionDireccionesDTO(revisadas[0], liberadas.size(), gruposRecalculados + grupos.size(),
+                direccionesEliminadas, clientesReasignados, sinClientes != null ? sinClientes : 0);
+    }
+
+    /**
+     * Busca, para cada clave canónica indicada, el ID de la dirección más
+     * antigua que ya la tiene, con una consulta por lote de
+     * {@value #TAMANO_LOTE} claves.
+     */
+    private Map<String, Long> buscarPorClave(Collection<String> claves) {
+        List<String> lista = new ArrayList<>(claves);
+        Map<String, Long> ids = new HashMap<>();
+        for (int inicio = 0; inicio < lista.size(); inicio += TAMANO_LOTE) {
+            List<String> lote = lista.subList(inicio, Math.min(inicio + TAMANO_LOTE, lista.size()));
+            jdbcTemplate.query("SELECT clave_canonica, MIN(id) FROM direcciones WHERE clave_canonica IN ("
+                    + String.join(", ", Collections.nCopies(lote.size(), "?")) + ") GROUP BY clave_canonica",
+                    resultado -> {
+                        ids.put(resultado.getString(1), resultado.getLong(2));
+                    }, lote.toArray());
+        }
+        return ids;
+    }
+
+    /**
+     * Ejecuta una sentencia por lotes de {@value #TAMANO_LOTE}, cada uno en su
+     * propia transacción.
+     */
+    private void ejecutarPorLotes(String sql, List<Object[]> valores) {
+        for (int inicio = 0; inicio < valores.size(); inicio += TAMANO_LOTE) {
+            List<Object[]> lote = valores.subList(inicio, Math.min(inicio + TAMANO_LOTE, valores.size()));
+            transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(sql, lote));
+        }
+    }
+
+    private static int sumar(int[] resultados) {
+        int total = 0;
+        for (int resultado : resultados) {
+            total += Math.max(resultado, 0);
+        }
+        return total;
+    }
+}
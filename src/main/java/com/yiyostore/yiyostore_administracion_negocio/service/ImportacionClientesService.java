@@ -0,0 +1,581 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ColoniaRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.DireccionRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.CsvUtils;
+import com.yiyostore.yiyostore_administracion_negocio.utils.DireccionUtils;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TelefonoUtils;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TextoUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio para importar clientes de forma masiva desde un archivo CSV o
+ * NDJSON (un objeto JSON por línea), por ejemplo listas de clientes
+ * exportadas de una hoja de cálculo.
+ *
+ * El archivo se lee por bloques de {@value #TAMANO_BLOQUE} filas, por lo que
+ * la memoria usada no depende de su tamaño. En cada bloque, los números de
+ * teléfono se normalizan en paralelo con
+ * {@link TelefonoUtils#normalizarLote(List)}, las colonias se resuelven con el
+ * índice en memoria por código postal, las direcciones repetidas se resuelven
+ * a la existente por su clave canónica, y las direcciones y clientes nuevos se
+ * guardan con inserciones JDBC por lotes en una transacción por bloque. Si
+ * un bloque falla en la base de datos, sus filas se vuelven a guardar una por
+ * una, para reportar solo las que fallan. Las filas inválidas se reportan con
+ * el número de línea del archivo y no detienen la importación.
+ *
+ * Las columnas del CSV y los campos del JSON son {@code nombre},
+ * {@code numero_telefono}, {@code notas}, {@code nombre_calle},
+ * {@code numero_exterior}, {@code numero_interior}, {@code colonia_id},
+ * {@code codigo_postal}, {@code colonia}, {@code entre_calle_1},
+ * {@code entre_calle_2} y {@code referencia}; todas son opcionales, pero cada
+ * fila debe tener nombre o número de teléfono.
+ */
+@Service
+public class ImportacionClientesService {
+
+    /**
+     * Cantidad de filas que se procesan y se guardan juntas.
+     */
+    private static final int TAMANO_BLOQUE = 1000;
+
+    private static final String SQL_INSERTAR_DIRECCION = "INSERT INTO direcciones (nombre_calle, numero_exterior,"
+            + " numero_interior, colonia_id, entre_calle_1, entre_calle_2, referencia, clave_canonica)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERTAR_CLIENTE
+            = "INSERT INTO clientes (nombre, direccion_id, numero_telefono, notas) VALUES (?, ?, ?, ?)";
+
+    private static final List<String> COLUMNAS_IDENTIFICACION = List.of("nombre", "numero_telefono");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClienteRepository clienteRepository;
+    private final ColoniaRepository coloniaRepository;
+    private final DireccionRepository direccionRepository;
+    private final ColoniaService coloniaService;
+    private final DireccionService direccionService;
+    private final ClienteService clienteService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param jdbcTemplate Plantilla JDBC para las inserciones por lotes.
+     * @param transactionManager Administrador de transacciones; cada bloque se
+     * guarda en su propia transacción.
+     * @param clienteRepository Repositorio de clientes, para descartar los
+     * números de teléfono que ya existen.
+     * @param coloniaRepository Repositorio de colonias, para verificar los IDs
+     * de colonia.
+     * @param direccionRepository Repositorio de direcciones, para resolver las
+     * direcciones que ya existen.
+     * @param coloniaService Servicio de colonias, cuyo índice por código
+     * postal resuelve las colonias por nombre.
+     * @param direccionService Servicio de direcciones, cuyo índice de calles
+     * se vuelve a cargar al terminar.
+     * @param clienteService Servicio de clientes, cuyo índice de búsqueda por
+     * nombre se vuelve a cargar al terminar.
+     * @param objectMapper Lector de JSON para las filas NDJSON.
+     */
+    @Autowired
+    public ImportacionClientesService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ClienteRepository clienteRepository, ColoniaRepository coloniaRepository,
+            DireccionRepository direccionRepository, ColoniaService coloniaService, DireccionService direccionService,
+            ClienteService clienteService, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clienteRepository = clienteRepository;
+        this.coloniaRepository = coloniaRepository;
+        this.direccionRepository = direccionRepository;
+        this.coloniaService = coloniaService;
+        this.direccionService = direccionService;
+        this.clienteService = clienteService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Importa clientes desde un CSV con encabezado.
+     *
+     * @param entrada Contenido del archivo CSV codificado en UTF-8.
+     * @return Un {@link ResultadoImportacionDTO} con el resultado.
+     * @throws IOException si ocurre un error al leer el archivo.
+     * @throws IllegalArgumentException si el archivo está vacío o el
+     * encabezado no tiene la columna {@code nombre} ni
+     * {@code numero_telefono}.
+     */
+    public ResultadoImportacionDTO importarCsv(InputStream entrada) throws IOException {
+        Importacion importacion = new Importacion();
+        try (LineNumberReader lector = abrirLector(entrada)) {
+            Map<String, Integer> columnas = leerEncabezado(lector);
+            List<String> registro;
+            for (long fila = lector.getLineNumber() + 1; (registro = CsvUtils.leerRegistro(lector)) != null;
+                    fila = lector.getLineNumber() + 1) {
+                if (registro.size() == 1 && registro.get(0).isBlank()) {
+                    continue;
+                }
+                List<String> campos = registro;
+                importacion.agregar(fila, columna -> {
+                    Integer posicion = columnas.get(columna);
+                    return posicion != null && posicion < campos.size() ? campos.get(posicion) : null;
+                });
+            }
+        }
+        return importacion.terminar();
+    }
+
+    /**
+     * Importa clientes desde un archivo NDJSON, con un objeto JSON por línea.
+     * Las líneas vacías se ignoran.
+     *
+     * @param entrada Contenido del archivo codificado en UTF-8.
+     * @return Un {@link ResultadoImportacionDTO} con el resultado.
+     * @throws IOException si ocurre un error al leer el archivo.
+     */
+    public ResultadoImportacionDTO importarNdjson(InputStream entrada) throws IOException {
+        Importacion importacion = new Importacion();
+        try (LineNumberReader lector = abrirLector(entrada)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                long fila = lector.getLineNumber();
+                if (linea.isBlank()) {
+                    continue;
+                }
+                JsonNode objeto;
+                try {
+                    objeto = objectMapper.readTree(linea);
+                } catch (JsonProcessingException e) {
+                    importacion.error(fila, "JSON inválido: " + e.getOriginalMessage());
+                    continue;
+                }
+                if (!objeto.isObject()) {
+                    importacion.error(fila, "La línea no es un objeto JSON");
+                    continue;
+                }
+                importacion.agregar(fila, campo -> {
+                    JsonNode valor = objeto.get(campo);
+                    return valor != null && !valor.isNull() ? valor.asText() : null;
+                });
+            }
+        }
+        return importacion.terminar();
+    }
+
+    /**
+     * Estado de una importación en curso: el bloque de filas pendientes y el
+     * acumulador del resultado.
+     */
+    private class Importacion {
+
+        private final AcumuladorImportacion acumulador = new AcumuladorImportacion();
+        private final List<FilaCliente> pendientes = new ArrayList<>(TAMANO_BLOQUE);
+        private boolean direccionesInsertadas;
+        private boolean clientesInsertados;
+
+        void agregar(long fila, Function<String, String> campos) {
+            acumulador.filaProcesada();
+            try {
+                pendientes.add(convertir(fila, campos));
+            } catch (IllegalArgumentException e) {
+                acumulador.error(fila, e.getMessage());
+            }
+            if (pendientes.size() == TAMANO_BLOQUE) {
+                procesarBloque();
+            }
+        }
+
+        void error(long fila, String mensaje) {
+            acumulador.filaProcesada();
+            acumulador.error(fila, mensaje);
+        }
+
+        ResultadoImportacionDTO terminar() {
+            procesarBloque();
+            if (direccionesInsertadas) {
+                direccionService.cargarIndiceCalles();
+            }
+            if (clientesInsertados) {
+                clienteService.cargarIndiceNombres();
+            }
+            return acumulador.resultado();
+        }
+
+        private void procesarBloque() {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            List<FilaCliente> validas = normalizarTelefonos(pendientes, acumulador);
+            validas = resolverColonias(validas, acumulador);
+            guardar(validas);
+            pendientes.clear();
+        }
+
+        /**
+         * Guarda las direcciones nuevas y los clientes de un bloque en una
+         * sola transacción. Si falla, como cuando otra solicitud registró uno
+         * de los números de teléfono, las filas se vuelven a guardar cada una
+         * en su propia transacción y solo las que fallan se reportan con el
+         * error de la base de datos.
+         */
+        private void guardar(List<FilaCliente> filas) {
+            if (filas.isEmpty()) {
+                return;
+            }
+            try {
+                guardarEnTransaccion(filas);
+            } catch (DataAccessException e) {
+                if (filas.size() == 1) {
+                    reportarError(filas.get(0), e);
+                    return;
+                }
+                for (FilaCliente fila : filas) {
+                    try {
+                        guardarEnTransaccion(List.of(fila));
+                    } catch (DataAccessException errorFila) {
+                        reportarError(fila, errorFila);
+                    }
+                }
+            }
+        }
+
+        private void guardarEnTransaccion(List<FilaCliente> filas) {
+            boolean insertadas = Boolean.TRUE.equals(transactionTemplate.execute(estado -> insertar(filas)));
+            direccionesInsertadas |= insertadas;
+            clientesInsertados = true;
+            acumulador.filasImportadas(filas.size());
+        }
+
+        private void reportarError(FilaCliente fila, DataAccessException e) {
+            acumulador.error(fila.fila(), "No se pudo guardar la fila: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Normaliza en paralelo los números de teléfono de un bloque y descarta
+     * las filas con un número inválido, repetido dentro del bloque o que ya
+     * tiene otro cliente.
+     *
+     * @return Las filas válidas, con el número de teléfono normalizado.
+     */
+    private List<FilaCliente> normalizarTelefonos(List<FilaCliente> filas, AcumuladorImportacion acumulador) {
+        List<String> normalizados = TelefonoUtils.normalizarLote(filas.stream().map(FilaCliente::numeroTelefono).toList());
+        Set<String> existentes = new HashSet<>(clienteRepository.findNumerosTelefonoExistentes(
+                normalizados.stream().filter(numero -> numero != null).distinct().toList()));
+        Set<String> vistos = new HashSet<>();
+        List<FilaCliente> validas = new ArrayList<>(filas.size());
+        for (int i = 0; i < filas.size(); i++) {
+            FilaCliente fila = filas.get(i);
+            String normalizado = normalizados.get(i);
+            if (fila.numeroTelefono() == null) {
+                validas.add(fila);
+            } else if (normalizado == null) {
+                acumulador.error(fila.fila(), "Número de teléfono inválido: " + fila.numeroTelefono());
+            } else if (existentes.contains(normalizado)) {
+                acumulador.error(fila.fila(), "Ya existe un cliente con el número de teléfono " + normalizado);
+            } else if (!vistos.add(normalizado)) {
+                acumulador.error(fila.fila(), "El número de teléfono " + normalizado + " está repetido en el archivo");
+            } else {
+                validas.add(fila.conTelefono(normalizado));
+            }
+        }
+        return validas;
+    }
+
+    /**
+     * Resuelve la colonia de las filas con dirección: por su ID, que se
+     * verifica con una sola consulta por bloque, o por código postal y nombre
+     * con el índice en memoria. Descarta las filas cuya colonia no se puede
+     * resolver.
+     *
+     * @return Las filas válidas, con el ID de colonia de las que tienen
+     * dirección.
+     */
+    private List<FilaCliente> resolverColonias(List<FilaCliente> filas, AcumuladorImportacion acumulador) {
+        List<Long> idsSolicitados = filas.stream()
+                .map(FilaCliente::coloniaId)
+                .filter(id -> id != null)
+                .distinct()
+                .toList();
+        Set<Long> idsExistentes = idsSolicitados.isEmpty()
+                ? Set.of()
+                : new HashSet<>(coloniaRepository.findIdsExistentes(idsSolicitados));
+
+        List<FilaCliente> validas = new ArrayList<>(filas.size());
+        for (FilaCliente fila : filas) {
+            if (!fila.tieneDireccion()) {
+                validas.add(fila);
+            } else if (fila.coloniaId() != null) {
+                if (idsExistentes.contains(fila.coloniaId())) {
+                    validas.add(fila);
+                } else {
+                    acumulador.error(fila.fila(), "No existe la colonia con ID " + fila.coloniaId());
+                }
+            } else {
+                try {
+                    validas.add(fila.conColonia(buscarColonia(fila.codigoPostal(), fila.colonia())));
+                } catch (IllegalArgumentException e) {
+                    acumulador.error(fila.fila(), e.getMessage());
+                }
+            }
+        }
+        return validas;
+    }
+
+    /**
+     * Busca una colonia por código postal y nombre, ignorando mayúsculas y
+     * acentos. Si no se indica el nombre, el código postal debe tener una
+     * sola colonia.
+     *
+     * @return El ID de la colonia.
+     * @throws IllegalArgumentException si la colonia no se puede resolver.
+     */
+    private Long buscarColonia(Integer codigoPostal, String nombre) {
+        if (codigoPostal == null) {
+            throw new IllegalArgumentException("La dirección necesita colonia_id o codigo_postal");
+        }
+        List<ColoniaDTO> colonias = coloniaService.findByCodigoPostal(codigoPostal);
+        if (nombre == null) {
+            if (colonias.size() != 1) {
+                throw new IllegalArgumentException("El código postal " + codigoPostal + " tiene " + colonias.size()
+                        + " colonias; indique la colonia");
+            }
+            return colonias.get(0).id();
+        }
+        String normalizado = TextoUtils.normalizar(nombre);
+        return colonias.stream()
+                .filter(colonia -> TextoUtils.normalizar(colonia.nombre()).equals(normalizado))
+                .map(ColoniaDTO::id)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No existe la colonia " + nombre
+                        + " en el código postal " + codigoPostal));
+    }
+
+    /**
+     * Inserta las direcciones nuevas y los clientes de un bloque. Cada
+     * dirección se resuelve a la existente con su misma clave canónica; las
+     * que no existen se insertan una sola vez aunque se repitan en el bloque.
+     *
+     * @return true si se insertó alguna dirección.
+     */
+    private boolean insertar(List<FilaCliente> filas) {
+        Map<String, Object[]> nuevas = new LinkedHashMap<>();
+        List<String> claves = new ArrayList<>(filas.size());
+        for (FilaCliente fila : filas) {
+            if (!fila.tieneDireccion()) {
+                claves.add(null);
+                continue;
+            }
+            String clave = DireccionUtils.claveCanonica(fila.nombreCalle(), fila.numeroExterior(),
+                    fila.numeroInterior(), fila.coloniaId());
+            claves.add(clave);
+            nuevas.putIfAbsent(clave, new Object[]{fila.nombreCalle(), fila.numeroExterior(), fila.numeroInterior(),
+                fila.coloniaId(), fila.entreCalle1(), fila.entreCalle2(), fila.referencia(), clave});
+        }
+
+        Map<String, Long> direcciones = new HashMap<>();
+        if (!nuevas.isEmpty()) {
+            for (Object[] existente : direccionRepository.findIdsPorClaveCanonica(nuevas.keySet())) {
+                direcciones.put((String) existente[0], (Long) existente[1]);
+                nuevas.remove((String) existente[0]);
+            }
+            direcciones.putAll(insertarDirecciones(nuevas));
+        }
+
+        List<Object[]> clientes = new ArrayList<>(filas.size());
+        for (int i = 0; i < filas.size(); i++) {
+            FilaCliente fila = filas.get(i);
+            Long direccionId = claves.get(i) != null ? direcciones.get(claves.get(i)) : null;
+            clientes.add(new Object[]{fila.nombre(), direccionId, fila.numeroTelefono(), fila.notas()});
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERTAR_CLIENTE, clientes);
+        return !nuevas.isEmpty();
+    }
+
+    /**
+     * Inserta direcciones con una sola ejecución JDBC por lotes.
+     *
+     * @param nuevas Valores de cada dirección, en el orden de
+     * {@link #SQL_INSERTAR_DIRECCION}, por clave canónica.
+     * @return El ID generado de cada dirección, por clave canónica.
+     */
+    private Map<String, Long> insertarDirecciones(Map<String, Object[]> nuevas) {
+        if (nuevas.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> valores = new ArrayList<>(nuevas.values());
+        KeyHolder llaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                conexion -> conexion.prepareStatement(SQL_INSERTAR_DIRECCION, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement sentencia, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(valores.get(i)).setValues(sentencia);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return valores.size();
+                    }
+                }, llaves);
+
+        List<Map<String, Object>> listaLlaves = llaves.getKeyList();
+        Map<String, Long> ids = new HashMap<>(valores.size() * 2);
+        for (int i = 0; i < listaLlaves.size(); i++) {
+            Number id = (Number) listaLlaves.get(i).values().iterator().next();
+            ids.put((String) valores.get(i)[7], id.longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Convierte los campos de una fila en un {@link FilaCliente}, validando
+     * su formato y longitud.
+     *
+     * @param fila Número de la línea del archivo en que empieza la fila.
+     * @param campos Función que obtiene el valor de cada campo por su nombre.
+     * @throws IllegalArgumentException si la fila no es válida.
+     */
+    private FilaCliente convertir(long fila, Function<String, String> campos) {
+        Function<String, String> campo = nombre -> {
+            String valor = campos.apply(nombre);
+            return valor == null || valor.isBlank() ? null : valor.trim();
+        };
+        String nombre = validarLongitud(campo.apply("nombre"), 100, "nombre");
+        String numeroTelefono = campo.apply("numero_telefono");
+        if (nombre == null && numeroTelefono == null) {
+            throw new IllegalArgumentException("La fila no tiene nombre ni número de teléfono");
+        }
+        return new FilaCliente(fila, nombre, numeroTelefono,
+                validarLongitud(campo.apply("notas"), 255, "notas"),
+                validarLongitud(campo.apply("nombre_calle"), 100, "nombre_calle"),
+                validarLongitud(campo.apply("numero_exterior"), 10, "numero_exterior"),
+                validarLongitud(campo.apply("numero_interior"), 10, "numero_interior"),
+                convertirLong(campo.apply("colonia_id"), "colonia_id"),
+                convertirCodigoPostal(campo.apply("codigo_postal")),
+                campo.apply("colonia"),
+                validarLongitud(campo.apply("entre_calle_1"), 100, "entre_calle_1"),
+                validarLongitud(campo.apply("entre_calle_2"), 100, "entre_calle_2"),
+                validarLongitud(campo.apply("referencia"), 255, "referencia"));
+    }
+
+    /**
+     * Abre el archivo como UTF-8 y descarta la marca de orden de bytes si la
+     * tiene. El lector cuenta las líneas físicas, para reportar la línea en
+     * que empieza cada fila aunque tenga campos de varias líneas.
+     */
+    private LineNumberReader abrirLector(InputStream entrada) throws IOException {
+        LineNumberReader lector = new LineNumberReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        lector.mark(1);
+        if (lector.read() != '\uFEFF') {
+            lector.reset();
+        }
+        return lector;
+    }
+
+    private Map<String, Integer> leerEncabezado(LineNumberReader lector) throws IOException {
+        List<String> encabezado = CsvUtils.leerRegistro(lector);
+        if (encabezado == null) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < encabezado.size(); i++) {
+            columnas.put(encabezado.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (COLUMNAS_IDENTIFICACION.stream().noneMatch(columnas::containsKey)) {
+            throw new IllegalArgumentException("Falta la columna nombre o numero_telefono");
+        }
+        return columnas;
+    }
+
+    private Long convertirLong(String valor, String columna) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor entero inválido en " + columna + ": " + valor);
+        }
+    }
+
+    private Integer convertirCodigoPostal(String valor) {
+        Long codigoPostal = convertirLong(valor, "codigo_postal");
+        if (codigoPostal != null && (codigoPostal < 0 || codigoPostal > 99999)) {
+            throw new IllegalArgumentException("Código postal inválido: " + valor);
+        }
+        return codigoPostal != null ? codigoPostal.intValue() : null;
+    }
+
+    private String validarLongitud(String valor, int maximo, String columna) {
+        if (valor != null && valor.length() > maximo) {
+            throw new IllegalArgumentException("El campo " + columna + " excede " + maximo + " caracteres");
+        }
+        return valor;
+    }
+
+    /**
+     * Fila del archivo pendiente de guardar.
+     */
+    private record FilaCliente(
+            long fila,
+            String nombre,
+            String numeroTelefono,
+            String notas,
+            String nombreCalle,
+            String numeroExterior,
+            String numeroInterior,
+            Long coloniaId,
+            Integer codigoPostal,
+            String colonia,
+            String entreCalle1,
+            String entreCalle2,
+            String referencia) {
+
+        boolean tieneDireccion() {
+            return nombreCalle != null || numeroExterior != null || numeroInterior != null || coloniaId != null
+                    || codigoPostal != null || colonia != null || entreCalle1 != null || entreCalle2 != null
+                    || referencia != null;
+        }
+
+        FilaCliente conTelefono(String normalizado) {
+            return new FilaCliente(fila, nombre, normalizado, notas, nombreCalle, numeroExterior, numeroInterior,
+                    coloniaId, codigoPostal, colonia, entreCalle1, entreCalle2, referencia);
+        }
+
+        FilaCliente conColonia(Long id) {
+            return new FilaCliente(fila, nombre, numeroTelefono, notas, nombreCalle, numeroExterior, numeroInterior,
+                    id, codigoPostal, colonia, entreCalle1, entreCalle2, referencia);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.utils.MapaEnteros;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice en memoria de las colonias por código postal. Cada código postal se
+ * asocia a un arreglo de {@link ColoniaDTO} ordenado por nombre, en un
+ * {@link MapaEnteros} cuyas llaves son los códigos postales como {@code int}
+ * primitivos.
+ *
+ * Los arreglos no se modifican una vez publicados: cada cambio reemplaza el
+ * arreglo de su código postal, por lo que las consultas pueden devolverlos sin
+ * copiarlos, envueltos en una vista inmodificable.
+ */
+@Component
+public class IndiceCodigoPostal {
+
+    private static final Comparator<ColoniaDTO> POR_NOMBRE = Comparator.comparing(ColoniaDTO::nombre)
+            .thenComparing(ColoniaDTO::id);
+
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+    private MapaEnteros<ColoniaDTO[]> colonias = new MapaEnteros<>(0);
+    private volatile boolean cargado;
+
+    /**
+     * Reemplaza el contenido del índice con las colonias indicadas. Los nombres
+     * de ciudad repetidos se comparten entre las colonias para reducir la
+     * memoria usada.
+     *
+     * @param todas Todas las colonias, en cualquier orden.
+     */
+    public void cargar(List<ColoniaDTO> todas) {
+        Map<String, String> nombresCiudad = new HashMap<>();
+        Map<Integer, List<ColoniaDTO>> porCodigo = new HashMap<>();
+        for (ColoniaDTO colonia : todas) {
+            String nombreCiudad = colonia.nombreCiudad() != null
+                    ? nombresCiudad.computeIfAbsent(colonia.nombreCiudad(), nombre -> nombre)
+                    : null;
+            porCodigo.computeIfAbsent(colonia.codigoPostal(), cp -> new ArrayList<>(4))
+                    .add(new ColoniaDTO(colonia.id(), colonia.nombre(), colonia.codigoPostal(), nombreCiudad));
+        }
+
+        MapaEnteros<ColoniaDTO[]> nuevo = new MapaEnteros<>(porCodigo.size());
+        porCodigo.forEach((cp, lista) -> {
+            ColoniaDTO[] arreglo = lista.toArray(ColoniaDTO[]::new);
+            Arrays.sort(arreglo, POR_NOMBRE);
+            nuevo.put(cp, arreglo);
+        });
+
+        candado.writeLock().lock();
+        try {
+            colonias = nuevo;
+            cargado = true;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si el índice ya fue cargado.
+     *
+     * @return true si el índice puede atender consultas.
+     */
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    /**
+     * Obtiene las colonias de un código postal, ordenadas por nombre.
+     *
+     * @param codigoPostal El código postal.
+     * @return Las colonias del código postal, en una lista inmodificable; vacío
+     * si no tiene colonias.
+     */
+    public List<ColoniaDTO> buscar(int codigoPostal) {
+        ColoniaDTO[] arreglo;
+        candado.readLock().lock();
+        try {
+            arreglo = colonias.get(codigoPostal);
+        } finally {
+            candado.readLock().unlock();
+        }
+        return arreglo != null ? Collections.unmodifiableList(Arrays.asList(arreglo)) : List.of();
+    }
+
+    /**
+     * Agrega una colonia al índice o reemplaza la que tenga su mismo ID dentro
+     * de su código postal.
+     *
+     * @param colonia La colonia a agregar.
+     */
+    public void agregar(ColoniaDTO colonia) {
+        candado.writeLock().lock();
+        try {
+            ColoniaDTO[] actual = colonias.get(colonia.codigoPostal());
+            List<ColoniaDTO> lista = new ArrayList<>(actual != null ? actual.length + 1 : 1);
+            if (actual != null) {
+                for (ColoniaDTO existente : actual) {
+                    if (!existente.id().equals(colonia.id())) {
+                        lista.add(existente);
+                    }
+                }
+            }
+            lista.add(colonia);
+            ColoniaDTO[] arreglo = lista.toArray(ColoniaDTO[]::new);
+            Arrays.sort(arreglo, POR_NOMBRE);
+            colonias.put(colonia.codigoPostal(), arreglo);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita una colonia del índice.
+     *
+     * @param id ID de la colonia.
+     * @param codigoPostal Código postal con el que la colonia está indexada.
+     */
+    public void quitar(Long id, int codigoPostal) {
+        candado.writeLock().lock();
+        try {
+            ColoniaDTO[] actual = colonias.get(codigoPostal);
+            if (actual == null) {
+                return;
+            }
+            ColoniaDTO[] arreglo = Arrays.stream(actual)
+                    .filter(colonia -> !colonia.id().equals(id))
+                    .toArray(ColoniaDTO[]::new);
+            if (arreglo.length == 0) {
+                colonias.remove(codigoPostal);
+            } else if (arreglo.length < actual.length) {
+                colonias.put(codigoPostal, arreglo);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+}
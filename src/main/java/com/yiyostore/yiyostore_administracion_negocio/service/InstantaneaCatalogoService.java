@@ -0,0 +1,229 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenInstantaneaCatalogoDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.VersionCatalogo;
+import com.yiyostore.yiyostore_administracion_negocio.repository.VersionCatalogoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.InstantaneaCatalogo;
+import com.yiyostore.yiyostore_administracion_negocio.utils.InstantaneaCatalogo.RegistroColonia;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio que mantiene la instantánea binaria del catálogo geográfico
+ * (ciudades y colonias) en un archivo local.
+ *
+ * La base de datos guarda la versión del catálogo en
+ * {@link VersionCatalogo}, y cada cambio a ciudades o colonias la incrementa.
+ * Al iniciar, si la instantánea del disco se generó con la versión actual, se
+ * mapea en memoria y los índices de colonias se cargan desde ella sin
+ * consultar las tablas; si no, se vuelve a generar desde la base de datos.
+ * Mientras la instantánea está vigente, también atiende las consultas de
+ * ciudades. Un cambio hecho en esta instancia la descarta hasta que se vuelve a
+ * generar; los cambios hechos en otras instancias se detectan comparando su
+ * versión con la de la base de datos, como máximo una vez por intervalo de
+ * verificación.
+ *
+ * La instantánea es solo una copia: si el archivo no se puede escribir, los
+ * datos se obtienen de la base de datos como si no existiera.
+ */
+@Service
+public class InstantaneaCatalogoService {
+
+    /**
+     * Nombre del catálogo geográfico en {@link VersionCatalogo}.
+     */
+    static final String CATALOGO_GEOGRAFICO = "geografico";
+
+    private static final String SQL_CIUDADES = "SELECT c.id, c.nombre, c.estado, COUNT(co.id) FROM ciudades c"
+            + " LEFT JOIN colonias co ON co.ciudad_id = c.id GROUP BY c.id, c.nombre, c.estado"
+            + " ORDER BY c.nombre, c.estado, c.id";
+    private static final String SQL_COLONIAS = "SELECT id, codigo_postal, nombre, ciudad_id FROM colonias";
+    private static final String SQL_INCREMENTAR_VERSION = "INSERT INTO versiones_catalogo (nombre, version)"
+            + " VALUES (?, 1) ON DUPLICATE KEY UPDATE version = version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VersionCatalogoRepository versionCatalogoRepository;
+    private final Path archivo;
+    private final long intervaloVerificacionNanos;
+
+    /**
+     * Instantánea vigente, o null si no hay una o si el catálogo cambió desde
+     * que se generó.
+     */
+    private volatile InstantaneaCatalogo instantanea;
+
+    /**
+     * Momento, según {@link System#nanoTime()}, en que se comparó por última
+     * vez la versión de la instantánea con la de la base de datos.
+     */
+    private volatile long ultimaVerificacion;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param jdbcTemplate Plantilla JDBC para leer el catálogo.
+     * @param transactionManager Administrador de transacciones; la versión y
+     * los datos del catálogo se leen en la misma transacción.
+     * @param versionCatalogoRepository Repositorio de versiones de catálogo.
+     * @param archivo Ruta del archivo de la instantánea, configurada con la
+     * propiedad {@code yiyostore.catalogo.instantanea.archivo}.
+     * @param intervaloVerificacionMs Tiempo mínimo en milisegundos entre dos
+     * comparaciones de la versión de la instantánea con la de la base de
+     * datos, configurado con la propiedad
+     * {@code yiyostore.catalogo.instantanea.verificacion-ms}.
+     */
+    @Autowired
+    public InstantaneaCatalogoService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            VersionCatalogoRepository versionCatalogoRepository,
+            @Value("${yiyostore.catalogo.instantanea.archivo:catalogo-geografico.bin}") String archivo,
+            @Value("${yiyostore.catalogo.instantanea.verificacion-ms:1000}") long intervaloVerificacionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.versionCatalogoRepository = versionCatalogoRepository;
+        this.archivo = Path.of(archivo);
+        this.intervaloVerificacionNanos = TimeUnit.MILLISECONDS.toNanos(intervaloVerificacionMs);
+    }
+
+    /**
+     * Obtiene todas las colonias para cargar los índices al iniciar. Si la
+     * instantánea del disco corresponde a la versión actual del catálogo, las
+     * colonias se leen de ella; si no, se genera una nueva.
+     *
+     * @return Todas las colonias.
+     */
+    public synchronized List<ColoniaDTO> cargarColonias() {
+        long version = obtenerVersion();
+        if (Files.isRegularFile(archivo)) {
+            try {
+                InstantaneaCatalogo existente = InstantaneaCatalogo.abrir(archivo);
+                if (existente.getVersion() == version) {
+                    publicar(existente);
+                    return existente.colonias();
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // Un archivo dañado o de otro formato se reemplaza.
+            }
+        }
+        return exportar();
+    }
+
+    /**
+     * Genera la instantánea desde la base de datos con la versión actual del
+     * catálogo, la escribe en el disco y la mapea en memoria. Si no se puede
+     * escribir, las colonias leídas se devuelven sin instantánea.
+     *
+     * @return Todas las colonias.
+     */
+    public synchronized List<ColoniaDTO> exportar() {
+        List<CiudadResumenDTO> ciudades = new ArrayList<>();
+        List<RegistroColonia> colonias = new ArrayList<>();
+        long version = transactionTemplate.execute(estado -> {
+            jdbcTemplate.query(SQL_CIUDADES, resultado -> {
+                ciudades.add(new CiudadResumenDTO(resultado.getLong(1), resultado.getString(2), resultado.getString(3),
+                        resultado.getLong(4)));
+            });
+            jdbcTemplate.query(SQL_COLONIAS, resultado -> {
+                colonias.add(new RegistroColonia(resultado.getLong(1), resultado.getInt(2), resultado.getString(3),
+                        resultado.getLong(4)));
+            });
+            return obtenerVersion();
+        });
+        try {
+            InstantaneaCatalogo.escribir(archivo, version, ciudades, colonias);
+            InstantaneaCatalogo generada = InstantaneaCatalogo.abrir(archivo);
+            publicar(generada);
+            return generada.colonias();
+        } catch (IOException | IllegalArgumentException e) {
+            // Una colonia sin ciudad, que el formato no admite, o un archivo que
+            // no se puede escribir dejan el catálogo sin instantánea.
+            instantanea = null;
+            Map<Long, String> nombresCiudad = new HashMap<>();
+            ciudades.forEach(ciudad -> nombresCiudad.put(ciudad.id(), ciudad.nombre()));
+            return colonias.stream()
+                    .map(colonia -> new ColoniaDTO(colonia.id(), colonia.nombre(), colonia.codigoPostal(),
+                            nombresCiudad.get(colonia.ciudadId())))
+                    .toList();
+        }
+    }
+
+    /**
+     * Registra un cambio al catálogo geográfico: incrementa su versión en la
+     * base de datos y descarta la instantánea vigente. La versión se crea o
+     * incrementa con una sola sentencia, por lo que dos cambios simultáneos
+     * sobre un catálogo sin versión no chocan al insertarla.
+     */
+    @Transactional
+    public void registrarCambio() {
+        instantanea = null;
+        jdbcTemplate.update(SQL_INCREMENTAR_VERSION, CATALOGO_GEOGRAFICO);
+    }
+
+    /**
+     * Obtiene la instantánea vigente. Si pasó el intervalo de verificación
+     * desde la última comparación, primero compara su versión con la de la
+     * base de datos, con una consulta por llave primaria, y la descarta si el
+     * catálogo cambió en otra instancia.
+     *
+     * @return La instantánea, o vacío si no hay una vigente.
+     */
+    public Optional<InstantaneaCatalogo> obtenerVigente() {
+        InstantaneaCatalogo vigente = instantanea;
+        if (vigente != null && System.nanoTime() - ultimaVerificacion >= intervaloVerificacionNanos) {
+            ultimaVerificacion = System.nanoTime();
+            if (obtenerVersion() != vigente.getVersion()) {
+                descartar(vigente);
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(vigente);
+    }
+
+    /**
+     * Obtiene la versión y el tamaño de la instantánea vigente.
+     *
+     * @return El resumen de la instantánea, o vacío si no hay una vigente.
+     */
+    public Optional<ResumenInstantaneaCatalogoDTO> obtenerResumen() {
+        return obtenerVigente().map(vigente -> new ResumenInstantaneaCatalogoDTO(vigente.getVersion(),
+                vigente.cantidadCiudades(), vigente.cantidadColonias()));
+    }
+
+    private void publicar(InstantaneaCatalogo nueva) {
+        ultimaVerificacion = System.nanoTime();
+        instantanea = nueva;
+    }
+
+    /**
+     * Descarta la instantánea si sigue siendo la vigente; si otro hilo ya la
+     * reemplazó, se conserva la nueva.
+     */
+    private synchronized void descartar(InstantaneaCatalogo obsoleta) {
+        if (instantanea == obsoleta) {
+            instantanea = null;
+        }
+    }
+
+    private long obtenerVersion() {
+        return versionCatalogoRepository.findById(CATALOGO_GEOGRAFICO)
+                .map(VersionCatalogo::getVersion)
+                .orElse(0L);
+    }
+}
@@ -5,6 +5,8 @@ import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
 import com.yiyostore.yiyostore_administracion_negocio.model.enums.Estado;
 import com.yiyostore.yiyostore_administracion_negocio.repository.LoteProductoRepository;
 import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,18 +16,27 @@ import org.springframework.stereotype.Service;
 
 /**
  * Servicio que maneja la lógica de inventario, incluyendo verificación de
- * stock, despacho de productos y cálculos relacionados con lotes.
+ * stock, despacho de productos y cálculos relacionados con lotes. La duración
+ * de cada cálculo sobre todo el inventario se mide con Micrometer en la
+ * métrica {@code yiyostore.inventario.agregacion}, etiquetada por operación.
  */
 @Service
 public class InventarioService {
 
     private final LoteProductoRepository loteProductoRepository;
     private final ProductoRepository productoRepository;
+    private final Timer tiempoCostoTotal;
+    private final Timer tiempoPrecioVentaTotal;
+    private final Timer tiempoResumen;
 
     @Autowired
-    public InventarioService(LoteProductoRepository loteProductoRepository, ProductoRepository productoRepository) {
+    public InventarioService(LoteProductoRepository loteProductoRepository, ProductoRepository productoRepository,
+            MeterRegistry meterRegistry) {
         this.loteProductoRepository = loteProductoRepository;
         this.productoRepository = productoRepository;
+        this.tiempoCostoTotal = tiempoAgregacion("costo_total", meterRegistry);
+        this.tiempoPrecioVentaTotal = tiempoAgregacion("precio_venta_total", meterRegistry);
+        this.tiempoResumen = tiempoAgregacion("resumen", meterRegistry);
     }
 
     /**
@@ -50,7 +61,7 @@ public class InventarioService {
      * @return El costo total del inventario.
      */
     public double calcularCostoTotalInventario() {
-        return loteProductoRepository.calcularCostoTotalInventario();
+        return tiempoCostoTotal.record(loteProductoRepository::calcularCostoTotalInventario);
     }
 
     /**
@@ -60,7 +71,7 @@ public class InventarioService {
      * @return El costo total del inventario.
      */
     public double calcularPrecioVentaTotalInventario() {
-        return productoRepository.calcularPrecioVentaTotalInventario();
+        return tiempoPrecioVentaTotal.record(productoRepository::calcularPrecioVentaTotalInventario);
     }
 
     /**
@@ -72,6 +83,10 @@ public class InventarioService {
      * el resumen del inventario.
      */
     public List<ProductoInventarioDTO> obtenerResumenInventario() {
+        return tiempoResumen.record(this::calcularResumenInventario);
+    }
+
+    private List<ProductoInventarioDTO> calcularResumenInventario() {
         return productoRepository.findAllWithLotesHavingQuantityGreaterThanZeroOrNoLotes().stream().map(producto -> {
             Map<String, Integer> cantidadesPorEstado = new HashMap<>();
             producto.getLotes().forEach(lote
@@ -84,4 +99,11 @@ public class InventarioService {
             return new ProductoInventarioDTO(producto.getId(), producto.getNombre(), cantidadesPorEstado);
         }).collect(Collectors.toList());
     }
+
+    private static Timer tiempoAgregacion(String operacion, MeterRegistry meterRegistry) {
+        return Timer.builder("yiyostore.inventario.agregacion")
+                .description("Duración de los cálculos sobre todo el inventario")
+                .tag("operacion", operacion)
+                .register(meterRegistry);
+    }
 }
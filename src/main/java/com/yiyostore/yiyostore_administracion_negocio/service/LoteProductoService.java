@@ -1,10 +1,15 @@
 package com.yiyostore.yiyostore_administracion_negocio.service;
 
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.LoteProducto;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.Estado;
 import com.yiyostore.yiyostore_administracion_negocio.repository.LoteProductoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +21,12 @@ public class LoteProductoService {
     
 
     private final LoteProductoRepository loteProductoRepository;
+    private final ProductoRepository productoRepository;
 
     @Autowired
-    public LoteProductoService(LoteProductoRepository loteProductoRepository) {
+    public LoteProductoService(LoteProductoRepository loteProductoRepository, ProductoRepository productoRepository) {
         this.loteProductoRepository = loteProductoRepository;
+        this.productoRepository = productoRepository;
     }
 
     /**
@@ -31,6 +38,29 @@ public class LoteProductoService {
         return loteProductoRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de los lotes de un producto, filtrados por estado,
+     * rango de fechas y existencia de stock, sin cargar el producto ni su
+     * colección completa de lotes.
+     *
+     * @param productoId ID del producto.
+     * @param estado Estado de los lotes, o null para no filtrar.
+     * @param desde Fecha de adquisición mínima, o null para no filtrar.
+     * @param hasta Fecha de adquisición máxima, o null para no filtrar.
+     * @param soloConStock Si es true, solo se incluyen lotes con cantidad mayor
+     * a cero.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Un Optional con la página de lotes, o vacío si el producto no
+     * existe.
+     */
+    public Optional<Page<LoteProducto>> obtenerLotesDeProducto(Long productoId, Estado estado, LocalDate desde,
+            LocalDate hasta, boolean soloConStock, Pageable pageable) {
+        if (!productoRepository.existsById(productoId)) {
+            return Optional.empty();
+        }
+        return Optional.of(loteProductoRepository.buscarPorProducto(productoId, estado, desde, hasta, soloConStock, pageable));
+    }
+
     /**
      * Obtiene un lote de producto por su ID.
      *
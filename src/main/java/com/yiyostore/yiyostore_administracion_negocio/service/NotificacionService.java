@@ -0,0 +1,83 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Cliente;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Notificacion;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Pedido;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.CanalNotificacion;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoNotificacion;
+import com.yiyostore.yiyostore_administracion_negocio.repository.NotificacionRepository;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio que registra en la bandeja de salida las notificaciones de los
+ * eventos de pedidos. Las notificaciones se guardan en la transacción del
+ * pedido y las envía después el {@link DespachadorNotificacionesService}, por
+ * lo que registrar un pedido nunca espera al proveedor de mensajería.
+ */
+@Service
+public class NotificacionService {
+
+    private final NotificacionRepository notificacionRepository;
+    private final CanalNotificacion canal;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param notificacionRepository Repositorio de la bandeja de salida.
+     * @param canal Medio por el que se notifica a los clientes, configurado
+     * con {@code yiyostore.notificaciones.canal}.
+     */
+    @Autowired
+    public NotificacionService(NotificacionRepository notificacionRepository,
+            @Value("${yiyostore.notificaciones.canal:WHATSAPP}") CanalNotificacion canal) {
+        this.notificacionRepository = notificacionRepository;
+        this.canal = canal;
+    }
+
+    /**
+     * Registra la confirmación de un pedido nuevo, si su cliente tiene número
+     * de teléfono. Debe llamarse dentro de la transacción que guarda el
+     * pedido, después de guardarlo.
+     *
+     * @param pedido Pedido guardado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarPedidoCreado(Pedido pedido) {
+        registrar(TipoNotificacion.PEDIDO_CREADO, pedido, String.format(Locale.ROOT,
+                "Hola%s, recibimos tu pedido #%d por $%.2f. ¡Gracias por tu compra!",
+                saludo(pedido.getCliente()), pedido.getId(), pedido.calcularTotal()));
+    }
+
+    /**
+     * Registra el aviso de un cambio de estado de un pedido, si su cliente
+     * tiene número de teléfono. Debe llamarse dentro de la transacción que
+     * guarda el pedido.
+     *
+     * @param pedido Pedido con su nuevo estado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCambioEstado(Pedido pedido) {
+        String estado = pedido.getEstado().name().toLowerCase(Locale.ROOT).replace('_', ' ');
+        registrar(TipoNotificacion.PEDIDO_ESTADO, pedido, String.format(Locale.ROOT,
+                "Hola%s, tu pedido #%d ahora está: %s.", saludo(pedido.getCliente()), pedido.getId(), estado));
+    }
+
+    private void registrar(TipoNotificacion tipo, Pedido pedido, String mensaje) {
+        Cliente cliente = pedido.getCliente();
+        if (cliente == null || cliente.getNumeroTelefono() == null) {
+            return;
+        }
+        notificacionRepository.save(new Notificacion(tipo, canal, cliente.getNumeroTelefono(), mensaje,
+                pedido.getId(), LocalDateTime.now()));
+    }
+
+    private String saludo(Cliente cliente) {
+        return cliente != null && cliente.getNombre() != null ? " " + cliente.getNombre() : "";
+    }
+}
@@ -4,6 +4,7 @@ import com.yiyostore.yiyostore_administracion_negocio.exception.InsufficientStoc
 import com.yiyostore.yiyostore_administracion_negocio.model.enums.Estado;
 import com.yiyostore.yiyostore_administracion_negocio.model.EstadoPedido;
 import com.yiyostore.yiyostore_administracion_negocio.model.dto.DetallePedidoDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.GrupoEntregaDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.dto.PedidoDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Cliente;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.DetallePedido;
@@ -15,11 +16,18 @@ import com.yiyostore.yiyostore_administracion_negocio.repository.LoteProductoRep
 import com.yiyostore.yiyostore_administracion_negocio.repository.PedidoRepository;
 import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +35,10 @@ import java.util.Optional;
  * Servicio que maneja la lógica de negocio relacionada con los pedidos,
  * incluyendo la gestión de inventario utilizando la metodología PEPS (Primero
  * en Entrar, Primero en Salir).
+ *
+ * Mide con Micrometer la duración de la creación y actualización de pedidos y
+ * de la asignación de lotes a cada línea, la cantidad de lotes que usa cada
+ * línea y las veces que falta stock.
  */
 @Service
 public class PedidoService {
@@ -35,6 +47,14 @@ public class PedidoService {
     private final LoteProductoRepository loteProductoRepository;
     private final ClienteRepository clienteRepository;
     private final ProductoRepository productoRepository;
+    private final ResumenClienteService resumenClienteService;
+    private final NotificacionService notificacionService;
+    private final MeterRegistry meterRegistry;
+    private final Timer tiempoRealizar;
+    private final Timer tiempoActualizar;
+    private final Timer tiempoDetalles;
+    private final DistributionSummary lotesPorLinea;
+    private final Counter stockInsuficiente;
 
     /**
      * Constructor que inyecta las dependencias necesarias para este servicio.
@@ -43,17 +63,44 @@ public class PedidoService {
      * @param loteProductoRepository Repositorio para la entidad LoteProducto.
      * @param clienteRepository Repositorio para la entidad Cliente.
      * @param productoRepository Repositorio para la entidad Producto.
+     * @param resumenClienteService Servicio que recalcula el resumen de
+     * pedidos de los clientes.
+     * @param notificacionService Servicio que registra las notificaciones de
+     * los pedidos a sus clientes.
+     * @param meterRegistry Registro de métricas.
      */
     @Autowired
     public PedidoService(
             PedidoRepository pedidoRepository,
             LoteProductoRepository loteProductoRepository,
             ClienteRepository clienteRepository,
-            ProductoRepository productoRepository) {
+            ProductoRepository productoRepository,
+            ResumenClienteService resumenClienteService,
+            NotificacionService notificacionService,
+            MeterRegistry meterRegistry) {
         this.pedidoRepository = pedidoRepository;
         this.loteProductoRepository = loteProductoRepository;
         this.clienteRepository = clienteRepository;
         this.productoRepository = productoRepository;
+        this.resumenClienteService = resumenClienteService;
+        this.notificacionService = notificacionService;
+        this.meterRegistry = meterRegistry;
+        this.tiempoRealizar = Timer.builder("yiyostore.pedidos.realizar")
+                .description("Duración de la creación de un pedido")
+                .register(meterRegistry);
+        this.tiempoActualizar = Timer.builder("yiyostore.pedidos.actualizar")
+                .description("Duración de la actualización de un pedido")
+                .register(meterRegistry);
+        this.tiempoDetalles = Timer.builder("yiyostore.pedidos.detalles")
+                .description("Duración de la asignación de lotes a una línea de pedido")
+                .register(meterRegistry);
+        this.lotesPorLinea = DistributionSummary.builder("yiyostore.pedidos.lotes.por.linea")
+                .description("Cantidad de lotes que se descuentan por línea de pedido")
+                .register(meterRegistry);
+        this.stockInsuficiente = Counter.builder("yiyostore.excepciones")
+                .description("Excepciones de negocio lanzadas, por tipo")
+                .tag("tipo", "stock_insuficiente")
+                .register(meterRegistry);
     }
 
     /**
@@ -65,6 +112,15 @@ public class PedidoService {
      */
     @Transactional
     public Pedido realizarPedidoDTO(PedidoDTO pedidoDTO) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        try {
+            return crearPedido(pedidoDTO);
+        } finally {
+            muestra.stop(tiempoRealizar);
+        }
+    }
+
+    private Pedido crearPedido(PedidoDTO pedidoDTO) {
         List<DetallePedido> detalles = crearDetallesDesdeDTO(pedidoDTO.detalles());
         Cliente cliente = clienteRepository.findById(pedidoDTO.clienteId()).orElseThrow();
 
@@ -79,7 +135,10 @@ public class PedidoService {
         );
 
         detalles.forEach(detalle -> detalle.cambiarDePedidoSinVerificar(pedido));
-        return pedidoRepository.save(pedido);
+        Pedido guardado = pedidoRepository.save(pedido);
+        resumenClienteService.recalcular(List.of(cliente.getId()));
+        notificacionService.registrarPedidoCreado(guardado);
+        return guardado;
     }
 
     /**
@@ -122,6 +181,20 @@ public class PedidoService {
      * para cumplir con el pedido.
      */
     public List<DetallePedido> crearDetallesProducto(Producto producto, int cantidad) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        try {
+            List<DetallePedido> detalles = asignarLotes(producto, cantidad);
+            lotesPorLinea.record(detalles.size());
+            return detalles;
+        } catch (InsufficientStockException e) {
+            stockInsuficiente.increment();
+            throw e;
+        } finally {
+            muestra.stop(tiempoDetalles);
+        }
+    }
+
+    private List<DetallePedido> asignarLotes(Producto producto, int cantidad) {
         List<LoteProducto> lotes = obtenerLotesOrdenadosPorFechaNoVacios(producto);
         List<DetallePedido> detalles = new ArrayList<>();
 
@@ -160,7 +233,9 @@ public class PedidoService {
 
     /**
      * Actualiza un pedido existente, revertiendo los ajustes de inventario
-     * anteriores y aplicando los nuevos.
+     * anteriores y aplicando los nuevos. Recalcula el resumen del cliente del
+     * pedido y, si el pedido cambió de cliente, también el del anterior. Si
+     * cambió el estado del pedido, registra el aviso a su cliente.
      *
      * @param pedidoExistente el pedido existente a actualizar.
      * @param pedidoActualizado los detalles actualizados del pedido.
@@ -168,14 +243,31 @@ public class PedidoService {
      */
     @Transactional
     public Pedido actualizarPedido(Pedido pedidoExistente, Pedido pedidoActualizado) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        try {
+            return aplicarActualizacion(pedidoExistente, pedidoActualizado);
+        } finally {
+            muestra.stop(tiempoActualizar);
+        }
+    }
+
+    private Pedido aplicarActualizacion(Pedido pedidoExistente, Pedido pedidoActualizado) {
+        Long clienteAnteriorId = idDeCliente(pedidoExistente);
+        EstadoPedido estadoAnterior = pedidoExistente.getEstado();
         revertirAjusteInventario(pedidoExistente);
         actualizarDetallesPedido(pedidoExistente, pedidoActualizado);
-        return pedidoRepository.save(pedidoExistente);
+        Pedido guardado = pedidoRepository.save(pedidoExistente);
+        resumenClienteService.recalcular(Arrays.asList(clienteAnteriorId, idDeCliente(guardado)));
+        if (guardado.getEstado() != null && guardado.getEstado() != estadoAnterior) {
+            notificacionService.registrarCambioEstado(guardado);
+        }
+        return guardado;
     }
 
     /**
      * Elimina un pedido por su ID, revertiendo los ajustes de inventario
-     * correspondientes antes de la eliminación.
+     * correspondientes antes de la eliminación, y recalcula el resumen de su
+     * cliente.
      *
      * @param id el ID del pedido a eliminar.
      * @return true si el pedido se eliminó correctamente, false si no se
@@ -187,6 +279,7 @@ public class PedidoService {
         if (pedidoOpt.isPresent()) {
             revertirAjusteInventario(pedidoOpt.get());
             pedidoRepository.deleteById(id);
+            resumenClienteService.recalcular(Arrays.asList(idDeCliente(pedidoOpt.get())));
             return true;
         }
         return false;
@@ -218,6 +311,22 @@ public class PedidoService {
         return pedidoRepository.findAll();
     }
 
+    /**
+     * Agrupa por colonia, código postal y ciudad los pedidos por entregar, con
+     * la cantidad de pedidos, de clientes y el total de cada grupo. Se calcula
+     * con una sola consulta agregada, sin cargar los pedidos ni sus clientes.
+     *
+     * @param estados Estados de los pedidos a incluir; si es nulo o vacío, se
+     * incluyen los pedidos pendientes y en proceso.
+     * @return Los grupos ordenados por ciudad, código postal y colonia.
+     */
+    public List<GrupoEntregaDTO> obtenerGruposEntrega(Collection<EstadoPedido> estados) {
+        if (estados == null || estados.isEmpty()) {
+            estados = EnumSet.of(EstadoPedido.PENDIENTE, EstadoPedido.EN_PROCESO);
+        }
+        return pedidoRepository.agruparParaEntrega(estados);
+    }
+
     /**
      * Busca un pedido por su ID.
      *
@@ -258,4 +367,8 @@ public class PedidoService {
         pedidoExistente.setNotas(pedidoActualizado.getNotas());
         pedidoExistente.setEstado(pedidoActualizado.getEstado());
     }
+
+    private Long idDeCliente(Pedido pedido) {
+        return pedido.getCliente() != null ? pedido.getCliente().getId() : null;
+    }
 }
@@ -1,13 +1,28 @@
 package com.yiyostore.yiyostore_administracion_negocio.service;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.AjustePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.PuntoHistorialPrecioDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenAjustePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.SeriePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.HistorialPrecio;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoAjustePrecio;
+import com.yiyostore.yiyostore_administracion_negocio.repository.HistorialPrecioRepository;
 import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Servicio para la gestión de productos. Proporciona operaciones CRUD y lógica
@@ -16,17 +31,32 @@ import java.util.Optional;
 @Service
 public class ProductoService {
 
+    /**
+     * Cantidad máxima de IDs que se envían en cada sentencia UPDATE de un
+     * ajuste masivo de precios.
+     */
+    private static final int TAMANO_BLOQUE_AJUSTE = 1000;
+
+    /**
+     * Cantidad máxima de puntos que puede tener una serie de precios.
+     */
+    private static final int MAXIMO_PUNTOS_SERIE = 1000;
+
     private final ProductoRepository productoRepository;
+    private final HistorialPrecioRepository historialPrecioRepository;
 
     /**
-     * Constructor que inyecta el repositorio de productos.
+     * Constructor que inyecta los repositorios de productos y de su historial
+     * de precios.
      *
      * @param productoRepository Repositorio para la manipulación de datos de
      * productos.
+     * @param historialPrecioRepository Repositorio del historial de precios.
      */
     @Autowired
-    public ProductoService(ProductoRepository productoRepository) {
+    public ProductoService(ProductoRepository productoRepository, HistorialPrecioRepository historialPrecioRepository) {
         this.productoRepository = productoRepository;
+        this.historialPrecioRepository = historialPrecioRepository;
     }
 
     /**
@@ -50,20 +80,24 @@ public class ProductoService {
     }
 
     /**
-     * Guarda un nuevo producto en la base de datos.
+     * Guarda un nuevo producto en la base de datos y registra su precio
+     * inicial en el historial de precios.
      *
      * @param producto El objeto {@link Producto} a guardar.
      * @return El producto guardado con su ID generado.
      */
     @Transactional
     public Producto crearProducto(Producto producto) {
-        return productoRepository.save(producto);
+        Producto guardado = productoRepository.save(producto);
+        historialPrecioRepository.save(new HistorialPrecio(guardado, LocalDateTime.now(), guardado.getPrecio()));
+        return guardado;
     }
 
     /**
      * Actualiza un producto existente en la base de datos. Este método recibe
      * el ID del producto a actualizar, carga el producto desde la base de
-     * datos, y aplica las actualizaciones necesarias.
+     * datos, y aplica las actualizaciones necesarias. Si el precio cambia, el
+     * nuevo precio se registra en el historial de precios.
      *
      * @param id Identificador único del producto a actualizar.
      * @param updatedProducto El objeto {@link Producto} con los nuevos valores.
@@ -72,18 +106,167 @@ public class ProductoService {
     @Transactional
     public Optional<Producto> actualizarProducto(Long id, Producto updatedProducto) {
         return productoRepository.findById(id).map(existingProducto -> {
+            boolean cambioPrecio = existingProducto.getPrecio() != updatedProducto.getPrecio();
             existingProducto.setNombre(updatedProducto.getNombre());
             existingProducto.setDescripcion(updatedProducto.getDescripcion());
             existingProducto.setPrecio(updatedProducto.getPrecio());
             existingProducto.setFechaAdicion(updatedProducto.getFechaAdicion());
-            return productoRepository.save(existingProducto);
+            Producto guardado = productoRepository.save(existingProducto);
+            if (cambioPrecio) {
+                historialPrecioRepository.save(new HistorialPrecio(guardado, LocalDateTime.now(), guardado.getPrecio()));
+            }
+            return guardado;
         });
     }
 
+    /**
+     * Ajusta el precio de varios productos a la vez. Los productos se
+     * seleccionan por la lista de IDs del ajuste o, si está vacía, por sus
+     * filtros. La actualización se ejecuta con sentencias UPDATE por bloques
+     * en lugar de cargar y guardar cada producto, y el precio de venta total
+     * del inventario se recalcula una sola vez al terminar. Los nuevos precios
+     * se registran en el historial con una sentencia INSERT ... SELECT por
+     * bloque.
+     *
+     * @param ajuste Datos del ajuste y de la selección de productos.
+     * @return Un {@link ResumenAjustePreciosDTO} con el resultado del ajuste.
+     * @throws IllegalArgumentException si el ajuste no tiene tipo, si no
+     * selecciona productos por IDs ni por filtros, o si el porcentaje es menor
+     * a -100.
+     */
+    @Transactional
+    public ResumenAjustePreciosDTO ajustarPrecios(AjustePreciosDTO ajuste) {
+        if (ajuste.tipo() == null) {
+            throw new IllegalArgumentException("El tipo de ajuste no puede ser nulo");
+        }
+        if (ajuste.tipo() == TipoAjustePrecio.PORCENTAJE && ajuste.valor() < -100) {
+            throw new IllegalArgumentException("El porcentaje de ajuste no puede ser menor a -100");
+        }
+
+        List<Long> ids = seleccionarProductosParaAjuste(ajuste);
+        List<Long> noEncontrados = new ArrayList<>();
+        if (ajuste.ids() != null && !ajuste.ids().isEmpty()) {
+            ids = descartarInexistentes(ids, noEncontrados);
+        }
+        double precioTotalAnterior = productoRepository.calcularPrecioVentaTotalInventario();
+
+        double factor = ajuste.tipo() == TipoAjustePrecio.PORCENTAJE ? 1 + ajuste.valor() / 100 : 1;
+        double monto = ajuste.tipo() == TipoAjustePrecio.MONTO ? ajuste.valor() : 0;
+
+        LocalDateTime fecha = LocalDateTime.now();
+        int actualizados = 0;
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANO_BLOQUE_AJUSTE) {
+            List<Long> bloque = ids.subList(inicio, Math.min(inicio + TAMANO_BLOQUE_AJUSTE, ids.size()));
+            historialPrecioRepository.registrarAjuste(bloque, factor, monto, fecha);
+            actualizados += productoRepository.ajustarPrecios(bloque, factor, monto);
+        }
+
+        double precioTotalNuevo = productoRepository.calcularPrecioVentaTotalInventario();
+        return new ResumenAjustePreciosDTO(ids.size(), actualizados, ids.size() - actualizados,
+                noEncontrados, precioTotalAnterior, precioTotalNuevo);
+    }
+
+    /**
+     * Separa, por bloques, los IDs de productos existentes de los que no
+     * corresponden a ningún producto.
+     *
+     * @param ids IDs solicitados, sin duplicados.
+     * @param noEncontrados Lista a la que se agregan los IDs inexistentes.
+     * @return Lista de IDs existentes, en el orden solicitado.
+     */
+    private List<Long> descartarInexistentes(List<Long> ids, List<Long> noEncontrados) {
+        List<Long> existentes = new ArrayList<>(ids.size());
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANO_BLOQUE_AJUSTE) {
+            List<Long> bloque = ids.subList(inicio, Math.min(inicio + TAMANO_BLOQUE_AJUSTE, ids.size()));
+            Set<Long> encontrados = new HashSet<>(productoRepository.findIdsExistentes(bloque));
+            for (Long id : bloque) {
+                (encontrados.contains(id) ? existentes : noEncontrados).add(id);
+            }
+        }
+        return existentes;
+    }
+
+    /**
+     * Obtiene los IDs de los productos afectados por un ajuste de precios.
+     *
+     * @param ajuste Datos del ajuste.
+     * @return Lista de IDs sin duplicados.
+     * @throws IllegalArgumentException si el ajuste no indica IDs ni filtros.
+     */
+    private List<Long> seleccionarProductosParaAjuste(AjustePreciosDTO ajuste) {
+        if (ajuste.ids() != null && !ajuste.ids().isEmpty()) {
+            return List.copyOf(new LinkedHashSet<>(ajuste.ids()));
+        }
+        if (ajuste.nombre() == null && ajuste.proveedor() == null
+                && ajuste.fechaAdicionDesde() == null && ajuste.fechaAdicionHasta() == null) {
+            throw new IllegalArgumentException("El ajuste debe indicar IDs de productos o al menos un filtro");
+        }
+        return productoRepository.buscarIdsPorFiltro(ajuste.nombre(), ajuste.proveedor(),
+                ajuste.fechaAdicionDesde(), ajuste.fechaAdicionHasta());
+    }
+
+    /**
+     * Obtiene la serie de precios de un producto en un rango de fechas,
+     * reducida a lo más a la cantidad de puntos indicada. El rango se divide
+     * en intervalos de igual duración y cada punto resume los cambios de
+     * precio de un intervalo, de modo que la consulta nunca transfiere más
+     * renglones que puntos solicitados, sin importar cuántos cambios haya.
+     *
+     * @param id Identificador único del producto.
+     * @param desde Inicio del rango.
+     * @param hasta Fin del rango.
+     * @param puntos Cantidad máxima de puntos de la serie.
+     * @return Un {@link Optional} con la serie, o vacío si el producto no
+     * existe.
+     * @throws IllegalArgumentException si el rango no es válido o la cantidad
+     * de puntos no está entre 1 y {@value #MAXIMO_PUNTOS_SERIE}.
+     */
+    public Optional<SeriePreciosDTO> obtenerSeriePrecios(Long id, LocalDateTime desde, LocalDateTime hasta,
+            int puntos) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Las fechas del rango no pueden ser nulas");
+        }
+        // Los intervalos se calculan en segundos completos; el fin se redondea
+        // hacia arriba para no excluir los cambios de su último segundo.
+        LocalDateTime inicio = desde.truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime fin = hasta.truncatedTo(ChronoUnit.SECONDS);
+        if (fin.isBefore(hasta)) {
+            fin = fin.plusSeconds(1);
+        }
+        if (!inicio.isBefore(fin)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior a la fecha final");
+        }
+        if (puntos < 1 || puntos > MAXIMO_PUNTOS_SERIE) {
+            throw new IllegalArgumentException("La cantidad de puntos debe estar entre 1 y " + MAXIMO_PUNTOS_SERIE);
+        }
+        if (!productoRepository.existsById(id)) {
+            return Optional.empty();
+        }
+
+        long segundosRango = Duration.between(inicio, fin).toSeconds();
+        long segundosPorPunto = Math.max(1, (segundosRango + puntos - 1) / puntos);
+
+        List<PuntoHistorialPrecioDTO> serie = new ArrayList<>();
+        for (Object[] fila : historialPrecioRepository.agruparPorIntervalo(id, inicio, fin, segundosPorPunto)) {
+            long intervalo = ((Number) fila[0]).longValue();
+            serie.add(new PuntoHistorialPrecioDTO(
+                    inicio.plusSeconds(intervalo * segundosPorPunto),
+                    ((Number) fila[1]).doubleValue(),
+                    ((Number) fila[2]).doubleValue(),
+                    ((Number) fila[3]).doubleValue(),
+                    ((Number) fila[4]).longValue()));
+        }
+
+        Double precioInicial = historialPrecioRepository.buscarPrecioVigente(id, inicio, Limit.of(1))
+                .stream().findFirst().orElse(null);
+        return Optional.of(new SeriePreciosDTO(id, inicio, fin, segundosPorPunto, precioInicial, serie));
+    }
+
     /**
      * Elimina un producto de la base de datos por su identificador único. Este
      * método solo requiere el ID del producto y no necesita cargar el objeto
-     * completo, lo que lo hace más eficiente.
+     * completo, lo que lo hace más eficiente. El historial de precios del
+     * producto se elimina junto con él.
      *
      * @param id Identificador único del producto a eliminar.
      * @return true si el producto fue eliminado, false si no se encontró.
@@ -91,6 +274,7 @@ public class ProductoService {
     @Transactional
     public boolean eliminarProducto(Long id) {
         if (productoRepository.existsById(id)) {
+            historialPrecioRepository.eliminarPorProducto(id);
             productoRepository.deleteById(id);
             return true;
         }
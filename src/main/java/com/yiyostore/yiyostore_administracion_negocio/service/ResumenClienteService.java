@@ -0,0 +1,178 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.EstadoPedido;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.HistorialPedidoDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.MarcaProceso;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.ResumenCliente;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.MarcaProcesoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.PedidoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.PuntuacionClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ResumenClienteRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio que mantiene los resúmenes de pedidos de los clientes
+ * ({@link ResumenCliente}) y atiende las consultas de clientes con sus
+ * totales y de su historial de pedidos, sin cargar la colección de pedidos
+ * del cliente.
+ *
+ * El resumen de un cliente se recalcula desde sus pedidos cada vez que uno de
+ * ellos cambia, en la misma transacción del cambio. Recalcularlo en lugar de
+ * sumar diferencias mantiene el resumen correcto aunque un pedido cambie de
+ * cliente, de estado o de detalles, y solo lee los pedidos de ese cliente.
+ * El cálculo completo de todos los resúmenes guarda una marca
+ * ({@link MarcaProceso}), para hacerse una sola vez al iniciar.
+ */
+@Service
+public class ResumenClienteService {
+
+    /**
+     * Estados de los pedidos que no se cuentan en los resúmenes.
+     */
+    private static final Set<EstadoPedido> ESTADOS_EXCLUIDOS = EnumSet.of(EstadoPedido.CANCELADO,
+            EstadoPedido.DEVUELTO);
+
+    /**
+     * Nombre del cálculo completo de los resúmenes en {@link MarcaProceso}.
+     */
+    static final String PROCESO = "resumenes_clientes";
+
+    private final ResumenClienteRepository resumenClienteRepository;
+    private final ClienteRepository clienteRepository;
+    private final PedidoRepository pedidoRepository;
+    private final PuntuacionClienteRepository puntuacionClienteRepository;
+    private final MarcaProcesoRepository marcaProcesoRepository;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param resumenClienteRepository Repositorio de resúmenes de clientes.
+     * @param clienteRepository Repositorio de clientes.
+     * @param pedidoRepository Repositorio de pedidos, para el historial.
+     * @param puntuacionClienteRepository Repositorio de puntuaciones RFM, para
+     * quitar las de los clientes que se quedan sin resumen.
+     * @param marcaProcesoRepository Repositorio de marcas de los procesos,
+     * para saber si ya se hizo el cálculo completo.
+     */
+    @Autowired
+    public ResumenClienteService(ResumenClienteRepository resumenClienteRepository,
+            ClienteRepository clienteRepository, PedidoRepository pedidoRepository,
+            PuntuacionClienteRepository puntuacionClienteRepository, MarcaProcesoRepository marcaProcesoRepository) {
+        this.resumenClienteRepository = resumenClienteRepository;
+        this.clienteRepository = clienteRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.puntuacionClienteRepository = puntuacionClienteRepository;
+        this.marcaProcesoRepository = marcaProcesoRepository;
+    }
+
+    /**
+     * Calcula los resúmenes de todos los clientes al iniciar si nunca se han
+     * calculado completos, por ejemplo la primera vez que se inicia con
+     * pedidos registrados antes de que existieran los resúmenes. Se decide
+     * por la marca del cálculo y no por la tabla de resúmenes, que también
+     * queda vacía cuando ningún cliente tiene pedidos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void calcularAlIniciar() {
+        if (!marcaProcesoRepository.existsById(PROCESO)) {
+            recalcularTodos();
+        }
+    }
+
+    /**
+     * Recalcula el resumen de los clientes indicados desde sus pedidos. Se
+     * llama después de crear, modificar o eliminar un pedido, con el cliente
+     * anterior y el nuevo si el pedido cambió de cliente. Los clientes que se
+     * quedan sin pedidos contados pierden también su puntuación RFM; la de los
+     * demás se actualiza en la siguiente segmentación.
+     *
+     * Primero se bloquean las filas de los clientes, de modo que dos
+     * transacciones que recalculan al mismo cliente se esperan en lugar de
+     * agregar su resumen dos veces. Después se actualizan los resúmenes que
+     * existen y se agregan los que faltan.
+     *
+     * @param clienteIds IDs de los clientes; los nulos se ignoran.
+     */
+    @Transactional
+    public void recalcular(Collection<Long> clienteIds) {
+        Set<Long> ids = Set.copyOf(clienteIds.stream().filter(Objects::nonNull).toList());
+        if (ids.isEmpty()) {
+            return;
+        }
+        clienteRepository.bloquearPorIds(ids);
+        LocalDateTime ahora = LocalDateTime.now();
+        resumenClienteRepository.eliminarSinPedidos(ids, ESTADOS_EXCLUIDOS);
+        resumenClienteRepository.actualizarPorClientes(ids, ESTADOS_EXCLUIDOS, ahora);
+        resumenClienteRepository.agregarPorClientes(ids, ESTADOS_EXCLUIDOS, ahora);
+        puntuacionClienteRepository.eliminarSinResumen(ids);
+    }
+
+    /**
+     * Recalcula los resúmenes de todos los clientes con dos sentencias y
+     * guarda la marca del cálculo completo. Las puntuaciones RFM se
+     * actualizan en la siguiente segmentación, ya que todos los resúmenes
+     * quedan marcados como cambiados.
+     *
+     * @return Cantidad de clientes con resumen.
+     */
+    @Transactional
+    public int recalcularTodos() {
+        LocalDateTime ahora = LocalDateTime.now();
+        resumenClienteRepository.eliminarTodos();
+        int calculados = resumenClienteRepository.calcularTodos(ESTADOS_EXCLUIDOS, ahora);
+        puntuacionClienteRepository.eliminarTodasSinResumen();
+        MarcaProceso marca = marcaProcesoRepository.findById(PROCESO).orElseGet(() -> new MarcaProceso(PROCESO, ahora));
+        marca.setUltimaEjecucion(ahora);
+        marcaProcesoRepository.save(marca);
+        return calculados;
+    }
+
+    /**
+     * Obtiene un cliente con los totales de sus pedidos.
+     *
+     * @param clienteId ID del cliente.
+     * @return El cliente con sus totales, o vacío si no existe.
+     */
+    public Optional<ResumenClienteDTO> obtenerResumen(Long clienteId) {
+        return resumenClienteRepository.findDTOByClienteId(clienteId);
+    }
+
+    /**
+     * Obtiene una página de clientes con los totales de sus pedidos.
+     *
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de clientes.
+     */
+    public Page<ResumenClienteDTO> obtenerResumenes(Pageable pageable) {
+        return resumenClienteRepository.findAllDTO(pageable);
+    }
+
+    /**
+     * Obtiene una página del historial de pedidos de un cliente.
+     *
+     * @param clienteId ID del cliente.
+     * @param pageable Paginación y orden de la consulta.
+     * @return La página de pedidos, o vacío si el cliente no existe.
+     */
+    public Optional<Page<HistorialPedidoDTO>> obtenerHistorial(Long clienteId, Pageable pageable) {
+        if (!clienteRepository.existsById(clienteId)) {
+            return Optional.empty();
+        }
+        return Optional.of(pedidoRepository.findHistorialByClienteId(clienteId, pageable));
+    }
+}
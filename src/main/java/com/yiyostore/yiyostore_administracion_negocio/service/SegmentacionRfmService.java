@@ -0,0 +1,219 @@
+package com.yiyostore.yiyostore_administracion_negocio.service;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ConteoSegmentoDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.PuntuacionClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenSegmentacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.MarcaProceso;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.PuntuacionCliente;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.ResumenCliente;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
+import com.yiyostore.yiyostore_administracion_negocio.repository.MarcaProcesoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.PuntuacionClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ResumenClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.utils.PuntuacionRfm;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio que calcula las puntuaciones RFM y el segmento de los clientes
+ * ({@link PuntuacionCliente}) a partir de sus resúmenes de pedidos, y atiende
+ * las consultas por segmento.
+ *
+ * La segmentación es incremental: cada ejecución guarda su momento de inicio
+ * como marca ({@link MarcaProceso}), y la siguiente solo recalcula los
+ * clientes cuyo resumen cambió desde esa marca o cuyo último pedido cruzó uno
+ * de los límites de recencia de {@link PuntuacionRfm} desde la fecha de la
+ * marca. Como las puntuaciones usan límites fijos, los demás clientes
+ * conservan las suyas. Solo la primera ejecución recorre todos los resúmenes.
+ *
+ * Se ejecuta periódicamente según la propiedad
+ * {@code yiyostore.segmentacion-rfm.cron}, cada hora por defecto.
+ */
+@Service
+public class SegmentacionRfmService {
+
+    /**
+     * Nombre de la segmentación en {@link MarcaProceso}.
+     */
+    static final String PROCESO = "segmentacion_rfm";
+
+    /**
+     * Cantidad de clientes que se recalculan juntos.
+     */
+    private static final int TAMANO_LOTE = 1000;
+
+    /**
+     * Tiempo que se resta a la marca al buscar resúmenes cambiados, para
+     * incluir los que se calcularon antes de la marca pero se confirmaron
+     * después. Recalcular un cliente dos veces no tiene efecto.
+     */
+    private static final Duration SOLAPE = Duration.ofMinutes(5);
+
+    /**
+     * Momento anterior a cualquier resumen, para la primera ejecución.
+     */
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String SQL_INSERTAR_PUNTUACION = "INSERT INTO puntuaciones_clientes (cliente_id, recencia,"
+            + " frecuencia, monto, segmento, fecha_calculo) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final ResumenClienteRepository resumenClienteRepository;
+    private final PuntuacionClienteRepository puntuacionClienteRepository;
+    private final MarcaProcesoRepository marcaProcesoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para este servicio.
+     *
+     * @param resumenClienteRepository Repositorio de resúmenes de pedidos de
+     * los clientes.
+     * @param puntuacionClienteRepository Repositorio de puntuaciones RFM.
+     * @param marcaProcesoRepository Repositorio de marcas de los procesos.
+     * @param jdbcTemplate Plantilla JDBC para las inserciones por lotes.
+     * @param transactionManager Administrador de transacciones; cada lote se
+     * guarda en su propia transacción.
+     */
+    @Autowired
+    public SegmentacionRfmService(ResumenClienteRepository resumenClienteRepository,
+            PuntuacionClienteRepository puntuacionClienteRepository, MarcaProcesoRepository marcaProcesoRepository,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.resumenClienteRepository = resumenClienteRepository;
+        this.puntuacionClienteRepository = puntuacionClienteRepository;
+        this.marcaProcesoRepository = marcaProcesoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recalcula las puntuaciones de los clientes que cambiaron desde la
+     * ejecución anterior y guarda la nueva marca. Si la ejecución falla, la
+     * marca no cambia y la siguiente vuelve a procesar los mismos clientes.
+     *
+     * @return El resultado de la ejecución.
+     */
+    @Scheduled(cron = "${yiyostore.segmentacion-rfm.cron:0 15 * * * *}")
+    public synchronized ResumenSegmentacionDTO actualizar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDate hoy = ahora.toLocalDate();
+        Optional<MarcaProceso> marca = marcaProcesoRepository.findById(PROCESO);
+
+        int puntuados;
+        if (marca.isEmpty()) {
+            puntuados = procesar((despuesDe, limite)
+                    -> resumenClienteRepository.findActualizadosDesde(INICIO, despuesDe, limite), hoy);
+        } else {
+            LocalDateTime anterior = marca.get().getUltimaEjecucion();
+            LocalDateTime desde = anterior.minus(SOLAPE);
+            puntuados = procesar((despuesDe, limite)
+                    -> resumenClienteRepository.findActualizadosDesde(desde, despuesDe, limite), hoy);
+            puntuados += procesarCrucesDeRecencia(anterior.toLocalDate(), hoy);
+        }
+
+        MarcaProceso nueva = marca.orElseGet(() -> new MarcaProceso(PROCESO, ahora));
+        nueva.setUltimaEjecucion(ahora);
+        marcaProcesoRepository.save(nueva);
+        return new ResumenSegmentacionDTO(puntuados, marca.isEmpty(), ahora);
+    }
+
+    /**
+     * Cuenta los clientes de cada segmento.
+     *
+     * @return La cantidad de clientes por segmento.
+     */
+    public List<ConteoSegmentoDTO> contarPorSegmento() {
+        return puntuacionClienteRepository.contarPorSegmento();
+    }
+
+    /**
+     * Obtiene una página de los clientes de un segmento con sus puntuaciones.
+     *
+     * @param segmento Segmento de los clientes.
+     * @param pageable Paginación y orden de la consulta.
+     * @return Página de clientes del segmento.
+     */
+    public Page<PuntuacionClienteDTO> obtenerClientes(SegmentoRfm segmento, Pageable pageable) {
+        return puntuacionClienteRepository.findDTOBySegmento(segmento, pageable);
+    }
+
+    /**
+     * Recalcula los clientes cuya recencia cambió entre dos fechas sin que
+     * cambiaran sus pedidos: aquellos cuyo último pedido cruzó un límite de
+     * días. Para un límite L, son los clientes con último pedido en
+     * [anterior - L, hoy - L).
+     *
+     * @return Cantidad de clientes recalculados.
+     */
+    private int procesarCrucesDeRecencia(LocalDate anterior, LocalDate hoy) {
+        int puntuados = 0;
+        if (!anterior.isBefore(hoy)) {
+            return puntuados;
+        }
+        for (int dias : PuntuacionRfm.LIMITES_RECENCIA_DIAS) {
+            LocalDate desde = anterior.minusDays(dias);
+            LocalDate hasta = hoy.minusDays(dias);
+            puntuados += procesar((despuesDe, limite)
+                    -> resumenClienteRepository.findPorFechaUltimoPedido(desde, hasta, despuesDe, limite), hoy);
+        }
+        return puntuados;
+    }
+
+    /**
+     * Recorre por lotes, en orden de cliente, los resúmenes de una consulta y
+     * recalcula sus puntuaciones.
+     *
+     * @param consulta Consulta que obtiene los resúmenes después de un ID de
+     * cliente, con una cantidad máxima.
+     * @param hoy Fecha con la que se calcula la recencia.
+     * @return Cantidad de clientes recalculados.
+     */
+    private int procesar(BiFunction<Long, Limit, List<ResumenCliente>> consulta, LocalDate hoy) {
+        int puntuados = 0;
+        long despuesDe = 0;
+        List<ResumenCliente> lote;
+        do {
+            lote = consulta.apply(despuesDe, Limit.of(TAMANO_LOTE));
+            if (!lote.isEmpty()) {
+                guardar(lote, hoy);
+                puntuados += lote.size();
+                despuesDe = lote.get(lote.size() - 1).getClienteId();
+            }
+        } while (lote.size() == TAMANO_LOTE);
+        return puntuados;
+    }
+
+    /**
+     * Reemplaza las puntuaciones de un lote de clientes en una sola
+     * transacción, con una inserción JDBC por lotes.
+     */
+    private void guardar(List<ResumenCliente> lote, LocalDate hoy) {
+        List<Long> ids = new ArrayList<>(lote.size());
+        List<Object[]> valores = new ArrayList<>(lote.size());
+        for (ResumenCliente resumen : lote) {
+            int recencia = PuntuacionRfm.recencia(resumen.getFechaUltimoPedido(), hoy);
+            int frecuencia = PuntuacionRfm.frecuencia(resumen.getCantidadPedidos());
+            int monto = PuntuacionRfm.monto(resumen.getTotalCompras());
+            ids.add(resumen.getClienteId());
+            valores.add(new Object[]{resumen.getClienteId(), recencia, frecuencia, monto,
+                PuntuacionRfm.segmento(recencia, frecuencia, monto).name(), hoy});
+        }
+        transactionTemplate.executeWithoutResult(estado -> {
+            puntuacionClienteRepository.eliminarPorClientes(ids);
+            jdbcTemplate.batchUpdate(SQL_INSERTAR_PUNTUACION, valores);
+        });
+    }
+}
@@ -0,0 +1,204 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrupa los clientes duplicados: los que tienen el mismo número de teléfono
+ * normalizado y un nombre compatible.
+ *
+ * Los clientes se agrupan primero por su número normalizado y, dentro de cada
+ * número, por la primera palabra de su nombre normalizado con
+ * {@link TextoUtils#normalizar(String)} (bloque de nombre), de modo que
+ * {@code "Ana García"} y {@code "ANA"} se fusionan pero {@code "Luis"} y
+ * {@code "Ana"}, que comparten el teléfono de su casa, no. Un cliente sin
+ * nombre se une al primer grupo de su número, y un grupo sin nombre toma el
+ * bloque del primer cliente con nombre que se le une.
+ *
+ * Los clientes deben agregarse en orden de ID: el primero de cada grupo es el
+ * que se conserva y completa sus datos faltantes con los de los duplicados.
+ * Esta clase no es segura para hilos.
+ */
+public class AgrupadorClientes {
+
+    /**
+     * Longitud máxima de las notas de un cliente.
+     */
+    private static final int LONGITUD_NOTAS = 255;
+
+    private final Map<String, List<Grupo>> gruposPorTelefono = new LinkedHashMap<>();
+    private int clientes;
+
+    /**
+     * Resultado de la fusión de un grupo: el cliente que se conserva, con los
+     * datos que debe tener, y los clientes que se eliminan.
+     *
+     * @param sobrevivienteId ID del cliente que se conserva.
+     * @param duplicados IDs de los clientes que se fusionan en él.
+     * @param direccionesDescartadas IDs de las direcciones de los duplicados
+     * que el cliente conservado no toma; quedan sin usar si ningún otro
+     * cliente las tiene.
+     * @param nombre Nombre del cliente conservado.
+     * @param direccionId ID de la dirección del cliente conservado.
+     * @param notas Notas del cliente conservado, con las de los duplicados.
+     * @param numeroTelefono Número de teléfono del cliente conservado.
+     * @param telefonoNormalizado true si el número guardado del cliente
+     * conservado cambia por el normalizado.
+     */
+    public record Fusion(long sobrevivienteId, List<Long> duplicados, List<Long> direccionesDescartadas,
+            String nombre, Long direccionId, String notas, String numeroTelefono, boolean telefonoNormalizado) {}
+
+    /**
+     * Agrega un cliente.
+     *
+     * @param id ID del cliente; debe ser mayor que el de los agregados antes.
+     * @param telefonoNormalizado Número de teléfono normalizado.
+     * @param telefonoGuardado Número de teléfono tal como está guardado.
+     * @param nombre Nombre del cliente.
+     * @param direccionId ID de la dirección del cliente.
+     * @param notas Notas sobre el cliente.
+     */
+    public void agregar(long id, String telefonoNormalizado, String telefonoGuardado, String nombre, Long direccionId,
+            String notas) {
+        clientes++;
+        String bloque = bloqueNombre(nombre);
+        List<Grupo> grupos = gruposPorTelefono.computeIfAbsent(telefonoNormalizado, telefono -> new ArrayList<>(1));
+        Grupo grupo = buscarGrupo(grupos, bloque);
+        if (grupo == null) {
+            grupos.add(new Grupo(id, bloque, telefonoGuardado, nombre, direccionId, notas));
+        } else {
+            grupo.unir(id, bloque, nombre, direccionId, notas);
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de clientes agregados.
+     *
+     * @return La cantidad de clientes.
+     */
+    public int tamano() {
+        return clientes;
+    }
+
+    /**
+     * Obtiene las fusiones que hay que aplicar: las de los grupos con
+     * duplicados y las de los clientes cuyo número guardado no está
+     * normalizado. Los grupos que comparten un número, como las personas de
+     * una misma casa, también lo guardan normalizado para que la búsqueda
+     * por teléfono los encuentre a todos.
+     *
+     * @return Las fusiones, en orden de número de teléfono.
+     */
+    public List<Fusion> fusiones() {
+        List<Fusion> fusiones = new ArrayList<>();
+        gruposPorTelefono.forEach((telefono, grupos) -> {
+            for (Grupo grupo : grupos) {
+                boolean normalizar = !telefono.equals(grupo.telefonoGuardado);
+                if (!grupo.duplicados.isEmpty() || normalizar) {
+                    List<Long> descartadas = grupo.direccionesDuplicados.stream()
+                            .filter(direccion -> !direccion.equals(grupo.direccionId))
+                            .distinct()
+                            .toList();
+                    fusiones.add(new Fusion(grupo.sobrevivienteId, List.copyOf(grupo.duplicados), descartadas,
+                            grupo.nombre, grupo.direccionId, grupo.notas,
+                            normalizar ? telefono : grupo.telefonoGuardado, normalizar));
+                }
+            }
+        });
+        return fusiones;
+    }
+
+    /**
+     * Obtiene el bloque de nombre: la primera palabra del nombre normalizado.
+     *
+     * @param nombre Nombre del cliente.
+     * @return El bloque, o una cadena vacía si el cliente no tiene nombre.
+     */
+    public static String bloqueNombre(String nombre) {
+        String normalizado = TextoUtils.normalizar(nombre);
+        int espacio = normalizado.indexOf(' ');
+        return espacio < 0 ? normalizado : normalizado.substring(0, espacio);
+    }
+
+    /**
+     * Busca el grupo al que se une un cliente: el de su mismo bloque, el
+     * primero si el cliente no tiene nombre, o uno sin nombre.
+     */
+    private static Grupo buscarGrupo(List<Grupo> grupos, String bloque) {
+        if (grupos.isEmpty()) {
+            return null;
+        }
+        if (bloque.isEmpty()) {
+            return grupos.get(0);
+        }
+        Grupo sinNombre = null;
+        for (Grupo grupo : grupos) {
+            if (grupo.bloque.equals(bloque)) {
+                return grupo;
+            }
+            if (sinNombre == null && grupo.bloque.isEmpty()) {
+                sinNombre = grupo;
+            }
+        }
+        return sinNombre;
+    }
+
+    private static boolean vacio(String texto) {
+        return texto == null || texto.isBlank();
+    }
+
+    /**
+     * Clientes con el mismo número y bloque de nombre.
+     */
+    private static final class Grupo {
+
+        private final long sobrevivienteId;
+        private final String telefonoGuardado;
+        private final List<Long> duplicados = new ArrayList<>(1);
+        private final List<Long> direccionesDuplicados = new ArrayList<>(1);
+        private String bloque;
+        private String nombre;
+        private Long direccionId;
+        private String notas;
+
+        private Grupo(long sobrevivienteId, String bloque, String telefonoGuardado, String nombre, Long direccionId,
+                String notas) {
+            this.sobrevivienteId = sobrevivienteId;
+            this.bloque = bloque;
+            this.telefonoGuardado = telefonoGuardado;
+            this.nombre = nombre;
+            this.direccionId = direccionId;
+            this.notas = notas;
+        }
+
+        /**
+         * Une un duplicado al grupo, completando los datos que le faltan al
+         * cliente conservado. Las notas distintas se agregan a las existentes
+         * mientras quepan.
+         */
+        private void unir(long id, String bloqueDuplicado, String nombreDuplicado, Long direccionDuplicado,
+                String notasDuplicado) {
+            duplicados.add(id);
+            if (direccionDuplicado != null) {
+                direccionesDuplicados.add(direccionDuplicado);
+            }
+            if (bloque.isEmpty()) {
+                bloque = bloqueDuplicado;
+            }
+            if (vacio(nombre)) {
+                nombre = nombreDuplicado;
+            }
+            if (direccionId == null) {
+                direccionId = direccionDuplicado;
+            }
+            if (vacio(notas)) {
+                notas = notasDuplicado;
+            } else if (!vacio(notasDuplicado) && !notas.contains(notasDuplicado)
+                    && notas.length() + notasDuplicado.length() + 2 <= LONGITUD_NOTAS) {
+                notas = notas + "; " + notasDuplicado;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché en memoria con una cantidad máxima de entradas y una vigencia por
+ * entrada. Al llenarse, descarta la entrada usada hace más tiempo; las
+ * entradas vencidas se descartan al consultarlas.
+ *
+ * Las entradas se guardan en un {@link LinkedHashMap} en orden de acceso.
+ * Como una consulta modifica ese orden, todas las operaciones se hacen bajo el
+ * mismo candado; cada una es de tiempo constante, salvo {@link #limpiar()}.
+ *
+ * @param <K> Tipo de las llaves.
+ * @param <V> Tipo de los valores. Deben ser inmutables, porque la caché los
+ * devuelve sin copiarlos.
+ */
+public class CacheAcotada<K, V> {
+
+    private record Entrada<V>(V valor, long vence) {}
+
+    private final Lock candado = new ReentrantLock();
+    private final long vigenciaNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    /**
+     * Crea una caché vacía.
+     *
+     * @param capacidad Cantidad máxima de entradas.
+     * @param vigencia Tiempo que una entrada permanece vigente desde que se
+     * guarda.
+     * @throws IllegalArgumentException si la capacidad no es positiva o la
+     * vigencia no es mayor a cero.
+     */
+    public CacheAcotada(int capacidad, Duration vigencia) {
+        if (capacidad <= 0 || vigencia.isNegative() || vigencia.isZero()) {
+            throw new IllegalArgumentException("La capacidad y la vigencia de la caché deben ser positivas");
+        }
+        this.vigenciaNanos = vigencia.toNanos();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> mayor) {
+                return size() > capacidad;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el valor de una llave si está en la caché y sigue vigente.
+     *
+     * @param llave La llave.
+     * @return El valor, o null si no está o ya venció.
+     */
+    public V obtener(K llave) {
+        candado.lock();
+        try {
+            Entrada<V> entrada = entradas.get(llave);
+            if (entrada == null) {
+                return null;
+            }
+            if (System.nanoTime() - entrada.vence() > 0) {
+                entradas.remove(llave);
+                return null;
+            }
+            return entrada.valor();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Guarda el valor de una llave, reemplazando el anterior.
+     *
+     * @param llave La llave.
+     * @param valor El valor.
+     */
+    public void guardar(K llave, V valor) {
+        candado.lock();
+        try {
+            entradas.put(llave, new Entrada<>(valor, System.nanoTime() + vigenciaNanos));
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Quita una llave de la caché.
+     *
+     * @param llave La llave.
+     */
+    public void quitar(K llave) {
+        candado.lock();
+        try {
+            entradas.remove(llave);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Quita todas las entradas.
+     */
+    public void limpiar() {
+        candado.lock();
+        try {
+            entradas.clear();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de entradas guardadas, incluidas las vencidas que
+     * todavía no se han descartado.
+     *
+     * @return Cantidad de entradas.
+     */
+    public int tamano() {
+        candado.lock();
+        try {
+            return entradas.size();
+        } finally {
+            candado.unlock();
+        }
+    }
+}
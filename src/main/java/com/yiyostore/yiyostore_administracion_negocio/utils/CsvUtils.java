@@ -0,0 +1,111 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades para leer y escribir archivos CSV (RFC 4180) registro por
+ * registro, sin cargar el archivo completo en memoria.
+ */
+public class CsvUtils {
+
+    private static final char SEPARADOR = ',';
+    private static final char COMILLA = '"';
+
+    /**
+     * Lee el siguiente registro del lector. Soporta campos entre comillas con
+     * comas, comillas escapadas ({@code ""}) y saltos de línea.
+     *
+     * @param lector el lector del que se leen los caracteres. Se recomienda
+     * que tenga buffer.
+     * @return la lista de campos del registro, o null si se llegó al final del
+     * archivo.
+     * @throws IOException si ocurre un error al leer.
+     */
+    public static List<String> leerRegistro(Reader lector) throws IOException {
+        int c = lector.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+
+        while (c != -1) {
+            char caracter = (char) c;
+            if (entreComillas) {
+                if (caracter == COMILLA) {
+                    lector.mark(1);
+                    int siguiente = lector.read();
+                    if (siguiente == COMILLA) {
+                        campo.append(COMILLA);
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            lector.reset();
+                        }
+                    }
+                } else {
+                    campo.append(caracter);
+                }
+            } else if (caracter == COMILLA && campo.isEmpty()) {
+                entreComillas = true;
+            } else if (caracter == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (caracter == '\n') {
+                break;
+            } else if (caracter != '\r') {
+                campo.append(caracter);
+            }
+            c = lector.read();
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Escribe un registro en el escritor, terminado en salto de línea. Los
+     * valores nulos se escriben como campos vacíos y los que contienen comas,
+     * comillas o saltos de línea se escriben entre comillas.
+     *
+     * @param escritor el escritor de destino.
+     * @param campos los valores del registro.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public static void escribirRegistro(Writer escritor, Object... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                escritor.write(SEPARADOR);
+            }
+            if (campos[i] != null) {
+                escribirCampo(escritor, campos[i].toString());
+            }
+        }
+        escritor.write('\n');
+    }
+
+    /**
+     * Escribe un campo, escapándolo si es necesario.
+     *
+     * @param escritor el escritor de destino.
+     * @param valor el valor del campo.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    private static void escribirCampo(Writer escritor, String valor) throws IOException {
+        boolean requiereComillas = valor.indexOf(SEPARADOR) >= 0 || valor.indexOf(COMILLA) >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!requiereComillas) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write(COMILLA);
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write(COMILLA);
+    }
+}
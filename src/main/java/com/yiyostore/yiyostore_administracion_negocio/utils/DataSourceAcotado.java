@@ -0,0 +1,146 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que limita la cantidad de conexiones abiertas al mismo tiempo
+ * con un semáforo justo. Cada conexión ocupa un permiso desde que se obtiene
+ * hasta que se cierra.
+ *
+ * Con hilos virtuales la cantidad de solicitudes simultáneas ya no la limita
+ * el pool de hilos de Tomcat, y miles de hilos pueden pedir una conexión a la
+ * vez. Con tantos permisos como conexiones tiene el pool, los hilos que
+ * sobran esperan en el semáforo, donde un hilo virtual se suspende sin ocupar
+ * su hilo portador, en lugar de competir dentro del pool o del driver, que
+ * usan bloques {@code synchronized} que fijan el hilo portador. Si no se
+ * obtiene un permiso en el tiempo de espera, se lanza
+ * {@link SQLTransientConnectionException}, como lo hace el pool al agotar su
+ * propio tiempo de espera.
+ */
+public class DataSourceAcotado extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final int maximo;
+    private final long esperaMs;
+
+    /**
+     * Constructor que envuelve un DataSource.
+     *
+     * @param destino DataSource que entrega las conexiones.
+     * @param maximo Cantidad máxima de conexiones abiertas al mismo tiempo.
+     * @param esperaMs Milisegundos que se espera un permiso.
+     * @throws IllegalArgumentException si el máximo no es positivo.
+     */
+    public DataSourceAcotado(DataSource destino, int maximo, long esperaMs) {
+        super(destino);
+        if (maximo <= 0) {
+            throw new IllegalArgumentException("El máximo de conexiones debe ser positivo");
+        }
+        this.permisos = new Semaphore(maximo, true);
+        this.maximo = maximo;
+        this.esperaMs = esperaMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String contrasena) throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection(usuario, contrasena));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene la cantidad máxima de conexiones abiertas al mismo tiempo.
+     *
+     * @return El máximo de conexiones.
+     */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Obtiene la cantidad de conexiones abiertas.
+     *
+     * @return Las conexiones en uso.
+     */
+    public int getEnUso() {
+        return maximo - permisos.availablePermits();
+    }
+
+    /**
+     * Obtiene una estimación de la cantidad de hilos que esperan un permiso.
+     *
+     * @return Los hilos en espera.
+     */
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No se obtuvo una conexión en " + esperaMs
+                        + " ms; las " + maximo + " conexiones están en uso");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Se interrumpió la espera de una conexión", e);
+        }
+    }
+
+    /**
+     * Envuelve una conexión para liberar su permiso al cerrarla. Como lo
+     * permite JDBC, cerrarla de nuevo no tiene efecto.
+     */
+    private Connection envolver(Connection conexion) {
+        AtomicBoolean cerrada = new AtomicBoolean();
+        InvocationHandler manejador = (proxy, metodo, argumentos) -> {
+            if (esCerrar(metodo)) {
+                if (cerrada.compareAndSet(false, true)) {
+                    try {
+                        conexion.close();
+                    } finally {
+                        permisos.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return metodo.invoke(conexion, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, manejador);
+    }
+
+    private static boolean esCerrar(Method metodo) {
+        return metodo.getName().equals("close") && metodo.getParameterCount() == 0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que registra en {@link RegistroSentencias} cada sentencia SQL
+ * que se ejecuta con sus conexiones, tanto las de Hibernate como las de
+ * {@code JdbcTemplate}. Se cuenta cada ejecución, no cada preparación; un
+ * lote de {@code executeBatch} cuenta como una sola sentencia, porque se
+ * envía a la base de datos de una vez.
+ *
+ * Las sentencias solo se envuelven si el hilo que las crea tiene una
+ * medición activa, así que fuera de las solicitudes HTTP, como en las tareas
+ * programadas, las conexiones no agregan trabajo al ejecutar sentencias.
+ */
+public class DataSourceContado extends DelegatingDataSource {
+
+    /**
+     * Constructor que envuelve un DataSource.
+     *
+     * @param destino DataSource que entrega las conexiones.
+     */
+    public DataSourceContado(DataSource destino) {
+        super(destino);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String contrasena) throws SQLException {
+        return envolver(super.getConnection(usuario, contrasena));
+    }
+
+    /**
+     * Envuelve una conexión para que envuelva a su vez las sentencias que
+     * crea mientras hay una medición activa.
+     */
+    private static Connection envolver(Connection conexion) {
+        InvocationHandler manejador = (proxy, metodo, argumentos) -> {
+            Object resultado = invocar(conexion, metodo, argumentos);
+            if (resultado instanceof Statement sentencia && Statement.class.isAssignableFrom(metodo.getReturnType())
+                    && RegistroSentencias.actual() != null) {
+                String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                        ? texto : null;
+                return envolver(sentencia, metodo.getReturnType(), sql);
+            }
+            return resultado;
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, manejador);
+    }
+
+    /**
+     * Envuelve una sentencia para registrar cada ejecución. Las preparadas
+     * registran el texto con el que se crearon; las simples, el que reciben
+     * al ejecutarse o, en un lote, el primero que se agregó.
+     *
+     * @param tipo Interfaz de la sentencia: {@link Statement} o una de sus
+     * subinterfaces.
+     * @param preparada Texto de la sentencia preparada, o null si es simple.
+     */
+    private static Statement envolver(Statement sentencia, Class<?> tipo, String preparada) {
+        String[] lote = new String[1];
+        InvocationHandler manejador = (proxy, metodo, argumentos) -> {
+            String nombre = metodo.getName();
+            boolean conTexto = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String;
+            if (nombre.equals("addBatch") && conTexto && lote[0] == null) {
+                lote[0] = (String) argumentos[0];
+            } else if (nombre.equals("clearBatch")) {
+                lote[0] = null;
+            } else if (nombre.equals("executeBatch") || nombre.equals("executeLargeBatch")) {
+                registrar(preparada != null ? preparada : lote[0]);
+                lote[0] = null;
+            } else if (nombre.startsWith("execute")) {
+                registrar(conTexto ? (String) argumentos[0] : preparada);
+            }
+            return invocar(sentencia, metodo, argumentos);
+        };
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{tipo},
+                manejador);
+    }
+
+    private static void registrar(String sql) {
+        if (sql != null) {
+            RegistroSentencias.registrar(sql);
+        }
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
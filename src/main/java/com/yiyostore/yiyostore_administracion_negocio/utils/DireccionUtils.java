@@ -0,0 +1,114 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Utilidades para normalizar direcciones y calcular su clave canónica, de modo
+ * que variantes de una misma dirección como {@code "Av. Morelos #12-a"} y
+ * {@code "Avenida Morelos 12 A"} tengan la misma clave.
+ */
+public class DireccionUtils {
+
+    /**
+     * Valor normalizado de los números escritos como "S/N" o "sin número".
+     */
+    private static final String SIN_NUMERO = "SN";
+
+    /**
+     * Abreviaturas comunes de tipos de vialidad y su forma completa. Las
+     * claves y los valores ya están normalizados.
+     */
+    private static final Map<String, String> ABREVIATURAS = Map.ofEntries(
+            Map.entry("av", "avenida"),
+            Map.entry("ave", "avenida"),
+            Map.entry("avda", "avenida"),
+            Map.entry("cll", "calle"),
+            Map.entry("blvd", "boulevard"),
+            Map.entry("blv", "boulevard"),
+            Map.entry("bulevar", "boulevard"),
+            Map.entry("calz", "calzada"),
+            Map.entry("cjon", "callejon"),
+            Map.entry("prol", "prolongacion"),
+            Map.entry("priv", "privada"),
+            Map.entry("cda", "cerrada"),
+            Map.entry("cerr", "cerrada"),
+            Map.entry("and", "andador"),
+            Map.entry("carr", "carretera"),
+            Map.entry("gral", "general"),
+            Map.entry("sta", "santa"),
+            Map.entry("sto", "santo"));
+
+    /**
+     * Normaliza el nombre de una calle: quita acentos, mayúsculas y signos de
+     * puntuación, expande las abreviaturas de tipo de vialidad y quita la
+     * palabra "calle" inicial. Por ejemplo, {@code "Av. Gral. Morelos"} se
+     * normaliza como {@code "avenida general morelos"} y {@code "C. Hidalgo"}
+     * como {@code "hidalgo"}.
+     *
+     * @param calle el nombre de la calle.
+     * @return el nombre normalizado, o una cadena vacía si es nulo.
+     */
+    public static String normalizarCalle(String calle) {
+        String[] palabras = TextoUtils.normalizar(calle).split(" ");
+        StringBuilder resultado = new StringBuilder();
+        for (int i = 0; i < palabras.length; i++) {
+            String palabra = ABREVIATURAS.getOrDefault(palabras[i], palabras[i]);
+            // "C" solo es abreviatura de "calle" al inicio; en otra posición
+            // puede ser el nombre de la calle, como en "Calle C".
+            if (i == 0 && (palabra.equals("calle") || palabra.equals("c")) && palabras.length > 1) {
+                continue;
+            }
+            if (!resultado.isEmpty()) {
+                resultado.append(' ');
+            }
+            resultado.append(palabra);
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * Normaliza un número exterior o interior: quita espacios, signos y el
+     * prefijo "No.", y convierte a mayúsculas. Los números escritos como
+     * "S/N" o "sin número" se normalizan como {@value #SIN_NUMERO}. Por
+     * ejemplo, {@code "#12 - a"} se normaliza como {@code "12A"}.
+     *
+     * @param numero el número.
+     * @return el número normalizado, o una cadena vacía si es nulo.
+     */
+    public static String normalizarNumero(String numero) {
+        String texto = TextoUtils.normalizar(numero);
+        if (texto.equals("s n") || texto.equals("sn") || texto.equals("sin numero")) {
+            return SIN_NUMERO;
+        }
+        if (texto.startsWith("no ") || texto.startsWith("num ")) {
+            texto = texto.substring(texto.indexOf(' ') + 1);
+        }
+        return texto.replace(" ", "").toUpperCase();
+    }
+
+    /**
+     * Calcula la clave canónica de una dirección: el SHA-256, en hexadecimal,
+     * de la calle y los números normalizados junto con el ID de la colonia.
+     * Las referencias y las entre calles no forman parte de la clave.
+     *
+     * @param calle el nombre de la calle.
+     * @param numeroExterior el número exterior.
+     * @param numeroInterior el número interior.
+     * @param coloniaId el ID de la colonia.
+     * @return la clave canónica, de 64 caracteres.
+     */
+    public static String claveCanonica(String calle, String numeroExterior, String numeroInterior, Long coloniaId) {
+        String clave = normalizarCalle(calle) + '|' + normalizarNumero(numeroExterior) + '|'
+                + normalizarNumero(numeroInterior) + '|' + coloniaId;
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(clave.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice en memoria para autocompletar por prefijo sobre un texto de cada
+ * elemento, como el nombre de una colonia o de un cliente.
+ *
+ * Los textos se normalizan con {@link TextoUtils#normalizar(String)} y se
+ * indexa cada sufijo que empieza en una palabra, de modo que
+ * {@code "ampliacion los angeles"} se encuentra con {@code "amp"},
+ * {@code "los an"} o {@code "ang"}. Los sufijos se representan como pares
+ * (elemento, desplazamiento) empacados en un {@code long[]} ordenado, sin crear
+ * una cadena por sufijo; una búsqueda es una búsqueda binaria seguida de un
+ * recorrido acotado por {@link #MAXIMO_ESCANEO}.
+ *
+ * Los resultados se ordenan así: coincidencia exacta, luego textos que empiezan
+ * con la consulta, luego textos con una palabra que empieza con la consulta; a
+ * igual tipo de coincidencia, primero el texto más corto y después en orden
+ * alfabético.
+ *
+ * Las consultas leen una instantánea inmutable y no se bloquean. Las
+ * escrituras crean una nueva instantánea a partir de la anterior (copia en
+ * escritura) y se serializan entre sí; cada una cuesta O(n), por lo que el
+ * índice está pensado para catálogos con muchas más lecturas que escrituras.
+ * Los cambios de muchos elementos, como los de todas las colonias de una
+ * ciudad, deben hacerse con {@link #agregarTodos(Collection)} y
+ * {@link #quitarTodos(Collection)}, que crean una sola instantánea.
+ *
+ * @param <T> Tipo de los elementos indexados.
+ */
+public class IndicePrefijos<T> {
+
+    /**
+     * Cantidad máxima de sufijos que se revisan por consulta. Acota el tiempo
+     * de respuesta de prefijos muy cortos, a cambio de que la clasificación se
+     * haga solo entre los primeros sufijos en orden alfabético.
+     */
+    private static final int MAXIMO_ESCANEO = 2000;
+
+    private static final int TIPO_EXACTA = 0;
+    private static final int TIPO_PREFIJO = 1;
+    private static final int TIPO_PALABRA = 2;
+
+    private final ToLongFunction<T> idDe;
+    private final Function<T, String> textoDe;
+
+    private volatile Instantanea instantanea = new Instantanea(new Object[0], new String[0], new long[0], Map.of());
+
+    /**
+     * Crea un índice vacío.
+     *
+     * @param idDe Función que obtiene el identificador único de un elemento.
+     * @param textoDe Función que obtiene el texto que se indexa de un
+     * elemento.
+     */
+    public IndicePrefijos(ToLongFunction<T> idDe, Function<T, String> textoDe) {
+        this.idDe = idDe;
+        this.textoDe = textoDe;
+    }
+
+    /**
+     * Reemplaza el contenido del índice con los elementos indicados.
+     *
+     * @param elementos Los elementos a indexar.
+     */
+    public synchronized void cargar(Collection<T> elementos) {
+        Map<Long, T> porId = new HashMap<>(elementos.size() * 2);
+        for (T elemento : elementos) {
+            // Un ID repetido conserva el último elemento.
+            porId.put(idDe.applyAsLong(elemento), elemento);
+        }
+
+        // Las posiciones se asignan en orden alfabético para que los sufijos
+        // iniciales, que son los más consultados, queden contiguos en memoria.
+        List<Map.Entry<String, T>> normalizados = new ArrayList<>(porId.size());
+        porId.values().forEach(elemento -> normalizados.add(
+                Map.entry(TextoUtils.normalizar(textoDe.apply(elemento)), elemento)));
+        normalizados.sort(Map.Entry.<String, T>comparingByKey());
+
+        Object[] nuevosElementos = new Object[normalizados.size()];
+        String[] textos = new String[normalizados.size()];
+        Map<Long, Integer> posiciones = new HashMap<>(normalizados.size() * 2);
+        int cantidadSufijos = 0;
+        for (int i = 0; i < normalizados.size(); i++) {
+            nuevosElementos[i] = normalizados.get(i).getValue();
+            textos[i] = normalizados.get(i).getKey();
+            posiciones.put(idDe.applyAsLong(normalizados.get(i).getValue()), i);
+            cantidadSufijos += contarPalabras(textos[i]);
+        }
+
+        long[] entradas = new long[cantidadSufijos];
+        int n = 0;
+        for (int posicion = 0; posicion < nuevosElementos.length; posicion++) {
+            n = agregarSufijos(entradas, n, posicion, textos[posicion]);
+        }
+        ordenar(entradas, textos);
+        instantanea = new Instantanea(nuevosElementos, textos, entradas, posiciones);
+    }
+
+    /**
+     * Agrega un elemento al índice, o reemplaza el que tenga su mismo
+     * identificador.
+     *
+     * @param elemento El elemento a agregar.
+     */
+    public void agregar(T elemento) {
+        agregarTodos(List.of(elemento));
+    }
+
+    /**
+     * Agrega varios elementos al índice, o reemplaza los que tengan su mismo
+     * identificador, creando una sola instantánea nueva.
+     *
+     * @param nuevos Los elementos a agregar. Un ID repetido conserva el
+     * último elemento.
+     */
+    public synchronized void agregarTodos(Collection<T> nuevos) {
+        if (nuevos.isEmpty()) {
+            return;
+        }
+        Instantanea actual = instantanea;
+        Map<Long, T> porId = new LinkedHashMap<>(nuevos.size() * 2);
+        for (T elemento : nuevos) {
+            porId.put(idDe.applyAsLong(elemento), elemento);
+        }
+        int agregados = 0;
+        for (Long id : porId.keySet()) {
+            if (!actual.posiciones().containsKey(id)) {
+                agregados++;
+            }
+        }
+
+        int siguiente = actual.elementos().length;
+        Object[] elementos = Arrays.copyOf(actual.elementos(), siguiente + agregados);
+        String[] textos = Arrays.copyOf(actual.textos(), elementos.length);
+        boolean[] reemplazadas = new boolean[siguiente];
+        Map<Long, Integer> posiciones = new HashMap<>(actual.posiciones());
+        int[] tocadas = new int[porId.size()];
+        int cantidadSufijos = 0;
+        int t = 0;
+        for (Map.Entry<Long, T> nuevo : porId.entrySet()) {
+            Integer posicion = posiciones.get(nuevo.getKey());
+            if (posicion == null) {
+                posicion = siguiente++;
+                posiciones.put(nuevo.getKey(), posicion);
+            } else {
+                reemplazadas[posicion] = true;
+            }
+            elementos[posicion] = nuevo.getValue();
+            textos[posicion] = TextoUtils.normalizar(textoDe.apply(nuevo.getValue()));
+            cantidadSufijos += contarPalabras(textos[posicion]);
+            tocadas[t++] = posicion;
+        }
+
+        long[] nuevas = new long[cantidadSufijos];
+        int n = 0;
+        for (int posicion : tocadas) {
+            n = agregarSufijos(nuevas, n, posicion, textos[posicion]);
+        }
+        ordenar(nuevas, textos);
+        long[] entradas = mezclar(actual.entradas(), reemplazadas, actual.textos(), nuevas, textos);
+        instantanea = new Instantanea(elementos, textos, entradas, posiciones);
+    }
+
+    /**
+     * Quita un elemento del índice.
+     *
+     * @param id Identificador del elemento.
+     */
+    public void quitar(long id) {
+        quitarTodos(List.of(id));
+    }
+
+    /**
+     * Quita varios elementos del índice creando una sola instantánea nueva.
+     * Las posiciones que quedan libres no se reutilizan; cuando son más que
+     * las ocupadas, la instantánea se compacta.
+     *
+     * @param ids Identificadores de los elementos. Los que no están en el
+     * índice se ignoran.
+     */
+    public synchronized void quitarTodos(Collection<Long> ids) {
+        Instantanea actual = instantanea;
+        Object[] elementos = null;
+        boolean[] quitadas = null;
+        Map<Long, Integer> posiciones = null;
+        for (Long id : ids) {
+            Integer posicion = actual.posiciones().get(id);
+            if (posicion == null || (quitadas != null && quitadas[posicion])) {
+                continue;
+            }
+            if (elementos == null) {
+                elementos = actual.elementos().clone();
+                quitadas = new boolean[elementos.length];
+                posiciones = new HashMap<>(actual.posiciones());
+            }
+            elementos[posicion] = null;
+            quitadas[posicion] = true;
+            posiciones.remove(id);
+        }
+        if (elementos == null) {
+            return;
+        }
+        long[] entradas = mezclar(actual.entradas(), quitadas, actual.textos(), new long[0], actual.textos());
+        Instantanea nueva = new Instantanea(elementos, actual.textos(), entradas, posiciones);
+        instantanea = posiciones.size() < elementos.length - posiciones.size() ? compactar(nueva) : nueva;
+    }
+
+    /**
+     * Crea una instantánea sin posiciones libres. Las posiciones ocupadas
+     * conservan su orden relativo, por lo que las entradas siguen ordenadas
+     * y solo se renumeran, sin volver a normalizar ni ordenar los textos.
+     */
+    private static Instantanea compactar(Instantanea actual) {
+        Object[] anteriores = actual.elementos();
+        int[] nuevaPosicion = new int[anteriores.length];
+        Object[] elementos = new Object[actual.posiciones().size()];
+        String[] textos = new String[elementos.length];
+        int ocupadas = 0;
+        for (int posicion = 0; posicion < anteriores.length; posicion++) {
+            if (anteriores[posicion] != null) {
+                nuevaPosicion[posicion] = ocupadas;
+                elementos[ocupadas] = anteriores[posicion];
+                textos[ocupadas] = actual.textos()[posicion];
+                ocupadas++;
+            }
+        }
+        long[] entradas = actual.entradas().clone();
+        for (int i = 0; i < entradas.length; i++) {
+            entradas[i] = ((long) nuevaPosicion[posicion(entradas[i])] << 32) | desplazamiento(entradas[i]);
+        }
+        Map<Long, Integer> posiciones = new HashMap<>(actual.posiciones().size() * 2);
+        actual.posiciones().forEach((id, posicion) -> posiciones.put(id, nuevaPosicion[posicion]));
+        return new Instantanea(elementos, textos, entradas, posiciones);
+    }
+
+    /**
+     * Obtiene la cantidad de elementos indexados.
+     *
+     * @return La cantidad de elementos.
+     */
+    public int tamano() {
+        return instantanea.posiciones().size();
+    }
+
+    /**
+     * Busca los elementos cuyo texto, o alguna de sus palabras, empieza con la
+     * consulta, ignorando mayúsculas, acentos y signos de puntuación. Los
+     * mejores resultados se seleccionan con un montículo acotado al límite,
+     * sin ordenar todos los candidatos.
+     *
+     * @param consulta El texto a buscar.
+     * @param limite Cantidad máxima de resultados.
+     * @return Los mejores elementos, ordenados por relevancia.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> buscar(String consulta, int limite) {
+        String prefijo = TextoUtils.normalizar(consulta);
+        if (prefijo.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Instantanea actual = instantanea;
+        long[] entradas = actual.entradas();
+        String[] textos = actual.textos();
+
+        // El peor candidato seleccionado queda en la cabeza del montículo.
+        Comparator<Candidato> orden = Comparator.comparingInt(Candidato::tipo)
+                .thenComparingInt(c -> textos[c.posicion()].length())
+                .thenComparing(c -> textos[c.posicion()])
+                .thenComparingInt(Candidato::posicion);
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(limite + 1, orden.reversed());
+
+        int inicio = primeraMayorOIgual(actual, prefijo);
+        int fin = Math.min(entradas.length, inicio + MAXIMO_ESCANEO);
+        for (int i = inicio; i < fin; i++) {
+            int posicion = posicion(entradas[i]);
+            int desplazamiento = desplazamiento(entradas[i]);
+            String texto = textos[posicion];
+            if (!texto.startsWith(prefijo, desplazamiento)) {
+                break;
+            }
+            int tipo = desplazamiento > 0 ? TIPO_PALABRA
+                    : texto.length() == prefijo.length() ? TIPO_EXACTA : TIPO_PREFIJO;
+
+            if (mejores.size() == limite) {
+                Candidato peor = mejores.peek();
+                int comparacion = tipo != peor.tipo() ? Integer.compare(tipo, peor.tipo())
+                        : Integer.compare(texto.length(), textos[peor.posicion()].length());
+                if (comparacion > 0) {
+                    continue;
+                }
+            }
+            Candidato candidato = new Candidato(posicion, tipo);
+            Candidato repetido = buscarPosicion(mejores, posicion);
+            if (repetido != null) {
+                if (orden.compare(candidato, repetido) >= 0) {
+                    continue;
+                }
+                mejores.remove(repetido);
+            }
+            mejores.add(candidato);
+            if (mejores.size() > limite) {
+                mejores.poll();
+            }
+        }
+
+        Candidato[] seleccionados = mejores.toArray(Candidato[]::new);
+        Arrays.sort(seleccionados, orden);
+        List<T> resultado = new ArrayList<>(seleccionados.length);
+        for (Candidato candidato : seleccionados) {
+            resultado.add((T) actual.elementos()[candidato.posicion()]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca entre los candidatos seleccionados el de una posición. El
+     * montículo tiene a lo más tantos elementos como el límite de resultados,
+     * por lo que un recorrido lineal es suficiente.
+     */
+    private static Candidato buscarPosicion(PriorityQueue<Candidato> candidatos, int posicion) {
+        for (Candidato candidato : candidatos) {
+            if (candidato.posicion() == posicion) {
+                return candidato;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene la posición de la primera entrada cuyo sufijo es mayor o igual
+     * que el prefijo.
+     */
+    private static int primeraMayorOIgual(Instantanea actual, String prefijo) {
+        long[] entradas = actual.entradas();
+        int bajo = 0;
+        int alto = entradas.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            String texto = actual.textos()[posicion(entradas[medio])];
+            if (compararRegion(texto, desplazamiento(entradas[medio]), prefijo, 0) < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Mezcla dos arreglos ordenados de entradas, descartando las del primero
+     * que pertenecen a las posiciones marcadas.
+     */
+    private static long[] mezclar(long[] existentes, boolean[] descartadas, String[] textosExistentes,
+            long[] nuevas, String[] textosNuevos) {
+        long[] resultado = new long[existentes.length + nuevas.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < existentes.length || j < nuevas.length) {
+            if (i < existentes.length && descartadas[posicion(existentes[i])]) {
+                i++;
+            } else if (j >= nuevas.length || (i < existentes.length
+                    && comparar(existentes[i], textosExistentes, nuevas[j], textosNuevos) <= 0)) {
+                resultado[n++] = existentes[i++];
+            } else {
+                resultado[n++] = nuevas[j++];
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    /**
+     * Ordena las entradas por su sufijo.
+     */
+    private static void ordenar(long[] entradas, String[] textos) {
+        Long[] cajas = new Long[entradas.length];
+        for (int i = 0; i < entradas.length; i++) {
+            cajas[i] = entradas[i];
+        }
+        Arrays.sort(cajas, (a, b) -> comparar(a, textos, b, textos));
+        for (int i = 0; i < entradas.length; i++) {
+            entradas[i] = cajas[i];
+        }
+    }
+
+    private static int comparar(long a, String[] textosA, long b, String[] textosB) {
+        int resultado = compararRegion(textosA[posicion(a)], desplazamiento(a), textosB[posicion(b)], desplazamiento(b));
+        return resultado != 0 ? resultado : Integer.compare(posicion(a), posicion(b));
+    }
+
+    /**
+     * Compara lexicográficamente dos textos a partir de los desplazamientos
+     * indicados, sin crear subcadenas.
+     */
+    private static int compararRegion(String a, int desdeA, String b, int desdeB) {
+        int largoA = a.length() - desdeA;
+        int largoB = b.length() - desdeB;
+        int minimo = Math.min(largoA, largoB);
+        for (int k = 0; k < minimo; k++) {
+            int diferencia = a.charAt(desdeA + k) - b.charAt(desdeB + k);
+            if (diferencia != 0) {
+                return diferencia;
+            }
+        }
+        return largoA - largoB;
+    }
+
+    private static int agregarSufijos(long[] entradas, int n, int posicion, String texto) {
+        for (int k = 0; k < texto.length(); k++) {
+            if (k == 0 || texto.charAt(k - 1) == ' ') {
+                entradas[n++] = ((long) posicion << 32) | k;
+            }
+        }
+        return n;
+    }
+
+    private static int contarPalabras(String texto) {
+        if (texto.isEmpty()) {
+            return 0;
+        }
+        int palabras = 1;
+        for (int k = 0; k < texto.length(); k++) {
+            if (texto.charAt(k) == ' ') {
+                palabras++;
+            }
+        }
+        return palabras;
+    }
+
+    private static int posicion(long entrada) {
+        return (int) (entrada >>> 32);
+    }
+
+    private static int desplazamiento(long entrada) {
+        return (int) entrada;
+    }
+
+    /**
+     * Contenido inmutable del índice en un momento dado.
+     *
+     * @param elementos Elementos por posición; nulo si la posición quedó libre.
+     * @param textos Texto normalizado de cada posición.
+     * @param entradas Sufijos ordenados, empacados como (posición,
+     * desplazamiento).
+     * @param posiciones Posición de cada elemento por su identificador.
+     */
+    private record Instantanea(Object[] elementos, String[] textos, long[] entradas, Map<Long, Integer> posiciones) {}
+
+    /**
+     * Elemento candidato a resultado de una búsqueda.
+     *
+     * @param posicion Posición del elemento en la instantánea.
+     * @param tipo Tipo de coincidencia; menor es mejor.
+     */
+    private record Candidato(int posicion, int tipo) {}
+}
@@ -0,0 +1,357 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice en memoria para búsquedas tolerantes a errores de escritura sobre un
+ * texto de cada elemento, como el nombre de una colonia o de una calle.
+ *
+ * Los textos se normalizan con {@link TextoUtils#normalizar(String)} y se
+ * descomponen en trigramas (secuencias de tres caracteres, con un espacio al
+ * inicio y al final del texto). La similitud entre la consulta y un texto es
+ * el coeficiente de Jaccard de sus trigramas: los compartidos entre el total
+ * de trigramas distintos de ambos. Así, {@code "cuahutemoc"} encuentra
+ * {@code "Cuauhtémoc"} aunque ningún prefijo coincida.
+ *
+ * Cada trigrama tiene una lista ordenada de las posiciones de los textos que
+ * lo contienen. Una búsqueda recorre primero las listas más cortas y solo
+ * admite candidatos nuevos mientras todavía podrían alcanzar la similitud
+ * mínima; las listas restantes, que son las de trigramas comunes, solo se
+ * consultan con búsqueda binaria para los candidatos ya admitidos. Además, cada
+ * búsqueda tiene un presupuesto de tiempo: al agotarse se devuelven los mejores
+ * resultados encontrados hasta ese momento.
+ *
+ * Como en {@link IndicePrefijos}, las consultas leen una instantánea inmutable
+ * y las escrituras crean una nueva (copia en escritura). Un elemento quitado o
+ * reemplazado deja su posición libre hasta la siguiente carga completa.
+ *
+ * @param <T> Tipo de los elementos indexados.
+ */
+public class IndiceTrigramas<T> {
+
+    private final ToLongFunction<T> idDe;
+    private final Function<T, String> textoDe;
+
+    private volatile Instantanea instantanea = new Instantanea(new Object[0], new String[0], new int[0], Map.of(), Map.of());
+
+    /**
+     * Elemento encontrado por una búsqueda, con su similitud.
+     *
+     * @param elemento El elemento encontrado.
+     * @param similitud Similitud entre 0 y 1 con la consulta.
+     * @param <T> Tipo de los elementos indexados.
+     */
+    public record Coincidencia<T>(T elemento, double similitud) {}
+
+    /**
+     * Crea un índice vacío.
+     *
+     * @param idDe Función que obtiene el identificador único de un elemento.
+     * @param textoDe Función que obtiene el texto que se indexa de un
+     * elemento.
+     */
+    public IndiceTrigramas(ToLongFunction<T> idDe, Function<T, String> textoDe) {
+        this.idDe = idDe;
+        this.textoDe = textoDe;
+    }
+
+    /**
+     * Reemplaza el contenido del índice con los elementos indicados.
+     *
+     * @param elementos Los elementos a indexar.
+     */
+    public synchronized void cargar(Collection<T> elementos) {
+        Map<Long, T> porId = new HashMap<>(elementos.size() * 2);
+        for (T elemento : elementos) {
+            // Un ID repetido conserva el último elemento.
+            porId.put(idDe.applyAsLong(elemento), elemento);
+        }
+
+        Object[] nuevosElementos = new Object[porId.size()];
+        String[] textos = new String[porId.size()];
+        int[] cantidadTrigramas = new int[porId.size()];
+        Map<Long, Integer> posiciones = new HashMap<>(porId.size() * 2);
+        Map<Long, int[]> listas = new HashMap<>();
+        Map<Long, Integer> largos = new HashMap<>();
+        int posicion = 0;
+        for (T elemento : porId.values()) {
+            nuevosElementos[posicion] = elemento;
+            textos[posicion] = TextoUtils.normalizar(textoDe.apply(elemento));
+            posiciones.put(idDe.applyAsLong(elemento), posicion);
+            long[] trigramas = trigramas(textos[posicion]);
+            cantidadTrigramas[posicion] = trigramas.length;
+            for (long trigrama : trigramas) {
+                int largo = largos.getOrDefault(trigrama, 0);
+                int[] lista = listas.get(trigrama);
+                if (lista == null || lista.length == largo) {
+                    lista = Arrays.copyOf(lista != null ? lista : new int[0], Math.max(4, largo * 2));
+                    listas.put(trigrama, lista);
+                }
+                lista[largo] = posicion;
+                largos.put(trigrama, largo + 1);
+            }
+            posicion++;
+        }
+        // Las posiciones se agregan en orden, por lo que cada lista ya está
+        // ordenada; solo se recorta su capacidad sobrante.
+        listas.replaceAll((trigrama, lista) -> Arrays.copyOf(lista, largos.get(trigrama)));
+        instantanea = new Instantanea(nuevosElementos, textos, cantidadTrigramas, listas, posiciones);
+    }
+
+    /**
+     * Agrega un elemento al índice, o reemplaza el que tenga su mismo
+     * identificador.
+     *
+     * @param elemento El elemento a agregar.
+     */
+    public synchronized void agregar(T elemento) {
+        Instantanea actual = quitarDe(instantanea, idDe.applyAsLong(elemento));
+        int posicion = actual.elementos().length;
+
+        Object[] elementos = Arrays.copyOf(actual.elementos(), posicion + 1);
+        String[] textos = Arrays.copyOf(actual.textos(), posicion + 1);
+        int[] cantidadTrigramas = Arrays.copyOf(actual.cantidadTrigramas(), posicion + 1);
+        elementos[posicion] = elemento;
+        textos[posicion] = TextoUtils.normalizar(textoDe.apply(elemento));
+        long[] trigramas = trigramas(textos[posicion]);
+        cantidadTrigramas[posicion] = trigramas.length;
+
+        Map<Long, int[]> listas = new HashMap<>(actual.listas());
+        for (long trigrama : trigramas) {
+            int[] lista = listas.getOrDefault(trigrama, new int[0]);
+            int[] nueva = Arrays.copyOf(lista, lista.length + 1);
+            nueva[lista.length] = posicion;
+            listas.put(trigrama, nueva);
+        }
+        Map<Long, Integer> posiciones = new HashMap<>(actual.posiciones());
+        posiciones.put(idDe.applyAsLong(elemento), posicion);
+        instantanea = new Instantanea(elementos, textos, cantidadTrigramas, listas, posiciones);
+    }
+
+    /**
+     * Quita un elemento del índice.
+     *
+     * @param id Identificador del elemento.
+     */
+    public synchronized void quitar(long id) {
+        instantanea = quitarDe(instantanea, id);
+    }
+
+    /**
+     * Obtiene la cantidad de elementos indexados.
+     *
+     * @return La cantidad de elementos.
+     */
+    public int tamano() {
+        return instantanea.posiciones().size();
+    }
+
+    /**
+     * Busca los elementos cuyo texto es más parecido a la consulta, ignorando
+     * mayúsculas, acentos y signos de puntuación.
+     *
+     * @param consulta El texto a buscar.
+     * @param limite Cantidad máxima de resultados.
+     * @param similitudMinima Similitud mínima, entre 0 y 1, de los resultados.
+     * Debe ser mayor que 0.
+     * @param presupuestoNanos Tiempo máximo de la búsqueda en nanosegundos.
+     * @return Los mejores elementos, de mayor a menor similitud; a igual
+     * similitud, primero el texto más corto y después en orden alfabético.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Coincidencia<T>> buscar(String consulta, int limite, double similitudMinima, long presupuestoNanos) {
+        long limiteTiempo = System.nanoTime() + presupuestoNanos;
+        long[] trigramas = trigramas(TextoUtils.normalizar(consulta));
+        if (trigramas.length == 0 || limite <= 0) {
+            return List.of();
+        }
+        Instantanea actual = instantanea;
+        int[][] listas = new int[trigramas.length][];
+        for (int i = 0; i < trigramas.length; i++) {
+            listas[i] = actual.listas().getOrDefault(trigramas[i], new int[0]);
+        }
+        Arrays.sort(listas, Comparator.comparingInt(lista -> lista.length));
+
+        // Un texto que no aparece en las primeras "admision" listas comparte a
+        // lo más ceil(similitudMinima * n) - 1 trigramas con la consulta, por
+        // lo que no puede alcanzar la similitud mínima.
+        int admision = trigramas.length - (int) Math.ceil(similitudMinima * trigramas.length) + 1;
+        admision = Math.max(1, Math.min(trigramas.length, admision));
+        Candidatos candidatos = admitir(listas, admision, limiteTiempo);
+        for (int i = admision; i < listas.length && System.nanoTime() < limiteTiempo; i++) {
+            candidatos.contar(listas[i]);
+        }
+
+        String[] textos = actual.textos();
+        Comparator<Candidato> orden = Comparator.comparingDouble(Candidato::similitud).reversed()
+                .thenComparingInt(c -> textos[c.posicion()].length())
+                .thenComparing(c -> textos[c.posicion()])
+                .thenComparingInt(Candidato::posicion);
+        // El peor candidato seleccionado queda en la cabeza del montículo.
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(limite + 1, orden.reversed());
+        for (int i = 0; i < candidatos.cantidad; i++) {
+            int posicion = candidatos.posiciones[i];
+            if (actual.elementos()[posicion] == null) {
+                continue;
+            }
+            int compartidos = candidatos.cuentas[i];
+            double similitud = (double) compartidos
+                    / (trigramas.length + actual.cantidadTrigramas()[posicion] - compartidos);
+            if (similitud < similitudMinima) {
+                continue;
+            }
+            mejores.add(new Candidato(posicion, similitud));
+            if (mejores.size() > limite) {
+                mejores.poll();
+            }
+        }
+
+        Candidato[] seleccionados = mejores.toArray(Candidato[]::new);
+        Arrays.sort(seleccionados, orden);
+        List<Coincidencia<T>> resultado = new ArrayList<>(seleccionados.length);
+        for (Candidato candidato : seleccionados) {
+            resultado.add(new Coincidencia<>((T) actual.elementos()[candidato.posicion()], candidato.similitud()));
+        }
+        return resultado;
+    }
+
+    /**
+     * Junta las posiciones de las primeras listas en un arreglo ordenado de
+     * candidatos, con la cantidad de listas en que aparece cada uno. Si se
+     * agota el tiempo, se conservan los candidatos de las listas ya
+     * recorridas.
+     */
+    private static Candidatos admitir(int[][] listas, int admision, long limiteTiempo) {
+        int total = 0;
+        int recorridas = 0;
+        while (recorridas < admision && (recorridas == 0 || System.nanoTime() < limiteTiempo)) {
+            total += listas[recorridas].length;
+            recorridas++;
+        }
+        int[] todas = new int[total];
+        int n = 0;
+        for (int i = 0; i < recorridas; i++) {
+            System.arraycopy(listas[i], 0, todas, n, listas[i].length);
+            n += listas[i].length;
+        }
+        Arrays.sort(todas);
+
+        Candidatos candidatos = new Candidatos(todas.length);
+        for (int i = 0; i < todas.length; i++) {
+            if (i > 0 && todas[i] == todas[i - 1]) {
+                candidatos.cuentas[candidatos.cantidad - 1]++;
+            } else {
+                candidatos.posiciones[candidatos.cantidad] = todas[i];
+                candidatos.cuentas[candidatos.cantidad] = 1;
+                candidatos.cantidad++;
+            }
+        }
+        return candidatos;
+    }
+
+    /**
+     * Crea una instantánea sin el elemento indicado. Su posición queda libre y
+     * sus trigramas se conservan en las listas; las búsquedas ignoran las
+     * posiciones libres.
+     */
+    private static Instantanea quitarDe(Instantanea actual, long id) {
+        Integer posicion = actual.posiciones().get(id);
+        if (posicion == null) {
+            return actual;
+        }
+        Object[] elementos = actual.elementos().clone();
+        elementos[posicion] = null;
+        Map<Long, Integer> posiciones = new HashMap<>(actual.posiciones());
+        posiciones.remove(id);
+        return new Instantanea(elementos, actual.textos(), actual.cantidadTrigramas(), actual.listas(), posiciones);
+    }
+
+    /**
+     * Obtiene los trigramas distintos de un texto normalizado, con un espacio
+     * agregado al inicio y al final. Cada trigrama se empaca en un
+     * {@code long} con sus tres caracteres.
+     *
+     * @return Los trigramas ordenados y sin repetir; vacío si el texto es
+     * vacío.
+     */
+    private static long[] trigramas(String texto) {
+        if (texto.isEmpty()) {
+            return new long[0];
+        }
+        String relleno = " " + texto + " ";
+        long[] trigramas = new long[relleno.length() - 2];
+        for (int i = 0; i < trigramas.length; i++) {
+            trigramas[i] = ((long) relleno.charAt(i) << 32) | ((long) relleno.charAt(i + 1) << 16) | relleno.charAt(i + 2);
+        }
+        Arrays.sort(trigramas);
+        int n = 0;
+        for (int i = 0; i < trigramas.length; i++) {
+            if (i == 0 || trigramas[i] != trigramas[i - 1]) {
+                trigramas[n++] = trigramas[i];
+            }
+        }
+        return Arrays.copyOf(trigramas, n);
+    }
+
+    /**
+     * Candidatos admitidos en una búsqueda, ordenados por posición, con la
+     * cantidad de trigramas de la consulta que comparten.
+     */
+    private static class Candidatos {
+
+        final int[] posiciones;
+        final int[] cuentas;
+        int cantidad;
+
+        Candidatos(int capacidad) {
+            posiciones = new int[capacidad];
+            cuentas = new int[capacidad];
+        }
+
+        /**
+         * Suma uno a los candidatos que aparecen en la lista.
+         */
+        void contar(int[] lista) {
+            int desde = 0;
+            for (int i = 0; i < cantidad && desde < lista.length; i++) {
+                int encontrada = Arrays.binarySearch(lista, desde, lista.length, posiciones[i]);
+                if (encontrada >= 0) {
+                    cuentas[i]++;
+                    desde = encontrada + 1;
+                } else {
+                    desde = -encontrada - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Contenido inmutable del índice en un momento dado.
+     *
+     * @param elementos Elementos por posición; nulo si la posición quedó libre.
+     * @param textos Texto normalizado de cada posición.
+     * @param cantidadTrigramas Cantidad de trigramas distintos de cada
+     * posición.
+     * @param listas Posiciones ordenadas que contienen cada trigrama.
+     * @param posiciones Posición de cada elemento por su identificador.
+     */
+    private record Instantanea(Object[] elementos, String[] textos, int[] cantidadTrigramas, Map<Long, int[]> listas,
+            Map<Long, Integer> posiciones) {}
+
+    /**
+     * Elemento candidato a resultado de una búsqueda.
+     *
+     * @param posicion Posición del elemento en la instantánea.
+     * @param similitud Similitud con la consulta.
+     */
+    private record Candidato(int posicion, double similitud) {}
+}
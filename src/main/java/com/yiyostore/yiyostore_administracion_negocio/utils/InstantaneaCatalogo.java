@@ -0,0 +1,309 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Instantánea binaria del catálogo geográfico (ciudades y colonias) en un
+ * archivo local, que se mapea en memoria para atender consultas sin pasar por
+ * la base de datos.
+ *
+ * El archivo tiene un encabezado con la versión del catálogo con la que se
+ * generó, seguido de registros de tamaño fijo para las ciudades (en el orden
+ * en que se listan, con su nombre y su estado), un índice de las ciudades ordenado por ID, los registros
+ * de las colonias ordenados por ID y, al final, las cadenas en UTF-8 sin
+ * repetir. Los registros guardan la posición de sus cadenas, por lo que una
+ * búsqueda por ID solo decodifica las cadenas del registro encontrado.
+ *
+ * Las lecturas usan solo accesos absolutos al buffer, por lo que una
+ * instancia puede consultarse desde varios hilos a la vez.
+ */
+public class InstantaneaCatalogo {
+
+    /**
+     * Primeros bytes del archivo ("YGEO").
+     */
+    private static final int MAGICO = 0x5947454F;
+
+    /**
+     * Versión del formato del archivo; cambia si cambia la estructura.
+     */
+    private static final int FORMATO = 3;
+
+    private static final int LARGO_ENCABEZADO = 24;
+    private static final int LARGO_CIUDAD = 20;
+
+    /**
+     * Posición de cadena que indica que una ciudad no tiene estado.
+     */
+    private static final int SIN_CADENA = -1;
+    private static final int LARGO_COLONIA = 20;
+
+    /**
+     * Colonia del catálogo con los campos que se guardan en la instantánea.
+     *
+     * @param id ID de la colonia.
+     * @param codigoPostal Código postal de la colonia.
+     * @param nombre Nombre de la colonia.
+     * @param ciudadId ID de la ciudad de la colonia.
+     */
+    public record RegistroColonia(
+            long id,
+            int codigoPostal,
+            String nombre,
+            long ciudadId
+    ) {}
+
+    private final MappedByteBuffer datos;
+    private final long version;
+    private final int cantidadCiudades;
+    private final int cantidadColonias;
+    private final int inicioIndiceCiudades;
+    private final int inicioColonias;
+    private final int inicioCadenas;
+
+    private InstantaneaCatalogo(MappedByteBuffer datos, long version, int cantidadCiudades, int cantidadColonias) {
+        this.datos = datos;
+        this.version = version;
+        this.cantidadCiudades = cantidadCiudades;
+        this.cantidadColonias = cantidadColonias;
+        this.inicioIndiceCiudades = LARGO_ENCABEZADO + cantidadCiudades * LARGO_CIUDAD;
+        this.inicioColonias = inicioIndiceCiudades + cantidadCiudades * Integer.BYTES;
+        this.inicioCadenas = inicioColonias + cantidadColonias * LARGO_COLONIA;
+    }
+
+    /**
+     * Escribe una instantánea del catálogo. El archivo se escribe primero con
+     * otro nombre y luego se reemplaza de forma atómica, de modo que quien
+     * tenga mapeado el archivo anterior puede seguir leyéndolo.
+     *
+     * @param archivo Ruta del archivo.
+     * @param version Versión del catálogo con la que se generó la instantánea.
+     * @param ciudades Ciudades, en el orden en que se deben listar.
+     * @param colonias Colonias, en cualquier orden. Su ciudad debe estar en la
+     * lista de ciudades.
+     * @throws IOException si el archivo no se puede escribir.
+     * @throws IllegalArgumentException si una colonia pertenece a una ciudad
+     * que no está en la lista.
+     */
+    public static void escribir(Path archivo, long version, List<CiudadResumenDTO> ciudades,
+            List<RegistroColonia> colonias) throws IOException {
+        Map<Long, Integer> posicionCiudad = new HashMap<>(ciudades.size() * 2);
+        for (int i = 0; i < ciudades.size(); i++) {
+            posicionCiudad.put(ciudades.get(i).id(), i);
+        }
+        Integer[] indiceCiudades = new Integer[ciudades.size()];
+        Arrays.setAll(indiceCiudades, i -> i);
+        Arrays.sort(indiceCiudades, Comparator.comparingLong(i -> ciudades.get(i).id()));
+        RegistroColonia[] ordenadas = colonias.toArray(RegistroColonia[]::new);
+        Arrays.sort(ordenadas, Comparator.comparingLong(RegistroColonia::id));
+
+        TablaCadenas cadenas = new TablaCadenas();
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(FORMATO);
+            salida.writeLong(version);
+            salida.writeInt(ciudades.size());
+            salida.writeInt(ordenadas.length);
+            for (CiudadResumenDTO ciudad : ciudades) {
+                salida.writeLong(ciudad.id());
+                salida.writeInt(cadenas.posicion(ciudad.nombre()));
+                salida.writeInt(ciudad.estado() != null ? cadenas.posicion(ciudad.estado()) : SIN_CADENA);
+                salida.writeInt((int) ciudad.cantidadColonias());
+            }
+            for (Integer posicion : indiceCiudades) {
+                salida.writeInt(posicion);
+            }
+            for (RegistroColonia colonia : ordenadas) {
+                Integer ciudad = posicionCiudad.get(colonia.ciudadId());
+                if (ciudad == null) {
+                    throw new IllegalArgumentException("La colonia " + colonia.id() + " pertenece a una ciudad desconocida");
+                }
+                salida.writeLong(colonia.id());
+                salida.writeInt(colonia.codigoPostal());
+                salida.writeInt(cadenas.posicion(colonia.nombre()));
+                salida.writeInt(ciudad);
+            }
+            cadenas.escribir(salida);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Mapea en memoria una instantánea existente.
+     *
+     * @param archivo Ruta del archivo.
+     * @return La instantánea.
+     * @throws IOException si el archivo no se puede leer.
+     * @throws IllegalArgumentException si el archivo no es una instantánea
+     * válida o está incompleto.
+     */
+    public static InstantaneaCatalogo abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long largo = canal.size();
+            if (largo < LARGO_ENCABEZADO || largo > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("El archivo no es una instantánea del catálogo");
+            }
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, largo);
+            if (datos.getInt(0) != MAGICO || datos.getInt(4) != FORMATO) {
+                throw new IllegalArgumentException("El archivo no es una instantánea del catálogo");
+            }
+            int cantidadCiudades = datos.getInt(16);
+            int cantidadColonias = datos.getInt(20);
+            long minimo = LARGO_ENCABEZADO + (long) cantidadCiudades * (LARGO_CIUDAD + Integer.BYTES)
+                    + (long) cantidadColonias * LARGO_COLONIA;
+            if (cantidadCiudades < 0 || cantidadColonias < 0 || largo < minimo) {
+                throw new IllegalArgumentException("La instantánea del catálogo está incompleta");
+            }
+            return new InstantaneaCatalogo(datos, datos.getLong(8), cantidadCiudades, cantidadColonias);
+        }
+    }
+
+    /**
+     * Obtiene la versión del catálogo con la que se generó la instantánea.
+     *
+     * @return La versión del catálogo.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene la cantidad de ciudades de la instantánea.
+     *
+     * @return Cantidad de ciudades.
+     */
+    public int cantidadCiudades() {
+        return cantidadCiudades;
+    }
+
+    /**
+     * Obtiene la cantidad de colonias de la instantánea.
+     *
+     * @return Cantidad de colonias.
+     */
+    public int cantidadColonias() {
+        return cantidadColonias;
+    }
+
+    /**
+     * Obtiene todas las ciudades con la cantidad de colonias de cada una, en
+     * el orden en que se escribieron.
+     *
+     * @return Lista de ciudades.
+     */
+    public List<CiudadResumenDTO> ciudades() {
+        List<CiudadResumenDTO> ciudades = new ArrayList<>(cantidadCiudades);
+        for (int i = 0; i < cantidadCiudades; i++) {
+            ciudades.add(ciudad(i));
+        }
+        return ciudades;
+    }
+
+    /**
+     * Busca una ciudad por su ID con una búsqueda binaria sobre el índice de
+     * ciudades.
+     *
+     * @param id ID de la ciudad.
+     * @return La ciudad, o vacío si no está en la instantánea.
+     */
+    public Optional<CiudadResumenDTO> buscarCiudad(long id) {
+        int inferior = 0;
+        int superior = cantidadCiudades - 1;
+        while (inferior <= superior) {
+            int medio = (inferior + superior) >>> 1;
+            int posicion = datos.getInt(inicioIndiceCiudades + medio * Integer.BYTES);
+            long actual = datos.getLong(LARGO_ENCABEZADO + posicion * LARGO_CIUDAD);
+            if (actual < id) {
+                inferior = medio + 1;
+            } else if (actual > id) {
+                superior = medio - 1;
+            } else {
+                return Optional.of(ciudad(posicion));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Obtiene todas las colonias como {@link ColoniaDTO}, ordenadas por ID.
+     * Cada nombre de ciudad se decodifica una sola vez y se comparte entre sus
+     * colonias.
+     *
+     * @return Lista de colonias.
+     */
+    public List<ColoniaDTO> colonias() {
+        String[] nombresCiudad = new String[cantidadCiudades];
+        for (int i = 0; i < cantidadCiudades; i++) {
+            nombresCiudad[i] = cadena(datos.getInt(LARGO_ENCABEZADO + i * LARGO_CIUDAD + 8));
+        }
+        List<ColoniaDTO> colonias = new ArrayList<>(cantidadColonias);
+        for (int i = 0; i < cantidadColonias; i++) {
+            int inicio = inicioColonias + i * LARGO_COLONIA;
+            colonias.add(new ColoniaDTO(datos.getLong(inicio), cadena(datos.getInt(inicio + 12)),
+                    datos.getInt(inicio + 8), nombresCiudad[datos.getInt(inicio + 16)]));
+        }
+        return colonias;
+    }
+
+    private CiudadResumenDTO ciudad(int posicion) {
+        int inicio = LARGO_ENCABEZADO + posicion * LARGO_CIUDAD;
+        int estado = datos.getInt(inicio + 12);
+        return new CiudadResumenDTO(datos.getLong(inicio), cadena(datos.getInt(inicio + 8)),
+                estado != SIN_CADENA ? cadena(estado) : null, datos.getInt(inicio + 16));
+    }
+
+    private String cadena(int posicion) {
+        int inicio = inicioCadenas + posicion;
+        byte[] bytes = new byte[datos.getShort(inicio) & 0xFFFF];
+        datos.get(inicio + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tabla de cadenas sin repetir, cada una precedida por su largo en bytes.
+     */
+    private static class TablaCadenas {
+
+        private final Map<String, Integer> posiciones = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int posicion(String cadena) {
+            return posiciones.computeIfAbsent(cadena, nueva -> {
+                byte[] codificada = nueva.getBytes(StandardCharsets.UTF_8);
+                if (codificada.length > 0xFFFF) {
+                    throw new IllegalArgumentException("Cadena demasiado larga para la instantánea");
+                }
+                int posicion = bytes.size();
+                bytes.write(codificada.length >>> 8);
+                bytes.write(codificada.length);
+                bytes.writeBytes(codificada);
+                return posicion;
+            });
+        }
+
+        void escribir(OutputStream salida) throws IOException {
+            bytes.writeTo(salida);
+        }
+    }
+}
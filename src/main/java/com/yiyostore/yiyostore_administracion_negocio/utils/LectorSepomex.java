@@ -0,0 +1,248 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lector del catálogo nacional de códigos postales de SEPOMEX en su formato
+ * de texto oficial: campos separados por {@code |}, codificado en ISO-8859-1,
+ * con una línea de aviso seguida del encabezado ({@code d_codigo|d_asenta|...}).
+ *
+ * El archivo se mapea en memoria y se recorre byte por byte. Solo se crean
+ * cadenas para los campos que se usan; los valores que se repiten en muchas
+ * filas (tipo de asentamiento, municipio, estado y zona) se obtienen de un
+ * internador que compara los bytes contra las cadenas ya creadas, de modo que
+ * no se crea una cadena nueva por fila. El código postal se convierte a
+ * {@code int} directamente desde los bytes.
+ */
+public class LectorSepomex {
+
+    private static final byte SEPARADOR = '|';
+
+    private static final String COLUMNA_CODIGO = "d_codigo";
+    private static final String COLUMNA_ASENTAMIENTO = "d_asenta";
+    private static final String COLUMNA_TIPO_ASENTAMIENTO = "d_tipo_asenta";
+    private static final String COLUMNA_MUNICIPIO = "D_mnpio";
+    private static final String COLUMNA_ESTADO = "d_estado";
+    private static final String COLUMNA_ZONA = "d_zona";
+
+    /**
+     * Fila del catálogo con los campos que usa la aplicación.
+     *
+     * @param codigoPostal Código postal del asentamiento.
+     * @param asentamiento Nombre del asentamiento (colonia).
+     * @param tipoAsentamiento Tipo de asentamiento, como aparece en el archivo.
+     * @param municipio Nombre del municipio.
+     * @param estado Nombre del estado, o null si el archivo no lo incluye.
+     * @param zona Zona del asentamiento ("Urbano", "Rural" o "Semiurbano").
+     */
+    public record RegistroSepomex(
+            int codigoPostal,
+            String asentamiento,
+            String tipoAsentamiento,
+            String municipio,
+            String estado,
+            String zona
+    ) {}
+
+    /**
+     * Lee todas las filas de datos del catálogo. Las líneas anteriores al
+     * encabezado y las líneas vacías se ignoran.
+     *
+     * @param archivo Ruta del archivo del catálogo.
+     * @param consumidor Función que recibe cada fila, en el orden del archivo.
+     * @return Cantidad de filas leídas.
+     * @throws IOException si el archivo no se puede leer.
+     * @throws IllegalArgumentException si el archivo no tiene un encabezado con
+     * las columnas obligatorias, si una fila tiene menos campos que el
+     * encabezado o si un código postal no es numérico.
+     */
+    public static long leer(Path archivo, Consumer<RegistroSepomex> consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("El archivo del catálogo es demasiado grande");
+            }
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return leer(datos, (int) canal.size(), consumidor);
+        }
+    }
+
+    private static long leer(MappedByteBuffer datos, int largo, Consumer<RegistroSepomex> consumidor) {
+        int[] inicios = new int[32];
+        int[] fines = new int[32];
+        Map<String, Integer> columnas = null;
+        int ultimaColumna = 0;
+        Internador internador = new Internador();
+        long filas = 0;
+        long linea = 0;
+
+        int posicion = 0;
+        while (posicion < largo) {
+            linea++;
+            int finLinea = posicion;
+            while (finLinea < largo && datos.get(finLinea) != '\n') {
+                finLinea++;
+            }
+            int finContenido = finLinea > posicion && datos.get(finLinea - 1) == '\r' ? finLinea - 1 : finLinea;
+            int campos = dividir(datos, posicion, finContenido, inicios, fines);
+
+            if (columnas == null) {
+                columnas = leerEncabezado(datos, campos, inicios, fines);
+                if (columnas != null) {
+                    ultimaColumna = ultimaColumnaUsada(columnas);
+                }
+            } else if (finContenido > posicion) {
+                if (campos <= ultimaColumna) {
+                    throw new IllegalArgumentException("La línea " + linea + " tiene " + campos
+                            + " campos y el encabezado " + (ultimaColumna + 1));
+                }
+                consumidor.accept(new RegistroSepomex(
+                        convertirEntero(datos, inicios, fines, columnas.get(COLUMNA_CODIGO)),
+                        crearCadena(datos, inicios, fines, columnas.get(COLUMNA_ASENTAMIENTO)),
+                        internar(internador, datos, inicios, fines, columnas.get(COLUMNA_TIPO_ASENTAMIENTO)),
+                        internar(internador, datos, inicios, fines, columnas.get(COLUMNA_MUNICIPIO)),
+                        internar(internador, datos, inicios, fines, columnas.get(COLUMNA_ESTADO)),
+                        internar(internador, datos, inicios, fines, columnas.get(COLUMNA_ZONA))));
+                filas++;
+            }
+            posicion = finLinea + 1;
+        }
+
+        if (columnas == null) {
+            throw new IllegalArgumentException("El archivo no contiene el encabezado del catálogo");
+        }
+        return filas;
+    }
+
+    /**
+     * Divide una línea en campos, guardando el inicio y el fin de cada uno.
+     * Los campos que no caben en los arreglos se ignoran.
+     *
+     * @return Cantidad de campos de la línea.
+     */
+    private static int dividir(MappedByteBuffer datos, int inicio, int fin, int[] inicios, int[] fines) {
+        int campos = 0;
+        int inicioCampo = inicio;
+        for (int i = inicio; i <= fin && campos < inicios.length; i++) {
+            if (i == fin || datos.get(i) == SEPARADOR) {
+                inicios[campos] = inicioCampo;
+                fines[campos] = i;
+                campos++;
+                inicioCampo = i + 1;
+            }
+        }
+        return campos;
+    }
+
+    /**
+     * Interpreta la línea como encabezado si su primer campo es
+     * {@value #COLUMNA_CODIGO}.
+     *
+     * @return El índice de cada columna, o null si la línea no es el
+     * encabezado.
+     */
+    private static Map<String, Integer> leerEncabezado(MappedByteBuffer datos, int campos, int[] inicios, int[] fines) {
+        if (campos == 0 || !COLUMNA_CODIGO.equals(crearCadena(datos, inicios[0], fines[0]))) {
+            return null;
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < campos; i++) {
+            columnas.put(crearCadena(datos, inicios[i], fines[i]), i);
+        }
+        for (String obligatoria : List.of(COLUMNA_ASENTAMIENTO, COLUMNA_TIPO_ASENTAMIENTO, COLUMNA_MUNICIPIO, COLUMNA_ZONA)) {
+            if (!columnas.containsKey(obligatoria)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria: " + obligatoria);
+            }
+        }
+        return columnas;
+    }
+
+    /**
+     * Obtiene el índice mayor entre las columnas que se leen. Una fila con
+     * menos campos no se puede leer, porque los campos faltantes tomarían los
+     * límites de la línea anterior.
+     */
+    private static int ultimaColumnaUsada(Map<String, Integer> columnas) {
+        int ultima = 0;
+        for (String columna : List.of(COLUMNA_CODIGO, COLUMNA_ASENTAMIENTO, COLUMNA_TIPO_ASENTAMIENTO,
+                COLUMNA_MUNICIPIO, COLUMNA_ESTADO, COLUMNA_ZONA)) {
+            ultima = Math.max(ultima, columnas.getOrDefault(columna, 0));
+        }
+        return ultima;
+    }
+
+    private static int convertirEntero(MappedByteBuffer datos, int[] inicios, int[] fines, int campo) {
+        int valor = 0;
+        for (int i = inicios[campo]; i < fines[campo]; i++) {
+            int digito = datos.get(i) - '0';
+            if (digito < 0 || digito > 9) {
+                throw new IllegalArgumentException("Código postal inválido: " + crearCadena(datos, inicios[campo], fines[campo]));
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    private static String crearCadena(MappedByteBuffer datos, int[] inicios, int[] fines, Integer campo) {
+        return campo != null ? crearCadena(datos, inicios[campo], fines[campo]) : null;
+    }
+
+    private static String crearCadena(MappedByteBuffer datos, int inicio, int fin) {
+        char[] caracteres = new char[fin - inicio];
+        for (int i = inicio; i < fin; i++) {
+            caracteres[i - inicio] = (char) (datos.get(i) & 0xFF);
+        }
+        return new String(caracteres);
+    }
+
+    private static String internar(Internador internador, MappedByteBuffer datos, int[] inicios, int[] fines,
+            Integer campo) {
+        return campo != null ? internador.obtener(datos, inicios[campo], fines[campo]) : null;
+    }
+
+    /**
+     * Devuelve una sola instancia de {@link String} por cada secuencia de bytes
+     * distinta. La búsqueda compara los bytes contra las cadenas existentes,
+     * por lo que no crea objetos cuando el valor ya se había visto.
+     */
+    private static class Internador {
+
+        private final Map<Integer, List<String>> cadenasPorHash = new HashMap<>();
+
+        String obtener(MappedByteBuffer datos, int inicio, int fin) {
+            int hash = 0;
+            for (int i = inicio; i < fin; i++) {
+                hash = 31 * hash + (datos.get(i) & 0xFF);
+            }
+            List<String> candidatas = cadenasPorHash.computeIfAbsent(hash, h -> new ArrayList<>(1));
+            for (String candidata : candidatas) {
+                if (sonIguales(candidata, datos, inicio, fin)) {
+                    return candidata;
+                }
+            }
+            String nueva = crearCadena(datos, inicio, fin);
+            candidatas.add(nueva);
+            return nueva;
+        }
+
+        private static boolean sonIguales(String cadena, MappedByteBuffer datos, int inicio, int fin) {
+            if (cadena.length() != fin - inicio) {
+                return false;
+            }
+            for (int i = inicio; i < fin; i++) {
+                if (cadena.charAt(i - inicio) != (char) (datos.get(i) & 0xFF)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
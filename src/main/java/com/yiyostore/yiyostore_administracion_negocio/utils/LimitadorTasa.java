@@ -0,0 +1,75 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de tasa de cubeta de fichas: permite hasta una cantidad de
+ * operaciones por segundo, con ráfagas de hasta esa misma cantidad cuando ha
+ * estado inactivo. Cada operación consume una ficha, y las fichas se reponen
+ * de forma continua.
+ */
+public class LimitadorTasa {
+
+    private final double fichasPorNano;
+    private final double capacidad;
+    private final LongSupplier reloj;
+    private double fichas;
+    private long ultimaReposicion;
+
+    /**
+     * Crea un limitador con el reloj del sistema.
+     *
+     * @param operacionesPorSegundo Cantidad máxima de operaciones por segundo.
+     * @throws IllegalArgumentException si la tasa no es positiva.
+     */
+    public LimitadorTasa(double operacionesPorSegundo) {
+        this(operacionesPorSegundo, System::nanoTime);
+    }
+
+    /**
+     * Crea un limitador con un reloj propio, por ejemplo para pruebas.
+     *
+     * @param operacionesPorSegundo Cantidad máxima de operaciones por segundo.
+     * @param reloj Fuente del tiempo actual en nanosegundos.
+     * @throws IllegalArgumentException si la tasa no es positiva.
+     */
+    public LimitadorTasa(double operacionesPorSegundo, LongSupplier reloj) {
+        if (!(operacionesPorSegundo > 0)) {
+            throw new IllegalArgumentException("La tasa debe ser positiva");
+        }
+        this.fichasPorNano = operacionesPorSegundo / TimeUnit.SECONDS.toNanos(1);
+        this.capacidad = Math.max(1, operacionesPorSegundo);
+        this.reloj = reloj;
+        this.fichas = capacidad;
+        this.ultimaReposicion = reloj.getAsLong();
+    }
+
+    /**
+     * Consume una ficha y devuelve cuánto hay que esperar antes de realizar la
+     * operación. Si no hay fichas, la ficha se toma prestada de la reposición
+     * futura, de modo que las llamadas siguientes esperan más.
+     *
+     * @return Nanosegundos que hay que esperar; cero si hay fichas
+     * disponibles.
+     */
+    public synchronized long reservar() {
+        long ahora = reloj.getAsLong();
+        fichas = Math.min(capacidad, fichas + (ahora - ultimaReposicion) * fichasPorNano);
+        ultimaReposicion = ahora;
+        fichas -= 1;
+        return fichas >= 0 ? 0 : (long) Math.ceil(-fichas / fichasPorNano);
+    }
+
+    /**
+     * Consume una ficha, esperando lo necesario para respetar la tasa.
+     *
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    public void adquirir() throws InterruptedException {
+        long espera = reservar();
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+/**
+ * Mapa con llaves {@code int} primitivas y direccionamiento abierto con sondeo
+ * lineal. A diferencia de {@code HashMap<Integer, V>}, no crea un objeto por
+ * llave ni por entrada: las llaves y los valores se guardan en dos arreglos
+ * paralelos, lo que reduce la memoria usada y mejora la localidad de las
+ * búsquedas.
+ *
+ * Los valores no pueden ser nulos; una casilla vacía se reconoce porque su
+ * valor es nulo. Esta clase no es segura para hilos.
+ *
+ * @param <V> Tipo de los valores.
+ */
+public class MapaEnteros<V> {
+
+    /**
+     * Fracción máxima de casillas ocupadas antes de duplicar la capacidad.
+     */
+    private static final float FACTOR_CARGA = 0.5f;
+
+    private int[] llaves;
+    private Object[] valores;
+    private int tamano;
+    private int umbral;
+
+    /**
+     * Crea un mapa vacío con capacidad para la cantidad de entradas indicada
+     * sin necesidad de crecer.
+     *
+     * @param capacidadEsperada Cantidad de entradas esperada.
+     */
+    public MapaEnteros(int capacidadEsperada) {
+        int capacidad = Integer.highestOneBit(Math.max(2, (int) (capacidadEsperada / FACTOR_CARGA)) - 1) << 1;
+        inicializar(capacidad);
+    }
+
+    /**
+     * Obtiene el valor asociado a una llave.
+     *
+     * @param llave La llave a buscar.
+     * @return El valor asociado, o null si la llave no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int llave) {
+        int mascara = llaves.length - 1;
+        for (int i = indice(llave, mascara); valores[i] != null; i = (i + 1) & mascara) {
+            if (llaves[i] == llave) {
+                return (V) valores[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Asocia un valor a una llave, reemplazando el valor anterior si existe.
+     *
+     * @param llave La llave.
+     * @param valor El valor a asociar.
+     * @return El valor anterior, o null si la llave no existía.
+     * @throws IllegalArgumentException si el valor es nulo.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int llave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor no puede ser nulo");
+        }
+        int mascara = llaves.length - 1;
+        int i = indice(llave, mascara);
+        while (valores[i] != null) {
+            if (llaves[i] == llave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        if (++tamano > umbral) {
+            redimensionar();
+        }
+        return null;
+    }
+
+    /**
+     * Elimina la entrada de una llave. Las entradas siguientes de la misma
+     * secuencia de sondeo se recorren hacia atrás, de modo que no se necesitan
+     * marcas de borrado.
+     *
+     * @param llave La llave a eliminar.
+     * @return El valor eliminado, o null si la llave no existía.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int llave) {
+        int mascara = llaves.length - 1;
+        int i = indice(llave, mascara);
+        while (valores[i] != null && llaves[i] != llave) {
+            i = (i + 1) & mascara;
+        }
+        if (valores[i] == null) {
+            return null;
+        }
+        V eliminado = (V) valores[i];
+
+        int hueco = i;
+        for (int j = (i + 1) & mascara; valores[j] != null; j = (j + 1) & mascara) {
+            int ideal = indice(llaves[j], mascara);
+            // La entrada j puede ocupar el hueco si su posición ideal no está
+            // entre el hueco (exclusivo) y j (inclusivo), en orden circular.
+            boolean puedeMoverse = hueco <= j ? ideal <= hueco || ideal > j : ideal <= hueco && ideal > j;
+            if (puedeMoverse) {
+                llaves[hueco] = llaves[j];
+                valores[hueco] = valores[j];
+                hueco = j;
+            }
+        }
+        valores[hueco] = null;
+        tamano--;
+        return eliminado;
+    }
+
+    /**
+     * Obtiene la cantidad de entradas del mapa.
+     *
+     * @return La cantidad de entradas.
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Duplica la capacidad del mapa y reubica todas sus entradas.
+     */
+    private void redimensionar() {
+        int[] llavesAnteriores = llaves;
+        Object[] valoresAnteriores = valores;
+        inicializar(llaves.length << 1);
+        int mascara = llaves.length - 1;
+        for (int j = 0; j < llavesAnteriores.length; j++) {
+            if (valoresAnteriores[j] != null) {
+                int i = indice(llavesAnteriores[j], mascara);
+                while (valores[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                llaves[i] = llavesAnteriores[j];
+                valores[i] = valoresAnteriores[j];
+            }
+        }
+    }
+
+    private void inicializar(int capacidad) {
+        llaves = new int[capacidad];
+        valores = new Object[capacidad];
+        umbral = (int) (capacidad * FACTOR_CARGA);
+    }
+
+    /**
+     * Calcula la casilla inicial de una llave. Las llaves se mezclan para que
+     * valores consecutivos, como los códigos postales, no formen secuencias
+     * largas de casillas ocupadas.
+     */
+    private static int indice(int llave, int mascara) {
+        int h = llave * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
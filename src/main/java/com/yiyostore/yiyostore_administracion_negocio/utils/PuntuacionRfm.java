@@ -0,0 +1,108 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Utilidades para calcular las puntuaciones RFM (recencia, frecuencia y monto)
+ * de un cliente, de 1 a 5, y su segmento.
+ *
+ * Las puntuaciones usan límites fijos en lugar de quintiles de todos los
+ * clientes, de modo que la puntuación de un cliente solo cambia cuando cambian
+ * sus pedidos o cuando su último pedido cruza uno de los límites de
+ * {@link #LIMITES_RECENCIA_DIAS}. Así se pueden recalcular solo los clientes
+ * afectados, sin recorrer a todos.
+ */
+public class PuntuacionRfm {
+
+    /**
+     * Días desde el último pedido hasta los que la recencia vale 5, 4, 3 y 2;
+     * después vale 1.
+     */
+    public static final int[] LIMITES_RECENCIA_DIAS = {30, 90, 180, 365};
+
+    /**
+     * Cantidad mínima de pedidos para que la frecuencia valga 2, 3, 4 y 5.
+     */
+    private static final long[] MINIMOS_FRECUENCIA = {2, 3, 5, 10};
+
+    /**
+     * Monto total comprado mínimo para que el monto valga 2, 3, 4 y 5.
+     */
+    private static final double[] MINIMOS_MONTO = {500, 1500, 5000, 15000};
+
+    /**
+     * Calcula la puntuación de recencia.
+     *
+     * @param fechaUltimoPedido Fecha del último pedido del cliente.
+     * @param hoy Fecha de referencia.
+     * @return 5 si el último pedido fue hace 30 días o menos, hasta 1 si fue
+     * hace más de 365 días.
+     */
+    public static int recencia(LocalDate fechaUltimoPedido, LocalDate hoy) {
+        long dias = ChronoUnit.DAYS.between(fechaUltimoPedido, hoy);
+        for (int i = 0; i < LIMITES_RECENCIA_DIAS.length; i++) {
+            if (dias <= LIMITES_RECENCIA_DIAS[i]) {
+                return 5 - i;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Calcula la puntuación de frecuencia.
+     *
+     * @param cantidadPedidos Cantidad de pedidos del cliente.
+     * @return 1 con un pedido, hasta 5 con 10 pedidos o más.
+     */
+    public static int frecuencia(long cantidadPedidos) {
+        int puntuacion = 1;
+        for (long minimo : MINIMOS_FRECUENCIA) {
+            if (cantidadPedidos >= minimo) {
+                puntuacion++;
+            }
+        }
+        return puntuacion;
+    }
+
+    /**
+     * Calcula la puntuación de monto.
+     *
+     * @param totalCompras Monto total comprado por el cliente.
+     * @return 1 con menos de 500, hasta 5 con 15,000 o más.
+     */
+    public static int monto(double totalCompras) {
+        int puntuacion = 1;
+        for (double minimo : MINIMOS_MONTO) {
+            if (totalCompras >= minimo) {
+                puntuacion++;
+            }
+        }
+        return puntuacion;
+    }
+
+    /**
+     * Obtiene el segmento que corresponde a unas puntuaciones.
+     *
+     * @param recencia Puntuación de recencia, de 1 a 5.
+     * @param frecuencia Puntuación de frecuencia, de 1 a 5.
+     * @param monto Puntuación de monto, de 1 a 5.
+     * @return El segmento del cliente.
+     */
+    public static SegmentoRfm segmento(int recencia, int frecuencia, int monto) {
+        if (recencia >= 4 && frecuencia >= 4) {
+            return monto >= 4 ? SegmentoRfm.CAMPEONES : SegmentoRfm.LEALES;
+        }
+        if (recencia >= 4 && frecuencia == 1) {
+            return SegmentoRfm.NUEVOS;
+        }
+        if (recencia >= 3) {
+            return frecuencia >= 3 ? SegmentoRfm.LEALES : SegmentoRfm.POTENCIALES;
+        }
+        if (frecuencia >= 3) {
+            return SegmentoRfm.EN_RIESGO;
+        }
+        return recencia == 2 ? SegmentoRfm.HIBERNANDO : SegmentoRfm.PERDIDOS;
+    }
+}
@@ -0,0 +1,215 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Cuenta las sentencias SQL que ejecuta el hilo actual mientras hay una
+ * {@link Medicion} activa, por ejemplo durante una solicitud HTTP. Cada
+ * sentencia se guarda con su texto tal como se ejecutó, que con parámetros
+ * enlazados se repite idéntico en cada ejecución; un texto que se repite
+ * muchas veces en una medición suele indicar una consulta N+1, como cargar
+ * una asociación perezosa dentro de un ciclo.
+ *
+ * Para describir una medición, las sentencias se agrupan por su forma: el
+ * texto sin literales, con los espacios colapsados y las listas
+ * {@code IN (?, ?, ...)} reducidas a {@code (?...)}. Como obtener la forma
+ * cuesta varias expresiones regulares por sentencia, solo se calcula al
+ * pedir {@link Medicion#porForma()} o {@link Medicion#repetidas(int)}.
+ *
+ * Las sentencias se registran desde {@link DataSourceContado}, así que se
+ * cuentan tanto las de Hibernate como las de {@code JdbcTemplate}.
+ */
+public final class RegistroSentencias {
+
+    /**
+     * Cantidad máxima de textos distintos que se guardan por medición; las
+     * sentencias de los demás se cuentan juntas en {@link #OTRAS}.
+     */
+    static final int MAXIMO_SENTENCIAS = 50;
+
+    /**
+     * Forma con la que se cuentan las sentencias que no caben en la medición.
+     */
+    public static final String OTRAS = "(otras)";
+
+    /**
+     * Longitud máxima de una forma.
+     */
+    private static final int LONGITUD_FORMA = 300;
+
+    private static final Pattern CADENAS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMEROS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTAS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Medicion> ACTUAL = new ThreadLocal<>();
+
+    private RegistroSentencias() {
+    }
+
+    /**
+     * Inicia una medición en el hilo actual. Las mediciones se pueden anidar:
+     * al cerrar una, vuelve a estar activa la anterior, que no cuenta las
+     * sentencias de la anidada.
+     *
+     * @return La medición, que debe cerrarse en el mismo hilo.
+     */
+    public static Medicion iniciar() {
+        Medicion medicion = new Medicion(ACTUAL.get());
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    /**
+     * Obtiene la medición activa del hilo actual.
+     *
+     * @return La medición, o null si no hay una activa.
+     */
+    public static Medicion actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Registra una sentencia en la medición activa, si hay una.
+     *
+     * @param sql Texto de la sentencia.
+     */
+    public static void registrar(String sql) {
+        Medicion medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.registrar(sql);
+        }
+    }
+
+    /**
+     * Obtiene la forma de una sentencia: el texto con los literales
+     * reemplazados por {@code ?}, los espacios colapsados y las listas de
+     * parámetros reducidas, acotado a {@value #LONGITUD_FORMA} caracteres.
+     *
+     * @param sql Texto de la sentencia.
+     * @return La forma de la sentencia.
+     */
+    public static String forma(String sql) {
+        String forma = CADENAS.matcher(sql).replaceAll("?");
+        forma = NUMEROS.matcher(forma).replaceAll("?");
+        forma = LISTAS.matcher(forma).replaceAll("(?...)");
+        forma = ESPACIOS.matcher(forma).replaceAll(" ").trim();
+        return forma.length() <= LONGITUD_FORMA ? forma : forma.substring(0, LONGITUD_FORMA) + "...";
+    }
+
+    /**
+     * Sentencias ejecutadas en un hilo entre el inicio y el cierre de la
+     * medición. No es segura para hilos; solo la usa el hilo que la inició.
+     */
+    public static final class Medicion implements AutoCloseable {
+
+        private final Medicion anterior;
+        private final Map<String, Integer> porSentencia = new LinkedHashMap<>();
+        private int total;
+        private int repeticionesMaximas;
+        private Integer presupuesto;
+
+        private Medicion(Medicion anterior) {
+            this.anterior = anterior;
+        }
+
+        private void registrar(String sql) {
+            total++;
+            String clave = porSentencia.containsKey(sql) || porSentencia.size() < MAXIMO_SENTENCIAS ? sql : OTRAS;
+            int cantidad = porSentencia.merge(clave, 1, Integer::sum);
+            if (!OTRAS.equals(clave) && cantidad > repeticionesMaximas) {
+                repeticionesMaximas = cantidad;
+            }
+        }
+
+        /**
+         * Obtiene la cantidad de sentencias ejecutadas.
+         *
+         * @return La cantidad de sentencias.
+         */
+        public int total() {
+            return total;
+        }
+
+        /**
+         * Obtiene la mayor cantidad de veces que se ejecutó un mismo texto de
+         * sentencia, sin calcular formas.
+         *
+         * @return Las ejecuciones del texto más repetido.
+         */
+        public int repeticionesMaximas() {
+            return repeticionesMaximas;
+        }
+
+        /**
+         * Obtiene la cantidad de sentencias de cada forma, en el orden en que
+         * se ejecutó la primera de cada una. Calcula la forma de cada texto
+         * distinto, así que conviene pedirla solo para describir la medición.
+         *
+         * @return Las formas con su cantidad.
+         */
+        public Map<String, Integer> porForma() {
+            Map<String, Integer> porForma = new LinkedHashMap<>();
+            porSentencia.forEach((sql, cantidad) -> porForma.merge(OTRAS.equals(sql) ? OTRAS : forma(sql), cantidad,
+                    Integer::sum));
+            return Collections.unmodifiableMap(porForma);
+        }
+
+        /**
+         * Obtiene las formas que se ejecutaron al menos la cantidad de veces
+         * indicada, de la más a la menos repetida.
+         *
+         * @param minimo Cantidad mínima de ejecuciones.
+         * @return Las formas repetidas con su cantidad.
+         */
+        public List<Map.Entry<String, Integer>> repetidas(int minimo) {
+            List<Map.Entry<String, Integer>> repetidas = new ArrayList<>();
+            porForma().forEach((forma, cantidad) -> {
+                if (cantidad >= minimo && !OTRAS.equals(forma)) {
+                    repetidas.add(Map.entry(forma, cantidad));
+                }
+            });
+            repetidas.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            return repetidas;
+        }
+
+        /**
+         * Obtiene el presupuesto de sentencias propio de esta medición.
+         *
+         * @return El presupuesto, o null si se usa el general.
+         */
+        public Integer presupuesto() {
+            return presupuesto;
+        }
+
+        /**
+         * Establece un presupuesto de sentencias propio de esta medición,
+         * como el de un endpoint anotado con
+         * {@link com.yiyostore.yiyostore_administracion_negocio.config.PresupuestoSentencias}.
+         *
+         * @param presupuesto Cantidad máxima de sentencias.
+         */
+        public void setPresupuesto(Integer presupuesto) {
+            this.presupuesto = presupuesto;
+        }
+
+        /**
+         * Termina la medición y vuelve a activar la anterior.
+         */
+        @Override
+        public void close() {
+            if (ACTUAL.get() == this) {
+                if (anterior != null) {
+                    ACTUAL.set(anterior);
+                } else {
+                    ACTUAL.remove();
+                }
+            }
+        }
+    }
+}
@@ -4,14 +4,55 @@ import com.google.i18n.phonenumbers.NumberParseException;
 import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.google.i18n.phonenumbers.Phonenumber;
 import com.yiyostore.yiyostore_administracion_negocio.exception.NumeroTelefonoInvalidoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utilidades para la validación y normalización de números de teléfono.
+ *
+ * Interpretar un número con libphonenumber es costoso, por lo que el resultado
+ * de cada número se guarda en una caché acotada, incluidos los números
+ * inválidos. Los números que se repiten, como los de los clientes que se
+ * deserializan en cada solicitud, solo se interpretan la primera vez.
  */
 public class TelefonoUtils {
 
     private static final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
 
+    /**
+     * Cantidad máxima de números en la caché de resultados.
+     */
+    private static final int CAPACIDAD_CACHE = 20_000;
+
+    /**
+     * Valor que se guarda en la caché para los números inválidos. Ningún
+     * número normalizado es una cadena vacía.
+     */
+    private static final String INVALIDO = "";
+
+    /**
+     * Caché de números de teléfono, tal como se recibieron, a su forma
+     * normalizada o a {@link #INVALIDO}. El resultado de un número no cambia,
+     * por lo que la vigencia solo sirve para liberar los que dejan de usarse.
+     */
+    private static final CacheAcotada<String, String> CACHE = new CacheAcotada<>(CAPACIDAD_CACHE, Duration.ofHours(1));
+
+    /**
+     * Cuenta las excepciones por números inválidos. Se registra en el
+     * registro global de Micrometer, al que Spring Boot agrega el de la
+     * aplicación.
+     */
+    private static final Counter NUMEROS_INVALIDOS = Counter.builder("yiyostore.excepciones")
+            .description("Excepciones de negocio lanzadas, por tipo")
+            .tag("tipo", "numero_telefono_invalido")
+            .register(Metrics.globalRegistry);
+
     /**
      * Valida el número de teléfono utilizando la biblioteca libphonenumber.
      *
@@ -19,12 +60,7 @@ public class TelefonoUtils {
      * @return true si el número de teléfono es válido, false en caso contrario.
      */
     public static boolean esValido(String numeroTelefono) {
-        try {
-            Phonenumber.PhoneNumber phoneNumber = phoneUtil.parse(numeroTelefono, "MX");
-            return phoneUtil.isValidNumber(phoneNumber);
-        } catch (NumberParseException e) {
-            return false;
-        }
+        return numeroTelefono != null && !resolver(numeroTelefono).isEmpty();
     }
 
     /**
@@ -37,14 +73,61 @@ public class TelefonoUtils {
      * válido o no se puede normalizar.
      */
     public static String normalizar(String numeroTelefono) {
+        String normalizado = numeroTelefono != null ? resolver(numeroTelefono) : INVALIDO;
+        if (normalizado.isEmpty()) {
+            NUMEROS_INVALIDOS.increment();
+            throw new NumeroTelefonoInvalidoException("Número de teléfono inválido: " + numeroTelefono);
+        }
+        return normalizado;
+    }
+
+    /**
+     * Normaliza varios números de teléfono a la vez. Cada número distinto se
+     * interpreta una sola vez, y los que no están en la caché se interpretan
+     * en paralelo.
+     *
+     * @param numerosTelefono los números de teléfono a normalizar.
+     * @return una lista del mismo tamaño y en el mismo orden, con cada número
+     * normalizado, o null en la posición de los números nulos o inválidos.
+     */
+    public static List<String> normalizarLote(List<String> numerosTelefono) {
+        List<String> distintos = new ArrayList<>(new LinkedHashSet<>(numerosTelefono));
+        distintos.remove(null);
+        Map<String, String> resultados = new ConcurrentHashMap<>(distintos.size() * 2);
+        distintos.parallelStream().forEach(numero -> resultados.put(numero, resolver(numero)));
+
+        List<String> normalizados = new ArrayList<>(numerosTelefono.size());
+        for (String numero : numerosTelefono) {
+            String normalizado = numero != null ? resultados.get(numero) : INVALIDO;
+            normalizados.add(!normalizado.isEmpty() ? normalizado : null);
+        }
+        return normalizados;
+    }
+
+    /**
+     * Obtiene el número normalizado desde la caché o, si no está, lo
+     * interpreta y lo guarda.
+     *
+     * @return el número normalizado, o {@link #INVALIDO} si no es válido.
+     */
+    private static String resolver(String numeroTelefono) {
+        String normalizado = CACHE.obtener(numeroTelefono);
+        if (normalizado == null) {
+            normalizado = interpretar(numeroTelefono);
+            CACHE.guardar(numeroTelefono, normalizado);
+        }
+        return normalizado;
+    }
+
+    private static String interpretar(String numeroTelefono) {
         try {
             Phonenumber.PhoneNumber phoneNumber = phoneUtil.parse(numeroTelefono, "MX");
             if (phoneUtil.isValidNumber(phoneNumber)) {
                 return String.valueOf(phoneNumber.getNationalNumber());
             }
-            throw new NumeroTelefonoInvalidoException(numeroTelefono);
+            return INVALIDO;
         } catch (NumberParseException e) {
-            throw new NumeroTelefonoInvalidoException("Número de teléfono inválido: " + numeroTelefono, e);
+            return INVALIDO;
         }
     }
 }
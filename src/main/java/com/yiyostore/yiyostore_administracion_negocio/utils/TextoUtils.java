@@ -0,0 +1,45 @@
+package com.yiyostore.yiyostore_administracion_negocio.utils;
+
+import java.text.Normalizer;
+
+/**
+ * Utilidades para comparar textos ignorando mayúsculas, acentos y signos de
+ * puntuación.
+ */
+public class TextoUtils {
+
+    /**
+     * Normaliza un texto para búsquedas: quita los acentos y diacríticos,
+     * convierte a minúsculas y reemplaza cada secuencia de caracteres que no
+     * son letras ni dígitos por un solo espacio. Por ejemplo,
+     * {@code "Ampliación  Los Ángeles (Sur)"} se normaliza como
+     * {@code "ampliacion los angeles sur"}.
+     *
+     * @param texto el texto a normalizar.
+     * @return el texto normalizado, o una cadena vacía si el texto es nulo.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(descompuesto.length());
+        boolean separador = false;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separador && !resultado.isEmpty()) {
+                    resultado.append(' ');
+                }
+                resultado.append(Character.toLowerCase(c));
+                separador = false;
+            } else {
+                separador = true;
+            }
+        }
+        return resultado.toString();
+    }
+}
@@ -1,4 +1,44 @@
 package com.yiyostore.yiyostore_administracion_negocio.utils;
 
+import com.twilio.type.PhoneNumber;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.CanalNotificacion;
+
+/**
+ * Utilidades para enviar mensajes con Twilio.
+ */
 public class TwilioUtil {
+
+    /**
+     * Lada de México, que se antepone a los números normalizados.
+     */
+    private static final String CODIGO_PAIS = "+52";
+
+    /**
+     * Obtiene la dirección de Twilio de un número de teléfono para un canal:
+     * el número en formato E.164 y, para WhatsApp, con el prefijo
+     * {@code whatsapp:}.
+     *
+     * @param canal Canal del mensaje.
+     * @param numeroTelefono Número normalizado por
+     * {@link TelefonoUtils#normalizar(String)}, o un número que ya está en
+     * formato E.164.
+     * @return La dirección del número.
+     */
+    public static PhoneNumber direccion(CanalNotificacion canal, String numeroTelefono) {
+        String e164 = numeroTelefono.startsWith("+") ? numeroTelefono : CODIGO_PAIS + numeroTelefono;
+        return new PhoneNumber(canal == CanalNotificacion.WHATSAPP ? "whatsapp:" + e164 : e164);
+    }
+
+    /**
+     * Indica si un error de la API de Twilio es temporal y vale la pena volver
+     * a intentar el envío: los límites de solicitudes (429), los errores del
+     * servidor (5xx) y las fallas sin respuesta.
+     *
+     * @param estadoHttp Código de estado HTTP de la respuesta, o null si no
+     * hubo respuesta.
+     * @return true si el envío se puede volver a intentar.
+     */
+    public static boolean esReintentable(Integer estadoHttp) {
+        return estadoHttp == null || estadoHttp == 429 || estadoHttp >= 500;
+    }
 }
@@ -0,0 +1,81 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.AgrupadorClientes;
+import com.yiyostore.yiyostore_administracion_negocio.utils.AgrupadorClientes.Fusion;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgrupadorClientesTest {
+
+    @Test
+    public void testFusionaMismoTelefonoYNombre() {
+        AgrupadorClientes agrupador = new AgrupadorClientes();
+        agrupador.agregar(1, "8714140550", "871 414 0550", "Ana García", null, "Prefiere WhatsApp");
+        agrupador.agregar(2, "8714140550", "8714140550", "ANA", 7L, "Entregar en la tarde");
+        agrupador.agregar(3, "8714140550", "+52 871-414-0550", null, 8L, null);
+
+        List<Fusion> fusiones = agrupador.fusiones();
+        assertEquals(1, fusiones.size());
+        Fusion fusion = fusiones.get(0);
+        assertEquals(1, fusion.sobrevivienteId());
+        assertEquals(List.of(2L, 3L), fusion.duplicados());
+        assertEquals("Ana García", fusion.nombre());
+        assertEquals(7L, fusion.direccionId());
+        assertEquals(List.of(8L), fusion.direccionesDescartadas());
+        assertEquals("Prefiere WhatsApp; Entregar en la tarde", fusion.notas());
+        assertEquals("8714140550", fusion.numeroTelefono());
+        assertTrue(fusion.telefonoNormalizado());
+        assertEquals(3, agrupador.tamano());
+    }
+
+    @Test
+    public void testNoFusionaNombresDistintos() {
+        AgrupadorClientes agrupador = new AgrupadorClientes();
+        agrupador.agregar(1, "8714140550", "871 414 0550", "Luis Pérez", null, null);
+        agrupador.agregar(2, "8714140550", "8714140550", "Ana Pérez", null, null);
+        agrupador.agregar(3, "8714140550", "871-414-0550", "luis", null, null);
+
+        List<Fusion> fusiones = agrupador.fusiones();
+        assertEquals(1, fusiones.size());
+        assertEquals(1, fusiones.get(0).sobrevivienteId());
+        assertEquals(List.of(3L), fusiones.get(0).duplicados());
+        // Las dos personas conservan el número; el de Luis se guarda normalizado.
+        assertEquals("8714140550", fusiones.get(0).numeroTelefono());
+        assertTrue(fusiones.get(0).telefonoNormalizado());
+    }
+
+    @Test
+    public void testGrupoSinNombreTomaElPrimerNombre() {
+        AgrupadorClientes agrupador = new AgrupadorClientes();
+        agrupador.agregar(1, "8714140550", "8714140550", null, null, null);
+        agrupador.agregar(2, "8714140550", "871 414 0550", "Ana", null, null);
+        agrupador.agregar(3, "8714140550", "871.414.0550", "Ana María", null, null);
+
+        List<Fusion> fusiones = agrupador.fusiones();
+        assertEquals(1, fusiones.size());
+        assertEquals(List.of(2L, 3L), fusiones.get(0).duplicados());
+        assertEquals("Ana", fusiones.get(0).nombre());
+        assertFalse(fusiones.get(0).telefonoNormalizado());
+    }
+
+    @Test
+    public void testSoloNormalizaSinDuplicados() {
+        AgrupadorClientes agrupador = new AgrupadorClientes();
+        agrupador.agregar(1, "8714140550", "8714140550", "Ana", null, null);
+        agrupador.agregar(2, "8711234567", "871 123 4567", "Luis", null, null);
+
+        List<Fusion> fusiones = agrupador.fusiones();
+        assertEquals(1, fusiones.size());
+        assertEquals(2, fusiones.get(0).sobrevivienteId());
+        assertTrue(fusiones.get(0).duplicados().isEmpty());
+        assertEquals("8711234567", fusiones.get(0).numeroTelefono());
+    }
+
+    @Test
+    public void testBloqueNombre() {
+        assertEquals("jose", AgrupadorClientes.bloqueNombre("  José Ángel"));
+        assertEquals("", AgrupadorClientes.bloqueNombre(null));
+    }
+}
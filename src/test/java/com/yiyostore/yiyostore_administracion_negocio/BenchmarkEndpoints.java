@@ -0,0 +1,242 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de los endpoints de catálogo y pedidos, para comparar el modo de
+ * hilos virtuales con el pool de hilos de Tomcat. Levanta la aplicación en
+ * un puerto aleatorio, agrega productos, lotes, un cliente y pedidos de
+ * prueba, y en cada escenario lanza muchos clientes HTTP concurrentes durante
+ * un tiempo fijo. Imprime el rendimiento y los percentiles de latencia.
+ *
+ * No se ejecuta con las demás pruebas porque tarda y deja datos en la base de
+ * datos. Con el perfil {@code h2} corre contra una base de datos H2 en
+ * memoria, sin configuración adicional; se corre una vez en cada modo:
+ *
+ * <pre>
+ * mvn test -Ph2 -Dtest=BenchmarkEndpoints -Dspring.threads.virtual.enabled=false
+ * mvn test -Ph2 -Dtest=BenchmarkEndpoints -Dspring.threads.virtual.enabled=true
+ * </pre>
+ *
+ * Sin {@code -Ph2} usa la base de datos configurada, que debe ser una de
+ * pruebas. Los datos de cada ejecución usan nombres y un número de teléfono
+ * nuevos, así que puede repetirse sobre la misma base de datos.
+ *
+ * Los clientes concurrentes, el calentamiento y la duración de cada escenario
+ * se configuran con {@code benchmark.clientes}, {@code benchmark.calentamiento}
+ * y {@code benchmark.duracion}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BenchmarkEndpoints {
+
+    private static final int PRODUCTOS = 50;
+    private static final int PEDIDOS = 200;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    @Value("${benchmark.clientes:400}")
+    private int clientes;
+
+    @Value("${benchmark.calentamiento:5s}")
+    private Duration calentamiento;
+
+    @Value("${benchmark.duracion:20s}")
+    private Duration duracion;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private long[] productos;
+    private long[] pedidos;
+    private long clienteId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String prefijo = "Benchmark " + System.nanoTime();
+        StringBuilder csvProductos = new StringBuilder("nombre,descripcion,precio,fecha_adicion\n");
+        for (int i = 0; i < PRODUCTOS; i++) {
+            csvProductos.append(prefijo).append(' ').append(i).append(",benchmark,").append(100 + i)
+                    .append(',').append(LocalDate.now()).append('\n');
+        }
+        enviar(post("/api/productos/importar", "text/csv", csvProductos.toString()));
+        productos = jdbcTemplate.queryForList("SELECT id FROM productos WHERE nombre LIKE ?", Long.class,
+                prefijo + " %").stream().mapToLong(Long::longValue).toArray();
+        assertEquals(PRODUCTOS, productos.length);
+
+        StringBuilder csvLotes = new StringBuilder("producto_id,costo,cantidad,fecha,estado,link_de_compra\n");
+        for (long producto : productos) {
+            for (int lote = 0; lote < 3; lote++) {
+                csvLotes.append(producto).append(",50,1000000,").append(LocalDate.now().minusDays(lote))
+                        .append(",NUEVO,\n");
+            }
+        }
+        enviar(post("/api/lotes-productos/importar", "text/csv", csvLotes.toString()));
+
+        enviar(post("/api/clientes", "application/json",
+                "{\"nombre\":\"" + prefijo + "\",\"numeroTelefono\":\"" + telefonoLibre() + "\"}"));
+        clienteId = jdbcTemplate.queryForObject("SELECT id FROM clientes WHERE nombre = ?", Long.class, prefijo);
+
+        for (int i = 0; i < PEDIDOS; i++) {
+            enviar(realizarPedido());
+        }
+        pedidos = jdbcTemplate.queryForList("SELECT id FROM pedidos WHERE cliente_id = ?", Long.class, clienteId)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Test
+    void medirEndpoints() throws Exception {
+        System.out.printf("%nModo: %s, %d clientes concurrentes, %d s por escenario%n",
+                hilosVirtuales ? "hilos virtuales" : "pool de Tomcat", clientes, duracion.toSeconds());
+        System.out.printf("%-18s %10s %9s %9s %9s %8s%n", "escenario", "sol/s", "p50 ms", "p95 ms", "p99 ms",
+                "errores");
+        escenario("catalogo.listar", () -> get("/api/productos?size=20&page=" + aleatorio(PRODUCTOS / 20)));
+        escenario("catalogo.lotes", () -> get("/api/productos/" + elegir(productos) + "/lotes"));
+        escenario("pedidos.listar", () -> get("/api/pedidos"));
+        escenario("pedidos.detalle", () -> get("/api/pedidos/" + elegir(pedidos)));
+        escenario("pedidos.realizar", this::realizarPedido);
+    }
+
+    /**
+     * Lanza los clientes concurrentes, cada uno en un hilo virtual, y mide
+     * solo las solicitudes que terminan después del calentamiento.
+     */
+    private void escenario(String nombre, Supplier<HttpRequest> solicitud) throws Exception {
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + calentamiento.toNanos();
+        long fin = inicioMedicion + duracion.toNanos();
+
+        List<Future<Resultado>> futuros = new ArrayList<>(clientes);
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                futuros.add(ejecutor.submit(() -> cliente(solicitud, inicioMedicion, fin)));
+            }
+        }
+
+        long[] latencias = new long[0];
+        int errores = 0;
+        for (Future<Resultado> futuro : futuros) {
+            Resultado resultado = futuro.get();
+            int previo = latencias.length;
+            latencias = Arrays.copyOf(latencias, previo + resultado.cantidad());
+            System.arraycopy(resultado.latencias(), 0, latencias, previo, resultado.cantidad());
+            errores += resultado.errores();
+        }
+        Arrays.sort(latencias);
+        System.out.printf("%-18s %10.1f %9.2f %9.2f %9.2f %8d%n", nombre,
+                latencias.length / (duracion.toNanos() / 1e9),
+                percentil(latencias, 0.50), percentil(latencias, 0.95), percentil(latencias, 0.99), errores);
+    }
+
+    private Resultado cliente(Supplier<HttpRequest> solicitud, long inicioMedicion, long fin) {
+        long[] latencias = new long[1024];
+        int cantidad = 0;
+        int errores = 0;
+        long ahora = System.nanoTime();
+        while (ahora < fin) {
+            long antes = ahora;
+            boolean exitosa;
+            try {
+                exitosa = http.send(solicitud.get(), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (Exception e) {
+                exitosa = false;
+            }
+            ahora = System.nanoTime();
+            if (antes >= inicioMedicion && ahora < fin) {
+                if (!exitosa) {
+                    errores++;
+                } else {
+                    if (cantidad == latencias.length) {
+                        latencias = Arrays.copyOf(latencias, cantidad * 2);
+                    }
+                    latencias[cantidad++] = ahora - antes;
+                }
+            }
+        }
+        return new Resultado(latencias, cantidad, errores);
+    }
+
+    /**
+     * Devuelve un número de teléfono de Torreón que ningún cliente tiene.
+     */
+    private String telefonoLibre() {
+        String telefono;
+        do {
+            telefono = "871" + (1_000_000 + ThreadLocalRandom.current().nextInt(9_000_000));
+        } while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes WHERE numero_telefono = ?",
+                Integer.class, telefono) > 0);
+        return telefono;
+    }
+
+    private HttpRequest realizarPedido() {
+        return post("/api/pedidos", "application/json", "{\"clienteId\":" + clienteId
+                + ",\"metodoPago\":\"PAYPAL\",\"lugarCompra\":\"PAGINA_FACEBOOK\",\"fecha\":\"" + LocalDate.now()
+                + "\",\"detalles\":[{\"idProducto\":" + elegir(productos) + ",\"cantidad\":1}]}");
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta)).GET().build();
+    }
+
+    private HttpRequest post(String ruta, String tipo, String cuerpo) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .header("Content-Type", tipo)
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+    }
+
+    private void enviar(HttpRequest solicitud) throws Exception {
+        HttpResponse<String> respuesta = http.send(solicitud, HttpResponse.BodyHandlers.ofString());
+        assertTrue(respuesta.statusCode() < 400, respuesta.body());
+    }
+
+    private static long elegir(long[] ids) {
+        return ids[aleatorio(ids.length)];
+    }
+
+    private static int aleatorio(int limite) {
+        return ThreadLocalRandom.current().nextInt(Math.max(limite, 1));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    private record Resultado(long[] latencias, int cantidad, int errores) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.CacheAcotada;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheAcotadaTest {
+
+    @Test
+    public void testGuardarYObtener() {
+        CacheAcotada<String, Long> cache = new CacheAcotada<>(10, Duration.ofMinutes(1));
+        cache.guardar("8714140550", 1L);
+
+        assertEquals(1L, cache.obtener("8714140550"));
+        assertNull(cache.obtener("8711234567"));
+
+        cache.guardar("8714140550", 2L);
+        assertEquals(2L, cache.obtener("8714140550"));
+        assertEquals(1, cache.tamano());
+    }
+
+    @Test
+    public void testDescartarMenosUsada() {
+        CacheAcotada<String, Long> cache = new CacheAcotada<>(2, Duration.ofMinutes(1));
+        cache.guardar("a", 1L);
+        cache.guardar("b", 2L);
+        cache.obtener("a");
+        cache.guardar("c", 3L);
+
+        assertEquals(1L, cache.obtener("a"));
+        assertNull(cache.obtener("b"));
+        assertEquals(3L, cache.obtener("c"));
+        assertEquals(2, cache.tamano());
+    }
+
+    @Test
+    public void testVencimiento() throws InterruptedException {
+        CacheAcotada<String, Long> cache = new CacheAcotada<>(10, Duration.ofMillis(1));
+        cache.guardar("a", 1L);
+        Thread.sleep(5);
+
+        assertNull(cache.obtener("a"));
+        assertEquals(0, cache.tamano());
+    }
+
+    @Test
+    public void testQuitar() {
+        CacheAcotada<String, Long> cache = new CacheAcotada<>(10, Duration.ofMinutes(1));
+        cache.guardar("a", 1L);
+        cache.guardar("b", 2L);
+
+        cache.quitar("a");
+        cache.quitar("c");
+        assertNull(cache.obtener("a"));
+        assertEquals(2L, cache.obtener("b"));
+        assertEquals(1, cache.tamano());
+    }
+
+    @Test
+    public void testParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheAcotada<>(0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new CacheAcotada<>(10, Duration.ZERO));
+    }
+}
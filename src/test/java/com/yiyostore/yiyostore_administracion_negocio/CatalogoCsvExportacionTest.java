@@ -0,0 +1,58 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.service.CatalogoCsvService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exporta productos y lotes contra la base de datos H2 del perfil
+ * {@code h2}, cuyo controlador no acepta el tamaño de lectura con el que
+ * MySQL transmite las filas.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+public class CatalogoCsvExportacionTest {
+
+    @Autowired
+    private CatalogoCsvService catalogoCsvService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ResultadoImportacionDTO importar(String csv, boolean lotes) throws IOException {
+        ByteArrayInputStream entrada = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+        return lotes ? catalogoCsvService.importarLotes(entrada) : catalogoCsvService.importarProductos(entrada);
+    }
+
+    @Test
+    public void testExportarProductosYLotes() throws IOException {
+        String nombre = "Exportación " + System.nanoTime();
+        assertEquals(1, importar("nombre,descripcion,precio,fecha_adicion\n"
+                + "\"" + nombre + "\",\"Inalámbrico, 18 V\",100.5,2024-01-01\n", false).filasImportadas());
+        long producto = jdbcTemplate.queryForObject("SELECT id FROM productos WHERE nombre = ?", Long.class, nombre);
+        assertEquals(2, importar("producto_id,costo,cantidad,fecha,estado,notas\n"
+                + producto + ",50,10,2024-01-02,NUEVO,\n"
+                + producto + ",20,3,2024-02-01,USADO,caja abierta\n", true).filasImportadas());
+
+        StringWriter productos = new StringWriter();
+        catalogoCsvService.exportarProductos(productos);
+        assertTrue(productos.toString().startsWith("id,nombre,descripcion,precio,fecha_adicion"));
+        assertTrue(productos.toString().contains(
+                producto + "," + nombre + ",\"Inalámbrico, 18 V\",100.5,2024-01-01"));
+
+        StringWriter lotes = new StringWriter();
+        catalogoCsvService.exportarLotes(lotes);
+        assertTrue(lotes.toString().contains("," + producto + ",20.0,3,,caja abierta,USADO,2024-02-01"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ErrorFilaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.service.CatalogoCsvService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CatalogoCsvServiceTest {
+
+    private static final String ENCABEZADO_LOTES = "producto_id,costo,cantidad,fecha,estado,notas\n";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private CatalogoCsvService catalogoCsvService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogoCsvService = new CatalogoCsvService(jdbcTemplate, transactionManager, productoRepository);
+        when(productoRepository.findIdsExistentes(any())).thenReturn(List.of(1L));
+    }
+
+    private ResultadoImportacionDTO importarLotes(String csv) throws IOException {
+        return catalogoCsvService.importarLotes(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportarLotesValidos() throws IOException {
+        ResultadoImportacionDTO resultado = importarLotes(ENCABEZADO_LOTES
+                + "1,50,10,2024-01-02,NUEVO,\n"
+                + "1,20,3,2024-02-01,USADO,caja abierta\n");
+
+        assertEquals(2, resultado.filasProcesadas());
+        assertEquals(2, resultado.filasImportadas());
+        assertEquals(0, resultado.filasConError());
+        ArgumentCaptor<List<Object[]>> valores = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), valores.capture());
+        assertEquals(2, valores.getValue().size());
+        assertEquals(3, valores.getValue().get(1)[2]);
+    }
+
+    @Test
+    public void testImportarLotesRechazaCantidadFueraDeRango() throws IOException {
+        ResultadoImportacionDTO resultado = importarLotes(ENCABEZADO_LOTES
+                + "1,50,3000000000,2024-01-02,NUEVO,\n"
+                + "1,50,-4294967295,2024-01-02,NUEVO,\n");
+
+        assertEquals(0, resultado.filasImportadas());
+        assertEquals(2, resultado.filasConError());
+        assertTrue(resultado.errores().get(0).mensaje().contains("fuera de rango"));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    public void testImportarLotesReportaLaLineaFisica() throws IOException {
+        ResultadoImportacionDTO resultado = importarLotes(ENCABEZADO_LOTES
+                + "1,50,10,2024-01-02,NUEVO,\"primera línea\nsegunda línea\"\n"
+                + "\n"
+                + "1,abc,10,2024-01-02,NUEVO,\n"
+                + "7,50,10,2024-01-02,NUEVO,\n");
+
+        assertEquals(3, resultado.filasProcesadas());
+        assertEquals(1, resultado.filasImportadas());
+        assertEquals(List.of(5L, 6L), resultado.errores().stream().map(ErrorFilaDTO::fila).sorted().toList());
+        assertTrue(resultado.errores().stream()
+                .anyMatch(error -> error.fila() == 6 && error.mensaje().contains("producto con ID 7")));
+    }
+
+    @Test
+    public void testImportarLotesReportaErrorDeBaseDeDatos() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("llave duplicada"));
+
+        ResultadoImportacionDTO resultado = importarLotes(ENCABEZADO_LOTES + "1,50,10,2024-01-02,NUEVO,\n");
+
+        assertEquals(0, resultado.filasImportadas());
+        assertEquals(1, resultado.filasConError());
+        assertEquals(2, resultado.errores().get(0).fila());
+    }
+
+    @Test
+    public void testImportarLotesReintentaElBloqueFilaPorFila() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocacion -> {
+            List<Object[]> lotes = invocacion.getArgument(1);
+            if (lotes.size() > 1 || "caja abierta".equals(lotes.get(0)[4])) {
+                throw new DataIntegrityViolationException("notas inválidas");
+            }
+            return new int[]{1};
+        });
+
+        ResultadoImportacionDTO resultado = importarLotes(ENCABEZADO_LOTES
+                + "1,50,10,2024-01-02,NUEVO,\n"
+                + "1,20,3,2024-02-01,USADO,caja abierta\n"
+                + "1,30,5,2024-03-01,NUEVO,\n");
+
+        assertEquals(2, resultado.filasImportadas());
+        assertEquals(1, resultado.filasConError());
+        assertEquals(3, resultado.errores().get(0).fila());
+        assertTrue(resultado.errores().get(0).mensaje().contains("notas inválidas"));
+    }
+
+    @Test
+    public void testImportarLotesSinColumnaObligatoria() {
+        assertThrows(IllegalArgumentException.class, () -> importarLotes("producto_id,costo,fecha\n1,2,2024-01-01\n"));
+    }
+
+    @Test
+    public void testImportarProductosConErrores() throws IOException {
+        String csv = "nombre,descripcion,precio,fecha_adicion\n"
+                + "Taladro,\"Inalámbrico,\n18 V\",100,2024-01-01\n"
+                + "Malo,,-5,\n"
+                + ",sin nombre,10,\n";
+
+        ResultadoImportacionDTO resultado = catalogoCsvService.importarProductos(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, resultado.filasProcesadas());
+        assertEquals(1, resultado.filasImportadas());
+        assertEquals(List.of(4L, 5L), resultado.errores().stream().map(ErrorFilaDTO::fila).toList());
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any());
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO historial_precios (producto_id, fecha, precio) VALUES (?, ?, ?)"),
+                anyList());
+    }
+}
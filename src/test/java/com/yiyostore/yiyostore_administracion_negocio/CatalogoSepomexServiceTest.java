@@ -0,0 +1,86 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenCargaSepomexDTO;
+import com.yiyostore.yiyostore_administracion_negocio.service.CatalogoSepomexService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class CatalogoSepomexServiceTest {
+
+    private static final String ENCABEZADO = "d_codigo|d_asenta|d_tipo_asenta|D_mnpio|d_estado|d_zona\n";
+
+    @TempDir
+    Path directorio;
+
+    @Autowired
+    private CatalogoSepomexService catalogoSepomexService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String municipio;
+
+    @BeforeEach
+    void setUp() {
+        municipio = "Municipio " + System.nanoTime();
+    }
+
+    private ResumenCargaSepomexDTO cargar(boolean eliminarObsoletas, String... asentamientos) throws IOException {
+        StringBuilder contenido = new StringBuilder(ENCABEZADO);
+        for (String asentamiento : asentamientos) {
+            contenido.append("27000|").append(asentamiento).append("|Colonia|").append(municipio)
+                    .append("|Coahuila de Zaragoza|Urbano\n");
+        }
+        Path archivo = Files.createTempFile(directorio, "sepomex", ".txt");
+        Files.writeString(archivo, contenido, StandardCharsets.ISO_8859_1);
+        return catalogoSepomexService.cargar(archivo, eliminarObsoletas);
+    }
+
+    private List<String> colonias(String ciudad) {
+        return jdbcTemplate.queryForList("SELECT c.nombre FROM colonias c JOIN ciudades ci ON ci.id = c.ciudad_id"
+                + " WHERE ci.nombre = ? ORDER BY c.nombre", String.class, ciudad);
+    }
+
+    @Test
+    public void testSoloEliminaObsoletasSiSePide() throws IOException {
+        cargar(false, "Centro", "Abastos");
+
+        ResumenCargaSepomexDTO conservando = cargar(false, "Centro");
+        assertEquals(0, conservando.coloniasEliminadas());
+        assertEquals(1, conservando.coloniasConservadas());
+        assertEquals(List.of("Abastos", "Centro"), colonias(municipio));
+
+        ResumenCargaSepomexDTO eliminando = cargar(true, "Centro");
+        assertEquals(1, eliminando.coloniasEliminadas());
+        assertEquals(List.of("Centro"), colonias(municipio));
+    }
+
+    @Test
+    public void testConservaColoniasDeOtrasCiudades() throws IOException {
+        String manual = "Manual " + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO ciudades (nombre) VALUES (?)", manual);
+        long ciudad = jdbcTemplate.queryForObject("SELECT id FROM ciudades WHERE nombre = ?", Long.class, manual);
+        jdbcTemplate.update("INSERT INTO colonias (codigo_postal, nombre, ciudad_id, tipo_asentamiento, tipo)"
+                + " VALUES (27000, 'Registrada a mano', ?, 'COLONIA', 'URBANO')", ciudad);
+
+        ResumenCargaSepomexDTO resumen = cargar(true, "Centro");
+
+        assertEquals(0, resumen.coloniasEliminadas());
+        assertEquals(0, resumen.coloniasConservadas());
+        assertEquals(List.of("Registrada a mano"), colonias(manual));
+    }
+}
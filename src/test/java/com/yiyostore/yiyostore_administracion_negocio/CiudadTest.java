@@ -0,0 +1,94 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Ciudad;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Colonia;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.Tipo;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoAsentamiento;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CiudadTest {
+
+    @Test
+    public void testAgregarColoniaSinDuplicados() {
+        Ciudad ciudad = new Ciudad("Torreón");
+        Colonia centro = new Colonia(27000, "Centro", null, TipoAsentamiento.COLONIA, Tipo.URBANO);
+        Colonia sinGuardar = new Colonia(27000, "Centro", null, TipoAsentamiento.COLONIA, Tipo.URBANO);
+
+        ciudad.agregarColonia(centro);
+        ciudad.agregarColonia(centro);
+        centro.setCiudad(ciudad);
+        ciudad.agregarColonia(sinGuardar);
+
+        assertThat(ciudad.getColonias()).containsExactly(centro, sinGuardar);
+        assertThat(centro.getCiudad()).isSameAs(ciudad);
+        assertThat(centro).isNotEqualTo(sinGuardar);
+    }
+
+    @Test
+    public void testMoverYEliminarColonia() {
+        Ciudad torreon = new Ciudad("Torreón");
+        Ciudad gomez = new Ciudad("Gómez Palacio");
+        Colonia centro = new Colonia(27000, "Centro", torreon, TipoAsentamiento.COLONIA, Tipo.URBANO);
+        torreon.agregarColonia(centro);
+
+        gomez.agregarColonia(centro);
+        assertThat(torreon.getColonias()).isEmpty();
+        assertThat(gomez.getColonias()).containsExactly(centro);
+
+        torreon.eliminarColonia(centro);
+        assertThat(gomez.getColonias()).containsExactly(centro);
+        gomez.eliminarColonia(centro);
+        assertThat(gomez.getColonias()).isEmpty();
+        assertThat(centro.getCiudad()).isNull();
+    }
+
+    @Test
+    public void testMoverYRegresarColonia() {
+        Ciudad torreon = new Ciudad("Torreón");
+        Ciudad gomez = new Ciudad("Gómez Palacio");
+        Colonia centro = new Colonia(27000, "Centro", torreon, TipoAsentamiento.COLONIA, Tipo.URBANO);
+
+        centro.setCiudad(gomez);
+        centro.setCiudad(torreon);
+
+        assertThat(torreon.getColonias()).containsExactly(centro);
+        assertThat(gomez.getColonias()).isEmpty();
+    }
+
+    @Test
+    public void testLeerColoniasNoModificaLaLista() {
+        Ciudad torreon = new Ciudad("Torreón");
+        Colonia centro = new Colonia(27000, "Centro", torreon, TipoAsentamiento.COLONIA, Tipo.URBANO);
+        Colonia abastos = new Colonia(27020, "Abastos", torreon, TipoAsentamiento.COLONIA, Tipo.URBANO);
+        List<Colonia> lista = new ArrayList<>(List.of(centro, abastos));
+        torreon.setColonias(lista);
+
+        centro.setCiudad(new Ciudad("Gómez Palacio"));
+        assertThat(torreon.getColonias()).containsExactly(abastos);
+        assertThat(lista).containsExactly(centro, abastos);
+        assertThatThrownBy(() -> torreon.getColonias().add(centro))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        abastos.setCiudad(null);
+        assertThat(lista).containsExactly(centro);
+    }
+
+    @Test
+    public void testIgualdadPorId() {
+        Colonia a = new Colonia(27000, "Centro", null, TipoAsentamiento.COLONIA, Tipo.URBANO);
+        Colonia b = new Colonia(35000, "Otra", null, TipoAsentamiento.BARRIO, Tipo.RURAL);
+        a.setId(7L);
+        b.setId(7L);
+        assertThat(a).isEqualTo(b).hasSameHashCodeAs(b);
+
+        Colonia sinGuardar = new Colonia(27000, "Centro", null, TipoAsentamiento.COLONIA, Tipo.URBANO);
+        int hashSinGuardar = sinGuardar.hashCode();
+        sinGuardar.setId(8L);
+        assertThat(sinGuardar.hashCode()).isEqualTo(hashSinGuardar);
+    }
+}
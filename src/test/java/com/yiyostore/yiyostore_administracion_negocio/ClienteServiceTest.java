@@ -0,0 +1,109 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ClienteDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Cliente;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.service.ClienteService;
+import com.yiyostore.yiyostore_administracion_negocio.service.DireccionService;
+import com.yiyostore.yiyostore_administracion_negocio.service.DireccionesModificadasEvento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ClienteServiceTest {
+
+    private static final String TELEFONO = "8714140550";
+    private static final String TELEFONO_NUEVO = "8717861794";
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private DireccionService direccionService;
+
+    @InjectMocks
+    private ClienteService clienteService = new ClienteService(100, 300, 25);
+
+    private final ClienteDTO enBase = new ClienteDTO(1L, "Ana", TELEFONO, null, 5L, "Juárez", "120", null,
+            "Centro", 27000);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clienteRepository.findDTOsByNumeroTelefono(TELEFONO)).thenReturn(List.of(enBase));
+        when(clienteRepository.findDTOById(1L)).thenReturn(Optional.of(enBase));
+        when(clienteRepository.save(any(Cliente.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+    }
+
+    @Test
+    public void testActualizarQuitaTelefonoAnteriorDeCache() {
+        clienteService.findByNumeroTelefono(TELEFONO);
+        clienteService.findByNumeroTelefono(TELEFONO);
+        verify(clienteRepository, times(1)).findDTOsByNumeroTelefono(TELEFONO);
+
+        Cliente cliente = new Cliente("Ana", null, TELEFONO_NUEVO, null);
+        cliente.setId(1L);
+        clienteService.save(cliente);
+
+        clienteService.findByNumeroTelefono(TELEFONO);
+        verify(clienteRepository, times(2)).findDTOsByNumeroTelefono(TELEFONO);
+    }
+
+    @Test
+    public void testModificarDireccionQuitaSusClientesDeCache() {
+        when(clienteRepository.findNumerosTelefonoByDireccionId(5L)).thenReturn(List.of(TELEFONO));
+        clienteService.findByNumeroTelefono(TELEFONO);
+
+        clienteService.alModificarDirecciones(new DireccionesModificadasEvento(6L));
+        clienteService.findByNumeroTelefono(TELEFONO);
+        verify(clienteRepository, times(1)).findDTOsByNumeroTelefono(TELEFONO);
+
+        clienteService.alModificarDirecciones(new DireccionesModificadasEvento(5L));
+        clienteService.findByNumeroTelefono(TELEFONO);
+        verify(clienteRepository, times(2)).findDTOsByNumeroTelefono(TELEFONO);
+
+        clienteService.alModificarDirecciones(DireccionesModificadasEvento.todas());
+        clienteService.findByNumeroTelefono(TELEFONO);
+        verify(clienteRepository, times(3)).findDTOsByNumeroTelefono(TELEFONO);
+    }
+
+    @Test
+    public void testTelefonoCompartidoPorVariosClientes() {
+        ClienteDTO familiar = new ClienteDTO(2L, "Luis", TELEFONO, null, 5L, "Juárez", "120", null, "Centro", 27000);
+        assertEquals(List.of(enBase), clienteService.findByNumeroTelefono(TELEFONO));
+
+        Cliente cliente = new Cliente("Luis", null, TELEFONO, null);
+        cliente.setId(2L);
+        clienteService.save(cliente);
+        when(clienteRepository.findDTOsByNumeroTelefono(TELEFONO)).thenReturn(List.of(enBase, familiar));
+
+        assertEquals(List.of(enBase, familiar), clienteService.findByNumeroTelefono("871 414 0550"));
+        verify(clienteRepository, times(2)).findDTOsByNumeroTelefono(TELEFONO);
+    }
+
+    @Test
+    public void testTelefonoSinClientesNoSeGuardaEnCache() {
+        assertTrue(clienteService.findByNumeroTelefono(TELEFONO_NUEVO).isEmpty());
+        assertTrue(clienteService.findByNumeroTelefono(TELEFONO_NUEVO).isEmpty());
+        verify(clienteRepository, times(2)).findDTOsByNumeroTelefono(TELEFONO_NUEVO);
+    }
+
+    @Test
+    public void testOtraViolacionDeIntegridadNoSeTraduce() {
+        when(clienteRepository.save(any(Cliente.class)))
+                .thenThrow(new DataIntegrityViolationException("fk_clientes_direccion"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> clienteService.save(new Cliente("Luis", null, TELEFONO_NUEVO, null)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.CsvUtils;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvUtilsTest {
+
+    @Test
+    public void testLeerRegistrosSimples() throws IOException {
+        BufferedReader lector = new BufferedReader(new StringReader("nombre,precio\r\nTaladro,1500.5\nLijadora,\n"));
+
+        assertEquals(List.of("nombre", "precio"), CsvUtils.leerRegistro(lector));
+        assertEquals(List.of("Taladro", "1500.5"), CsvUtils.leerRegistro(lector));
+        assertEquals(List.of("Lijadora", ""), CsvUtils.leerRegistro(lector));
+        assertNull(CsvUtils.leerRegistro(lector));
+    }
+
+    @Test
+    public void testLeerCamposEntreComillas() throws IOException {
+        BufferedReader lector = new BufferedReader(new StringReader("\"Pinza, 8\"\"\",\"línea 1\nlínea 2\",x"));
+
+        assertEquals(List.of("Pinza, 8\"", "línea 1\nlínea 2", "x"), CsvUtils.leerRegistro(lector));
+        assertNull(CsvUtils.leerRegistro(lector));
+    }
+
+    @Test
+    public void testEscribirYLeerRegistro() throws IOException {
+        StringWriter escritor = new StringWriter();
+        CsvUtils.escribirRegistro(escritor, 1L, "Martillo \"pro\", 16 oz", null, 250.0);
+
+        assertEquals("1,\"Martillo \"\"pro\"\", 16 oz\",,250.0\n", escritor.toString());
+
+        BufferedReader lector = new BufferedReader(new StringReader(escritor.toString()));
+        assertEquals(List.of("1", "Martillo \"pro\", 16 oz", "", "250.0"), CsvUtils.leerRegistro(lector));
+    }
+}
@@ -0,0 +1,91 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.DataSourceAcotado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DataSourceAcotadoTest {
+
+    @Mock
+    private DataSource destino;
+
+    @Mock
+    private Connection conexion;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(destino.getConnection()).thenReturn(conexion);
+        when(conexion.isClosed()).thenReturn(false);
+    }
+
+    @Test
+    public void testLimitaLasConexionesAbiertas() throws SQLException {
+        DataSourceAcotado dataSource = new DataSourceAcotado(destino, 2, 10);
+
+        Connection primera = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+        assertEquals(2, dataSource.getEnUso());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        primera.close();
+        primera.close();
+        assertEquals(1, dataSource.getEnUso());
+        verify(conexion, times(1)).close();
+
+        assertFalse(segunda.isClosed());
+        segunda.close();
+        assertEquals(0, dataSource.getEnUso());
+    }
+
+    @Test
+    public void testLiberaElPermisoSiFallaLaConexion() throws SQLException {
+        when(destino.getConnection()).thenThrow(new SQLException("sin conexión"));
+        DataSourceAcotado dataSource = new DataSourceAcotado(destino, 1, 10);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.getEnUso());
+    }
+
+    @Test
+    public void testEsperaUnPermisoLiberado() throws Exception {
+        DataSourceAcotado dataSource = new DataSourceAcotado(destino, 1, TimeUnit.SECONDS.toMillis(5));
+        Connection primera = dataSource.getConnection();
+
+        CountDownLatch obtenida = new CountDownLatch(1);
+        AtomicReference<Connection> segunda = new AtomicReference<>();
+        Thread hilo = Thread.ofVirtual().start(() -> {
+            try {
+                segunda.set(dataSource.getConnection());
+                obtenida.countDown();
+            } catch (SQLException e) {
+                fail(e);
+            }
+        });
+
+        assertFalse(obtenida.await(100, TimeUnit.MILLISECONDS));
+        primera.close();
+        assertTrue(obtenida.await(5, TimeUnit.SECONDS));
+        hilo.join();
+        assertNotNull(segunda.get());
+        assertEquals(1, dataSource.getEnUso());
+    }
+
+    @Test
+    public void testMaximoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> new DataSourceAcotado(destino, 0, 10));
+    }
+}
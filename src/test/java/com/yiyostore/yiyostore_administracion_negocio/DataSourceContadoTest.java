@@ -0,0 +1,71 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.DataSourceContado;
+import com.yiyostore.yiyostore_administracion_negocio.utils.RegistroSentencias;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DataSourceContadoTest {
+
+    @Mock
+    private DataSource destino;
+
+    @Mock
+    private Connection conexion;
+
+    @Mock
+    private PreparedStatement preparada;
+
+    @Mock
+    private Statement simple;
+
+    private DataSourceContado dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(destino.getConnection()).thenReturn(conexion);
+        when(conexion.prepareStatement(anyString())).thenReturn(preparada);
+        when(conexion.createStatement()).thenReturn(simple);
+        dataSource = new DataSourceContado(destino);
+    }
+
+    @Test
+    public void testCuentaCadaEjecucion() throws SQLException {
+        try (RegistroSentencias.Medicion medicion = RegistroSentencias.iniciar();
+                Connection conexionContada = dataSource.getConnection()) {
+            PreparedStatement sentencia = conexionContada.prepareStatement("update lotes set cantidad=? where id=?");
+            sentencia.executeUpdate();
+            sentencia.addBatch();
+            sentencia.addBatch();
+            sentencia.executeBatch();
+            conexionContada.createStatement().executeQuery("select 1");
+
+            assertEquals(3, medicion.total());
+            assertEquals(2, medicion.repeticionesMaximas());
+            assertEquals(2, medicion.porForma().get("update lotes set cantidad=? where id=?"));
+            verify(preparada).executeUpdate();
+            verify(preparada).executeBatch();
+            verify(simple).executeQuery("select 1");
+        }
+        verify(conexion).close();
+    }
+
+    @Test
+    public void testSinMedicionNoEnvuelveLasSentencias() throws SQLException {
+        try (Connection conexionContada = dataSource.getConnection()) {
+            assertSame(preparada, conexionContada.prepareStatement("select 1"));
+        }
+    }
+}
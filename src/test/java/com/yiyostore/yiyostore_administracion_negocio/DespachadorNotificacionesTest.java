@@ -0,0 +1,154 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.exception.EnvioNotificacionException;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Notificacion;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.CanalNotificacion;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoNotificacion;
+import com.yiyostore.yiyostore_administracion_negocio.repository.NotificacionRepository;
+import com.yiyostore.yiyostore_administracion_negocio.service.DespachadorNotificacionesService;
+import com.yiyostore.yiyostore_administracion_negocio.service.EmisorNotificaciones;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DespachadorNotificacionesTest {
+
+    @Mock
+    private NotificacionRepository notificacionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> enviados = new ArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private DespachadorNotificacionesService despachador(EmisorNotificaciones emisor) {
+        return despachador(emisor, 5000);
+    }
+
+    private DespachadorNotificacionesService despachador(EmisorNotificaciones emisor, long intervaloMs) {
+        return new DespachadorNotificacionesService(notificacionRepository, transactionManager,
+                Optional.ofNullable(emisor), 50, 1000, 3, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                Duration.ofMinutes(2), intervaloMs, false, meterRegistry);
+    }
+
+    private Notificacion notificacion(long id, String destinatario) {
+        Notificacion notificacion = new Notificacion(TipoNotificacion.PEDIDO_CREADO, CanalNotificacion.WHATSAPP,
+                destinatario, "Hola", 1L, LocalDateTime.now());
+        notificacion.setId(id);
+        return notificacion;
+    }
+
+    @Test
+    public void testEnviaYMarcaElLote() throws InterruptedException {
+        when(notificacionRepository.findParaEnviar(any(), any()))
+                .thenReturn(List.of(notificacion(1, "6441111111"), notificacion(2, "6442222222")));
+
+        int enviadas = despachador((canal, destinatario, mensaje) -> enviados.add(destinatario)).despachar();
+
+        assertEquals(2, enviadas);
+        assertEquals(List.of("6441111111", "6442222222"), enviados);
+        verify(notificacionRepository).marcarEnviadas(eq(List.of(1L, 2L)), any());
+        verify(notificacionRepository, never()).reprogramar(any(), any(), any());
+    }
+
+    @Test
+    public void testReprogramaLosErroresTemporales() throws InterruptedException {
+        Notificacion pendiente = notificacion(1, "6441111111");
+        when(notificacionRepository.findParaEnviar(any(), any())).thenReturn(List.of(pendiente));
+
+        int enviadas = despachador((canal, destinatario, mensaje) -> {
+            throw new EnvioNotificacionException("Demasiadas solicitudes", true);
+        }).despachar();
+
+        assertEquals(0, enviadas);
+        assertEquals(1, pendiente.getIntentos());
+        ArgumentCaptor<LocalDateTime> proximoIntento = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificacionRepository).reprogramar(eq(1L), proximoIntento.capture(), eq("Demasiadas solicitudes"));
+        assertTrue(proximoIntento.getValue().isAfter(LocalDateTime.now().plusSeconds(25)));
+        verify(notificacionRepository, never()).marcarFallida(any(), anyString());
+        verify(notificacionRepository, never()).marcarEnviadas(any(), any());
+    }
+
+    @Test
+    public void testMarcaFallidosLosErroresPermanentes() throws InterruptedException {
+        when(notificacionRepository.findParaEnviar(any(), any()))
+                .thenReturn(List.of(notificacion(1, "6441111111"), notificacion(2, "6442222222")));
+
+        int enviadas = despachador((canal, destinatario, mensaje) -> {
+            if (destinatario.startsWith("6441")) {
+                throw new EnvioNotificacionException("Número inválido", false);
+            }
+        }).despachar();
+
+        assertEquals(1, enviadas);
+        verify(notificacionRepository).marcarFallida(1L, "Número inválido");
+        verify(notificacionRepository).marcarEnviadas(eq(List.of(2L)), any());
+    }
+
+    @Test
+    public void testMarcaFallidosAlAgotarLosIntentos() throws InterruptedException {
+        Notificacion pendiente = notificacion(1, "6441111111");
+        pendiente.reclamar(LocalDateTime.now());
+        pendiente.reclamar(LocalDateTime.now());
+        when(notificacionRepository.findParaEnviar(any(), any())).thenReturn(List.of(pendiente));
+
+        despachador((canal, destinatario, mensaje) -> {
+            throw new IllegalStateException("Sin conexión");
+        }).despachar();
+
+        verify(notificacionRepository).marcarFallida(eq(1L), contains("Sin conexión"));
+        verify(notificacionRepository, never()).reprogramar(any(), any(), any());
+    }
+
+    @Test
+    public void testSinEmisorNoConsulta() throws InterruptedException {
+        assertEquals(0, despachador(null).despachar());
+        verifyNoInteractions(notificacionRepository);
+    }
+
+    @Test
+    public void testCuentaLosCiclosFallidos() throws InterruptedException {
+        when(notificacionRepository.findParaEnviar(any(), any())).thenThrow(new IllegalStateException("Sin base"));
+        DespachadorNotificacionesService despachador = despachador((canal, destinatario, mensaje) -> {
+        }, 10);
+
+        despachador.iniciar();
+        try {
+            long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (ciclosFallidos() < 2 && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+        } finally {
+            despachador.detener();
+        }
+        assertTrue(ciclosFallidos() >= 2);
+    }
+
+    private double ciclosFallidos() {
+        return meterRegistry.get("yiyostore.notificaciones.ciclos.fallidos").counter().count();
+    }
+}
@@ -0,0 +1,186 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Colonia;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.Direccion;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.Tipo;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoAsentamiento;
+import com.yiyostore.yiyostore_administracion_negocio.repository.DireccionRepository;
+import com.yiyostore.yiyostore_administracion_negocio.service.DireccionService;
+import com.yiyostore.yiyostore_administracion_negocio.service.DireccionesModificadasEvento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DireccionServiceTest {
+
+    @Mock
+    private DireccionRepository direccionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    private DireccionService direccionService;
+
+    private Colonia colonia;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        direccionService = new DireccionService(direccionRepository, eventos, 25);
+        colonia = new Colonia(27000, "Centro", null, TipoAsentamiento.COLONIA, Tipo.URBANO);
+        colonia.setId(12L);
+        when(direccionRepository.save(any(Direccion.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+        when(direccionRepository.findCallesByColoniaId(any())).thenReturn(List.of());
+    }
+
+    private Direccion direccion(String calle, String numero) {
+        Direccion direccion = new Direccion();
+        direccion.setNombreCalle(calle);
+        direccion.setNumeroExterior(numero);
+        direccion.setColonia(colonia);
+        return direccion;
+    }
+
+    private Direccion existente(String referencia) {
+        Direccion existente = direccion("Av. Juárez", "120-B");
+        existente.setId(7L);
+        existente.setEntreCalle1("Hidalgo");
+        existente.setReferencia(referencia);
+        existente.calcularClaveCanonica();
+        when(direccionRepository.findFirstByClaveCanonicaOrderByIdAsc(existente.getClaveCanonica()))
+                .thenReturn(Optional.of(existente));
+        return existente;
+    }
+
+    @Test
+    public void testResolverSinEquivalente() {
+        when(direccionRepository.findFirstByClaveCanonicaOrderByIdAsc(anyString())).thenReturn(Optional.empty());
+        Direccion nueva = direccion("Av. Juárez", "120-B");
+
+        assertSame(nueva, direccionService.resolver(nueva));
+        assertNotNull(nueva.getClaveCanonica());
+        verify(direccionRepository, never()).save(any());
+    }
+
+    @Test
+    public void testResolverCompletaDatosFaltantes() {
+        Direccion existente = existente(null);
+        Direccion nueva = direccion("avenida juarez", "120 b");
+        nueva.setEntreCalle1("HIDALGO");
+        nueva.setEntreCalle2("Morelos");
+        nueva.setReferencia("Portón negro");
+
+        Direccion resuelta = direccionService.resolver(nueva);
+
+        assertSame(existente, resuelta);
+        assertEquals("Hidalgo", resuelta.getEntreCalle1());
+        assertEquals("Morelos", resuelta.getEntreCalle2());
+        assertEquals("Portón negro", resuelta.getReferencia());
+        verify(direccionRepository).save(existente);
+    }
+
+    @Test
+    public void testResolverSinDatosNuevosNoGuarda() {
+        Direccion existente = existente("Portón negro");
+        Direccion nueva = direccion("Av Juarez", "120B");
+        nueva.setReferencia("porton negro");
+
+        assertSame(existente, direccionService.resolver(nueva));
+        verify(direccionRepository, never()).save(any());
+    }
+
+    @Test
+    public void testResolverCombinaDatosDistintos() {
+        Direccion existente = existente("Portón negro");
+        Direccion nueva = direccion("Av. Juárez", "120-B");
+        nueva.setEntreCalle1("Allende");
+        nueva.setEntreCalle2("Morelos");
+        nueva.setReferencia("Casa azul");
+
+        assertSame(existente, direccionService.resolver(nueva));
+        assertEquals("Hidalgo", existente.getEntreCalle1());
+        assertEquals("Morelos", existente.getEntreCalle2());
+        assertEquals("Portón negro; Casa azul", existente.getReferencia());
+
+        Direccion repetida = direccion("Av. Juárez", "120-B");
+        repetida.setReferencia("casa azul");
+        direccionService.resolver(repetida);
+        assertEquals("Portón negro; Casa azul", existente.getReferencia());
+        verify(direccionRepository, times(1)).save(existente);
+    }
+
+    @Test
+    public void testResolverConservaReferenciaSiNoCabe() {
+        Direccion existente = existente("x".repeat(250));
+        Direccion nueva = direccion("Av. Juárez", "120-B");
+        nueva.setReferencia("Casa azul");
+
+        assertSame(existente, direccionService.resolver(nueva));
+        assertEquals("x".repeat(250), existente.getReferencia());
+        verify(direccionRepository, never()).save(any());
+    }
+
+    @Test
+    public void testCrearDevuelveLaDireccionGuardadaAlMismoTiempo() {
+        Direccion nueva = direccion("Av. Juárez", "120-B");
+        Direccion otra = direccion("Av. Juárez", "120-B");
+        otra.setId(9L);
+        when(direccionRepository.findFirstByClaveCanonicaOrderByIdAsc(anyString()))
+                .thenReturn(Optional.empty(), Optional.of(otra));
+        when(direccionRepository.save(nueva)).thenThrow(new DataIntegrityViolationException("clave repetida"));
+
+        assertSame(otra, direccionService.crearDireccion(nueva));
+    }
+
+    @Test
+    public void testEliminarSiNoSeUsa() {
+        Direccion usada = direccion("Av. Juárez", "120-B");
+        when(direccionRepository.findById(7L)).thenReturn(Optional.of(usada));
+        when(direccionRepository.findById(8L)).thenReturn(Optional.of(usada));
+        when(direccionRepository.eliminarSiNoTieneClientes(7L)).thenReturn(1);
+        when(direccionRepository.eliminarSiNoTieneClientes(8L)).thenReturn(0);
+
+        assertTrue(direccionService.eliminarSiNoSeUsa(7L));
+        assertFalse(direccionService.eliminarSiNoSeUsa(8L));
+        assertFalse(direccionService.eliminarSiNoSeUsa(null));
+        verify(direccionRepository, times(1)).findCallesByColoniaId(12L);
+    }
+
+    @Test
+    public void testActualizarPublicaEvento() {
+        Direccion anterior = direccion("Av. Juárez", "120-B");
+        when(direccionRepository.findById(7L)).thenReturn(Optional.of(anterior));
+
+        assertNotNull(direccionService.actualizarDireccion(7L, direccion("Av. Juárez", "122")));
+        assertNull(direccionService.actualizarDireccion(8L, direccion("Morelos", "1")));
+        verify(eventos).publishEvent(new DireccionesModificadasEvento(7L));
+        verifyNoMoreInteractions(eventos);
+    }
+
+    @Test
+    public void testActualizarRechazaDireccionEquivalenteAOtra() {
+        Direccion existente = existente(null);
+        Direccion otra = direccion("Morelos", "1");
+        when(direccionRepository.findById(7L)).thenReturn(Optional.of(existente));
+        when(direccionRepository.findById(8L)).thenReturn(Optional.of(otra));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> direccionService.actualizarDireccion(8L, direccion("Av. Juárez", "120-B")));
+        verify(direccionRepository, never()).save(any());
+        verifyNoInteractions(eventos);
+
+        assertNotNull(direccionService.actualizarDireccion(7L, direccion("avenida juarez", "120 b")));
+        verify(eventos).publishEvent(new DireccionesModificadasEvento(7L));
+    }
+}
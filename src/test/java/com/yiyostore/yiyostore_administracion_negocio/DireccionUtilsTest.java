@@ -0,0 +1,37 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.DireccionUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DireccionUtilsTest {
+
+    @Test
+    public void testNormalizarCalle() {
+        assertEquals("avenida general morelos", DireccionUtils.normalizarCalle("Av. Gral. Morelos"));
+        assertEquals("hidalgo", DireccionUtils.normalizarCalle("C. Hidalgo"));
+        assertEquals("hidalgo", DireccionUtils.normalizarCalle("Calle Hidalgo"));
+        assertEquals("c", DireccionUtils.normalizarCalle("Calle C"));
+        assertEquals("boulevard revolucion", DireccionUtils.normalizarCalle("Blvd. Revolución"));
+        assertEquals("", DireccionUtils.normalizarCalle(null));
+    }
+
+    @Test
+    public void testNormalizarNumero() {
+        assertEquals("12A", DireccionUtils.normalizarNumero("#12 - a"));
+        assertEquals("12A", DireccionUtils.normalizarNumero("No. 12A"));
+        assertEquals("SN", DireccionUtils.normalizarNumero("S/N"));
+        assertEquals("SN", DireccionUtils.normalizarNumero("sin número"));
+        assertEquals("", DireccionUtils.normalizarNumero(null));
+    }
+
+    @Test
+    public void testClaveCanonica() {
+        String clave = DireccionUtils.claveCanonica("Av. Morelos", "#12-a", null, 5L);
+        assertEquals(64, clave.length());
+        assertEquals(clave, DireccionUtils.claveCanonica("Avenida  Morelos", "12 A", "", 5L));
+        assertNotEquals(clave, DireccionUtils.claveCanonica("Avenida Morelos", "12 A", null, 6L));
+        assertNotEquals(clave, DireccionUtils.claveCanonica("Avenida Morelos", "12", "A", 5L));
+    }
+}
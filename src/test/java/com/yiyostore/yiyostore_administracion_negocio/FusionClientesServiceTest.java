@@ -0,0 +1,102 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenFusionClientesDTO;
+import com.yiyostore.yiyostore_administracion_negocio.service.FusionClientesService;
+import com.yiyostore.yiyostore_administracion_negocio.service.ResumenClienteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fusiona clientes duplicados contra la base de datos H2 del perfil
+ * {@code h2}, para ejecutar las sentencias por lotes del servicio.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+public class FusionClientesServiceTest {
+
+    @Autowired
+    private FusionClientesService fusionClientesService;
+
+    @Autowired
+    private ResumenClienteService resumenClienteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long colonia;
+    private String telefono;
+
+    @BeforeEach
+    void setUp() {
+        String ciudad = "Clientes " + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO ciudades (nombre) VALUES (?)", ciudad);
+        long ciudadId = jdbcTemplate.queryForObject("SELECT id FROM ciudades WHERE nombre = ?", Long.class, ciudad);
+        jdbcTemplate.update("INSERT INTO colonias (codigo_postal, nombre, ciudad_id, tipo_asentamiento, tipo)"
+                + " VALUES (27000, ?, ?, 'COLONIA', 'URBANO')", ciudad, ciudadId);
+        colonia = jdbcTemplate.queryForObject("SELECT id FROM colonias WHERE nombre = ?", Long.class, ciudad);
+        telefono = String.format("871%07d", System.nanoTime() % 10_000_000);
+    }
+
+    private long insertarDireccion(String calle) {
+        jdbcTemplate.update("INSERT INTO direcciones (nombre_calle, numero_exterior, colonia_id) VALUES (?, '1', ?)",
+                calle, colonia);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM direcciones", Long.class);
+    }
+
+    private long insertarCliente(String nombre, String numeroTelefono, Long direccion) {
+        jdbcTemplate.update("INSERT INTO clientes (nombre, numero_telefono, direccion_id) VALUES (?, ?, ?)", nombre,
+                numeroTelefono, direccion);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM clientes", Long.class);
+    }
+
+    private void insertarPedido(long cliente) {
+        jdbcTemplate.update("INSERT INTO pedidos (cliente_id, fecha, metodo_pago, lugar_compra, estado)"
+                + " VALUES (?, CURRENT_DATE, 'PAYPAL', 'PAGINA_FACEBOOK', 'COMPLETADO')", cliente);
+    }
+
+    private int contar(String sql, Object... argumentos) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, argumentos);
+    }
+
+    @Test
+    public void testFusionaDuplicadosYEliminaSusDireccionesSinUsar() {
+        String formateado = telefono.substring(0, 3) + " " + telefono.substring(3, 6) + " " + telefono.substring(6);
+        long propia = insertarDireccion("Juárez");
+        long delDuplicado = insertarDireccion("Hidalgo");
+        long compartida = insertarDireccion("Morelos");
+        long ana = insertarCliente("Ana García", formateado, propia);
+        long anaDuplicada = insertarCliente("ANA", telefono, delDuplicado);
+        long luis = insertarCliente("Luis", formateado, compartida);
+        long anaSinDireccionPropia = insertarCliente("ana g", telefono, compartida);
+        insertarPedido(ana);
+        insertarPedido(anaDuplicada);
+        resumenClienteService.recalcular(List.of(ana, anaDuplicada));
+
+        ResumenFusionClientesDTO resumen = fusionClientesService.fusionarDuplicados();
+
+        assertTrue(resumen.gruposDuplicados() >= 1);
+        assertTrue(resumen.clientesEliminados() >= 2);
+        assertTrue(resumen.pedidosReasignados() >= 1);
+        assertTrue(resumen.direccionesEliminadas() >= 1);
+        assertEquals(0, contar("SELECT COUNT(*) FROM clientes WHERE id IN (?, ?)", anaDuplicada,
+                anaSinDireccionPropia));
+        assertEquals(2, contar("SELECT COUNT(*) FROM clientes WHERE id IN (?, ?) AND numero_telefono = ?", ana, luis,
+                telefono));
+        assertEquals(2, contar("SELECT COUNT(*) FROM pedidos WHERE cliente_id = ?", ana));
+
+        // La dirección del duplicado ya no la usa nadie; la compartida la sigue usando Luis.
+        assertEquals(0, contar("SELECT COUNT(*) FROM direcciones WHERE id = ?", delDuplicado));
+        assertEquals(2, contar("SELECT COUNT(*) FROM direcciones WHERE id IN (?, ?)", propia, compartida));
+
+        assertEquals(2, contar("SELECT cantidad_pedidos FROM resumenes_clientes WHERE cliente_id = ?", ana));
+        assertEquals(0, contar("SELECT COUNT(*) FROM resumenes_clientes WHERE cliente_id = ?", anaDuplicada));
+    }
+}
@@ -0,0 +1,81 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenFusionDireccionesDTO;
+import com.yiyostore.yiyostore_administracion_negocio.service.FusionDireccionesService;
+import com.yiyostore.yiyostore_administracion_negocio.utils.DireccionUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fusiona direcciones contra la base de datos H2 del perfil {@code h2}, con el
+ * índice único de la clave canónica creado por el esquema.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+public class FusionDireccionesClavesTest {
+
+    @Autowired
+    private FusionDireccionesService fusionDireccionesService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long colonia;
+
+    @BeforeEach
+    void setUp() {
+        String ciudad = "Fusión " + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO ciudades (nombre) VALUES (?)", ciudad);
+        long ciudadId = jdbcTemplate.queryForObject("SELECT id FROM ciudades WHERE nombre = ?", Long.class, ciudad);
+        jdbcTemplate.update("INSERT INTO colonias (codigo_postal, nombre, ciudad_id, tipo_asentamiento, tipo)"
+                + " VALUES (27000, ?, ?, 'COLONIA', 'URBANO')", ciudad, ciudadId);
+        colonia = jdbcTemplate.queryForObject("SELECT id FROM colonias WHERE nombre = ?", Long.class, ciudad);
+    }
+
+    private long insertarDireccion(String calle, String numero, String clave) {
+        jdbcTemplate.update("INSERT INTO direcciones (nombre_calle, numero_exterior, colonia_id, clave_canonica)"
+                + " VALUES (?, ?, ?, ?)", calle, numero, colonia, clave);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM direcciones", Long.class);
+    }
+
+    private long insertarCliente(String nombre, long direccion) {
+        jdbcTemplate.update("INSERT INTO clientes (nombre, direccion_id) VALUES (?, ?)", nombre, direccion);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM clientes", Long.class);
+    }
+
+    @Test
+    public void testFusionaLaDireccionCuyaClaveRecalculadaYaExiste() {
+        String clave = DireccionUtils.claveCanonica("Av. Juárez", "120-B", null, colonia);
+        long antigua = insertarDireccion("Av. Juárez", "120-B", "clave-anterior-" + colonia);
+        long nueva = insertarDireccion("avenida juarez", "120 b", clave);
+        long clienteAntigua = insertarCliente("Ana", antigua);
+        long clienteNueva = insertarCliente("Luis", nueva);
+
+        ResumenFusionDireccionesDTO resumen = fusionDireccionesService.fusionarDuplicados();
+
+        assertTrue(resumen.gruposDuplicados() >= 1);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM direcciones WHERE id = ?",
+                Integer.class, nueva));
+        assertEquals(clave, jdbcTemplate.queryForObject("SELECT clave_canonica FROM direcciones WHERE id = ?",
+                String.class, antigua));
+        for (long cliente : new long[]{clienteAntigua, clienteNueva}) {
+            assertEquals(antigua, jdbcTemplate.queryForObject("SELECT direccion_id FROM clientes WHERE id = ?",
+                    Long.class, cliente));
+        }
+    }
+
+    @Test
+    public void testIndiceUnicoRechazaClaveRepetida() {
+        String clave = DireccionUtils.claveCanonica("Morelos", "15", null, colonia);
+        insertarDireccion("Morelos", "15", clave);
+
+        assertThrows(DataIntegrityViolationException.class, () -> insertarDireccion("MORELOS", "15", clave));
+    }
+}
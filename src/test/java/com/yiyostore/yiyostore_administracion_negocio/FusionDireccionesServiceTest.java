@@ -0,0 +1,105 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenFusionDireccionesDTO;
+import com.yiyostore.yiyostore_administracion_negocio.service.ClienteService;
+import com.yiyostore.yiyostore_administracion_negocio.service.DireccionService;
+import com.yiyostore.yiyostore_administracion_negocio.service.FusionDireccionesService;
+import com.yiyostore.yiyostore_administracion_negocio.utils.DireccionUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+public class FusionDireccionesServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DireccionService direccionService;
+
+    @Mock
+    private ClienteService clienteService;
+
+    @Mock
+    private ResultSet resultado;
+
+    private FusionDireccionesService fusionDireccionesService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        fusionDireccionesService = new FusionDireccionesService(jdbcTemplate, transactionManager, direccionService,
+                clienteService);
+
+        // Una sola dirección, con su clave canónica ya calculada.
+        String clave = DireccionUtils.claveCanonica("Av. Juárez", "120-B", null, 12L);
+        when(resultado.getLong(1)).thenReturn(3L);
+        when(resultado.getString(2)).thenReturn("Av. Juárez");
+        when(resultado.getString(3)).thenReturn("120-B");
+        when(resultado.getLong(5)).thenReturn(12L);
+        when(resultado.getString(6)).thenReturn(clave);
+        doAnswer(invocacion -> {
+            invocacion.<RowCallbackHandler>getArgument(1).processRow(resultado);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFusionarDuplicadosYEliminarSinClientes() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{"clave", 3L}));
+        when(jdbcTemplate.batchUpdate(contains("UPDATE clientes"), anyList())).thenReturn(new int[]{2});
+        when(jdbcTemplate.batchUpdate(startsWith("DELETE"), anyList())).thenReturn(new int[]{1});
+        when(jdbcTemplate.update(contains("NOT EXISTS"))).thenReturn(4);
+
+        ResumenFusionDireccionesDTO resumen = fusionDireccionesService.fusionarDuplicados();
+
+        assertEquals(1, resumen.direccionesRevisadas());
+        assertEquals(0, resumen.clavesActualizadas());
+        assertEquals(1, resumen.gruposDuplicados());
+        assertEquals(1, resumen.direccionesEliminadas());
+        assertEquals(2, resumen.clientesReasignados());
+        assertEquals(4, resumen.direccionesSinClientesEliminadas());
+        ArgumentCaptor<List<Object[]>> reasignaciones = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("UPDATE clientes"), reasignaciones.capture());
+        assertArrayEquals(new Object[]{3L, "clave", 3L}, reasignaciones.getValue().get(0));
+        verify(direccionService).cargarIndiceCalles();
+        verify(clienteService).limpiarCache();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSinDuplicadosSoloEliminaDireccionesSinClientes() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+        when(jdbcTemplate.update(contains("NOT EXISTS"))).thenReturn(1);
+
+        ResumenFusionDireccionesDTO resumen = fusionDireccionesService.fusionarDuplicados();
+
+        assertEquals(0, resumen.gruposDuplicados());
+        assertEquals(1, resumen.direccionesSinClientesEliminadas());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(direccionService).cargarIndiceCalles();
+        verify(clienteService, never()).limpiarCache();
+    }
+}
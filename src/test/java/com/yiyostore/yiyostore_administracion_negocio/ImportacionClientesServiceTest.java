@@ -0,0 +1,182 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ErrorFilaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResultadoImportacionDTO;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ColoniaRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.DireccionRepository;
+import com.yiyostore.yiyostore_administracion_negocio.service.ClienteService;
+import com.yiyostore.yiyostore_administracion_negocio.service.ColoniaService;
+import com.yiyostore.yiyostore_administracion_negocio.service.DireccionService;
+import com.yiyostore.yiyostore_administracion_negocio.service.ImportacionClientesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ImportacionClientesServiceTest {
+
+    private static final String ENCABEZADO = "nombre,numero_telefono,nombre_calle,numero_exterior,numero_interior,"
+            + "colonia_id,codigo_postal,colonia,referencia\n";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private ColoniaRepository coloniaRepository;
+
+    @Mock
+    private DireccionRepository direccionRepository;
+
+    @Mock
+    private ColoniaService coloniaService;
+
+    @Mock
+    private DireccionService direccionService;
+
+    @Mock
+    private ClienteService clienteService;
+
+    private ImportacionClientesService importacionClientesService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        importacionClientesService = new ImportacionClientesService(jdbcTemplate, transactionManager,
+                clienteRepository, coloniaRepository, direccionRepository, coloniaService, direccionService,
+                clienteService, new ObjectMapper());
+        when(coloniaRepository.findIdsExistentes(any())).thenReturn(List.of(3L));
+        when(coloniaService.findByCodigoPostal(27000)).thenReturn(List.of(
+                new ColoniaDTO(3L, "Centro", 27000, "Torreón"), new ColoniaDTO(4L, "Los Ángeles", 27000, "Torreón")));
+    }
+
+    private ResultadoImportacionDTO importarCsv(String csv) throws IOException {
+        return importacionClientesService.importarCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> clientesInsertados() {
+        ArgumentCaptor<List<Object[]>> valores = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), valores.capture());
+        return valores.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    public void testImportarFilasValidas() throws IOException {
+        ResultadoImportacionDTO resultado = importarCsv(ENCABEZADO
+                + "Ana,871 414 0550,,,,,,,\n"
+                + "Luis,,Av. Juárez,120,,3,,,\n"
+                + "Eva,+52 871-786-1794,Morelos,5,,,27000,los angeles,\n");
+
+        assertEquals(3, resultado.filasProcesadas());
+        assertEquals(3, resultado.filasImportadas());
+        assertEquals(0, resultado.filasConError());
+        List<Object[]> clientes = clientesInsertados();
+        assertEquals(3, clientes.size());
+        assertEquals("8714140550", clientes.get(0)[2]);
+        assertEquals("8717861794", clientes.get(2)[2]);
+        verify(clienteService).cargarIndiceNombres();
+        verify(direccionService).cargarIndiceCalles();
+    }
+
+    @Test
+    public void testFilasInvalidasConNumeroDeLinea() throws IOException {
+        ResultadoImportacionDTO resultado = importarCsv(ENCABEZADO
+                + ",,,,,,,,\n"
+                + "\"Ana\nGarcía\",12,,,,,,,\n"
+                + "Luis,,Calle,1,,99,,,\n"
+                + "Eva,,Calle,1,,,27000,,\n");
+
+        assertEquals(0, resultado.filasImportadas());
+        assertEquals(List.of(2L, 3L, 5L, 6L), resultado.errores().stream().map(ErrorFilaDTO::fila).toList());
+        assertTrue(resultado.errores().get(0).mensaje().contains("ni número de teléfono"));
+        assertTrue(resultado.errores().get(1).mensaje().contains("inválido"));
+        assertTrue(resultado.errores().get(2).mensaje().contains("ID 99"));
+        assertTrue(resultado.errores().get(3).mensaje().contains("indique la colonia"));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    public void testTelefonosDuplicados() throws IOException {
+        when(clienteRepository.findNumerosTelefonoExistentes(any())).thenReturn(List.of("8714140550"));
+
+        ResultadoImportacionDTO resultado = importarCsv(ENCABEZADO
+                + "Ana,8714140550,,,,,,,\n"
+                + "Luis,871 222 3344,,,,,,,\n"
+                + "Eva,(871) 222-3344,,,,,,,\n");
+
+        assertEquals(1, resultado.filasImportadas());
+        assertEquals(2, resultado.filasConError());
+        assertTrue(resultado.errores().get(0).mensaje().contains("Ya existe"));
+        assertTrue(resultado.errores().get(1).mensaje().contains("repetido"));
+        assertEquals(4, resultado.errores().get(1).fila());
+    }
+
+    @Test
+    public void testDireccionParcialNecesitaColonia() throws IOException {
+        ResultadoImportacionDTO resultado = importarCsv(ENCABEZADO
+                + "Ana,,,,,,,,Portón negro\n"
+                + "Luis,,,,4,,,,\n"
+                + "Eva,,,,,3,,,Casa azul\n");
+
+        assertEquals(1, resultado.filasImportadas());
+        assertEquals(2, resultado.filasConError());
+        assertTrue(resultado.errores().get(0).mensaje().contains("colonia_id o codigo_postal"));
+        assertEquals(3, resultado.errores().get(1).fila());
+    }
+
+    @Test
+    public void testBloqueFallidoSeGuardaPorFila() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocacion -> {
+            List<Object[]> clientes = invocacion.getArgument(1);
+            if (clientes.size() > 1 || "8712223344".equals(clientes.get(0)[2])) {
+                throw new DuplicateKeyException("uk_clientes_numero_telefono");
+            }
+            return new int[]{1};
+        });
+
+        ResultadoImportacionDTO resultado = importarCsv(ENCABEZADO
+                + "Ana,8714140550,,,,,,,\n"
+                + "Luis,8712223344,,,,,,,\n"
+                + "Eva,8717861794,,,,,,,\n");
+
+        assertEquals(2, resultado.filasImportadas());
+        assertEquals(1, resultado.filasConError());
+        assertEquals(3, resultado.errores().get(0).fila());
+        assertTrue(resultado.errores().get(0).mensaje().contains("uk_clientes_numero_telefono"));
+    }
+
+    @Test
+    public void testNdjsonReportaLineaFisica() throws IOException {
+        String ndjson = "{\"nombre\":\"Ana\"}\n\nno json\n{\"nombre\":\"Luis\",\"referencia\":\"Casa azul\"}\n";
+        ResultadoImportacionDTO resultado = importacionClientesService.importarNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, resultado.filasProcesadas());
+        assertEquals(1, resultado.filasImportadas());
+        assertEquals(List.of(3L, 4L), resultado.errores().stream().map(ErrorFilaDTO::fila).toList());
+    }
+}
@@ -0,0 +1,37 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.service.IndiceCodigoPostal;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceCodigoPostalTest {
+
+    @Test
+    public void testBuscarDevuelveListaInmodificable() {
+        IndiceCodigoPostal indice = new IndiceCodigoPostal();
+        indice.cargar(List.of(new ColoniaDTO(2L, "Centro", 27000, "Torreón"),
+                new ColoniaDTO(1L, "Abastos", 27000, "Torreón")));
+
+        List<ColoniaDTO> colonias = indice.buscar(27000);
+
+        assertEquals(List.of(1L, 2L), colonias.stream().map(ColoniaDTO::id).toList());
+        assertThrows(UnsupportedOperationException.class, () -> colonias.set(0, colonias.get(1)));
+        assertEquals(1L, indice.buscar(27000).get(0).id());
+    }
+
+    @Test
+    public void testAgregarYQuitar() {
+        IndiceCodigoPostal indice = new IndiceCodigoPostal();
+        indice.cargar(List.of(new ColoniaDTO(1L, "Abastos", 27000, "Torreón")));
+
+        indice.agregar(new ColoniaDTO(1L, "Abastos", 27000, "Gómez Palacio"));
+        assertEquals("Gómez Palacio", indice.buscar(27000).get(0).nombreCiudad());
+
+        indice.quitar(1L, 27000);
+        assertTrue(indice.buscar(27000).isEmpty());
+    }
+}
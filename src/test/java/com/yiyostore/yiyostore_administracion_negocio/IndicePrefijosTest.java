@@ -0,0 +1,123 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndicePrefijos;
+import com.yiyostore.yiyostore_administracion_negocio.utils.TextoUtils;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndicePrefijosTest {
+
+    private IndicePrefijos<ColoniaDTO> indice;
+
+    @BeforeEach
+    public void setUp() {
+        indice = new IndicePrefijos<>(ColoniaDTO::id, ColoniaDTO::nombre);
+        indice.cargar(List.of(
+                new ColoniaDTO(1L, "Ampliación Los Ángeles", 27140, "Torreón"),
+                new ColoniaDTO(2L, "Los Ángeles", 27140, "Torreón"),
+                new ColoniaDTO(3L, "Ángeles", 35000, "Gómez Palacio"),
+                new ColoniaDTO(4L, "Centro", 27000, "Torreón"),
+                new ColoniaDTO(5L, "Angelópolis", 72000, "Puebla")));
+    }
+
+    @Test
+    public void testNormalizar() {
+        assertEquals("ampliacion los angeles sur", TextoUtils.normalizar("  Ampliación  Los Ángeles (Sur)"));
+        assertEquals("", TextoUtils.normalizar(null));
+    }
+
+    @Test
+    public void testClasificacion() {
+        assertEquals(List.of(3L, 5L, 2L, 1L), ids(indice.buscar("angel", 10)));
+        assertEquals(List.of(3L, 2L, 1L), ids(indice.buscar("ÁNGELES", 10)));
+        assertEquals(List.of(2L, 1L), ids(indice.buscar("los ang", 10)));
+        assertEquals(List.of(3L, 5L), ids(indice.buscar("angel", 2)));
+        assertTrue(indice.buscar("norte", 10).isEmpty());
+        assertTrue(indice.buscar("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void testAgregarYQuitar() {
+        indice.agregar(new ColoniaDTO(6L, "Los Ángeles Norte", 27140, "Torreón"));
+        indice.agregar(new ColoniaDTO(4L, "Centro Histórico", 27000, "Torreón"));
+        indice.quitar(3L);
+
+        assertEquals(List.of(2L, 6L, 1L), ids(indice.buscar("los angeles", 10)));
+        assertEquals(List.of(4L), ids(indice.buscar("histo", 10)));
+        assertEquals(List.of(5L, 2L, 6L, 1L), ids(indice.buscar("angel", 10)));
+        assertEquals(5, indice.tamano());
+    }
+
+    @Test
+    public void testAgregarYQuitarVarios() {
+        indice.quitarTodos(List.of(1L, 2L, 3L, 99L));
+        assertEquals(List.of(5L), ids(indice.buscar("angel", 10)));
+        assertEquals(2, indice.tamano());
+
+        indice.agregarTodos(List.of(
+                new ColoniaDTO(2L, "Los Ángeles", 27140, "Torreón"),
+                new ColoniaDTO(6L, "Los Ángeles Norte", 27140, "Torreón"),
+                new ColoniaDTO(4L, "Centro Histórico", 27000, "Torreón")));
+        assertEquals(List.of(2L, 6L), ids(indice.buscar("los angeles", 10)));
+        assertEquals(List.of(4L), ids(indice.buscar("centro", 10)));
+        assertEquals(4, indice.tamano());
+    }
+
+    @Test
+    public void testCompactaDespuesDeQuitarLaMayoria() {
+        List<ColoniaDTO> colonias = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            colonias.add(new ColoniaDTO(id, "Colonia " + id, 0, null));
+        }
+        indice.cargar(colonias);
+
+        for (long id = 1; id <= 190; id += 10) {
+            List<Long> ids = new ArrayList<>();
+            for (long quitado = id; quitado < id + 9; quitado++) {
+                ids.add(quitado);
+            }
+            indice.quitarTodos(ids);
+        }
+        indice.agregar(new ColoniaDTO(500L, "Colonia Nueva", 0, null));
+
+        assertEquals(List.of(10L, 100L), ids(indice.buscar("colonia 10", 10)));
+        assertEquals(List.of(500L), ids(indice.buscar("nueva", 10)));
+        assertEquals(List.of(200L), ids(indice.buscar("colonia 200", 10)));
+        assertEquals(30, indice.tamano());
+    }
+
+    @Test
+    public void testCoincideConBusquedaLineal() {
+        String[] palabras = {"san", "santa", "santo", "jose", "maria", "del", "valle", "villa", "vista", "real"};
+        Random aleatorio = new Random(7);
+        List<ColoniaDTO> colonias = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            colonias.add(new ColoniaDTO(id, palabras[aleatorio.nextInt(palabras.length)] + " "
+                    + palabras[aleatorio.nextInt(palabras.length)], 0, null));
+        }
+        indice.cargar(colonias);
+
+        for (String consulta : List.of("sa", "santa m", "v", "vi", "real", "del valle")) {
+            Set<Long> esperados = new HashSet<>();
+            for (ColoniaDTO colonia : colonias) {
+                String nombre = TextoUtils.normalizar(colonia.nombre());
+                if (nombre.startsWith(consulta) || nombre.contains(" " + consulta)) {
+                    esperados.add(colonia.id());
+                }
+            }
+            assertEquals(esperados, new HashSet<>(ids(indice.buscar(consulta, 1000))), consulta);
+        }
+    }
+
+    private List<Long> ids(List<ColoniaDTO> colonias) {
+        return colonias.stream().map(ColoniaDTO::id).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas;
+import com.yiyostore.yiyostore_administracion_negocio.utils.IndiceTrigramas.Coincidencia;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceTrigramasTest {
+
+    private static final long PRESUPUESTO = TimeUnit.SECONDS.toNanos(1);
+
+    private IndiceTrigramas<ColoniaDTO> indice;
+
+    @BeforeEach
+    public void setUp() {
+        indice = new IndiceTrigramas<>(ColoniaDTO::id, ColoniaDTO::nombre);
+        indice.cargar(List.of(
+                new ColoniaDTO(1L, "Cuauhtémoc", 27000, "Torreón"),
+                new ColoniaDTO(2L, "Ampliación Cuauhtémoc", 27000, "Torreón"),
+                new ColoniaDTO(3L, "Los Ángeles", 27140, "Torreón"),
+                new ColoniaDTO(4L, "Centro", 27000, "Torreón"),
+                new ColoniaDTO(5L, "Moctezuma", 27180, "Torreón")));
+    }
+
+    @Test
+    public void testErroresDeEscritura() {
+        List<Coincidencia<ColoniaDTO>> resultado = indice.buscar("cuahutemoc", 10, 0.2, PRESUPUESTO);
+        assertEquals(List.of(1L, 2L), ids(resultado));
+        assertTrue(resultado.get(0).similitud() > resultado.get(1).similitud());
+
+        assertEquals(List.of(3L), ids(indice.buscar("LOS ANJELES", 10, 0.3, PRESUPUESTO)));
+        assertEquals(1.0, indice.buscar("centro", 10, 0.3, PRESUPUESTO).get(0).similitud());
+    }
+
+    @Test
+    public void testLimiteYSimilitudMinima() {
+        assertEquals(List.of(1L), ids(indice.buscar("cuahutemoc", 1, 0.3, PRESUPUESTO)));
+        assertEquals(List.of(), ids(indice.buscar("xyz", 10, 0.3, PRESUPUESTO)));
+        assertEquals(List.of(), ids(indice.buscar("  ", 10, 0.3, PRESUPUESTO)));
+        assertEquals(List.of(), ids(indice.buscar("centro", 0, 0.3, PRESUPUESTO)));
+    }
+
+    @Test
+    public void testAgregarYQuitar() {
+        indice.agregar(new ColoniaDTO(6L, "Moctezuma Norte", 27180, "Torreón"));
+        assertEquals(List.of(5L, 6L), ids(indice.buscar("moctesuma", 10, 0.3, PRESUPUESTO)));
+
+        indice.agregar(new ColoniaDTO(5L, "Valle Verde", 27180, "Torreón"));
+        assertEquals(List.of(6L), ids(indice.buscar("moctesuma", 10, 0.3, PRESUPUESTO)));
+        assertEquals(List.of(5L), ids(indice.buscar("vale verde", 10, 0.3, PRESUPUESTO)));
+
+        indice.quitar(6L);
+        assertEquals(List.of(), ids(indice.buscar("moctesuma", 10, 0.3, PRESUPUESTO)));
+        assertEquals(5, indice.tamano());
+    }
+
+    private static List<Long> ids(List<Coincidencia<ColoniaDTO>> coincidencias) {
+        return coincidencias.stream().map(c -> c.elemento().id()).toList();
+    }
+}
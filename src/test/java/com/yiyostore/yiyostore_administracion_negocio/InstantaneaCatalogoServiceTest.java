@@ -0,0 +1,114 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.VersionCatalogo;
+import com.yiyostore.yiyostore_administracion_negocio.repository.VersionCatalogoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.service.InstantaneaCatalogoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class InstantaneaCatalogoServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private VersionCatalogoRepository versionCatalogoRepository;
+
+    @Mock
+    private ResultSet resultado;
+
+    private Path archivo;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        archivo = directorio.resolve("catalogo.bin");
+        version(3);
+    }
+
+    private InstantaneaCatalogoService servicio(long intervaloVerificacionMs) {
+        return new InstantaneaCatalogoService(jdbcTemplate, transactionManager, versionCatalogoRepository,
+                archivo.toString(), intervaloVerificacionMs);
+    }
+
+    private void version(long version) {
+        when(versionCatalogoRepository.findById("geografico"))
+                .thenReturn(Optional.of(new VersionCatalogo("geografico", version)));
+    }
+
+    @Test
+    public void testDescartaInstantaneaSiCambiaLaVersion() {
+        InstantaneaCatalogoService servicio = servicio(0);
+        servicio.exportar();
+        assertTrue(Files.exists(archivo));
+        assertEquals(3, servicio.obtenerVigente().orElseThrow().getVersion());
+
+        version(4);
+
+        assertTrue(servicio.obtenerVigente().isEmpty());
+        assertTrue(servicio.obtenerResumen().isEmpty());
+    }
+
+    @Test
+    public void testVerificaLaVersionSoloUnaVezPorIntervalo() {
+        InstantaneaCatalogoService servicio = servicio(60_000);
+        servicio.exportar();
+        clearInvocations(versionCatalogoRepository);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(servicio.obtenerVigente().isPresent());
+        }
+        verifyNoInteractions(versionCatalogoRepository);
+    }
+
+    @Test
+    public void testExportarSinInstantaneaSiUnaColoniaNoTieneCiudad() throws Exception {
+        when(resultado.getLong(1)).thenReturn(9L);
+        when(resultado.getInt(2)).thenReturn(27000);
+        when(resultado.getString(3)).thenReturn("Centro");
+        when(resultado.getLong(4)).thenReturn(0L);
+        doAnswer(invocacion -> {
+            invocacion.<RowCallbackHandler>getArgument(1).processRow(resultado);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM colonias"), any(RowCallbackHandler.class));
+        InstantaneaCatalogoService servicio = servicio(0);
+
+        assertEquals(1, servicio.exportar().size());
+        assertTrue(servicio.obtenerVigente().isEmpty());
+    }
+
+    @Test
+    public void testRegistrarCambioIncrementaConUnaSentencia() {
+        InstantaneaCatalogoService servicio = servicio(0);
+        servicio.exportar();
+
+        servicio.registrarCambio();
+
+        verify(jdbcTemplate).update(contains("ON DUPLICATE KEY UPDATE"), eq("geografico"));
+        verify(versionCatalogoRepository, never()).save(any());
+        assertTrue(servicio.obtenerVigente().isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.CiudadResumenDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ColoniaDTO;
+import com.yiyostore.yiyostore_administracion_negocio.utils.InstantaneaCatalogo;
+import com.yiyostore.yiyostore_administracion_negocio.utils.InstantaneaCatalogo.RegistroColonia;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstantaneaCatalogoTest {
+
+    @TempDir
+    Path directorio;
+
+    private static final List<CiudadResumenDTO> CIUDADES = List.of(
+            new CiudadResumenDTO(7L, "Gómez Palacio", "Durango", 1),
+            new CiudadResumenDTO(3L, "Lerdo", "Durango", 0),
+            new CiudadResumenDTO(5L, "Torreón", null, 2));
+
+    private static final List<RegistroColonia> COLONIAS = List.of(
+            new RegistroColonia(40, 27000, "Centro", 5),
+            new RegistroColonia(12, 35000, "Centro", 7),
+            new RegistroColonia(25, 27014, "Ampliación Los Ángeles", 5));
+
+    @Test
+    public void testEscribirYAbrir() throws IOException {
+        Path archivo = directorio.resolve("catalogo.bin");
+        InstantaneaCatalogo.escribir(archivo, 42, CIUDADES, COLONIAS);
+
+        InstantaneaCatalogo instantanea = InstantaneaCatalogo.abrir(archivo);
+
+        assertEquals(42, instantanea.getVersion());
+        assertEquals(3, instantanea.cantidadCiudades());
+        assertEquals(3, instantanea.cantidadColonias());
+        assertEquals(CIUDADES, instantanea.ciudades());
+        assertEquals(List.of(
+                new ColoniaDTO(12L, "Centro", 35000, "Gómez Palacio"),
+                new ColoniaDTO(25L, "Ampliación Los Ángeles", 27014, "Torreón"),
+                new ColoniaDTO(40L, "Centro", 27000, "Torreón")), instantanea.colonias());
+        assertFalse(Files.exists(directorio.resolve("catalogo.bin.tmp")));
+    }
+
+    @Test
+    public void testBuscarPorId() throws IOException {
+        Path archivo = directorio.resolve("catalogo.bin");
+        InstantaneaCatalogo.escribir(archivo, 1, CIUDADES, COLONIAS);
+        InstantaneaCatalogo instantanea = InstantaneaCatalogo.abrir(archivo);
+
+        assertEquals(Optional.of(CIUDADES.get(1)), instantanea.buscarCiudad(3));
+        assertEquals(Optional.of(CIUDADES.get(0)), instantanea.buscarCiudad(7));
+        assertTrue(instantanea.buscarCiudad(4).isEmpty());
+    }
+
+    @Test
+    public void testReemplazarArchivo() throws IOException {
+        Path archivo = directorio.resolve("catalogo.bin");
+        InstantaneaCatalogo.escribir(archivo, 1, CIUDADES, COLONIAS);
+        InstantaneaCatalogo anterior = InstantaneaCatalogo.abrir(archivo);
+
+        InstantaneaCatalogo.escribir(archivo, 2, CIUDADES.subList(0, 1), COLONIAS.subList(1, 2));
+
+        assertEquals(3, anterior.colonias().size());
+        assertEquals(2, InstantaneaCatalogo.abrir(archivo).getVersion());
+        assertEquals(1, InstantaneaCatalogo.abrir(archivo).colonias().size());
+    }
+
+    @Test
+    public void testColoniaDeCiudadDesconocida() {
+        Path archivo = directorio.resolve("catalogo.bin");
+        assertThrows(IllegalArgumentException.class,
+                () -> InstantaneaCatalogo.escribir(archivo, 1, CIUDADES.subList(1, 2), COLONIAS));
+    }
+
+    @Test
+    public void testArchivoInvalido() throws IOException {
+        Path otro = Files.writeString(directorio.resolve("otro.bin"), "d_codigo|d_asenta|d_tipo_asenta|d_zona");
+        assertThrows(IllegalArgumentException.class, () -> InstantaneaCatalogo.abrir(otro));
+
+        Path archivo = directorio.resolve("catalogo.bin");
+        InstantaneaCatalogo.escribir(archivo, 1, CIUDADES, COLONIAS);
+        byte[] bytes = Files.readAllBytes(archivo);
+        Path incompleto = Files.write(directorio.resolve("incompleto.bin"), Arrays.copyOf(bytes, 60));
+        assertThrows(IllegalArgumentException.class, () -> InstantaneaCatalogo.abrir(incompleto));
+    }
+}
@@ -0,0 +1,78 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.LectorSepomex;
+import com.yiyostore.yiyostore_administracion_negocio.utils.LectorSepomex.RegistroSepomex;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LectorSepomexTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void testLeerCatalogo() throws IOException {
+        Path archivo = escribir("""
+                El Catálogo Nacional de Códigos Postales, es elaborado por Correos de México.\r
+                d_codigo|d_asenta|d_tipo_asenta|D_mnpio|d_estado|d_ciudad|d_CP|c_estado|d_zona\r
+                27000|Torreón Centro|Colonia|Torreón|Coahuila de Zaragoza|Torreón|27001|05|Urbano\r
+                27014|Ampliación Los Ángeles|Fraccionamiento|Torreón|Coahuila de Zaragoza|Torreón|27001|05|Urbano\r
+                01000|San Ángel|Colonia|Álvaro Obregón|Ciudad de México|Ciudad de México|01001|09|Urbano\r
+                27990|La Concha|Ranchería|Torreón|Coahuila de Zaragoza||27001|05|Rural\r
+                """);
+
+        List<RegistroSepomex> registros = new ArrayList<>();
+        long filas = LectorSepomex.leer(archivo, registros::add);
+
+        assertEquals(4, filas);
+        assertEquals(new RegistroSepomex(27014, "Ampliación Los Ángeles", "Fraccionamiento", "Torreón",
+                "Coahuila de Zaragoza", "Urbano"), registros.get(1));
+        assertEquals(1000, registros.get(2).codigoPostal());
+        assertEquals("Álvaro Obregón", registros.get(2).municipio());
+        assertEquals("Rural", registros.get(3).zona());
+        assertSame(registros.get(0).municipio(), registros.get(3).municipio());
+        assertSame(registros.get(0).zona(), registros.get(1).zona());
+    }
+
+    @Test
+    public void testColumnaFaltante() throws IOException {
+        Path archivo = escribir("d_codigo|d_asenta|d_tipo_asenta|d_zona\n27000|Centro|Colonia|Urbano\n");
+        assertThrows(IllegalArgumentException.class, () -> LectorSepomex.leer(archivo, registro -> {}));
+    }
+
+    @Test
+    public void testCodigoPostalInvalido() throws IOException {
+        Path archivo = escribir("d_codigo|d_asenta|d_tipo_asenta|D_mnpio|d_zona\n27A00|Centro|Colonia|Torreón|Urbano\n");
+        assertThrows(IllegalArgumentException.class, () -> LectorSepomex.leer(archivo, registro -> {}));
+    }
+
+    @Test
+    public void testFilaIncompleta() throws IOException {
+        Path archivo = escribir("""
+                d_codigo|d_asenta|d_tipo_asenta|D_mnpio|d_estado|d_zona
+                27000|Torreón Centro|Colonia|Torreón|Coahuila de Zaragoza|Urbano
+                27014|Los Ángeles|Fraccionamiento
+                """);
+
+        List<RegistroSepomex> registros = new ArrayList<>();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LectorSepomex.leer(archivo, registros::add));
+
+        assertTrue(e.getMessage().contains("línea 3"));
+        assertEquals(1, registros.size());
+    }
+
+    private Path escribir(String contenido) throws IOException {
+        Path archivo = directorio.resolve("CPdescarga.txt");
+        Files.writeString(archivo, contenido, StandardCharsets.ISO_8859_1);
+        return archivo;
+    }
+}
@@ -0,0 +1,42 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.LimitadorTasa;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LimitadorTasaTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testReservarRespetaLaTasa() {
+        AtomicLong reloj = new AtomicLong();
+        LimitadorTasa limitador = new LimitadorTasa(2, reloj::get);
+
+        assertEquals(0, limitador.reservar());
+        assertEquals(0, limitador.reservar());
+        assertEquals(SEGUNDO / 2, limitador.reservar());
+        assertEquals(SEGUNDO, limitador.reservar());
+
+        reloj.addAndGet(SEGUNDO);
+        assertEquals(SEGUNDO / 2, limitador.reservar());
+    }
+
+    @Test
+    public void testNoAcumulaMasDeUnSegundo() {
+        AtomicLong reloj = new AtomicLong();
+        LimitadorTasa limitador = new LimitadorTasa(1, reloj::get);
+
+        reloj.addAndGet(10 * SEGUNDO);
+        assertEquals(0, limitador.reservar());
+        assertEquals(SEGUNDO, limitador.reservar());
+    }
+
+    @Test
+    public void testTasaInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorTasa(0));
+    }
+}
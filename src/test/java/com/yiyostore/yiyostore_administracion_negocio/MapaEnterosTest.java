@@ -0,0 +1,52 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.utils.MapaEnteros;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapaEnterosTest {
+
+    @Test
+    public void testPutGetRemove() {
+        MapaEnteros<String> mapa = new MapaEnteros<>(0);
+
+        assertNull(mapa.put(27000, "Torreón"));
+        assertNull(mapa.put(0, "Cero"));
+        assertEquals("Torreón", mapa.put(27000, "Torreón Centro"));
+
+        assertEquals("Torreón Centro", mapa.get(27000));
+        assertEquals("Cero", mapa.get(0));
+        assertNull(mapa.get(27001));
+        assertEquals(2, mapa.size());
+
+        assertEquals("Cero", mapa.remove(0));
+        assertNull(mapa.remove(0));
+        assertNull(mapa.get(0));
+        assertEquals(1, mapa.size());
+    }
+
+    @Test
+    public void testCoincideConHashMap() {
+        MapaEnteros<Integer> mapa = new MapaEnteros<>(16);
+        Map<Integer, Integer> esperado = new HashMap<>();
+        Random aleatorio = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            int llave = aleatorio.nextInt(5_000);
+            if (aleatorio.nextInt(3) == 0) {
+                assertEquals(esperado.remove(llave), mapa.remove(llave));
+            } else {
+                assertEquals(esperado.put(llave, i), mapa.put(llave, i));
+            }
+        }
+
+        assertEquals(esperado.size(), mapa.size());
+        for (int llave = 0; llave < 5_000; llave++) {
+            assertEquals(esperado.get(llave), mapa.get(llave));
+        }
+    }
+}
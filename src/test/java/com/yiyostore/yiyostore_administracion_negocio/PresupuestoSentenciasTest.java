@@ -0,0 +1,146 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.service.ColoniaService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que los endpoints con {@code @PresupuestoSentencias(5)} ejecutan
+ * como máximo cinco sentencias SQL con datos suficientes para que una
+ * consulta N+1 se note. Usa el perfil {@code h2} y el modo estricto del
+ * filtro de sentencias, así que una solicitud que excede su presupuesto
+ * también falla.
+ */
+@SpringBootTest(properties = "yiyostore.sentencias.estricto=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class PresupuestoSentenciasTest {
+
+    private static final int PRESUPUESTO = 5;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ColoniaService coloniaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String prefijo;
+
+    @BeforeEach
+    void setUp() {
+        prefijo = "Presupuesto" + System.nanoTime();
+    }
+
+    /**
+     * Ejecuta la solicitud, comprueba que responde 200 y devuelve la cantidad
+     * de sentencias SQL que publicó el filtro para ella.
+     */
+    private int sentencias(RequestBuilder solicitud) throws Exception {
+        DistributionSummary porSolicitud = meterRegistry.get("yiyostore.sentencias.por.solicitud").summary();
+        long solicitudes = porSolicitud.count();
+        double total = porSolicitud.totalAmount();
+
+        mvc.perform(solicitud).andExpect(status().isOk());
+
+        assertEquals(solicitudes + 1, porSolicitud.count());
+        return (int) (porSolicitud.totalAmount() - total);
+    }
+
+    private void enviar(String ruta, MediaType tipo, String cuerpo) throws Exception {
+        mvc.perform(post(ruta).contentType(tipo).content(cuerpo)).andExpect(status().is2xxSuccessful());
+    }
+
+    private long crearCiudadConColonias() throws Exception {
+        StringBuilder ciudad = new StringBuilder("{\"nombre\":\"" + prefijo + "\",\"colonias\":[");
+        for (int i = 0; i < 6; i++) {
+            ciudad.append(i == 0 ? "" : ",").append("{\"codigoPostal\":").append(35150 + i)
+                    .append(",\"nombre\":\"").append(prefijo).append(" Colonia ").append(i)
+                    .append("\",\"tipoAsentamiento\":\"COLONIA\",\"tipo\":\"URBANO\"}");
+        }
+        enviar("/api/ciudades", MediaType.APPLICATION_JSON, ciudad.append("]}").toString());
+        return jdbcTemplate.queryForObject("SELECT id FROM ciudades WHERE nombre = ?", Long.class, prefijo);
+    }
+
+    private long crearProductoConLotes() throws Exception {
+        enviar("/api/productos/importar", MediaType.valueOf("text/csv"),
+                "nombre,descripcion,precio,fecha_adicion\n" + prefijo + ",presupuesto,100," + LocalDate.now() + "\n");
+        long producto = jdbcTemplate.queryForObject("SELECT id FROM productos WHERE nombre = ?", Long.class,
+                prefijo);
+        StringBuilder lotes = new StringBuilder("producto_id,costo,cantidad,fecha,estado,link_de_compra\n");
+        for (int i = 0; i < 6; i++) {
+            lotes.append(producto).append(",50,100,").append(LocalDate.now().minusDays(i)).append(",NUEVO,\n");
+        }
+        enviar("/api/lotes-productos/importar", MediaType.valueOf("text/csv"), lotes.toString());
+        return producto;
+    }
+
+    @Test
+    public void testLotesDeProducto() throws Exception {
+        long producto = crearProductoConLotes();
+
+        assertTrue(sentencias(get("/api/productos/" + producto + "/lotes")) <= PRESUPUESTO);
+    }
+
+    @Test
+    public void testColoniasDeCiudad() throws Exception {
+        long ciudad = crearCiudadConColonias();
+
+        assertTrue(sentencias(get("/api/ciudades/" + ciudad + "/colonias")) <= PRESUPUESTO);
+    }
+
+    @Test
+    public void testHistorialPedidosDeCliente() throws Exception {
+        long producto = crearProductoConLotes();
+        enviar("/api/clientes", MediaType.APPLICATION_JSON, "{\"nombre\":\"" + prefijo + "\"}");
+        long cliente = jdbcTemplate.queryForObject("SELECT id FROM clientes WHERE nombre = ?", Long.class,
+                prefijo);
+        for (int i = 0; i < 6; i++) {
+            enviar("/api/pedidos", MediaType.APPLICATION_JSON, "{\"clienteId\":" + cliente
+                    + ",\"metodoPago\":\"PAYPAL\",\"lugarCompra\":\"PAGINA_FACEBOOK\",\"fecha\":\""
+                    + LocalDate.now().minusDays(i) + "\",\"detalles\":[{\"idProducto\":" + producto
+                    + ",\"cantidad\":1}]}");
+        }
+
+        assertTrue(sentencias(get("/api/clientes/" + cliente + "/pedidos")) <= PRESUPUESTO);
+    }
+
+    @Test
+    public void testCuentaLasSentenciasDeJdbcTemplate() throws Exception {
+        long producto = crearProductoConLotes();
+
+        assertTrue(sentencias(post("/api/lotes-productos/importar").contentType(MediaType.valueOf("text/csv"))
+                .content("producto_id,costo,cantidad,fecha,estado,link_de_compra\n" + producto + ",50,100,"
+                        + LocalDate.now() + ",NUEVO,\n")) > 0);
+    }
+
+    @Test
+    public void testBuscarColonias() throws Exception {
+        crearCiudadConColonias();
+        coloniaService.cargarIndice();
+
+        assertTrue(sentencias(get("/api/colonias/search/" + prefijo)) <= PRESUPUESTO);
+    }
+}
@@ -3,6 +3,7 @@ package com.yiyostore.yiyostore_administracion_negocio;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
+import com.yiyostore.yiyostore_administracion_negocio.repository.HistorialPrecioRepository;
 import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
 import com.yiyostore.yiyostore_administracion_negocio.service.ProductoService;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,9 @@ public class ProductoJsonTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private HistorialPrecioRepository historialPrecioRepository;
+
     @InjectMocks
     private ProductoService productoService;
 
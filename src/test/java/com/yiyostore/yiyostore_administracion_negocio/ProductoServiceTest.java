@@ -1,8 +1,13 @@
 package com.yiyostore.yiyostore_administracion_negocio;
 
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.AjustePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.ResumenAjustePreciosDTO;
+import com.yiyostore.yiyostore_administracion_negocio.model.dto.SeriePreciosDTO;
 import com.yiyostore.yiyostore_administracion_negocio.model.enums.Estado;
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.TipoAjustePrecio;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.LoteProducto;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
+import com.yiyostore.yiyostore_administracion_negocio.repository.HistorialPrecioRepository;
 import com.yiyostore.yiyostore_administracion_negocio.repository.ProductoRepository;
 import com.yiyostore.yiyostore_administracion_negocio.service.ProductoService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +30,9 @@ public class ProductoServiceTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private HistorialPrecioRepository historialPrecioRepository;
+
     @InjectMocks
     private ProductoService productoService;
 
@@ -140,6 +149,92 @@ public class ProductoServiceTest {
         verify(productoRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testAjustarPreciosPorIds() {
+        // Given
+        AjustePreciosDTO ajuste = new AjustePreciosDTO(TipoAjustePrecio.PORCENTAJE, 8, List.of(1L, 2L, 2L, 3L, 9L), null, null, null, null);
+        when(productoRepository.findIdsExistentes(List.of(1L, 2L, 3L, 9L))).thenReturn(List.of(1L, 2L, 3L));
+        when(productoRepository.calcularPrecioVentaTotalInventario()).thenReturn(1000.0, 1080.0);
+        when(productoRepository.ajustarPrecios(List.of(1L, 2L, 3L), 1.08, 0)).thenReturn(3);
+
+        // When
+        ResumenAjustePreciosDTO resumen = productoService.ajustarPrecios(ajuste);
+
+        // Then
+        assertEquals(3, resumen.productosSeleccionados());
+        assertEquals(3, resumen.productosActualizados());
+        assertEquals(0, resumen.productosOmitidos());
+        assertEquals(List.of(9L), resumen.idsNoEncontrados());
+        assertEquals(1000.0, resumen.precioTotalAnterior());
+        assertEquals(1080.0, resumen.precioTotalNuevo());
+        verify(productoRepository, times(2)).calcularPrecioVentaTotalInventario();
+        verify(productoRepository, never()).findById(any());
+    }
+
+    @Test
+    void testAjustarPreciosPorFiltroConOmitidos() {
+        // Given
+        AjustePreciosDTO ajuste = new AjustePreciosDTO(TipoAjustePrecio.MONTO, -50, null, "taladro", null, null, null);
+        when(productoRepository.buscarIdsPorFiltro("taladro", null, null, null)).thenReturn(List.of(4L, 5L));
+        when(productoRepository.ajustarPrecios(List.of(4L, 5L), 1, -50)).thenReturn(1);
+
+        // When
+        ResumenAjustePreciosDTO resumen = productoService.ajustarPrecios(ajuste);
+
+        // Then
+        assertEquals(2, resumen.productosSeleccionados());
+        assertEquals(1, resumen.productosActualizados());
+        assertEquals(1, resumen.productosOmitidos());
+        assertTrue(resumen.idsNoEncontrados().isEmpty());
+        verify(productoRepository, never()).findIdsExistentes(any());
+    }
+
+    @Test
+    void testAjustarPreciosSinSeleccion() {
+        AjustePreciosDTO ajuste = new AjustePreciosDTO(TipoAjustePrecio.PORCENTAJE, 8, List.of(), null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> productoService.ajustarPrecios(ajuste));
+        verify(productoRepository, never()).ajustarPrecios(any(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void testActualizarProductoRegistraCambioDePrecio() {
+        // Given
+        Producto existingProducto = new Producto("Producto1", "Descripción1", 100.0, LocalDate.now());
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(existingProducto));
+        when(productoRepository.save(existingProducto)).thenReturn(existingProducto);
+
+        // When
+        productoService.actualizarProducto(1L, new Producto("Producto1", "Otra descripción", 100.0, LocalDate.now()));
+        productoService.actualizarProducto(1L, new Producto("Producto1", "Otra descripción", 120.0, LocalDate.now()));
+
+        // Then
+        verify(historialPrecioRepository, times(1)).save(argThat(h -> h.getPrecio() == 120.0));
+    }
+
+    @Test
+    void testObtenerSeriePrecios() {
+        // Given
+        LocalDateTime desde = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime hasta = LocalDateTime.of(2024, 1, 11, 0, 0);
+        when(productoRepository.existsById(1L)).thenReturn(true);
+        when(historialPrecioRepository.agruparPorIntervalo(1L, desde, hasta, 86400L)).thenReturn(List.of(
+                new Object[]{0L, 100.0, 110.0, 105.0, 2L},
+                new Object[]{7L, 90.0, 90.0, 90.0, 1L}));
+        when(historialPrecioRepository.buscarPrecioVigente(eq(1L), eq(desde), any())).thenReturn(List.of(95.0));
+
+        // When
+        SeriePreciosDTO serie = productoService.obtenerSeriePrecios(1L, desde, hasta, 10).orElseThrow();
+
+        // Then
+        assertEquals(86400L, serie.segundosPorPunto());
+        assertEquals(95.0, serie.precioInicial());
+        assertEquals(2, serie.puntos().size());
+        assertEquals(LocalDateTime.of(2024, 1, 8, 0, 0), serie.puntos().get(1).desde());
+        assertEquals(2L, serie.puntos().get(0).cambios());
+        assertThrows(IllegalArgumentException.class, () -> productoService.obtenerSeriePrecios(1L, hasta, desde, 10));
+    }
+
     private void guardarLotes(Producto producto) {
         List<LoteProducto> lotes = new ArrayList();
         lotes.add(new LoteProducto(200.0, 20, null, null, Estado.NUEVO, null));
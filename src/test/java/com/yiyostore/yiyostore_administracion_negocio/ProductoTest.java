@@ -1,5 +1,7 @@
 package com.yiyostore.yiyostore_administracion_negocio;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.LoteProducto;
 import com.yiyostore.yiyostore_administracion_negocio.model.entity.Producto;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,4 +54,17 @@ public class ProductoTest {
 
         assertThat(producto.getLotes()).contains(loteNuevo);
     }
+
+    @Test
+    public void testJsonNoIncluyeLotes() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        String json = "{\"nombre\": \"Producto B\", \"precio\": 50.0,"
+                + " \"lotes\": [{\"costo\": 20.0, \"cantidad\": 5, \"estado\": \"NUEVO\"}]}";
+
+        Producto leido = objectMapper.readValue(json, Producto.class);
+
+        assertThat(leido.getLotes()).hasSize(1);
+        assertThat(leido.getLotes().get(0).getProducto()).isSameAs(leido);
+        assertThat(objectMapper.writeValueAsString(leido)).doesNotContain("lotes");
+    }
 }
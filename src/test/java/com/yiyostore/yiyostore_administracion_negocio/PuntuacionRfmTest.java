@@ -0,0 +1,45 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.enums.SegmentoRfm;
+import com.yiyostore.yiyostore_administracion_negocio.utils.PuntuacionRfm;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PuntuacionRfmTest {
+
+    @Test
+    public void testRecencia() {
+        LocalDate hoy = LocalDate.of(2024, 12, 31);
+        assertEquals(5, PuntuacionRfm.recencia(hoy, hoy));
+        assertEquals(5, PuntuacionRfm.recencia(hoy.minusDays(30), hoy));
+        assertEquals(4, PuntuacionRfm.recencia(hoy.minusDays(31), hoy));
+        assertEquals(3, PuntuacionRfm.recencia(hoy.minusDays(180), hoy));
+        assertEquals(2, PuntuacionRfm.recencia(hoy.minusDays(365), hoy));
+        assertEquals(1, PuntuacionRfm.recencia(hoy.minusDays(366), hoy));
+    }
+
+    @Test
+    public void testFrecuenciaYMonto() {
+        assertEquals(1, PuntuacionRfm.frecuencia(1));
+        assertEquals(2, PuntuacionRfm.frecuencia(2));
+        assertEquals(4, PuntuacionRfm.frecuencia(9));
+        assertEquals(5, PuntuacionRfm.frecuencia(10));
+        assertEquals(1, PuntuacionRfm.monto(499.99));
+        assertEquals(2, PuntuacionRfm.monto(500));
+        assertEquals(5, PuntuacionRfm.monto(20000));
+    }
+
+    @Test
+    public void testSegmento() {
+        assertEquals(SegmentoRfm.CAMPEONES, PuntuacionRfm.segmento(5, 5, 5));
+        assertEquals(SegmentoRfm.LEALES, PuntuacionRfm.segmento(4, 4, 2));
+        assertEquals(SegmentoRfm.NUEVOS, PuntuacionRfm.segmento(5, 1, 1));
+        assertEquals(SegmentoRfm.POTENCIALES, PuntuacionRfm.segmento(3, 2, 1));
+        assertEquals(SegmentoRfm.LEALES, PuntuacionRfm.segmento(3, 3, 1));
+        assertEquals(SegmentoRfm.EN_RIESGO, PuntuacionRfm.segmento(1, 4, 5));
+        assertEquals(SegmentoRfm.HIBERNANDO, PuntuacionRfm.segmento(2, 2, 2));
+        assertEquals(SegmentoRfm.PERDIDOS, PuntuacionRfm.segmento(1, 1, 1));
+    }
+}
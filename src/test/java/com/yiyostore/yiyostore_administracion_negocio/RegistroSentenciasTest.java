@@ -0,0 +1,134 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.config.FiltroSentencias;
+import com.yiyostore.yiyostore_administracion_negocio.exception.PresupuestoSentenciasExcedidoException;
+import com.yiyostore.yiyostore_administracion_negocio.utils.RegistroSentencias;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistroSentenciasTest {
+
+    @Test
+    public void testForma() {
+        assertEquals("select * from lotes where producto_id=? and estado=?",
+                RegistroSentencias.forma("select *  from lotes\n where producto_id=15 and estado='NUEVO'"));
+        assertEquals("select * from colonias where id in (?...)",
+                RegistroSentencias.forma("select * from colonias where id in (?, ?,?)"));
+        assertEquals("select c.nombre from ciudades c1_0 where c1_0.id=?",
+                RegistroSentencias.forma("select c.nombre from ciudades c1_0 where c1_0.id=?"));
+    }
+
+    @Test
+    public void testRegistrarSinMedicion() {
+        RegistroSentencias.registrar("select 1");
+        assertNull(RegistroSentencias.actual());
+    }
+
+    @Test
+    public void testMedicionCuentaPorForma() {
+        try (RegistroSentencias.Medicion medicion = RegistroSentencias.iniciar()) {
+            RegistroSentencias.registrar("select * from productos");
+            for (int i = 0; i < 3; i++) {
+                RegistroSentencias.registrar("select * from lotes where producto_id=" + i);
+            }
+
+            assertEquals(4, medicion.total());
+            assertEquals(1, medicion.repeticionesMaximas());
+            assertEquals(2, medicion.porForma().size());
+            List<Map.Entry<String, Integer>> repetidas = medicion.repetidas(3);
+            assertEquals(1, repetidas.size());
+            assertEquals("select * from lotes where producto_id=?", repetidas.get(0).getKey());
+            assertEquals(3, repetidas.get(0).getValue());
+        }
+        assertNull(RegistroSentencias.actual());
+    }
+
+    @Test
+    public void testRepeticionesPorTexto() {
+        try (RegistroSentencias.Medicion medicion = RegistroSentencias.iniciar()) {
+            for (int i = 0; i < 3; i++) {
+                RegistroSentencias.registrar("select * from lotes where producto_id=?");
+                RegistroSentencias.registrar("select * from productos");
+            }
+            RegistroSentencias.registrar("select * from lotes  where producto_id=?");
+
+            assertEquals(3, medicion.repeticionesMaximas());
+            assertEquals(4, medicion.porForma().get("select * from lotes where producto_id=?"));
+        }
+    }
+
+    @Test
+    public void testMedicionesAnidadas() {
+        try (RegistroSentencias.Medicion externa = RegistroSentencias.iniciar()) {
+            RegistroSentencias.registrar("select 1");
+            try (RegistroSentencias.Medicion interna = RegistroSentencias.iniciar()) {
+                RegistroSentencias.registrar("select 2");
+                assertEquals(1, interna.total());
+            }
+            assertSame(externa, RegistroSentencias.actual());
+            assertEquals(1, externa.total());
+        }
+    }
+
+    @Test
+    public void testFiltroDentroDelPresupuesto() throws Exception {
+        FiltroSentencias filtro = new FiltroSentencias(2, 10, 0, true, new SimpleMeterRegistry());
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+        }, (request, response, siguiente) -> {
+            RegistroSentencias.registrar("select * from productos");
+            RegistroSentencias.registrar("select count(*) from productos");
+            response.getWriter().write("[]");
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertDoesNotThrow(() -> filtro.doFilter(new MockHttpServletRequest("GET", "/api/productos"),
+                response, chain));
+        assertNull(RegistroSentencias.actual());
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    public void testFiltroEstrictoDetectaRepeticiones() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FiltroSentencias filtro = new FiltroSentencias(100, 3, 0, true, registry);
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+        }, (request, response, siguiente) -> {
+            for (int i = 0; i < 3; i++) {
+                RegistroSentencias.registrar("select * from lotes where producto_id=?");
+            }
+        });
+
+        PresupuestoSentenciasExcedidoException e = assertThrows(PresupuestoSentenciasExcedidoException.class,
+                () -> filtro.doFilter(new MockHttpServletRequest("GET", "/api/productos"),
+                        new MockHttpServletResponse(), chain));
+        assertTrue(e.getMessage().contains("3 x select * from lotes where producto_id=?"));
+        assertEquals(1, registry.get("yiyostore.sentencias.excedidas").tag("motivo", "repeticiones")
+                .counter().count());
+        assertNull(RegistroSentencias.actual());
+    }
+
+    @Test
+    public void testFiltroEstrictoDetectaExcesoDePresupuesto() throws Exception {
+        FiltroSentencias filtro = new FiltroSentencias(1, 10, 0, true, new SimpleMeterRegistry());
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+        }, (request, response, siguiente) -> {
+            RegistroSentencias.registrar("select * from productos");
+            RegistroSentencias.registrar("select count(*) from productos");
+            response.getWriter().write("[]");
+            response.flushBuffer();
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(PresupuestoSentenciasExcedidoException.class,
+                () -> filtro.doFilter(new MockHttpServletRequest("GET", "/api/productos"), response, chain));
+        assertFalse(response.isCommitted());
+        assertEquals("", response.getContentAsString());
+    }
+}
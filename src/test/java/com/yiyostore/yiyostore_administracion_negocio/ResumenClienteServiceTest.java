@@ -0,0 +1,106 @@
+package com.yiyostore.yiyostore_administracion_negocio;
+
+import com.yiyostore.yiyostore_administracion_negocio.model.EstadoPedido;
+import com.yiyostore.yiyostore_administracion_negocio.model.entity.MarcaProceso;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.MarcaProcesoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.PedidoRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.PuntuacionClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.repository.ResumenClienteRepository;
+import com.yiyostore.yiyostore_administracion_negocio.service.ResumenClienteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ResumenClienteServiceTest {
+
+    @Mock
+    private ResumenClienteRepository resumenClienteRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @Mock
+    private PuntuacionClienteRepository puntuacionClienteRepository;
+
+    @Mock
+    private MarcaProcesoRepository marcaProcesoRepository;
+
+    private ResumenClienteService resumenClienteService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        resumenClienteService = new ResumenClienteService(resumenClienteRepository, clienteRepository,
+                pedidoRepository, puntuacionClienteRepository, marcaProcesoRepository);
+    }
+
+    @Test
+    public void testRecalcularActualizaSinEliminarAntes() {
+        resumenClienteService.recalcular(Arrays.asList(4L, null, 4L, 7L));
+
+        Set<EstadoPedido> excluidos = Set.of(EstadoPedido.CANCELADO, EstadoPedido.DEVUELTO);
+        InOrder orden = inOrder(clienteRepository, resumenClienteRepository, puntuacionClienteRepository);
+        orden.verify(clienteRepository).bloquearPorIds(Set.of(4L, 7L));
+        orden.verify(resumenClienteRepository).eliminarSinPedidos(eq(Set.of(4L, 7L)), eq(excluidos));
+        orden.verify(resumenClienteRepository).actualizarPorClientes(eq(Set.of(4L, 7L)), eq(excluidos),
+                any(LocalDateTime.class));
+        orden.verify(resumenClienteRepository).agregarPorClientes(eq(Set.of(4L, 7L)), eq(excluidos),
+                any(LocalDateTime.class));
+        orden.verify(puntuacionClienteRepository).eliminarSinResumen(Set.of(4L, 7L));
+        verify(resumenClienteRepository, never()).eliminarTodos();
+    }
+
+    @Test
+    public void testRecalcularSinClientes() {
+        resumenClienteService.recalcular(Arrays.asList((Long) null));
+
+        verifyNoInteractions(resumenClienteRepository, puntuacionClienteRepository);
+    }
+
+    @Test
+    public void testCalcularAlIniciarSoloSinMarca() {
+        when(marcaProcesoRepository.existsById("resumenes_clientes")).thenReturn(true);
+        resumenClienteService.calcularAlIniciar();
+        verify(resumenClienteRepository, never()).calcularTodos(anyCollection(), any());
+
+        when(marcaProcesoRepository.existsById("resumenes_clientes")).thenReturn(false);
+        when(marcaProcesoRepository.findById("resumenes_clientes")).thenReturn(Optional.empty());
+        resumenClienteService.calcularAlIniciar();
+
+        verify(resumenClienteRepository).eliminarTodos();
+        verify(resumenClienteRepository).calcularTodos(anyCollection(), any(LocalDateTime.class));
+        ArgumentCaptor<MarcaProceso> marca = ArgumentCaptor.forClass(MarcaProceso.class);
+        verify(marcaProcesoRepository).save(marca.capture());
+        assertEquals("resumenes_clientes", marca.getValue().getNombre());
+    }
+
+    @Test
+    public void testRecalcularTodosActualizaMarca() {
+        LocalDateTime anterior = LocalDateTime.now().minusDays(3);
+        MarcaProceso marca = new MarcaProceso("resumenes_clientes", anterior);
+        when(marcaProcesoRepository.findById("resumenes_clientes")).thenReturn(Optional.of(marca));
+        when(resumenClienteRepository.calcularTodos(anyCollection(), any())).thenReturn(12);
+
+        assertEquals(12, resumenClienteService.recalcularTodos());
+        assertTrue(marca.getUltimaEjecucion().isAfter(anterior));
+        verify(marcaProcesoRepository).save(marca);
+    }
+}
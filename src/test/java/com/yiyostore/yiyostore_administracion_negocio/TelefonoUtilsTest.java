@@ -2,6 +2,8 @@ package com.yiyostore.yiyostore_administracion_negocio;
 
 import com.yiyostore.yiyostore_administracion_negocio.exception.NumeroTelefonoInvalidoException;
 import com.yiyostore.yiyostore_administracion_negocio.utils.TelefonoUtils;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,4 +53,23 @@ public class TelefonoUtilsTest {
         // Verificar que el mensaje de la excepción contenga el número de teléfono inválido
         assertTrue(exception.getMessage().contains(numeroTelefonoInvalido));
     }
+
+    @Test
+    public void testNormalizarNumeroInvalidoRepetido() {
+        assertFalse(TelefonoUtils.esValido("99"));
+        assertFalse(TelefonoUtils.esValido("99"));
+        assertThrows(NumeroTelefonoInvalidoException.class, () -> TelefonoUtils.normalizar("99"));
+        assertThrows(NumeroTelefonoInvalidoException.class, () -> TelefonoUtils.normalizar(null));
+        assertFalse(TelefonoUtils.esValido(null));
+    }
+
+    @Test
+    public void testNormalizarLote() {
+        List<String> normalizados = TelefonoUtils.normalizarLote(Arrays.asList(
+                "871 414 0550", "1234", null, "+52 871 414 0550", "87-14-14-05-50", "+52 1 871 786 1794"));
+
+        assertEquals(Arrays.asList("8714140550", null, null, "8714140550", "8714140550", "8717861794"),
+                normalizados);
+        assertEquals(List.of(), TelefonoUtils.normalizarLote(List.of()));
+    }
 }
@@ -2,8 +2,10 @@ package com.yiyostore.yiyostore_administracion_negocio;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("h2")
 class YiyostoreAdministracionNegocioApplicationTests {
 
     @Test